@@ -3,10 +3,13 @@
 -- Crear esquema dbo si no existe
 CREATE SCHEMA IF NOT EXISTS dbo;
 
+-- Secuencia de ids de productos: Hibernate reserva bloques de 50 (allocationSize) para agrupar INSERT.
+-- Empieza en 101 para que el primer bloque (52-101) no choque con los ids de los productos de ejemplo
+CREATE SEQUENCE IF NOT EXISTS dbo.productos_seq START WITH 101 INCREMENT BY 50;
+
 -- Crear tabla de productos
 CREATE TABLE IF NOT EXISTS dbo.productos (
-                                             id BIGINT GENERATED BY DEFAULT AS IDENTITY
-(INCREMENT BY 1 MINVALUE 1 MAXVALUE 9223372036854775807 START 1 CACHE 1 NO CYCLE) NOT NULL,
+                                             id BIGINT DEFAULT nextval('dbo.productos_seq') NOT NULL,
     actualizado_en TIMESTAMP(6),
     categoria VARCHAR(50),
     creado_en TIMESTAMP(6),
@@ -17,10 +20,61 @@ CREATE TABLE IF NOT EXISTS dbo.productos (
     );
 
 -- Insertar productos de ejemplo
-INSERT INTO dbo.productos (actualizado_en, categoria, creado_en, descripcion, nombre, precio) VALUES
-                                                                                                  (NOW(), 'Tecnología', NOW(), 'Laptop HP Pavilion 15 pulgadas', 'Laptop HP', 799.99),
-                                                                                                  (NOW(), 'Tecnología', NOW(), 'Monitor Dell 27 pulgadas 4K', 'Monitor Dell', 349.99),
-                                                                                                  (NOW(), 'Tecnología', NOW(), 'Teclado mecánico RGB', 'Teclado Logitech', 59.99);
+INSERT INTO dbo.productos (id, actualizado_en, categoria, creado_en, descripcion, nombre, precio) VALUES
+                                                                                                  (1, NOW(), 'Tecnología', NOW(), 'Laptop HP Pavilion 15 pulgadas', 'Laptop HP', 799.99),
+                                                                                                  (2, NOW(), 'Tecnología', NOW(), 'Monitor Dell 27 pulgadas 4K', 'Monitor Dell', 349.99),
+                                                                                                  (3, NOW(), 'Tecnología', NOW(), 'Teclado mecánico RGB', 'Teclado Logitech', 59.99);
+
+-- Outbox de creaciones de inventario pendientes de entregar al micro de inventario
+CREATE SEQUENCE IF NOT EXISTS dbo.inventario_pendiente_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS dbo.inventario_pendiente (
+    id BIGINT DEFAULT nextval('dbo.inventario_pendiente_seq') NOT NULL,
+    producto_id BIGINT NOT NULL,
+    cantidad INTEGER NOT NULL,
+    creado_en TIMESTAMP(6) NOT NULL,
+    proximo_intento TIMESTAMP(6) NOT NULL,
+    intentos INTEGER NOT NULL DEFAULT 0,
+    ultimo_error VARCHAR(500),
+    descartado_en TIMESTAMP(6),
+    CONSTRAINT inventario_pendiente_pkey PRIMARY KEY (id)
+    );
+
+CREATE INDEX IF NOT EXISTS ix_inventario_pendiente_proximo_intento ON dbo.inventario_pendiente (proximo_intento);
+
+-- Importaciones de catálogo: avance por chunk confirmado y filas rechazadas
+CREATE SEQUENCE IF NOT EXISTS dbo.importaciones_productos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS dbo.importaciones_productos (
+    id BIGINT DEFAULT nextval('dbo.importaciones_productos_seq') NOT NULL,
+    formato VARCHAR(10) NOT NULL,
+    estado VARCHAR(15) NOT NULL,
+    archivo VARCHAR(500) NOT NULL,
+    lineas_procesadas BIGINT NOT NULL DEFAULT 0,
+    creados BIGINT NOT NULL DEFAULT 0,
+    rechazados BIGINT NOT NULL DEFAULT 0,
+    error VARCHAR(500),
+    intentos INT NOT NULL DEFAULT 0,
+    creado_en TIMESTAMP(6) NOT NULL,
+    actualizado_en TIMESTAMP(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT importaciones_productos_pkey PRIMARY KEY (id)
+    );
+
+CREATE INDEX IF NOT EXISTS ix_importaciones_productos_estado ON dbo.importaciones_productos (estado, actualizado_en);
+
+CREATE SEQUENCE IF NOT EXISTS dbo.importaciones_productos_errores_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS dbo.importaciones_productos_errores (
+    id BIGINT DEFAULT nextval('dbo.importaciones_productos_errores_seq') NOT NULL,
+    importacion_id BIGINT NOT NULL,
+    linea BIGINT NOT NULL,
+    detalle VARCHAR(500) NOT NULL,
+    contenido VARCHAR(500),
+    CONSTRAINT importaciones_productos_errores_pkey PRIMARY KEY (id)
+    );
+
+CREATE INDEX IF NOT EXISTS ix_importaciones_productos_errores_importacion ON dbo.importaciones_productos_errores (importacion_id, linea);
 
 -- Crear tabla de inventario
 CREATE TABLE IF NOT EXISTS dbo.inventarios (
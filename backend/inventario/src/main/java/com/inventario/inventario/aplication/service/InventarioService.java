@@ -1,6 +1,8 @@
 package com.inventario.inventario.aplication.service;
 
 import com.inventario.inventario.shared.dto.InventarioDescontarRequestJsonApiDTO;
+import com.inventario.inventario.shared.dto.InventarioLoteRequestJsonApiDTO;
+import com.inventario.inventario.shared.dto.InventarioLoteResponseJsonApiDTO;
 import com.inventario.inventario.shared.dto.InventarioRequestJsonApiDTO;
 import com.inventario.inventario.shared.dto.InventarioResponseJsonApiDTO;
 
@@ -8,6 +10,7 @@ import java.util.List;
 
 public interface InventarioService {
     InventarioResponseJsonApiDTO crearInventario(InventarioRequestJsonApiDTO request);
+    InventarioLoteResponseJsonApiDTO crearInventarios(InventarioLoteRequestJsonApiDTO request);
     List<InventarioResponseJsonApiDTO.Data> obtenerInventariosPorProductoIds(List<Long> productoIds);
     InventarioResponseJsonApiDTO descontarInventario(InventarioDescontarRequestJsonApiDTO request);
     InventarioResponseJsonApiDTO actualizarInventario(InventarioRequestJsonApiDTO request);
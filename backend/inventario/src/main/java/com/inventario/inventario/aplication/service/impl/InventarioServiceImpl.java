@@ -4,6 +4,8 @@ import com.inventario.inventario.aplication.service.InventarioService;
 import com.inventario.inventario.domain.model.Inventario;
 import com.inventario.inventario.domain.repository.InventarioRepository;
 import com.inventario.inventario.shared.dto.InventarioDescontarRequestJsonApiDTO;
+import com.inventario.inventario.shared.dto.InventarioLoteRequestJsonApiDTO;
+import com.inventario.inventario.shared.dto.InventarioLoteResponseJsonApiDTO;
 import com.inventario.inventario.shared.dto.InventarioRequestJsonApiDTO;
 import com.inventario.inventario.shared.dto.InventarioResponseJsonApiDTO;
 import com.inventario.inventario.shared.mapper.InventarioMapper;
@@ -11,10 +13,14 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -23,6 +29,9 @@ public class InventarioServiceImpl implements InventarioService {
     private final InventarioRepository inventarioRepository;
     private final InventarioMapper inventarioMapper;
 
+    @Value("${inventario.lote.max-items:1000}")
+    private int maxItemsLote;
+
     @Override
     public InventarioResponseJsonApiDTO crearInventario(InventarioRequestJsonApiDTO request) {
         if (request.getData() == null || request.getData().getAttributes() == null) {
@@ -49,6 +58,73 @@ public class InventarioServiceImpl implements InventarioService {
         return inventarioMapper.toJsonApiDTO(guardado);
     }
 
+    /**
+     * Crea en una transacción los inventarios válidos del lote con INSERT agrupados. Los que ya
+     * existen se devuelven sin modificar, así que reenviar un lote no pisa cantidades; los
+     * elementos inválidos se informan en meta.errors sin afectar al resto.
+     */
+    @Transactional
+    @Override
+    public InventarioLoteResponseJsonApiDTO crearInventarios(InventarioLoteRequestJsonApiDTO request) {
+        if (request == null || request.getData() == null || request.getData().isEmpty()) {
+            throw new IllegalArgumentException("El campo 'data' es obligatorio y no puede ser vacío.");
+        }
+        if (request.getData().size() > maxItemsLote) {
+            throw new IllegalArgumentException("El lote admite como máximo " + maxItemsLote + " inventarios.");
+        }
+        log.info("[InventarioService] Creando {} inventarios por lote", request.getData().size());
+
+        InventarioLoteResponseJsonApiDTO respuesta = new InventarioLoteResponseJsonApiDTO();
+        Map<Long, Inventario> validos = new LinkedHashMap<>();
+        for (int i = 0; i < request.getData().size(); i++) {
+            InventarioRequestJsonApiDTO.Data item = request.getData().get(i);
+            InventarioRequestJsonApiDTO.Data.Attributes attributes = item == null ? null : item.getAttributes();
+            String error = validarItemLote(attributes, validos);
+            if (error != null) {
+                Long productoId = attributes == null ? null : attributes.getProductoId();
+                respuesta.getMeta().getErrors().add(new InventarioLoteResponseJsonApiDTO.Error(i, productoId, error));
+                continue;
+            }
+            Inventario inventario = new Inventario();
+            inventario.setProductoId(attributes.getProductoId());
+            inventario.setCantidadDisponible(attributes.getCantidadDisponible());
+            inventario.setUltimaActualizacion(LocalDateTime.now());
+            validos.put(inventario.getProductoId(), inventario);
+        }
+        if (validos.isEmpty()) {
+            return respuesta;
+        }
+
+        Map<Long, Inventario> resultado = new LinkedHashMap<>(validos);
+        for (Inventario existente : inventarioRepository.findAllByProductoIdIn(new ArrayList<>(validos.keySet()))) {
+            resultado.put(existente.getProductoId(), existente);
+            validos.remove(existente.getProductoId());
+        }
+        inventarioRepository.persistirTodos(new ArrayList<>(validos.values()));
+
+        resultado.values().stream()
+                .map(inventarioMapper::toJsonApiDTO)
+                .map(InventarioResponseJsonApiDTO::getData)
+                .forEach(respuesta.getData()::add);
+        return respuesta;
+    }
+
+    private static String validarItemLote(InventarioRequestJsonApiDTO.Data.Attributes attributes, Map<Long, Inventario> validos) {
+        if (attributes == null) {
+            return "El campo 'attributes' es obligatorio.";
+        }
+        if (attributes.getProductoId() == null) {
+            return "El ID del producto no puede ser nulo.";
+        }
+        if (attributes.getCantidadDisponible() == null || attributes.getCantidadDisponible() <= 0) {
+            return "La cantidad disponible debe ser mayor a cero.";
+        }
+        if (validos.containsKey(attributes.getProductoId())) {
+            return "El producto ID " + attributes.getProductoId() + " está repetido en el lote.";
+        }
+        return null;
+    }
+
     @Override
     public List<InventarioResponseJsonApiDTO.Data> obtenerInventariosPorProductoIds(List<Long> productoIds) {
         if (productoIds == null || productoIds.isEmpty()) {
@@ -0,0 +1,67 @@
+package com.inventario.inventario.config;
+
+import com.inventario.inventario.shared.PlazoPeticion;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Respeta el plazo que envía productos: una petición que llega vencida se rechaza con 504 sin
+ * tocar la base, y el resto corre con el plazo disponible para limitar sus consultas.
+ */
+@Component
+@Slf4j
+public class PlazoPeticionFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String cabecera = request.getHeader(PlazoPeticion.CABECERA);
+        if (cabecera == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long restanteMs;
+        try {
+            restanteMs = Long.parseLong(cabecera.trim());
+        } catch (NumberFormatException e) {
+            log.warn("[PlazoPeticionFilter] Cabecera {} inválida: '{}', se ignora", PlazoPeticion.CABECERA, cabecera);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (restanteMs <= 0) {
+            log.warn("[PlazoPeticionFilter] Petición {} {} rechazada: plazo vencido", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("""
+                    {
+                      "errors": [
+                        {
+                          "status": "504",
+                          "title": "Plazo vencido",
+                          "detail": "La petición llegó sin tiempo restante y no se procesó"
+                        }
+                      ]
+                    }
+                    """);
+            return;
+        }
+
+        PlazoPeticion.iniciar(restanteMs);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PlazoPeticion.limpiar();
+        }
+    }
+}
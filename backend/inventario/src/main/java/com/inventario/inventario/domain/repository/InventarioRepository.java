@@ -7,6 +7,7 @@ import java.util.Optional;
 
 public interface InventarioRepository {
     Inventario save(Inventario inventario);
+    List<Inventario> persistirTodos(List<Inventario> inventarios);
     List<Inventario> findAllByProductoIdIn(List<Long> productoIds);
     Optional<Inventario> findById(Long id);
 }
@@ -2,25 +2,59 @@ package com.inventario.inventario.infrastructure.persistence;
 
 import com.inventario.inventario.domain.model.Inventario;
 import com.inventario.inventario.domain.repository.InventarioRepository;
+import com.inventario.inventario.shared.PlazoPeticion;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @Repository
 public class InventarioRepositoryJpa implements InventarioRepository {
     public final  SpringDataJpaRepository springDataJpaRepository;
-    public InventarioRepositoryJpa(SpringDataJpaRepository springDataJpaRepository){
+    private final EntityManager entityManager;
+
+    public InventarioRepositoryJpa(SpringDataJpaRepository springDataJpaRepository, EntityManager entityManager){
         this.springDataJpaRepository = springDataJpaRepository;
+        this.entityManager = entityManager;
     }
     @Override
     public Inventario save(Inventario inventario){
         return springDataJpaRepository.save(inventario);
     }
 
+    /**
+     * Inserta inventarios nuevos con persist: a diferencia de save, que con id asignado hace
+     * merge y un SELECT por fila, los INSERT se agrupan según hibernate.jdbc.batch_size.
+     * Debe llamarse dentro de una transacción.
+     */
+    @Override
+    public List<Inventario> persistirTodos(List<Inventario> inventarios) {
+        inventarios.forEach(entityManager::persist);
+        entityManager.flush();
+        return inventarios;
+    }
+
+    /**
+     * Con plazo de petición la consulta lleva un statement timeout equivalente. JDBC lo admite
+     * solo en segundos, así que se redondea hacia arriba.
+     */
     @Override
     public   List<Inventario> findAllByProductoIdIn(List<Long> productoIds){
-        return  springDataJpaRepository.findAllByProductoIdIn(productoIds);
+        OptionalLong restanteMs = PlazoPeticion.restanteMs();
+        if (restanteMs.isEmpty()) {
+            return  springDataJpaRepository.findAllByProductoIdIn(productoIds);
+        }
+        if (restanteMs.getAsLong() <= 0) {
+            throw new QueryTimeoutException("Plazo de la petición vencido antes de consultar inventarios");
+        }
+        return entityManager.createQuery("select i from Inventario i where i.productoId in :productoIds", Inventario.class)
+                .setParameter("productoIds", productoIds)
+                .setHint(HibernateHints.HINT_TIMEOUT, (int) ((restanteMs.getAsLong() + 999) / 1000))
+                .getResultList();
     }
 
     @Override
@@ -3,6 +3,8 @@ package com.inventario.inventario.infrastructure.rest;
 import com.inventario.inventario.aplication.service.InventarioService;
 import com.inventario.inventario.shared.dto.InventarioDescontarRequestJsonApiDTO;
 import com.inventario.inventario.shared.dto.InventarioListaResponseJsonApiDTO;
+import com.inventario.inventario.shared.dto.InventarioLoteRequestJsonApiDTO;
+import com.inventario.inventario.shared.dto.InventarioLoteResponseJsonApiDTO;
 import com.inventario.inventario.shared.dto.InventarioRequestJsonApiDTO;
 import com.inventario.inventario.shared.dto.InventarioResponseJsonApiDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,6 +29,9 @@ import java.util.List;
 @Tag(name = "Inventario", description = "Operaciones sobre el inventario")
 public class InventarioController {
 
+    // Formato binario de Jackson que productos puede pedir por Accept/Content-Type; los clientes JSON no cambian
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final InventarioService inventarioService;
 
     @Operation(
@@ -41,7 +46,8 @@ public class InventarioController {
                     @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
             }
     )
-    @PostMapping(value = "", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     @ResponseStatus(HttpStatus.CREATED)
     public InventarioResponseJsonApiDTO crearInventario(
             @Valid @RequestBody InventarioRequestJsonApiDTO request
@@ -50,6 +56,25 @@ public class InventarioController {
         return inventarioService.crearInventario(request);
     }
 
+    @Operation(
+            summary = "Crear inventarios por lote",
+            description = "Registra varios inventarios en una sola transacción. Los que ya existen se devuelven sin cambios "
+                    + "y los elementos inválidos se informan en meta.errors sin rechazar el resto del lote",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lote procesado",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = InventarioLoteResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+            }
+    )
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+    public InventarioLoteResponseJsonApiDTO crearInventarios(@RequestBody InventarioLoteRequestJsonApiDTO request) {
+        log.info("[InventarioController] Solicitud de creación de inventarios por lote recibida");
+        return inventarioService.crearInventarios(request);
+    }
+
     @Operation(
             summary = "Obtener inventarios por IDs de productos",
             description = "Devuelve una lista de inventarios en formato JSON:API para los productos indicados",
@@ -61,7 +86,8 @@ public class InventarioController {
                     @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
             }
     )
-    @PostMapping(value = "/buscar", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/buscar", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     public InventarioListaResponseJsonApiDTO obtenerInventarios(@RequestBody List<Long> productoIds) {
         List<InventarioResponseJsonApiDTO.Data> inventarios = inventarioService.obtenerInventariosPorProductoIds(productoIds);
         InventarioListaResponseJsonApiDTO response = new InventarioListaResponseJsonApiDTO();
@@ -81,7 +107,8 @@ public class InventarioController {
                     @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
             }
     )
-    @PostMapping(value = "/descontar", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/descontar", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     public InventarioResponseJsonApiDTO descontarInventario(
             @Valid @RequestBody InventarioDescontarRequestJsonApiDTO request) {
         log.info("[InventarioController] Solicitud para descontar inventario de producto ID: {}",
@@ -100,7 +127,8 @@ public class InventarioController {
                     @ApiResponse(responseCode = "404", description = "Inventario no encontrado", content = @Content)
             }
     )
-    @PutMapping(value = "", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping(value = "", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     public InventarioResponseJsonApiDTO actualizarInventario(
             @Valid @RequestBody InventarioRequestJsonApiDTO request) {
         log.info("[InventarioController] Solicitud de actualización recibida para inventario de producto ID: {}",
@@ -2,7 +2,9 @@ package com.inventario.inventario.infrastructure.rest.exception;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -36,7 +38,13 @@ public class GlobalExceptionHandler {
 
         Map<String, Object> response = new HashMap<>();
         response.put("errors", errores);
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(response);
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> manejarPlazoVencido(QueryTimeoutException ex) {
+        log.warn("[ERROR 504] {}", ex.getMessage());
+        return buildJsonApiErrorResponse(HttpStatus.GATEWAY_TIMEOUT, "Plazo vencido", ex.getMessage());
     }
 
     @ExceptionHandler(RuntimeException.class)
@@ -60,7 +68,8 @@ public class GlobalExceptionHandler {
         Map<String, Object> response = new HashMap<>();
         response.put("errors", List.of(error));
 
-        return new ResponseEntity<>(response, status);
+        // Los errores van siempre en JSON, aunque la petición haya negociado Smile: productos los reenvía tal cual
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(response);
     }
 
 
@@ -0,0 +1,35 @@
+package com.inventario.inventario.shared;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plazo de la petición en curso, recibido de productos en la cabecera X-Deadline-Ms como
+ * milisegundos restantes (relativos, para no depender de relojes sincronizados entre servicios).
+ */
+public final class PlazoPeticion {
+    public static final String CABECERA = "X-Deadline-Ms";
+
+    private static final ThreadLocal<Long> LIMITE_NANOS = new ThreadLocal<>();
+
+    private PlazoPeticion() {
+    }
+
+    public static void iniciar(long restanteMs) {
+        LIMITE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(restanteMs));
+    }
+
+    public static void limpiar() {
+        LIMITE_NANOS.remove();
+    }
+
+    /**
+     * Milisegundos que quedan (0 o negativo si ya venció); vacío si la petición no trae plazo.
+     */
+    public static OptionalLong restanteMs() {
+        Long limite = LIMITE_NANOS.get();
+        return limite == null
+                ? OptionalLong.empty()
+                : OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventario.inventario.shared.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class InventarioLoteRequestJsonApiDTO {
+    private List<InventarioRequestJsonApiDTO.Data> data;
+}
@@ -0,0 +1,32 @@
+package com.inventario.inventario.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de la creación por lote: en data los inventarios creados (o ya existentes) y en
+ * meta.errors los elementos rechazados, identificados por productoId y posición en el lote.
+ */
+@Data
+public class InventarioLoteResponseJsonApiDTO {
+    private List<InventarioResponseJsonApiDTO.Data> data = new ArrayList<>();
+    private Meta meta = new Meta();
+
+    @lombok.Data
+    public static class Meta {
+        private List<Error> errors = new ArrayList<>();
+    }
+
+    @lombok.Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Error {
+        private int index;
+        private Long productoId;
+        private String detail;
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -266,4 +267,81 @@ class InventarioServiceImplTest {
     }
 
 
+    @Test
+    void crearInventarios_ConElementosInvalidos_DeberiaCrearLosValidosEInformarErrores() {
+        // Arrange
+        ReflectionTestUtils.setField(inventarioService, "maxItemsLote", 10);
+        var request = new InventarioLoteRequestJsonApiDTO();
+        request.setData(Arrays.asList(itemLote(1L, 5), itemLote(2L, 0), itemLote(1L, 7), itemLote(3L, 8)));
+        when(inventarioRepository.findAllByProductoIdIn(List.of(1L, 3L))).thenReturn(List.of());
+        when(inventarioMapper.toJsonApiDTO(any())).thenAnswer(invocation -> {
+            Inventario inventario = invocation.getArgument(0);
+            var data = new InventarioResponseJsonApiDTO.Data();
+            data.setId(String.valueOf(inventario.getProductoId()));
+            var response = new InventarioResponseJsonApiDTO();
+            response.setData(data);
+            return response;
+        });
+
+        // Act
+        var resultado = inventarioService.crearInventarios(request);
+
+        // Assert
+        assertEquals(List.of("1", "3"), resultado.getData().stream().map(InventarioResponseJsonApiDTO.Data::getId).toList());
+        assertEquals(2, resultado.getMeta().getErrors().size());
+        assertEquals(1, resultado.getMeta().getErrors().get(0).getIndex());
+        assertEquals("La cantidad disponible debe ser mayor a cero.", resultado.getMeta().getErrors().get(0).getDetail());
+        assertEquals(2, resultado.getMeta().getErrors().get(1).getIndex());
+        ArgumentCaptor<List<Inventario>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventarioRepository).persistirTodos(captor.capture());
+        assertEquals(List.of(1L, 3L), captor.getValue().stream().map(Inventario::getProductoId).toList());
+        verify(inventarioRepository, never()).save(any());
+    }
+
+    @Test
+    void crearInventarios_ConInventarioExistente_DeberiaDevolverloSinModificarlo() {
+        // Arrange
+        ReflectionTestUtils.setField(inventarioService, "maxItemsLote", 10);
+        var request = new InventarioLoteRequestJsonApiDTO();
+        request.setData(List.of(itemLote(1L, 5), itemLote(2L, 9)));
+        Inventario existente = new Inventario();
+        existente.setProductoId(1L);
+        existente.setCantidadDisponible(40);
+        when(inventarioRepository.findAllByProductoIdIn(List.of(1L, 2L))).thenReturn(List.of(existente));
+        when(inventarioMapper.toJsonApiDTO(any())).thenReturn(new InventarioResponseJsonApiDTO());
+
+        // Act
+        var resultado = inventarioService.crearInventarios(request);
+
+        // Assert
+        assertEquals(2, resultado.getData().size());
+        assertTrue(resultado.getMeta().getErrors().isEmpty());
+        assertEquals(40, existente.getCantidadDisponible());
+        ArgumentCaptor<List<Inventario>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventarioRepository).persistirTodos(captor.capture());
+        assertEquals(List.of(2L), captor.getValue().stream().map(Inventario::getProductoId).toList());
+    }
+
+    @Test
+    void crearInventarios_LoteVacioOExcedido_DeberiaLanzarExcepcion() {
+        ReflectionTestUtils.setField(inventarioService, "maxItemsLote", 1);
+        var vacio = new InventarioLoteRequestJsonApiDTO();
+        vacio.setData(List.of());
+        var excedido = new InventarioLoteRequestJsonApiDTO();
+        excedido.setData(List.of(itemLote(1L, 5), itemLote(2L, 5)));
+
+        assertThrows(IllegalArgumentException.class, () -> inventarioService.crearInventarios(vacio));
+        assertThrows(IllegalArgumentException.class, () -> inventarioService.crearInventarios(excedido));
+        verifyNoInteractions(inventarioRepository);
+    }
+
+    private static InventarioRequestJsonApiDTO.Data itemLote(Long productoId, Integer cantidad) {
+        var attributes = new InventarioRequestJsonApiDTO.Data.Attributes();
+        attributes.setProductoId(productoId);
+        attributes.setCantidadDisponible(cantidad);
+        var data = new InventarioRequestJsonApiDTO.Data();
+        data.setType("inventario");
+        data.setAttributes(attributes);
+        return data;
+    }
 }
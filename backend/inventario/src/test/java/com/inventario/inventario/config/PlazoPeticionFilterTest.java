@@ -0,0 +1,69 @@
+package com.inventario.inventario.config;
+
+import com.inventario.inventario.shared.PlazoPeticion;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PlazoPeticionFilterTest {
+
+    private final PlazoPeticionFilter filtro = new PlazoPeticionFilter();
+
+    @Test
+    void doFilter_PlazoVencido_DeberiaRetornar504SinProcesar() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/inventarios/buscar");
+        request.addHeader(PlazoPeticion.CABECERA, "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filtro.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(504, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Plazo vencido"));
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_ConPlazo_DeberiaExponerloDuranteLaPeticionYLimpiarlo() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/inventarios/buscar");
+        request.addHeader(PlazoPeticion.CABECERA, "800");
+        AtomicReference<OptionalLong> durante = new AtomicReference<>();
+
+        // Act
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> durante.set(PlazoPeticion.restanteMs()));
+
+        // Assert
+        assertTrue(durante.get().isPresent());
+        assertTrue(durante.get().getAsLong() > 0 && durante.get().getAsLong() <= 800);
+        assertTrue(PlazoPeticion.restanteMs().isEmpty());
+    }
+
+    @Test
+    void doFilter_SinCabeceraOInvalida_DeberiaContinuarSinPlazo() throws Exception {
+        // Arrange
+        MockHttpServletRequest sinCabecera = new MockHttpServletRequest("POST", "/api/v1/inventarios/buscar");
+        MockHttpServletRequest invalida = new MockHttpServletRequest("POST", "/api/v1/inventarios/buscar");
+        invalida.addHeader(PlazoPeticion.CABECERA, "pronto");
+        AtomicReference<OptionalLong> durante = new AtomicReference<>();
+
+        // Act & Assert
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{sinCabecera, invalida}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filtro.doFilter(request, response, (req, res) -> durante.set(PlazoPeticion.restanteMs()));
+            assertEquals(200, response.getStatus());
+            assertTrue(durante.get().isEmpty());
+        }
+    }
+}
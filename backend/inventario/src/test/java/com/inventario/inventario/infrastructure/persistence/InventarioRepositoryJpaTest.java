@@ -0,0 +1,103 @@
+package com.inventario.inventario.infrastructure.persistence;
+
+import com.inventario.inventario.domain.model.Inventario;
+import com.inventario.inventario.shared.PlazoPeticion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventarioRepositoryJpaTest {
+
+    @Mock
+    private SpringDataJpaRepository springDataJpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Inventario> query;
+
+    @InjectMocks
+    private InventarioRepositoryJpa repository;
+
+    @AfterEach
+    void tearDown() {
+        PlazoPeticion.limpiar();
+    }
+
+    @Test
+    void findAllByProductoIdIn_SinPlazo_DeberiaUsarConsultaDerivada() {
+        // Arrange
+        when(springDataJpaRepository.findAllByProductoIdIn(List.of(1L))).thenReturn(List.of(new Inventario()));
+
+        // Act
+        List<Inventario> resultado = repository.findAllByProductoIdIn(List.of(1L));
+
+        // Assert
+        assertEquals(1, resultado.size());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void findAllByProductoIdIn_ConPlazo_DeberiaAplicarStatementTimeoutRedondeadoHaciaArriba() {
+        // Arrange
+        PlazoPeticion.iniciar(1_500);
+        when(entityManager.createQuery(anyString(), eq(Inventario.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setHint(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(new Inventario()));
+
+        // Act
+        List<Inventario> resultado = repository.findAllByProductoIdIn(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(1, resultado.size());
+        verify(query).setParameter("productoIds", List.of(1L, 2L));
+        verify(query).setHint(HibernateHints.HINT_TIMEOUT, 2);
+        verifyNoInteractions(springDataJpaRepository);
+    }
+
+    @Test
+    void findAllByProductoIdIn_PlazoVencido_DeberiaLanzarQueryTimeoutSinConsultar() {
+        // Arrange
+        PlazoPeticion.iniciar(-1);
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> repository.findAllByProductoIdIn(List.of(1L)));
+        verifyNoInteractions(entityManager, springDataJpaRepository);
+    }
+
+    @Test
+    void persistirTodos_DeberiaPersistirSinMergeYHacerFlush() {
+        // Arrange
+        Inventario primero = new Inventario();
+        primero.setProductoId(1L);
+        Inventario segundo = new Inventario();
+        segundo.setProductoId(2L);
+
+        // Act
+        List<Inventario> resultado = repository.persistirTodos(List.of(primero, segundo));
+
+        // Assert
+        assertEquals(2, resultado.size());
+        verify(entityManager).persist(primero);
+        verify(entityManager).persist(segundo);
+        verify(entityManager).flush();
+        verify(entityManager, never()).merge(any());
+        verifyNoInteractions(springDataJpaRepository);
+    }
+}
@@ -1,6 +1,7 @@
 package com.inventario.inventario.infrastructure.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.inventario.inventario.aplication.service.InventarioService;
 import com.inventario.inventario.shared.dto.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -82,6 +84,29 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         verify(inventarioService, times(1)).obtenerInventariosPorProductoIds(productoIds);
     }
 
+    @Test
+    void crearInventarios_DeberiaRetornarCreadosYErrores() throws Exception {
+        // Arrange
+        InventarioLoteRequestJsonApiDTO request = new InventarioLoteRequestJsonApiDTO();
+        request.setData(List.of(crearInventarioRequestMock().getData()));
+        InventarioLoteResponseJsonApiDTO response = new InventarioLoteResponseJsonApiDTO();
+        response.getData().add(crearInventarioResponseMock().getData());
+        response.getMeta().getErrors().add(new InventarioLoteResponseJsonApiDTO.Error(1, 2L, "La cantidad disponible debe ser mayor a cero."));
+
+        when(inventarioService.crearInventarios(any(InventarioLoteRequestJsonApiDTO.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL + "/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value("1"))
+                .andExpect(jsonPath("$.meta.errors[0].index").value(1))
+                .andExpect(jsonPath("$.meta.errors[0].productoId").value(2));
+
+        verify(inventarioService, times(1)).crearInventarios(any(InventarioLoteRequestJsonApiDTO.class));
+    }
+
     @Test
     void descontarInventario_DeberiaRetornarInventarioActualizado() throws Exception {
         // Arrange
@@ -163,6 +188,45 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     }
 
 
+    @Test
+    void obtenerInventarios_ConSmile_DeberiaResponderEnSmile() throws Exception {
+        // Arrange
+        SmileMapper smileMapper = new SmileMapper();
+        List<Long> productoIds = Arrays.asList(1L, 2L);
+        when(inventarioService.obtenerInventariosPorProductoIds(productoIds))
+                .thenReturn(List.of(crearInventarioResponseMock().getData()));
+
+        // Act
+        byte[] cuerpo = mockMvc.perform(post(BASE_URL + "/buscar")
+                        .contentType(InventarioController.APPLICATION_SMILE_VALUE)
+                        .accept(InventarioController.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_JSON_VALUE + ";q=0.9")
+                        .content(smileMapper.writeValueAsBytes(productoIds)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(InventarioController.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        InventarioListaResponseJsonApiDTO respuesta = smileMapper.readValue(cuerpo, InventarioListaResponseJsonApiDTO.class);
+        assertEquals(1, respuesta.getData().size());
+        assertEquals(100, respuesta.getData().get(0).getAttributes().getCantidadDisponible());
+    }
+
+    @Test
+    void crearInventario_ConSmileSinAcceptSmile_DeberiaResponderJson() throws Exception {
+        // Arrange
+        when(inventarioService.crearInventario(any(InventarioRequestJsonApiDTO.class))).thenReturn(crearInventarioResponseMock());
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(InventarioController.APPLICATION_SMILE_VALUE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(new SmileMapper().writeValueAsBytes(crearInventarioRequestMock())))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.id").value("1"));
+    }
+
+
     private InventarioRequestJsonApiDTO crearInventarioRequestMock() {
         InventarioRequestJsonApiDTO request = new InventarioRequestJsonApiDTO();
         InventarioRequestJsonApiDTO.Data data = new InventarioRequestJsonApiDTO.Data();
@@ -0,0 +1,219 @@
+package com.productos.productos.aplication.concurrent;
+
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.shared.PlazoPeticion;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa las consultas de inventario de peticiones concurrentes (al estilo DataLoader): los ids
+ * pedidos durante una ventana corta, o hasta completar el tamaño máximo, se envían juntos en una
+ * sola llamada a /inventarios/buscar y cada llamador recibe solo los registros de sus ids.
+ * Con ventana 0 cada consulta va directo al cliente.
+ */
+@Component
+@Slf4j
+public class AgrupadorInventario {
+    private final InventarioClient inventarioClient;
+    private final long ventanaMicros;
+    private final int maxIds;
+    private final DistributionSummary tamanoLotes;
+    private final ScheduledExecutorService temporizador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("inventario-lote-timer").factory());
+
+    private final Object candado = new Object();
+    private Lote abierto;
+
+    public AgrupadorInventario(
+            InventarioClient inventarioClient,
+            MeterRegistry meterRegistry,
+            @Value("${productos.inventario.lote.ventana-micros:2000}") long ventanaMicros,
+            @Value("${productos.inventario.lote.max-ids:100}") int maxIds
+    ) {
+        this.inventarioClient = inventarioClient;
+        this.ventanaMicros = ventanaMicros;
+        this.maxIds = maxIds;
+        this.tamanoLotes = DistributionSummary.builder("productos.inventario.lote.tamano")
+                .description("Ids enviados en cada llamada agrupada a inventario")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Mismo contrato que {@link InventarioClient#obtenerInventariosAsync(List)}, pero la llamada
+     * puede compartirse con otras peticiones en curso. Cancelar o vencer el future devuelto solo
+     * afecta a este llamador: el lote compartido sigue su curso para los demás.
+     */
+    public CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> obtenerInventariosAsync(List<Long> productoIds) {
+        if (ventanaMicros <= 0 || productoIds.size() >= maxIds) {
+            return inventarioClient.obtenerInventariosAsync(productoIds);
+        }
+        return agregarAlLote(productoIds);
+    }
+
+    private CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> agregarAlLote(List<Long> productoIds) {
+        Lote lleno = null;
+        Lote lote;
+        synchronized (candado) {
+            if (abierto != null && abierto.ids.size() + productoIds.size() > maxIds) {
+                lleno = cerrar();
+            }
+            if (abierto == null) {
+                abierto = new Lote();
+                Lote programado = abierto;
+                abierto.temporizado = temporizador.schedule(() -> despacharSiSigueAbierto(programado),
+                        ventanaMicros, TimeUnit.MICROSECONDS);
+            }
+            lote = abierto;
+            lote.ids.addAll(productoIds);
+            lote.extenderPlazo(PlazoPeticion.limiteNanos());
+            if (lote.ids.size() >= maxIds) {
+                cerrar();
+                despachar(lote);
+            }
+        }
+        if (lleno != null) {
+            despachar(lleno);
+        }
+
+        // Cada llamador recibe una etapa derivada: si se interrumpe, el lote sigue para los demás
+        return lote.resultado.thenApply(indice -> productoIds.stream()
+                .distinct()
+                .map(indice::buscar)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @PreDestroy
+    public void cerrarEjecutores() {
+        temporizador.shutdownNow();
+    }
+
+    private void despacharSiSigueAbierto(Lote lote) {
+        synchronized (candado) {
+            if (abierto != lote) {
+                return;
+            }
+            abierto = null;
+        }
+        despachar(lote);
+    }
+
+    // Debe llamarse con el candado tomado
+    private Lote cerrar() {
+        Lote lote = abierto;
+        abierto = null;
+        lote.temporizado.cancel(false);
+        return lote;
+    }
+
+    /**
+     * La llamada compartida pasa por {@link InventarioClient#obtenerInventariosAsync(List)}, con su
+     * cobertura de lecturas lentas, y se lanza bajo el plazo del lote para que la cabecera lo lleve.
+     * No bloquea: el hilo que despacha (el llamador que completa el lote o el temporizador) solo la inicia.
+     */
+    private void despachar(Lote lote) {
+        List<Long> ids = new ArrayList<>(lote.ids);
+        tamanoLotes.record(ids.size());
+        log.debug("[AgrupadorInventario] Consultando inventario para {} ids agrupados", ids.size());
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> llamada;
+        try {
+            llamada = PlazoPeticion.conLimite(lote.plazo(), () -> inventarioClient.obtenerInventariosAsync(ids));
+        } catch (Throwable e) {
+            lote.resultado.completeExceptionally(e);
+            return;
+        }
+        llamada.whenComplete((inventarios, error) -> {
+            if (error != null) {
+                lote.resultado.completeExceptionally(error);
+            } else {
+                lote.resultado.complete(Indice.de(inventarios));
+            }
+        });
+    }
+
+    /**
+     * Registros del lote ordenados por id de producto, con los ids en un long[] para buscar por
+     * bisección sin cajas por entrada. Ante ids repetidos se conserva el primero que llegó.
+     */
+    private static final class Indice {
+        private final long[] productoIds;
+        private final InventarioResponseJsonApiDTO.Data[] inventarios;
+
+        private Indice(long[] productoIds, InventarioResponseJsonApiDTO.Data[] inventarios) {
+            this.productoIds = productoIds;
+            this.inventarios = inventarios;
+        }
+
+        static Indice de(List<InventarioResponseJsonApiDTO.Data> registros) {
+            // El orden de Arrays.sort sobre objetos es estable: el primero de cada id queda delante
+            InventarioResponseJsonApiDTO.Data[] ordenados = registros.stream()
+                    .filter(inventario -> inventario != null && inventario.getAttributes() != null
+                            && inventario.getAttributes().getProductoId() != null)
+                    .toArray(InventarioResponseJsonApiDTO.Data[]::new);
+            Arrays.sort(ordenados, Comparator.comparingLong(inventario -> inventario.getAttributes().getProductoId()));
+
+            long[] productoIds = new long[ordenados.length];
+            int unicos = 0;
+            for (InventarioResponseJsonApiDTO.Data inventario : ordenados) {
+                long productoId = inventario.getAttributes().getProductoId();
+                if (unicos == 0 || productoIds[unicos - 1] != productoId) {
+                    productoIds[unicos] = productoId;
+                    ordenados[unicos] = inventario;
+                    unicos++;
+                }
+            }
+            return new Indice(Arrays.copyOf(productoIds, unicos), Arrays.copyOf(ordenados, unicos));
+        }
+
+        InventarioResponseJsonApiDTO.Data buscar(Long productoId) {
+            if (productoId == null) {
+                return null;
+            }
+            int posicion = Arrays.binarySearch(productoIds, productoId);
+            return posicion >= 0 ? inventarios[posicion] : null;
+        }
+    }
+
+    private static final class Lote {
+        private final Set<Long> ids = new LinkedHashSet<>();
+        private final CompletableFuture<Indice> resultado = new CompletableFuture<>();
+        private ScheduledFuture<?> temporizado;
+        private boolean sinPlazo;
+        private OptionalLong limite = OptionalLong.empty();
+
+        /**
+         * La llamada compartida viaja con el plazo más holgado de sus llamadores (o sin plazo si
+         * alguno no lo tiene); cada llamador sigue acotando su propia espera. Con el candado tomado.
+         */
+        void extenderPlazo(OptionalLong plazo) {
+            if (plazo.isEmpty()) {
+                sinPlazo = true;
+            } else if (limite.isEmpty() || plazo.getAsLong() - limite.getAsLong() > 0) {
+                limite = plazo;
+            }
+        }
+
+        OptionalLong plazo() {
+            return sinPlazo ? OptionalLong.empty() : limite;
+        }
+    }
+}
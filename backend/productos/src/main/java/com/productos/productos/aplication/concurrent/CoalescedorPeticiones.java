@@ -0,0 +1,129 @@
+package com.productos.productos.aplication.concurrent;
+
+import com.productos.productos.shared.PlazoPeticion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: las peticiones concurrentes con la misma clave comparten una única ejecución.
+ * La ejecución corre en un hilo propio (virtual) y no en el de quien llegó primero, de modo que
+ * si ese llamador se va el resto sigue esperando el mismo resultado; solo se cancela cuando
+ * todos los que esperaban se fueron.
+ */
+@Component
+@Slf4j
+public class CoalescedorPeticiones {
+    private final ConcurrentMap<String, Vuelo<?>> vuelos = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("single-flight-", 0).factory());
+    private final Counter coalescidas;
+
+    public CoalescedorPeticiones(MeterRegistry meterRegistry) {
+        this.coalescidas = Counter.builder("productos.peticiones.coalescidas")
+                .description("Peticiones que reutilizaron una ejecución en curso con la misma clave")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T ejecutar(String clave, Supplier<T> carga) {
+        while (true) {
+            Vuelo<T> nuevo = new Vuelo<>();
+            Vuelo<T> existente = (Vuelo<T>) vuelos.putIfAbsent(clave, nuevo);
+            Vuelo<T> vuelo = existente != null ? existente : nuevo;
+
+            if (!vuelo.unirse()) {
+                // Lo abandonaron todos y se está cancelando: se descarta y se inicia otro
+                vuelos.remove(clave, vuelo);
+                continue;
+            }
+            if (existente == null) {
+                despegar(clave, vuelo, carga);
+            } else {
+                coalescidas.increment();
+                log.debug("[CoalescedorPeticiones] Petición coalescida con la ejecución en curso de '{}'", clave);
+            }
+
+            try {
+                return vuelo.resultado.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Petición interrumpida mientras esperaba '" + clave + "'");
+            } catch (ExecutionException e) {
+                throw EjecutorEtapas.propagar(e.getCause());
+            } finally {
+                if (vuelo.abandonar()) {
+                    vuelo.resultado.cancel(true);
+                    vuelos.remove(clave, vuelo);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdownNow();
+    }
+
+    int enCurso() {
+        return vuelos.size();
+    }
+
+    private <T> void despegar(String clave, Vuelo<T> vuelo, Supplier<T> carga) {
+        // La ejecución compartida usa el plazo de quien la inició
+        Future<?> ejecucion = executor.submit(PlazoPeticion.propagar(() -> {
+            try {
+                vuelo.resultado.complete(carga.get());
+            } catch (Throwable e) {
+                vuelo.resultado.completeExceptionally(e);
+            } finally {
+                // Los que lleguen después ya no deben unirse a un resultado terminado
+                vuelos.remove(clave, vuelo);
+            }
+        }));
+        vuelo.resultado.whenComplete((valor, error) -> {
+            if (vuelo.resultado.isCancelled()) {
+                ejecucion.cancel(true);
+            }
+        });
+    }
+
+    private static final class Vuelo<T> {
+        private final CompletableFuture<T> resultado = new CompletableFuture<>();
+        private int esperando;
+        private boolean cerrado;
+
+        synchronized boolean unirse() {
+            if (cerrado) {
+                return false;
+            }
+            esperando++;
+            return true;
+        }
+
+        /**
+         * @return true si era el último en esperar y la ejecución sigue en curso, es decir,
+         * si hay que cancelarla
+         */
+        synchronized boolean abandonar() {
+            esperando--;
+            if (esperando == 0 && !resultado.isDone()) {
+                cerrado = true;
+                return true;
+            }
+            return false;
+        }
+    }
+}
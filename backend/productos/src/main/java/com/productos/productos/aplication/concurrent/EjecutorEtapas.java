@@ -0,0 +1,151 @@
+package com.productos.productos.aplication.concurrent;
+
+import com.productos.productos.shared.PlazoPeticion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta las etapas de una petición (consulta de página, conteo, inventario...) en el pool
+ * acotado del listado y registra la duración de cada una en el timer 'productos.etapa'.
+ */
+@Component
+public class EjecutorEtapas {
+    private static final String METRICA = "productos.etapa";
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public EjecutorEtapas(@Qualifier("listadoExecutor") ExecutorService executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Lanza la etapa en el pool con el plazo de la petición que la lanza. Cancelar el future
+     * devuelto interrumpe el hilo que la ejecuta.
+     */
+    public <T> CompletableFuture<T> enParalelo(String etapa, Supplier<T> tarea) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Future<?> ejecucion = executor.submit(PlazoPeticion.propagar(() -> {
+            if (resultado.isDone()) {
+                return;
+            }
+            try {
+                resultado.complete(medir(etapa, tarea));
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        }));
+        resultado.whenComplete((valor, error) -> {
+            if (resultado.isCancelled()) {
+                ejecucion.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    public <T> T medir(String etapa, Supplier<T> tarea) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return tarea.get();
+        } finally {
+            sample.stop(timer(etapa));
+        }
+    }
+
+    /**
+     * Mide una etapa que ya corre por su cuenta (p. ej. una llamada asíncrona a inventario)
+     * hasta que termina. Devuelve el mismo future.
+     */
+    public <T> CompletableFuture<T> medir(String etapa, CompletableFuture<T> enCurso) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        enCurso.whenComplete((valor, error) -> sample.stop(timer(etapa)));
+        return enCurso;
+    }
+
+    /**
+     * Si la etapa no terminó dentro del plazo, la completa con el error indicado. Devuelve el
+     * mismo future, de modo que quien lo lanzó ve el vencimiento como una falla más.
+     */
+    public static <T> CompletableFuture<T> conPlazo(CompletableFuture<T> etapa, long plazoMs,
+                                                    Supplier<? extends RuntimeException> error) {
+        if (plazoMs > 0 && !etapa.isDone()) {
+            CompletableFuture.delayedExecutor(plazoMs, TimeUnit.MILLISECONDS).execute(() -> {
+                if (!etapa.isDone()) {
+                    etapa.completeExceptionally(error.get());
+                }
+            });
+        }
+        return etapa;
+    }
+
+    private Timer timer(String etapa) {
+        return Timer.builder(METRICA)
+                .description("Duración de cada etapa de las peticiones de productos")
+                .tag("etapa", etapa)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Espera el resultado de una etapa y relanza la excepción original en lugar de la
+     * CompletionException/ExecutionException que la envuelve.
+     */
+    public static <T> T esperar(CompletableFuture<T> etapa) {
+        try {
+            return etapa.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            etapa.cancel(true);
+            throw new CancellationException("Petición interrumpida mientras esperaba una etapa");
+        } catch (ExecutionException e) {
+            throw propagar(e.getCause());
+        }
+    }
+
+    /**
+     * Espera a que terminen todas las etapas, pero falla en cuanto una de ellas falla:
+     * el resto se cancela y se relanza la excepción original de la que falló primero.
+     */
+    public static void esperarTodas(CompletableFuture<?>... etapas) {
+        CompletableFuture<Void> todas = CompletableFuture.allOf(etapas);
+        for (CompletableFuture<?> etapa : etapas) {
+            etapa.whenComplete((valor, error) -> {
+                if (error != null) {
+                    todas.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            esperar(todas);
+        } catch (RuntimeException e) {
+            for (CompletableFuture<?> etapa : etapas) {
+                etapa.cancel(true);
+            }
+            throw e;
+        }
+    }
+
+    static RuntimeException propagar(Throwable causa) {
+        if (causa instanceof CompletionException && causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        if (causa instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (causa instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(causa);
+    }
+}
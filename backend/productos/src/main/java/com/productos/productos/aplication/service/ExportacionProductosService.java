@@ -0,0 +1,9 @@
+package com.productos.productos.aplication.service;
+
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+
+import java.io.OutputStream;
+
+public interface ExportacionProductosService {
+    void exportarProductos(ProductoFiltroDTO filtro, OutputStream salida);
+}
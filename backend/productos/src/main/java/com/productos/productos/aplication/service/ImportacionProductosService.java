@@ -0,0 +1,11 @@
+package com.productos.productos.aplication.service;
+
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.shared.dto.ImportacionResponseJsonApiDTO;
+
+import java.io.InputStream;
+
+public interface ImportacionProductosService {
+    ImportacionResponseJsonApiDTO iniciarImportacion(ImportacionProductos.Formato formato, InputStream contenido);
+    ImportacionResponseJsonApiDTO obtenerImportacion(Long id);
+}
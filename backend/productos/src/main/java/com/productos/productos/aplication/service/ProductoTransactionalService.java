@@ -2,6 +2,9 @@ package com.productos.productos.aplication.service;
 
 import com.productos.productos.domain.model.Producto;
 
+import java.util.List;
+
 public interface ProductoTransactionalService {
     Producto crearProductoYInventario(Producto producto, int cantidad);
+    List<Producto> crearProductosYInventarios(List<Producto> productos, List<Integer> cantidades);
 }
@@ -1,13 +1,36 @@
 package com.productos.productos.aplication.service;
 
+import com.productos.productos.domain.model.Producto;
+import com.productos.productos.shared.dto.ActualizacionPreciosRequestDTO;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.ProductoLoteRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
 import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
 
+import java.util.List;
+import java.util.Set;
+
 public interface ProductosService {
     ProductoResponseJsonApiDTO getTodosLosProductos(ProductoFiltroDTO filtro,String baseUrl);
     ProductoResponseJsonApiDTO getProductoPorId(Long id);
+    ProductoResponseJsonApiDTO getProductoPorId(Long id, Set<CampoProducto> campos);
+    ProductoResponseJsonApiDTO getProductosPorIds(List<Long> ids, Set<CampoProducto> campos);
     ProductoResponseJsonApiDTO crearProducto(ProductoRequestJsonApiDTO request);
+    ProductoResponseJsonApiDTO crearProductos(ProductoLoteRequestJsonApiDTO request);
+    CreacionLote crearProductosLote(List<ProductoRequestJsonApiDTO.Data> items);
     ProductoResponseJsonApiDTO actualizarProducto(Long id, ProductoRequestJsonApiDTO request);
+    ProductoResponseJsonApiDTO actualizarProductoParcial(Long id, ProductoRequestJsonApiDTO request);
+    ProductoResponseJsonApiDTO actualizarPrecios(ActualizacionPreciosRequestDTO request);
     void eliminarProductoPorId(Long id);
+
+    /**
+     * Resultado de {@link #crearProductosLote}: los productos creados con su cantidad inicial, en
+     * el orden del lote, y los elementos rechazados por posición.
+     */
+    record CreacionLote(List<Producto> creados, List<Integer> cantidades, List<Rechazo> rechazos) {
+    }
+
+    record Rechazo(int posicion, String detalle) {
+    }
 }
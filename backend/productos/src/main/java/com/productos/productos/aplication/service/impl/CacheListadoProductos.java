@@ -0,0 +1,109 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import com.productos.productos.shared.dto.pageable.PageableRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache en memoria de las respuestas de /filtro, acotada con eviction W-TinyLFU de Caffeine.
+ * La clave incluye la generación del catálogo: cualquier escritura la incrementa y con ello
+ * deja inalcanzables todas las entradas anteriores de una vez, que luego salen por tamaño o TTL.
+ * El TTL acota además lo desactualizada que puede quedar la cantidad que aporta inventario.
+ */
+@Component
+@Slf4j
+public class CacheListadoProductos {
+    private final Cache<String, ProductoResponseJsonApiDTO> cache;
+    private final AtomicLong generacion = new AtomicLong();
+
+    public CacheListadoProductos(
+            MeterRegistry meterRegistry,
+            @Value("${productos.listado.cache.max-entradas:500}") long maxEntradas,
+            @Value("${productos.listado.cache.ttl-segundos:30}") long ttlSegundos
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productos.listado");
+        Gauge.builder("productos.catalogo.generacion", generacion, AtomicLong::get)
+                .description("Generación del catálogo usada para invalidar la cache del listado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve la respuesta cacheada o la carga; la función de carga recibe la clave completa
+     * (incluida la generación) para poder coalescer cargas concurrentes de la misma consulta.
+     */
+    public ProductoResponseJsonApiDTO obtener(ProductoFiltroDTO filtro, String baseUrl, Function<String, ProductoResponseJsonApiDTO> carga) {
+        // La generación se lee antes de cargar: si hay una escritura mientras tanto, el resultado
+        // queda guardado bajo la generación vieja y nadie lo vuelve a leer
+        String clave = clave(generacion.get(), filtro, baseUrl);
+        ProductoResponseJsonApiDTO cacheada = cache.getIfPresent(clave);
+        if (cacheada != null) {
+            return cacheada;
+        }
+        ProductoResponseJsonApiDTO respuesta = carga.apply(clave);
+        // Una respuesta con inventario degradado no se guarda: al cerrarse el circuito debe volver a leerse
+        if (!respuesta.isInventarioDegradado()) {
+            cache.put(clave, respuesta);
+        }
+        return respuesta;
+    }
+
+    /**
+     * Invalida todo el listado. Dentro de una transacción espera al commit, para que una lectura
+     * concurrente no vuelva a cachear el estado previo a la escritura bajo la nueva generación.
+     */
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementarGeneracion();
+                }
+            });
+        } else {
+            incrementarGeneracion();
+        }
+    }
+
+    public long getGeneracion() {
+        return generacion.get();
+    }
+
+    private void incrementarGeneracion() {
+        long nueva = generacion.incrementAndGet();
+        log.debug("[CacheListadoProductos] Catálogo modificado, nueva generación: {}", nueva);
+    }
+
+    private static String clave(long generacion, ProductoFiltroDTO filtro, String baseUrl) {
+        PageableRequest pageable = filtro.getPageable();
+        return generacion
+                + "|" + filtro.getClaveNormalizada()
+                + "|page=" + pageable.getPage()
+                + "|size=" + pageable.getSize()
+                + "|order=" + pageable.getOrder()
+                + "|total=" + pageable.getTotal()
+                + "|after=" + pageable.getAfter()
+                + "|before=" + pageable.getBefore()
+                + "|fields=" + CampoProducto.clave(filtro.getCampos())
+                + "|" + baseUrl;
+    }
+}
@@ -0,0 +1,227 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.productos.productos.domain.model.InventarioPendiente;
+import com.productos.productos.domain.repository.InventarioPendienteRepository;
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.shared.dto.InventarioLoteResponseJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioRequestJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega a inventario las creaciones registradas en el outbox ({@link InventarioPendiente}).
+ * Cada ronda reclama un lote con FOR UPDATE SKIP LOCKED y lo arrienda adelantando su
+ * proximoIntento en una transacción corta; la llamada a /inventarios/lote se hace fuera de
+ * transacción y una segunda transacción borra las filas confirmadas y reprograma las fallidas con
+ * backoff exponencial. Las que inventario rechaza por inválidas, o que agotan
+ * inventario.outbox.max-intentos, se descartan: quedan en la tabla con descartadoEn para revisarlas
+ * a mano y dejan de contar como pendientes.
+ * Varias instancias pueden despachar a la vez sin repartirse la misma fila.
+ */
+@Component
+@Slf4j
+public class DespachadorInventarioPendiente {
+    private static final int MAX_LONGITUD_ERROR = 500;
+
+    private final InventarioPendienteRepository pendienteRepository;
+    private final InventarioClient inventarioClient;
+    private final TransactionTemplate transaccion;
+    private final int tamanoLote;
+    private final long esperaBaseMs;
+    private final long esperaMaxMs;
+    private final long arriendoMs;
+    private final int maxIntentos;
+    private final AtomicLong pendientes = new AtomicLong();
+    private final AtomicLong retrasoMs = new AtomicLong();
+    private final Timer demora;
+    private final Counter entregados;
+    private final Counter reprogramados;
+    private final Counter descartados;
+
+    public DespachadorInventarioPendiente(
+            InventarioPendienteRepository pendienteRepository,
+            InventarioClient inventarioClient,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${inventario.outbox.tamano-lote:50}") int tamanoLote,
+            @Value("${inventario.outbox.espera-base-ms:1000}") long esperaBaseMs,
+            @Value("${inventario.outbox.espera-max-ms:300000}") long esperaMaxMs,
+            @Value("${inventario.outbox.arriendo-ms:60000}") long arriendoMs,
+            @Value("${inventario.outbox.max-intentos:20}") int maxIntentos
+    ) {
+        this.pendienteRepository = pendienteRepository;
+        this.inventarioClient = inventarioClient;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.esperaBaseMs = esperaBaseMs;
+        this.esperaMaxMs = esperaMaxMs;
+        this.arriendoMs = arriendoMs;
+        this.maxIntentos = maxIntentos;
+        Gauge.builder("inventario.outbox.pendientes", pendientes, AtomicLong::get)
+                .description("Creaciones de inventario aún no entregadas")
+                .register(meterRegistry);
+        Gauge.builder("inventario.outbox.retraso", retrasoMs, valor -> valor.get() / 1000.0)
+                .description("Antigüedad de la creación pendiente más vieja")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.demora = Timer.builder("inventario.outbox.demora")
+                .description("Tiempo entre el commit del producto y la entrega a inventario")
+                .register(meterRegistry);
+        this.entregados = Counter.builder("inventario.outbox.entregas")
+                .tag("resultado", "entregado")
+                .register(meterRegistry);
+        this.reprogramados = Counter.builder("inventario.outbox.entregas")
+                .tag("resultado", "reprogramado")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("inventario.outbox.entregas")
+                .tag("resultado", "descartado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Despacha lotes mientras vengan completos; las filas reprogramadas quedan fuera de la
+     * siguiente consulta, así que un inventario caído no provoca un bucle. Se programa en
+     * SchedulingConfig cada inventario.outbox.intervalo-ms.
+     */
+    public void despacharPendientes() {
+        int reclamados;
+        do {
+            reclamados = despacharLote();
+        } while (reclamados == tamanoLote);
+        actualizarMetricas();
+    }
+
+    int despacharLote() {
+        List<InventarioPendiente> lote = transaccion.execute(estado -> reclamarLote());
+        if (lote == null || lote.isEmpty()) {
+            return 0;
+        }
+        log.debug("[DespachadorInventarioPendiente] Entregando {} creaciones de inventario", lote.size());
+
+        List<InventarioRequestJsonApiDTO.Data> inventarios = lote.stream()
+                .map(pendiente -> new InventarioRequestJsonApiDTO(pendiente.getProductoId(), pendiente.getCantidad()).getData())
+                .toList();
+        InventarioLoteResponseJsonApiDTO respuesta;
+        try {
+            // La llamada se abandona a mitad del arriendo para resolver el lote antes de que
+            // otra instancia pueda volver a reclamar las mismas filas
+            respuesta = inventarioClient.crearInventariosLoteAsync(inventarios)
+                    .orTimeout(arriendoMs / 2, TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            String error = causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+            transaccion.executeWithoutResult(estado -> lote.forEach(pendiente -> reprogramar(pendiente, error)));
+            return lote.size();
+        }
+        transaccion.executeWithoutResult(estado -> resolver(lote, respuesta));
+        return lote.size();
+    }
+
+    /**
+     * Toma las filas vencidas y adelanta su proximoIntento en arriendo-ms: al confirmar, los
+     * bloqueos se liberan pero ninguna otra instancia las reclama mientras dura la llamada.
+     */
+    private List<InventarioPendiente> reclamarLote() {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<InventarioPendiente> lote = pendienteRepository.reclamarLote(ahora, tamanoLote);
+        if (lote.isEmpty()) {
+            return lote;
+        }
+        LocalDateTime finArriendo = ahora.plus(Duration.ofMillis(arriendoMs));
+        lote.forEach(pendiente -> pendiente.setProximoIntento(finArriendo));
+        return pendienteRepository.saveAll(lote);
+    }
+
+    private void resolver(List<InventarioPendiente> lote, InventarioLoteResponseJsonApiDTO respuesta) {
+        if (respuesta == null) {
+            lote.forEach(pendiente -> reprogramar(pendiente, "Inventario respondió sin cuerpo"));
+            return;
+        }
+        Set<Long> creados = new HashSet<>();
+        for (InventarioResponseJsonApiDTO.Data data : respuesta.getData()) {
+            if (data != null && data.getAttributes() != null) {
+                creados.add(data.getAttributes().getProductoId());
+            }
+        }
+        Map<Long, String> rechazos = new HashMap<>();
+        for (InventarioLoteResponseJsonApiDTO.Error error : respuesta.getMeta().getErrors()) {
+            rechazos.putIfAbsent(error.getProductoId(), error.getDetail());
+        }
+        for (InventarioPendiente pendiente : lote) {
+            if (creados.contains(pendiente.getProductoId())) {
+                entregar(pendiente);
+            } else if (rechazos.containsKey(pendiente.getProductoId())) {
+                // Inventario valida cada elemento y lo rechaza siempre igual: reenviarlo no sirve
+                descartar(pendiente, rechazos.get(pendiente.getProductoId()));
+            } else {
+                reprogramar(pendiente, "Inventario no confirmó la creación");
+            }
+        }
+    }
+
+    void actualizarMetricas() {
+        pendientes.set(pendienteRepository.contarPendientes());
+        retrasoMs.set(pendienteRepository.creadoEnMasAntiguo()
+                .map(creadoEn -> Math.max(0, Duration.between(creadoEn, LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    long espera(int intentos) {
+        int exponente = Math.min(Math.max(intentos - 1, 0), 30);
+        return Math.min(esperaMaxMs, esperaBaseMs << exponente);
+    }
+
+    private void entregar(InventarioPendiente pendiente) {
+        pendienteRepository.delete(pendiente);
+        demora.record(Duration.between(pendiente.getCreadoEn(), LocalDateTime.now()));
+        entregados.increment();
+    }
+
+    private void reprogramar(InventarioPendiente pendiente, String error) {
+        int intentos = pendiente.getIntentos() + 1;
+        pendiente.setIntentos(intentos);
+        if (intentos >= maxIntentos) {
+            descartar(pendiente, error + " (" + intentos + " intentos)");
+            return;
+        }
+        pendiente.setUltimoError(truncar(error));
+        pendiente.setProximoIntento(LocalDateTime.now().plus(Duration.ofMillis(espera(intentos))));
+        pendienteRepository.save(pendiente);
+        reprogramados.increment();
+        log.warn("[DespachadorInventarioPendiente] No se pudo crear el inventario del producto ID {} (intento {} de {}): {}",
+                pendiente.getProductoId(), intentos, maxIntentos, error);
+    }
+
+    private void descartar(InventarioPendiente pendiente, String error) {
+        pendiente.setUltimoError(truncar(error));
+        pendiente.setDescartadoEn(LocalDateTime.now());
+        pendienteRepository.save(pendiente);
+        descartados.increment();
+        log.error("[DespachadorInventarioPendiente] Se descarta la creación de inventario del producto ID {}: {}",
+                pendiente.getProductoId(), error);
+    }
+
+    private static String truncar(String error) {
+        return error.length() > MAX_LONGITUD_ERROR ? error.substring(0, MAX_LONGITUD_ERROR) : error;
+    }
+}
@@ -0,0 +1,52 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Resuelve el total aproximado para el modo 'estimate'. Sin filtros usa la estimación del
+ * planificador (pg_class.reltuples); con filtros, o si la base no la ofrece (p. ej. H2), el
+ * COUNT(*) exacto del filtro, cacheado por un tiempo acotado en una cache Caffeine limitada en
+ * entradas; ese total es exacto al calcularse y puede quedar desactualizado hasta el TTL.
+ */
+@Component
+@Slf4j
+public class EstimadorTotalProductos {
+    private final ProductosRepository productosRepository;
+    private final Cache<String, Long> conteosExactos;
+
+    public EstimadorTotalProductos(
+            ProductosRepository productosRepository,
+            @Value("${productos.listado.total-estimado.max-entradas:1000}") long maxEntradas,
+            @Value("${productos.listado.total-estimado.ttl-segundos:60}") long ttlSegundos
+    ) {
+        this.productosRepository = productosRepository;
+        this.conteosExactos = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .build();
+    }
+
+    public long estimar(ProductoFiltroDTO filtro) {
+        if (filtro.isSinFiltros()) {
+            OptionalLong estimadoPlanificador = productosRepository.estimateCount();
+            if (estimadoPlanificador.isPresent()) {
+                return estimadoPlanificador.getAsLong();
+            }
+        }
+
+        return conteosExactos.get(filtro.getClaveNormalizada(), clave -> {
+            long total = productosRepository.count(filtro);
+            log.debug("[EstimadorTotalProductos] Total exacto recalculado para '{}': {}", clave, total);
+            return total;
+        });
+    }
+}
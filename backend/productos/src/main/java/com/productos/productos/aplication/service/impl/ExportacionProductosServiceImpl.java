@@ -0,0 +1,95 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.productos.productos.aplication.service.ExportacionProductosService;
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import com.productos.productos.shared.mapper.ProductoMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exporta el catálogo como NDJSON (un recurso JSON:API por línea). Los productos se leen con un
+ * cursor y se procesan por lotes: cada lote consulta inventario una vez y se escribe de inmediato,
+ * por lo que la memoria usada depende del tamaño de lote y no del tamaño del catálogo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacionProductosServiceImpl implements ExportacionProductosService {
+    private final ProductosRepository productosRepository;
+    private final InventarioClient inventarioClient;
+    private final ProductoMapper productoMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${productos.export.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Override
+    public void exportarProductos(ProductoFiltroDTO filtro, OutputStream salida) {
+        log.info("[ExportacionProductosService] Iniciando exportación NDJSON con filtros: nombre='{}', categoria='{}', precioMin='{}', precioMax='{}'",
+                filtro.getNombre(), filtro.getCategoria(), filtro.getPrecioMin(), filtro.getPrecioMax());
+
+        ObjectWriter writer = objectMapper.writerFor(ProductoResponseJsonApiDTO.Data.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        AtomicLong exportados = new AtomicLong();
+
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generador.setRootValueSeparator(null);
+
+            Set<CampoProducto> campos = filtro.getCampos();
+            productosRepository.recorrerResumenes(filtro, tamanoLote, lote -> {
+                Map<Long, Integer> cantidades = campos.contains(CampoProducto.CANTIDAD) ? cantidadesPorProducto(lote) : Map.of();
+                try {
+                    for (ProductoResumen producto : lote) {
+                        writer.writeValue(generador, productoMapper.toJsonApiDTOData(producto, cantidades.get(producto.id()), campos));
+                        generador.writeRaw('\n');
+                    }
+                    // Se envía cada lote apenas está listo para no acumular la respuesta
+                    generador.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error escribiendo la exportación de productos", e);
+                }
+                exportados.addAndGet(lote.size());
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error escribiendo la exportación de productos", e);
+        }
+
+        log.info("[ExportacionProductosService] Exportación finalizada: {} productos.", exportados.get());
+    }
+
+    private Map<Long, Integer> cantidadesPorProducto(List<ProductoResumen> lote) {
+        List<Long> productoIds = lote.stream()
+                .map(ProductoResumen::id)
+                .toList();
+
+        Map<Long, Integer> cantidades = new HashMap<>();
+        for (InventarioResponseJsonApiDTO.Data inventario : inventarioClient.obtenerInventariosDesdeMicroservicio(productoIds)) {
+            if (inventario != null && inventario.getAttributes() != null) {
+                cantidades.putIfAbsent(inventario.getAttributes().getProductoId(), inventario.getAttributes().getCantidadDisponible());
+            }
+        }
+        return cantidades;
+    }
+}
@@ -0,0 +1,402 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productos.productos.aplication.service.ImportacionProductosService;
+import com.productos.productos.aplication.service.ProductosService;
+import com.productos.productos.domain.model.ImportacionError;
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.domain.repository.ImportacionRepository;
+import com.productos.productos.infrastructure.rest.exception.ImportacionesSaturadasException;
+import com.productos.productos.shared.dto.ImportacionResponseJsonApiDTO;
+import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Importa catálogos grandes en segundo plano. El archivo subido se guarda en disco y se lee
+ * línea a línea, así que la memoria usada depende del tamaño del chunk y no del archivo.
+ * Cada chunk se confirma en una sola transacción con sus productos, el outbox de inventario,
+ * las filas rechazadas y el avance de la importación: si el nodo se cae, otra ejecución retoma
+ * desde la última línea confirmada sin crear duplicados. Un error que se repite sin avance
+ * (p. ej. un chunk que la base rechaza siempre) la marca FALLIDA tras max-intentos.
+ * Cada importación corre en su propio hilo virtual y un semáforo limita las simultáneas a
+ * max-concurrentes sin cola: con todos los permisos ocupados una importación nueva se rechaza
+ * con 503 y una reanudación espera al siguiente barrido.
+ */
+@Service
+@Slf4j
+public class ImportacionProductosServiceImpl implements ImportacionProductosService {
+    private static final int MAX_LONGITUD_ERROR = 500;
+
+    private final ImportacionRepository importacionRepository;
+    private final ProductosService productosService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaccion;
+    private final Path directorio;
+    private final int tamanoChunk;
+    private final long sinAvanceMaxMs;
+    private final int maxErroresRespuesta;
+    private final int maxIntentos;
+    private final ExecutorService executor;
+    private final Semaphore permisos;
+    private final Set<Long> enCurso = ConcurrentHashMap.newKeySet();
+    private final Counter filasCreadas;
+    private final Counter filasRechazadas;
+
+    public ImportacionProductosServiceImpl(
+            ImportacionRepository importacionRepository,
+            ProductosService productosService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${productos.importacion.directorio:}") String directorio,
+            @Value("${productos.importacion.tamano-chunk:500}") int tamanoChunk,
+            @Value("${productos.importacion.sin-avance-max-ms:120000}") long sinAvanceMaxMs,
+            @Value("${productos.importacion.max-concurrentes:2}") int maxConcurrentes,
+            @Value("${productos.importacion.max-errores-respuesta:100}") int maxErroresRespuesta,
+            @Value("${productos.importacion.max-intentos:3}") int maxIntentos
+    ) {
+        this.importacionRepository = importacionRepository;
+        this.productosService = productosService;
+        this.objectMapper = objectMapper;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.directorio = prepararDirectorio(directorio);
+        this.tamanoChunk = tamanoChunk;
+        this.sinAvanceMaxMs = sinAvanceMaxMs;
+        this.maxErroresRespuesta = maxErroresRespuesta;
+        this.maxIntentos = maxIntentos;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("importacion-", 0).factory());
+        this.permisos = new Semaphore(maxConcurrentes);
+        this.filasCreadas = Counter.builder("productos.importacion.filas")
+                .tag("resultado", "creada")
+                .register(meterRegistry);
+        this.filasRechazadas = Counter.builder("productos.importacion.filas")
+                .tag("resultado", "rechazada")
+                .register(meterRegistry);
+    }
+
+    /**
+     * El directorio debe configurarse explícitamente: en el temporal del sistema los limpiadores
+     * periódicos pueden borrar archivos de importaciones que aún no terminaron. Si falta o no se
+     * puede escribir, la aplicación no arranca.
+     */
+    private static Path prepararDirectorio(String directorio) {
+        if (directorio == null || directorio.isBlank()) {
+            throw new IllegalStateException("Falta configurar productos.importacion.directorio (IMPORTACION_DIRECTORIO)");
+        }
+        Path ruta = Path.of(directorio);
+        try {
+            Files.createDirectories(ruta);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo crear el directorio de importaciones " + ruta, e);
+        }
+        if (!Files.isWritable(ruta)) {
+            throw new IllegalStateException("El directorio de importaciones " + ruta + " no admite escritura");
+        }
+        return ruta;
+    }
+
+    @Override
+    public ImportacionResponseJsonApiDTO iniciarImportacion(ImportacionProductos.Formato formato, InputStream contenido) {
+        // El permiso se toma antes de leer el cuerpo para no guardar archivos que no se van a procesar
+        if (!permisos.tryAcquire()) {
+            throw new ImportacionesSaturadasException("Hay demasiadas importaciones en curso, reintente más tarde");
+        }
+        ImportacionProductos guardada;
+        try {
+            guardada = registrar(formato, contenido);
+        } catch (RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+        lanzar(guardada.getId());
+        return toDTO(guardada, List.of());
+    }
+
+    private ImportacionProductos registrar(ImportacionProductos.Formato formato, InputStream contenido) {
+        Path archivo = null;
+        try {
+            Files.createDirectories(directorio);
+            archivo = Files.createTempFile(directorio, "importacion-", "." + formato.name().toLowerCase(Locale.ROOT));
+            Files.copy(contenido, archivo, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            eliminar(archivo);
+            throw new UncheckedIOException("No se pudo guardar el archivo de la importación", e);
+        }
+
+        ImportacionProductos importacion = new ImportacionProductos(formato, archivo.toString());
+        ImportacionProductos guardada = transaccion.execute(estado -> importacionRepository.save(importacion));
+        log.info("[ImportacionProductosService] Importación {} registrada ({}, {} bytes)",
+                guardada.getId(), formato, archivo.toFile().length());
+        return guardada;
+    }
+
+    /**
+     * Procesa la importación en un hilo virtual nuevo con un permiso ya tomado, que se devuelve al
+     * terminar.
+     */
+    private void lanzar(Long id) {
+        executor.execute(() -> {
+            try {
+                procesar(id);
+            } finally {
+                permisos.release();
+            }
+        });
+    }
+
+    @Override
+    public ImportacionResponseJsonApiDTO obtenerImportacion(Long id) {
+        ImportacionProductos importacion = importacionRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Importación no encontrada con ID: " + id));
+        return toDTO(importacion, importacionRepository.buscarErrores(id, maxErroresRespuesta));
+    }
+
+    /**
+     * Retoma las importaciones sin avance reciente: las que quedaron a medias al reiniciarse un
+     * nodo y las que fallaron por un error transitorio. Si otro nodo sigue avanzando una, la
+     * versión cambia y esta ejecución se descarta al tomarla. Se programa en SchedulingConfig
+     * cada productos.importacion.reanudacion-ms.
+     */
+    public void reanudarImportaciones() {
+        LocalDateTime limite = LocalDateTime.now().minus(Duration.ofMillis(sinAvanceMaxMs));
+        for (ImportacionProductos importacion : importacionRepository.buscarSinAvanceDesde(limite)) {
+            if (enCurso.contains(importacion.getId())) {
+                continue;
+            }
+            if (!permisos.tryAcquire()) {
+                log.info("[ImportacionProductosService] Sin capacidad para reanudar importaciones, se reintentará en el siguiente barrido");
+                return;
+            }
+            log.info("[ImportacionProductosService] Reanudando importación {} desde la línea {}",
+                    importacion.getId(), importacion.getLineasProcesadas());
+            lanzar(importacion.getId());
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdownNow();
+    }
+
+    void procesar(Long id) {
+        if (!enCurso.add(id)) {
+            return;
+        }
+        try {
+            ejecutar(id);
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            log.info("[ImportacionProductosService] La importación {} la está procesando otro nodo", id);
+        } catch (RuntimeException e) {
+            registrarIntentoFallido(id, e);
+        } finally {
+            enCurso.remove(id);
+        }
+    }
+
+    private void ejecutar(Long id) {
+        ImportacionProductos importacion = importacionRepository.findById(id).orElse(null);
+        if (importacion == null || importacion.isTerminada()) {
+            return;
+        }
+        // Tomar la importación: actualizadoEn siempre cambia, así que la versión avanza y un nodo
+        // que la haya leído a la vez falla al guardar
+        importacion.setEstado(ImportacionProductos.Estado.EN_PROCESO);
+        importacion.setActualizadoEn(LocalDateTime.now());
+        importacion = guardar(importacion);
+
+        Path archivo = Path.of(importacion.getArchivo());
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            ParserFilaImportacion parser = ParserFilaImportacion.para(importacion.getFormato(), objectMapper, lector);
+            long linea = parser.lineasCabecera();
+            while (linea < importacion.getLineasProcesadas() && lector.readLine() != null) {
+                linea++;
+            }
+
+            List<String> chunk = new ArrayList<>(tamanoChunk);
+            String texto;
+            while ((texto = lector.readLine()) != null) {
+                chunk.add(texto);
+                if (chunk.size() == tamanoChunk) {
+                    importacion = confirmarChunk(importacion, parser, linea, chunk, false);
+                    linea += chunk.size();
+                    chunk.clear();
+                }
+            }
+            importacion = confirmarChunk(importacion, parser, linea, chunk, true);
+        } catch (NoSuchFileException e) {
+            fallar(importacion, "El archivo de la importación ya no está disponible");
+            return;
+        } catch (IOException e) {
+            fallar(importacion, "No se pudo leer el archivo: " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            fallar(importacion, e.getMessage());
+            return;
+        }
+        eliminar(archivo);
+        log.info("[ImportacionProductosService] Importación {} completada: {} creados, {} rechazados",
+                id, importacion.getCreados(), importacion.getRechazados());
+    }
+
+    /**
+     * Crea los productos válidos del chunk y registra los rechazos y el avance en la misma
+     * transacción. {@code lineaAnterior} es la última línea ya confirmada del archivo.
+     */
+    private ImportacionProductos confirmarChunk(ImportacionProductos importacion, ParserFilaImportacion parser,
+                                                long lineaAnterior, List<String> lineas, boolean ultimo) {
+        List<ProductoRequestJsonApiDTO.Data> items = new ArrayList<>(lineas.size());
+        List<Integer> posiciones = new ArrayList<>(lineas.size());
+        List<ImportacionError> errores = new ArrayList<>();
+        for (int i = 0; i < lineas.size(); i++) {
+            String texto = lineas.get(i);
+            if (texto.isBlank()) {
+                continue;
+            }
+            try {
+                items.add(parser.parsear(texto));
+                posiciones.add(i);
+            } catch (IllegalArgumentException e) {
+                errores.add(new ImportacionError(importacion.getId(), lineaAnterior + i + 1, e.getMessage(), texto));
+            }
+        }
+
+        long creadosAntes = importacion.getCreados();
+        ImportacionProductos confirmada = transaccion.execute(estado -> {
+            long creados = 0;
+            if (!items.isEmpty()) {
+                ProductosService.CreacionLote creacion = productosService.crearProductosLote(items);
+                creados = creacion.creados().size();
+                for (ProductosService.Rechazo rechazo : creacion.rechazos()) {
+                    int posicion = posiciones.get(rechazo.posicion());
+                    errores.add(new ImportacionError(importacion.getId(), lineaAnterior + posicion + 1,
+                            rechazo.detalle(), lineas.get(posicion)));
+                }
+            }
+            importacionRepository.guardarErrores(errores);
+            importacion.setLineasProcesadas(lineaAnterior + lineas.size());
+            importacion.setCreados(importacion.getCreados() + creados);
+            importacion.setRechazados(importacion.getRechazados() + errores.size());
+            // Confirmar un chunk es avance: los intentos fallidos vuelven a contar desde cero
+            importacion.setIntentos(0);
+            importacion.setError(null);
+            importacion.setActualizadoEn(LocalDateTime.now());
+            if (ultimo) {
+                importacion.setEstado(ImportacionProductos.Estado.COMPLETADA);
+            }
+            return importacionRepository.save(importacion);
+        });
+        filasCreadas.increment(confirmada.getCreados() - creadosAntes);
+        filasRechazadas.increment(errores.size());
+        return confirmada;
+    }
+
+    /**
+     * Se relee la importación porque la transacción del chunk que falló pudo dejar el objeto en
+     * memoria con un avance que no se confirmó. Guardarla también renueva actualizadoEn, así que
+     * el siguiente intento llega en el barrido posterior a sin-avance-max-ms.
+     */
+    private void registrarIntentoFallido(Long id, RuntimeException causa) {
+        try {
+            ImportacionProductos importacion = importacionRepository.findById(id).orElse(null);
+            if (importacion == null || importacion.isTerminada()) {
+                return;
+            }
+            importacion.setIntentos(importacion.getIntentos() + 1);
+            String error = "Error al procesar desde la línea " + (importacion.getLineasProcesadas() + 1) + ": " + causa.getMessage();
+            if (importacion.getIntentos() >= maxIntentos) {
+                fallar(importacion, error + " (" + importacion.getIntentos() + " intentos)");
+                return;
+            }
+            log.error("[ImportacionProductosService] Importación {} interrumpida (intento {} de {}), se reanudará: {}",
+                    id, importacion.getIntentos(), maxIntentos, causa.getMessage(), causa);
+            importacion.setError(truncar(error));
+            guardar(importacion);
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            log.info("[ImportacionProductosService] La importación {} la está procesando otro nodo", id);
+        } catch (RuntimeException e) {
+            log.error("[ImportacionProductosService] No se pudo registrar el intento fallido de la importación {}: {}",
+                    id, e.getMessage(), causa);
+        }
+    }
+
+    private void fallar(ImportacionProductos importacion, String error) {
+        log.error("[ImportacionProductosService] Importación {} fallida: {}", importacion.getId(), error);
+        importacion.setEstado(ImportacionProductos.Estado.FALLIDA);
+        importacion.setError(truncar(error));
+        guardar(importacion);
+    }
+
+    private static String truncar(String error) {
+        return error.length() > MAX_LONGITUD_ERROR ? error.substring(0, MAX_LONGITUD_ERROR) : error;
+    }
+
+    private ImportacionProductos guardar(ImportacionProductos importacion) {
+        return transaccion.execute(estado -> importacionRepository.save(importacion));
+    }
+
+    private static void eliminar(Path archivo) {
+        if (archivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("[ImportacionProductosService] No se pudo eliminar {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    private static ImportacionResponseJsonApiDTO toDTO(ImportacionProductos importacion, List<ImportacionError> errores) {
+        ImportacionResponseJsonApiDTO.Data.Attributes attributes = new ImportacionResponseJsonApiDTO.Data.Attributes();
+        attributes.setFormato(importacion.getFormato().name());
+        attributes.setEstado(importacion.getEstado().name());
+        attributes.setLineasProcesadas(importacion.getLineasProcesadas());
+        attributes.setCreados(importacion.getCreados());
+        attributes.setRechazados(importacion.getRechazados());
+        attributes.setError(importacion.getError());
+        attributes.setIntentos(importacion.getIntentos());
+        attributes.setCreadoEn(importacion.getCreadoEn());
+        attributes.setActualizadoEn(importacion.getActualizadoEn());
+
+        ImportacionResponseJsonApiDTO.Data data = new ImportacionResponseJsonApiDTO.Data();
+        data.setId(String.valueOf(importacion.getId()));
+        data.setAttributes(attributes);
+
+        ImportacionResponseJsonApiDTO response = new ImportacionResponseJsonApiDTO();
+        response.setData(data);
+        for (ImportacionError error : errores) {
+            response.getMeta().getErrors().add(
+                    new ImportacionResponseJsonApiDTO.Error(error.getLinea(), error.getDetalle(), error.getContenido()));
+        }
+        return response;
+    }
+}
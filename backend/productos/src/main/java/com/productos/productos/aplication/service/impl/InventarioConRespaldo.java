@@ -0,0 +1,165 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.productos.productos.aplication.concurrent.AgrupadorInventario;
+import com.productos.productos.aplication.concurrent.EjecutorEtapas;
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Lecturas de inventario del catálogo detrás del circuit breaker 'inventario'. Cada lectura
+ * exitosa guarda la última cantidad conocida de cada producto; mientras el circuito está abierto
+ * no se llama a inventario y se responden esas cantidades (null si no hay ninguna) marcadas como
+ * degradadas. Con el circuito cerrado o semiabierto los fallos se propagan como siempre. Solo
+ * cuentan como fallo los 5xx, los plazos vencidos y los errores de E/S: un 4xx es un rechazo de
+ * la petición, no una señal de que inventario esté caído.
+ */
+@Component
+@Slf4j
+public class InventarioConRespaldo {
+    static final String CIRCUITO = "inventario";
+
+    private final InventarioClient inventarioClient;
+    private final AgrupadorInventario agrupadorInventario;
+    private final CircuitBreaker circuitBreaker;
+    private final Cache<Long, Integer> ultimasCantidades;
+    private final Counter lecturasDegradadas;
+    private final long timeoutMs;
+
+    public InventarioConRespaldo(
+            InventarioClient inventarioClient,
+            AgrupadorInventario agrupadorInventario,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${productos.inventario.timeout-ms:5000}") long timeoutMs,
+            @Value("${productos.inventario.respaldo.max-entradas:10000}") long maxEntradas,
+            @Value("${productos.inventario.respaldo.ttl-minutos:60}") long ttlMinutos
+    ) {
+        this.inventarioClient = inventarioClient;
+        this.agrupadorInventario = agrupadorInventario;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUITO);
+        this.timeoutMs = timeoutMs;
+        this.ultimasCantidades = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ultimasCantidades, "productos.inventario.respaldo");
+        this.lecturasDegradadas = Counter.builder("productos.inventario.degradadas")
+                .description("Lecturas respondidas con las últimas cantidades conocidas por el circuito abierto")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cantidades por id de producto y si vienen del respaldo en lugar de inventario en vivo.
+     */
+    public record Lectura(Map<Long, Integer> cantidades, boolean degradada) {
+        public static final Lectura SIN_CONSULTA = new Lectura(Map.of(), false);
+    }
+
+    /**
+     * Lectura de varios productos en una sola llamada a inventario (listado, lote por ids).
+     */
+    public CompletableFuture<Lectura> leer(List<Long> productoIds) {
+        return leer(productoIds, inventarioClient::obtenerInventariosAsync);
+    }
+
+    /**
+     * Lectura que puede compartir la llamada con otras peticiones concurrentes (detalle).
+     */
+    public CompletableFuture<Lectura> leerAgrupado(List<Long> productoIds) {
+        return leer(productoIds, agrupadorInventario::obtenerInventariosAsync);
+    }
+
+    private CompletableFuture<Lectura> leer(List<Long> productoIds,
+                                            Function<List<Long>, CompletableFuture<List<InventarioResponseJsonApiDTO.Data>>> llamada) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            lecturasDegradadas.increment();
+            log.warn("[InventarioConRespaldo] Circuito de inventario {}: se responden las últimas cantidades conocidas de {} productos",
+                    circuitBreaker.getState(), productoIds.size());
+            return CompletableFuture.completedFuture(new Lectura(ultimasCantidades.getAllPresent(productoIds), true));
+        }
+
+        // El plazo se aplica a la llamada misma para que el circuito lo cuente como fallo
+        long inicio = System.nanoTime();
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> consulta = EjecutorEtapas.conPlazo(
+                llamada.apply(productoIds), timeoutMs,
+                () -> new InventarioException("Inventario no respondió en " + timeoutMs + " ms.", ""));
+
+        // La lectura cuelga de la etapa que registra el resultado: quien la espera ya ve el circuito actualizado
+        CompletableFuture<Lectura> lectura = consulta
+                .whenComplete((inventarios, error) -> registrar(System.nanoTime() - inicio, error))
+                .thenApply(inventarios -> {
+                    Map<Long, Integer> cantidades = cantidadesPorProducto(inventarios);
+                    cantidades.forEach((productoId, cantidad) -> {
+                        if (cantidad != null) {
+                            ultimasCantidades.put(productoId, cantidad);
+                        }
+                    });
+                    return new Lectura(cantidades, false);
+                });
+        // Cancelar la lectura (p. ej. porque falló la etapa de base de datos) corta la llamada en curso
+        lectura.whenComplete((valor, error) -> {
+            if (error != null) {
+                consulta.cancel(true);
+            }
+        });
+        return lectura;
+    }
+
+    private void registrar(long duracionNanos, Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (causa == null) {
+            circuitBreaker.onSuccess(duracionNanos, TimeUnit.NANOSECONDS);
+        } else if (causa instanceof CancellationException) {
+            // Una cancelación no dice nada de la salud de inventario
+            circuitBreaker.releasePermission();
+        } else if (esRechazoDeLaPeticion(causa)) {
+            // Inventario respondió: el 4xx es de la petición y no debe abrir el circuito
+            circuitBreaker.releasePermission();
+        } else {
+            circuitBreaker.onError(duracionNanos, TimeUnit.NANOSECONDS, causa);
+        }
+    }
+
+    // 408 y 429 son 4xx pero indican un inventario lento o saturado, igual que en PoliticaReintentos
+    static boolean esRechazoDeLaPeticion(Throwable error) {
+        Throwable origen = error instanceof InventarioException && error.getCause() != null ? error.getCause() : error;
+        return origen instanceof HttpClientErrorException rechazo
+                && rechazo.getStatusCode() != HttpStatus.REQUEST_TIMEOUT
+                && rechazo.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    // Índice por id para no recorrer la respuesta de inventario una vez por producto
+    static Map<Long, Integer> cantidadesPorProducto(List<InventarioResponseJsonApiDTO.Data> inventarios) {
+        Map<Long, Integer> cantidades = new HashMap<>();
+        for (InventarioResponseJsonApiDTO.Data inventario : inventarios) {
+            if (inventario != null && inventario.getAttributes() != null) {
+                cantidades.putIfAbsent(inventario.getAttributes().getProductoId(), inventario.getAttributes().getCantidadDisponible());
+            }
+        }
+        return cantidades;
+    }
+}
@@ -0,0 +1,163 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Convierte cada línea de un archivo importado en un recurso de producto.
+ * NDJSON acepta un recurso JSON:API por línea (el mismo formato que escribe /export) o solo el
+ * objeto de atributos. CSV exige una cabecera con las columnas nombre, precio y cantidad, en
+ * cualquier orden (descripcion y categoria son opcionales). Los campos pueden ir entre comillas
+ * dobles, pero no pueden contener saltos de línea.
+ * Una línea que no se puede interpretar lanza IllegalArgumentException con el motivo.
+ */
+final class ParserFilaImportacion {
+    private static final List<String> COLUMNAS_OBLIGATORIAS = List.of("nombre", "precio", "cantidad");
+
+    private final ObjectReader lectorRecurso;
+    private final ObjectReader lectorAtributos;
+    private final Map<String, Integer> columnas;
+
+    private ParserFilaImportacion(ObjectMapper objectMapper, Map<String, Integer> columnas) {
+        this.lectorRecurso = objectMapper.readerFor(ProductoRequestJsonApiDTO.Data.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.lectorAtributos = objectMapper.readerFor(ProductoRequestJsonApiDTO.Attributes.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.columnas = columnas;
+    }
+
+    /**
+     * Para CSV consume la línea de cabecera del lector.
+     */
+    static ParserFilaImportacion para(ImportacionProductos.Formato formato, ObjectMapper objectMapper, BufferedReader lector)
+            throws IOException {
+        if (formato == ImportacionProductos.Formato.NDJSON) {
+            return new ParserFilaImportacion(objectMapper, null);
+        }
+        String cabecera = lector.readLine();
+        if (cabecera == null) {
+            throw new IllegalArgumentException("El archivo CSV está vacío: falta la cabecera");
+        }
+        if (cabecera.startsWith("\uFEFF")) {
+            cabecera = cabecera.substring(1);
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> nombres = campos(cabecera);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.putIfAbsent(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columnas.keySet().containsAll(COLUMNAS_OBLIGATORIAS)) {
+            throw new IllegalArgumentException("La cabecera CSV debe incluir las columnas " + String.join(", ", COLUMNAS_OBLIGATORIAS));
+        }
+        return new ParserFilaImportacion(objectMapper, columnas);
+    }
+
+    int lineasCabecera() {
+        return columnas == null ? 0 : 1;
+    }
+
+    ProductoRequestJsonApiDTO.Data parsear(String linea) {
+        return columnas == null ? desdeJson(linea) : desdeCsv(linea);
+    }
+
+    private ProductoRequestJsonApiDTO.Data desdeJson(String linea) {
+        try {
+            JsonNode nodo = lectorRecurso.readTree(linea);
+            if (!nodo.isObject()) {
+                throw new IllegalArgumentException("Cada línea debe ser un objeto JSON");
+            }
+            if (nodo.has("attributes")) {
+                return lectorRecurso.readValue(nodo);
+            }
+            return recurso(lectorAtributos.readValue(nodo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getMessage());
+        }
+    }
+
+    private ProductoRequestJsonApiDTO.Data desdeCsv(String linea) {
+        List<String> valores = campos(linea);
+        ProductoRequestJsonApiDTO.Attributes attributes = new ProductoRequestJsonApiDTO.Attributes();
+        attributes.setNombre(valor(valores, "nombre"));
+        attributes.setDescripcion(valor(valores, "descripcion"));
+        attributes.setCategoria(valor(valores, "categoria"));
+
+        String precio = valor(valores, "precio");
+        try {
+            attributes.setPrecio(precio == null ? null : new BigDecimal(precio));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Precio inválido: '" + precio + "'");
+        }
+        String cantidad = valor(valores, "cantidad");
+        try {
+            attributes.setCantidad(cantidad == null ? null : Integer.valueOf(cantidad));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cantidad inválida: '" + cantidad + "'");
+        }
+        return recurso(attributes);
+    }
+
+    private String valor(List<String> valores, String columna) {
+        Integer posicion = columnas.get(columna);
+        if (posicion == null || posicion >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(posicion).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static ProductoRequestJsonApiDTO.Data recurso(ProductoRequestJsonApiDTO.Attributes attributes) {
+        ProductoRequestJsonApiDTO.Data data = new ProductoRequestJsonApiDTO.Data();
+        data.setType("productos");
+        data.setAttributes(attributes);
+        return data;
+    }
+
+    // Separa por comas respetando comillas dobles; "" dentro de un campo entre comillas es una comilla
+    static List<String> campos(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c != '"') {
+                    actual.append(c);
+                } else if (i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else {
+                    entreComillas = false;
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new IllegalArgumentException("Comillas sin cerrar en la línea CSV");
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+}
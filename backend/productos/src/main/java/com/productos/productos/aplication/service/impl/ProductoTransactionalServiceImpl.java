@@ -1,18 +1,17 @@
 package com.productos.productos.aplication.service.impl;
 
 import com.productos.productos.aplication.service.ProductoTransactionalService;
+import com.productos.productos.domain.model.InventarioPendiente;
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.repository.InventarioPendienteRepository;
 import com.productos.productos.domain.repository.ProductosRepository;
-import com.productos.productos.infrastructure.client.InventarioClient;
-import com.productos.productos.infrastructure.rest.exception.InventarioException;
-import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
-import com.productos.productos.shared.mapper.ProductoMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -20,8 +19,13 @@ import org.springframework.web.client.HttpServerErrorException;
 public class ProductoTransactionalServiceImpl implements ProductoTransactionalService {
 
     private final ProductosRepository productoRepository;
-    private final InventarioClient inventarioClient;
+    private final InventarioPendienteRepository inventarioPendienteRepository;
 
+    /**
+     * Guarda el producto y registra su inventario en el outbox dentro de la misma transacción.
+     * No se llama a inventario aquí: la entrega la hace {@link DespachadorInventarioPendiente}
+     * después del commit, así que la transacción no queda abierta durante la llamada HTTP.
+     */
     @Override
     @Transactional
     public Producto crearProductoYInventario(Producto producto, int cantidad) {
@@ -31,32 +35,28 @@ public class ProductoTransactionalServiceImpl implements ProductoTransactionalSe
         Producto guardado = productoRepository.save(producto);
         log.info("[ProductoTransactionalService] Producto guardado con ID: {}", guardado.getId());
 
-        try {
-            // Intentamos crear el inventario
-            InventarioResponseJsonApiDTO inventarioResponse =
-                    inventarioClient.crearInventarioConReintentos(guardado.getId(), cantidad);
-
-            // Verificar que la respuesta del inventario sea válida
-            if (inventarioResponse == null || !isValidInventarioResponse(inventarioResponse)) {
-                log.error("[ProductoTransactionalService] Respuesta de inventario no válida");
-                throw new InventarioException("La respuesta del servicio de inventario no es válida","");
-            }
-
-            log.info("[ProductoTransactionalService] Producto e inventario creados correctamente");
-            return guardado;
-        } catch (HttpClientErrorException | HttpServerErrorException e) {
-            log.error("[ProductoTransactionalService] Error al crear inventario, se revertirá la transacción: {}", e.getMessage());
-            throw new InventarioException("Error al crear inventario: " + e.getMessage(), e.getResponseBodyAsString());
-        }
+        inventarioPendienteRepository.save(new InventarioPendiente(guardado.getId(), cantidad));
+        log.info("[ProductoTransactionalService] Inventario del producto ID {} registrado para entrega", guardado.getId());
+        return guardado;
     }
 
     /**
-     * Verifica que la respuesta del servicio de inventario sea válida según los criterios necesarios
+     * Variante por lote: con ids de secuencia e hibernate.jdbc.batch_size, los productos y sus
+     * filas del outbox se insertan en lotes JDBC dentro de una única transacción.
      */
-    private boolean isValidInventarioResponse(InventarioResponseJsonApiDTO response) {
-        // Implementar la lógica de validación específica para tu respuesta
-        // Por ejemplo:
-        return response.getData() != null &&
-                response.getData().getId() != null;
+    @Override
+    @Transactional
+    public List<Producto> crearProductosYInventarios(List<Producto> productos, List<Integer> cantidades) {
+        log.info("[ProductoTransactionalService] Iniciando transacción para crear {} productos e inventarios", productos.size());
+
+        List<Producto> guardados = productoRepository.saveAll(productos);
+        List<InventarioPendiente> pendientes = new ArrayList<>(guardados.size());
+        for (int i = 0; i < guardados.size(); i++) {
+            pendientes.add(new InventarioPendiente(guardados.get(i).getId(), cantidades.get(i)));
+        }
+        inventarioPendienteRepository.saveAll(pendientes);
+
+        log.info("[ProductoTransactionalService] {} productos guardados e inventarios registrados para entrega", guardados.size());
+        return guardados;
     }
 }
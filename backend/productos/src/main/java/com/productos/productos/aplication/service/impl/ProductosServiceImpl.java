@@ -1,36 +1,52 @@
 package com.productos.productos.aplication.service.impl;
 
+import com.productos.productos.aplication.concurrent.CoalescedorPeticiones;
+import com.productos.productos.aplication.concurrent.EjecutorEtapas;
 import com.productos.productos.aplication.service.ProductoTransactionalService;
 import com.productos.productos.aplication.service.ProductosService;
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
 import com.productos.productos.domain.repository.ProductosRepository;
 import com.productos.productos.infrastructure.client.InventarioClient;
-import com.productos.productos.infrastructure.persistence.spec.ProductoSpecification;
-import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.dto.ActualizacionPreciosMeta;
+import com.productos.productos.shared.dto.ActualizacionPreciosRequestDTO;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.CreacionLoteMeta;
 import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import com.productos.productos.shared.dto.LoteMeta;
+import com.productos.productos.shared.dto.ProductoLoteRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
 import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
 import com.productos.productos.shared.dto.pageable.PageableRequest;
-import com.productos.productos.shared.dto.pageable.PaginacionMeta;
+import com.productos.productos.shared.dto.pageable.TotalModo;
+import com.productos.productos.shared.mapper.CursorCodec;
 import com.productos.productos.shared.mapper.JsonApiResponseBuilder;
 import com.productos.productos.shared.mapper.ProductoMapper;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -40,6 +56,17 @@ public class ProductosServiceImpl implements ProductosService {
     private final ProductoMapper productoMapper;
     private final InventarioClient inventarioClient;
     private final ProductoTransactionalService productoTransactionalService;
+    private final EstimadorTotalProductos estimadorTotalProductos;
+    private final EjecutorEtapas ejecutorEtapas;
+    private final CacheListadoProductos cacheListadoProductos;
+    private final CoalescedorPeticiones coalescedorPeticiones;
+    private final InventarioConRespaldo inventarioConRespaldo;
+
+    @Value("${productos.lote.max-ids:100}")
+    private int maxIdsPorLote;
+
+    @Value("${productos.lote.max-creacion:1000}")
+    private int maxCreacionPorLote;
 
 
     @Override
@@ -48,75 +75,296 @@ public class ProductosServiceImpl implements ProductosService {
         log.info("[ProductosService] Iniciando listado de productos con filtros: nombre='{}', categoria='{}', precioMin='{}', precioMax='{}'",
                 filtro.getNombre(), filtro.getCategoria(), filtro.getPrecioMin(), filtro.getPrecioMax());
 
-        log.info("[ProductosService] Paginacion solicitada - page: {}, size: {}, order: {}",
-                pageableRequest.getPage(), pageableRequest.getSize(), pageableRequest.getOrder());
+        log.info("[ProductosService] Paginacion solicitada - page: {}, size: {}, order: {}, total: {}",
+                pageableRequest.getPage(), pageableRequest.getSize(), pageableRequest.getOrder(), pageableRequest.getTotal());
 
+        return cacheListadoProductos.obtener(filtro, baseUrl,
+                clave -> coalescedorPeticiones.ejecutar("listado|" + clave, () -> listarProductos(filtro, baseUrl)));
+    }
 
-            Sort sort = "desc".equalsIgnoreCase(pageableRequest.getOrder())
-                    ? Sort.by("id").descending()
-                    : Sort.by("id").ascending();
+    private ProductoResponseJsonApiDTO listarProductos(ProductoFiltroDTO filtro, String baseUrl) {
+        PageableRequest pageableRequest = filtro.getPageable();
+        if (pageableRequest.isModoCursor()) {
+            return getProductosPorCursor(filtro, baseUrl);
+        }
 
-            Pageable pageable = PageRequest.of(pageableRequest.getPage(), pageableRequest.getSize(), sort);
+        TotalModo totalModo = TotalModo.desde(pageableRequest.getTotal());
 
-            Specification<Producto> spec = ProductoSpecification.construir(filtro);
+        Sort sort = "desc".equalsIgnoreCase(pageableRequest.getOrder())
+                ? Sort.by("id").descending()
+                : Sort.by("id").ascending();
 
-            Page<Producto> productosPage = productosRepository.findAll(spec, pageable);
-        List<Long> productoIds = productosPage.getContent().stream()
-                .map(Producto::getId)
-                .toList();
+        Pageable pageable = PageRequest.of(pageableRequest.getPage(), pageableRequest.getSize(), sort);
+
+        if (totalModo == TotalModo.NONE) {
+            Slice<ProductoResumen> productosSlice = ejecutorEtapas.medir("pagina", () -> productosRepository.findResumenes(filtro, pageable));
+            InventarioConRespaldo.Lectura inventario = ejecutorEtapas.medir("inventario", () -> leerInventario(productosSlice.getContent(), filtro.getCampos()));
+            List<ProductoResponseJsonApiDTO.Data> dataList = mapearConInventario(productosSlice.getContent(), inventario, filtro.getCampos());
+
+            log.info("[ProductosService] Se encontraron {} productos sin calcular total (pagina actual: {}, hasNext: {}).",
+                    productosSlice.getNumberOfElements(), productosSlice.getNumber(), productosSlice.hasNext());
+
+            return conEstadoInventario(JsonApiResponseBuilder.buildSlice(productosSlice, dataList, baseUrl, pageableRequest.getOrder()), inventario);
+        }
+
+        // El total no depende de la página: se calcula en paralelo mientras se leen la página y el inventario
+        CompletableFuture<Long> total = totalModo == TotalModo.ESTIMATE
+                ? ejecutorEtapas.enParalelo("conteo", () -> estimadorTotalProductos.estimar(filtro))
+                : ejecutorEtapas.enParalelo("conteo", () -> productosRepository.count(filtro));
+
+        Page<ProductoResumen> productosPage;
+        InventarioConRespaldo.Lectura inventario;
+        List<ProductoResponseJsonApiDTO.Data> dataList;
+        try {
+            Slice<ProductoResumen> productosSlice = ejecutorEtapas.medir("pagina", () -> productosRepository.findResumenes(filtro, pageable));
+            inventario = ejecutorEtapas.medir("inventario", () -> leerInventario(productosSlice.getContent(), filtro.getCampos()));
+            dataList = mapearConInventario(productosSlice.getContent(), inventario, filtro.getCampos());
+            productosPage = totalModo == TotalModo.ESTIMATE
+                    ? conTotalEstimado(productosSlice, pageable, EjecutorEtapas.esperar(total))
+                    : conTotalExacto(productosSlice, pageable, total);
+        } finally {
+            total.cancel(true);
+        }
 
-        List<InventarioResponseJsonApiDTO.Data> inventarios = inventarioClient.obtenerInventariosDesdeMicroservicio(productoIds);
+        log.info("[ProductosService] Se encontraron {} productos en total ({}) (pagina actual: {}).",
+                    productosPage.getTotalElements(), totalModo.getValor(), productosPage.getNumber());
+
+        return conEstadoInventario(JsonApiResponseBuilder.build(productosPage, dataList, baseUrl, pageableRequest.getOrder(), totalModo), inventario);
+    }
+
+    /**
+     * Si la página no está llena y no hay siguiente, el total ya se conoce y el conteo
+     * en curso se descarta; en otro caso se espera su resultado.
+     */
+    private Page<ProductoResumen> conTotalExacto(Slice<ProductoResumen> productosSlice, Pageable pageable, CompletableFuture<Long> total) {
+        long totalElementos = !productosSlice.hasNext() && (productosSlice.hasContent() || pageable.getOffset() == 0)
+                ? pageable.getOffset() + productosSlice.getNumberOfElements()
+                : EjecutorEtapas.esperar(total);
+        return new PageImpl<>(productosSlice.getContent(), pageable, totalElementos);
+    }
 
-        List<ProductoResponseJsonApiDTO.Data> dataList = productosPage.getContent().stream()
-                .map(producto -> {
-                    Integer cantidad = obtenerCantidadDesdeInventario(producto.getId(), inventarios);
-                    return productoMapper.toJsonApiDTOData(producto, cantidad);
-                })
+    /**
+     * Evita el COUNT(*) por petición: la página se lee como slice y el total se toma del estimador.
+     * El total nunca se informa por debajo de lo que ya se sabe que existe.
+     */
+    private Page<ProductoResumen> conTotalEstimado(Slice<ProductoResumen> productosSlice, Pageable pageable, long estimado) {
+        long minimoConocido = productosSlice.hasNext()
+                ? pageable.getOffset() + pageable.getPageSize() + 1
+                : pageable.getOffset() + productosSlice.getNumberOfElements();
+        return new PageImpl<>(productosSlice.getContent(), pageable, Math.max(estimado, minimoConocido));
+    }
+
+    /**
+     * Paginación por keyset: filtra por id a partir del cursor en lugar de usar OFFSET,
+     * por lo que el costo no crece con la profundidad de la página.
+     */
+    private ProductoResponseJsonApiDTO getProductosPorCursor(ProductoFiltroDTO filtro, String baseUrl) {
+        PageableRequest pageableRequest = filtro.getPageable();
+        boolean haciaAtras = pageableRequest.getAfter() == null;
+        boolean ascendente = !"desc".equalsIgnoreCase(pageableRequest.getOrder());
+        String cursor = haciaAtras ? pageableRequest.getBefore() : pageableRequest.getAfter();
+        if (!cursor.isBlank()) {
+            // Un cursor manipulado se rechaza con 400 antes de consultar la base
+            CursorCodec.decode(cursor);
+        }
+
+        // Para retroceder se recorre en sentido inverso y luego se restaura el orden pedido
+        Sort sort = ascendente != haciaAtras
+                ? Sort.by("id").ascending()
+                : Sort.by("id").descending();
+
+        Slice<ProductoResumen> productosSlice = ejecutorEtapas.medir("pagina",
+                () -> productosRepository.findResumenes(filtro, PageRequest.of(0, pageableRequest.getSize(), sort)));
+
+        List<ProductoResumen> productos = new ArrayList<>(productosSlice.getContent());
+        if (haciaAtras) {
+            Collections.reverse(productos);
+        }
+
+        InventarioConRespaldo.Lectura inventario = ejecutorEtapas.medir("inventario", () -> leerInventario(productos, filtro.getCampos()));
+        List<ProductoResponseJsonApiDTO.Data> dataList = mapearConInventario(productos, inventario, filtro.getCampos());
+
+        boolean cursorInicial = cursor.isBlank();
+        boolean hasNext = haciaAtras ? !cursorInicial : productosSlice.hasNext();
+        boolean hasPrev = haciaAtras ? productosSlice.hasNext() : !cursorInicial;
+
+        log.info("[ProductosService] Se encontraron {} productos por cursor (hasNext: {}, hasPrev: {}).",
+                productos.size(), hasNext, hasPrev);
+
+        return conEstadoInventario(JsonApiResponseBuilder.buildCursor(pageableRequest, dataList, hasNext, hasPrev, baseUrl), inventario);
+    }
+
+    /**
+     * Sin cantidad en fields[producto] no hace falta consultar inventario.
+     */
+    private InventarioConRespaldo.Lectura leerInventario(List<ProductoResumen> productos, Set<CampoProducto> campos) {
+        if (productos.isEmpty() || !campos.contains(CampoProducto.CANTIDAD)) {
+            return InventarioConRespaldo.Lectura.SIN_CONSULTA;
+        }
+        List<Long> productoIds = productos.stream()
+                .map(ProductoResumen::id)
                 .toList();
+        return EjecutorEtapas.esperar(inventarioConRespaldo.leer(productoIds));
+    }
 
-        log.info("[ProductosService] Se encontraron {} productos en total (pagina actual: {}).",
-                    productosPage.getTotalElements(), productosPage.getNumber());
+    private List<ProductoResponseJsonApiDTO.Data> mapearConInventario(List<ProductoResumen> productos,
+                                                                      InventarioConRespaldo.Lectura inventario,
+                                                                      Set<CampoProducto> campos) {
+        return productos.stream()
+                .map(producto -> productoMapper.toJsonApiDTOData(producto, inventario.cantidades().get(producto.id()), campos))
+                .toList();
+    }
 
-        return JsonApiResponseBuilder.build(productosPage, dataList, baseUrl, pageableRequest.getOrder());
+    private static ProductoResponseJsonApiDTO conEstadoInventario(ProductoResponseJsonApiDTO response, InventarioConRespaldo.Lectura inventario) {
+        if (inventario.degradada()) {
+            response.marcarInventarioDegradado();
+        }
+        return response;
     }
 
     @Override
     public ProductoResponseJsonApiDTO getProductoPorId(Long id) {
         log.info("[ProductosService] Buscando producto con ID: {}", id);
 
-        Producto producto = productosRepository.findById(id)
+        // La generación en la clave evita que quien llega después de una escritura reciba una lectura previa
+        return coalescedorPeticiones.ejecutar("producto|" + cacheListadoProductos.getGeneracion() + "|" + id,
+                () -> buscarProductoPorId(id));
+    }
+
+    @Override
+    public ProductoResponseJsonApiDTO getProductoPorId(Long id, Set<CampoProducto> campos) {
+        if (campos.equals(CampoProducto.TODOS)) {
+            return getProductoPorId(id);
+        }
+        log.info("[ProductosService] Buscando producto con ID: {} (campos: {})", id, CampoProducto.clave(campos));
+
+        return coalescedorPeticiones.ejecutar("producto|" + cacheListadoProductos.getGeneracion() + "|" + id
+                        + "|" + CampoProducto.clave(campos),
+                () -> buscarProductoPorId(id, campos));
+    }
+
+    /**
+     * Variante de {@link #buscarProductoPorId(Long)} para fields[producto]: lee solo las columnas
+     * pedidas y consulta inventario únicamente si se pidió la cantidad.
+     */
+    private ProductoResponseJsonApiDTO buscarProductoPorId(Long id, Set<CampoProducto> campos) {
+        ProductoResumen producto;
+        InventarioConRespaldo.Lectura inventario = InventarioConRespaldo.Lectura.SIN_CONSULTA;
+        if (campos.contains(CampoProducto.CANTIDAD)) {
+            CompletableFuture<ProductoResumen> productoEtapa = ejecutorEtapas.enParalelo("producto",
+                    () -> buscarResumenPorId(id, campos));
+            CompletableFuture<InventarioConRespaldo.Lectura> inventarioEtapa = ejecutorEtapas.medir("inventario",
+                    inventarioConRespaldo.leerAgrupado(List.of(id)));
+
+            EjecutorEtapas.esperarTodas(productoEtapa, inventarioEtapa);
+            producto = productoEtapa.join();
+            inventario = inventarioEtapa.join();
+        } else {
+            producto = ejecutorEtapas.medir("producto", () -> buscarResumenPorId(id, campos));
+        }
+
+        ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
+        response.setData(List.of(productoMapper.toJsonApiDTOData(producto, inventario.cantidades().get(id), campos)));
+        return conEstadoInventario(response, inventario);
+    }
+
+    private ProductoResumen buscarResumenPorId(Long id, Set<CampoProducto> campos) {
+        return productosRepository.findResumenById(id, campos)
                 .orElseThrow(() -> new EntityNotFoundException("Producto no encontrado con ID: " + id));
+    }
 
-        List<InventarioResponseJsonApiDTO.Data> inventarios = inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(producto.getId()));
-        Integer cantidad = obtenerCantidadDesdeInventario(id, inventarios);
-        ProductoResponseJsonApiDTO.Data data = productoMapper.toJsonApiDTOData(producto, cantidad);
+    private ProductoResponseJsonApiDTO buscarProductoPorId(Long id) {
+        // El inventario solo necesita el id de la ruta: ambas consultas se lanzan a la vez y
+        // si cualquiera falla (p. ej. producto inexistente) la otra se cancela
+        CompletableFuture<Producto> productoEtapa = ejecutorEtapas.enParalelo("producto", () -> productosRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Producto no encontrado con ID: " + id)));
+        CompletableFuture<InventarioConRespaldo.Lectura> inventarioEtapa = ejecutorEtapas.medir("inventario",
+                inventarioConRespaldo.leerAgrupado(List.of(id)));
+
+        EjecutorEtapas.esperarTodas(productoEtapa, inventarioEtapa);
+        Producto producto = productoEtapa.join();
+        InventarioConRespaldo.Lectura inventario = inventarioEtapa.join();
+        ProductoResponseJsonApiDTO.Data data = productoMapper.toJsonApiDTOData(producto, inventario.cantidades().get(id));
 
 
         ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
         response.setData(List.of(data));
 
-        return response;
+        return conEstadoInventario(response, inventario);
     }
 
 
+    /**
+     * Resuelve varios ids con una consulta a la base y, si se pidió la cantidad, una sola llamada a
+     * inventario, ambas en paralelo. La respuesta respeta el orden pedido (sin repetidos) y los ids
+     * inexistentes se informan en meta.missing.
+     */
+    @Override
+    public ProductoResponseJsonApiDTO getProductosPorIds(List<Long> ids, Set<CampoProducto> campos) {
+        List<Long> solicitados = ids.stream().distinct().toList();
+        if (solicitados.isEmpty()) {
+            throw new IllegalArgumentException("filter[id] debe incluir al menos un id");
+        }
+        if (solicitados.size() > maxIdsPorLote) {
+            throw new IllegalArgumentException("filter[id] admite como máximo " + maxIdsPorLote + " ids");
+        }
+        log.info("[ProductosService] Buscando {} productos por ID", solicitados.size());
+
+        List<ProductoResumen> encontrados;
+        InventarioConRespaldo.Lectura inventario = InventarioConRespaldo.Lectura.SIN_CONSULTA;
+        if (campos.contains(CampoProducto.CANTIDAD)) {
+            CompletableFuture<List<ProductoResumen>> productosEtapa = ejecutorEtapas.enParalelo("producto",
+                    () -> productosRepository.findResumenesByIds(solicitados, campos));
+            CompletableFuture<InventarioConRespaldo.Lectura> inventarioEtapa = ejecutorEtapas.medir("inventario",
+                    inventarioConRespaldo.leer(solicitados));
+
+            EjecutorEtapas.esperarTodas(productosEtapa, inventarioEtapa);
+            encontrados = productosEtapa.join();
+            inventario = inventarioEtapa.join();
+        } else {
+            encontrados = ejecutorEtapas.medir("producto", () -> productosRepository.findResumenesByIds(solicitados, campos));
+        }
+
+        Map<Long, ProductoResumen> porId = new HashMap<>();
+        encontrados.forEach(producto -> porId.put(producto.id(), producto));
+
+        List<ProductoResponseJsonApiDTO.Data> dataList = new ArrayList<>(porId.size());
+        List<String> faltantes = new ArrayList<>();
+        for (Long id : solicitados) {
+            ProductoResumen producto = porId.get(id);
+            if (producto == null) {
+                faltantes.add(String.valueOf(id));
+            } else {
+                dataList.add(productoMapper.toJsonApiDTOData(producto, inventario.cantidades().get(id), campos));
+            }
+        }
+
+        LoteMeta meta = new LoteMeta();
+        meta.setRequested(solicitados.size());
+        meta.setFound(dataList.size());
+        meta.setMissing(faltantes);
+
+        log.info("[ProductosService] Lote por ID: {} encontrados, {} inexistentes.", dataList.size(), faltantes.size());
+
+        ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
+        response.setData(dataList);
+        response.setMeta(meta);
+        return conEstadoInventario(response, inventario);
+    }
+
     @Transactional
     @Override
     public ProductoResponseJsonApiDTO crearProducto(ProductoRequestJsonApiDTO request) {
         log.info("[ProductosService] Creando nuevo producto: {}", request);
         try {
             Producto producto = productoMapper.fromCreateDTO(request);
-            Producto guardado = productoTransactionalService.crearProductoYInventario(
-                    producto,
-                    request.getData().getAttributes().getCantidad()
-            );
-
-            // Consultar el inventario desde el micro de inventario
-            List<InventarioResponseJsonApiDTO.Data> inventarios = inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(guardado.getId()));
-            Integer cantidad = obtenerCantidadDesdeInventario(guardado.getId(), inventarios);
+            int cantidad = request.getData().getAttributes().getCantidad();
+            Producto guardado = productoTransactionalService.crearProductoYInventario(producto, cantidad);
+            cacheListadoProductos.invalidar();
 
+            // El inventario se entrega después del commit (outbox): se responde con la cantidad registrada
             ProductoResponseJsonApiDTO.Data data = productoMapper.toJsonApiDTOData(guardado, cantidad);
 
-
             ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
             response.setData(List.of(data));
             return response;
@@ -125,10 +373,109 @@ public class ProductosServiceImpl implements ProductosService {
             log.error("[ProductosService] Violacion de integridad al crear producto: {}", e.getMessage(), e);
             throw new IllegalArgumentException("Error de integridad al guardar el producto: " + e.getMessage());
         }
-        catch (HttpClientErrorException | HttpServerErrorException e) {
-            log.error("[ProductosService] Error al crear producto + inventario: {}", e.getMessage(), e);
-            throw new InventarioException("Fallo al crear inventario. Se revertirá la transacción.", e.getResponseBodyAsString());
+    }
+
+    /**
+     * Crea los productos válidos del lote en una sola transacción (INSERT agrupados) y registra
+     * sus inventarios en el outbox, que los entrega a inventario en llamadas por lote. Los
+     * elementos inválidos no detienen al resto: se informan en meta.errors por posición.
+     */
+    @Override
+    public ProductoResponseJsonApiDTO crearProductos(ProductoLoteRequestJsonApiDTO request) {
+        List<ProductoRequestJsonApiDTO.Data> items = request == null ? null : request.getData();
+        CreacionLote creacion = crearProductosLote(items);
+
+        CreacionLoteMeta meta = new CreacionLoteMeta();
+        meta.setRequested(items.size());
+        meta.setCreated(creacion.creados().size());
+        for (Rechazo rechazo : creacion.rechazos()) {
+            meta.getErrors().add(new CreacionLoteMeta.Error(rechazo.posicion(), rechazo.detalle()));
+        }
+        List<ProductoResponseJsonApiDTO.Data> dataList = new ArrayList<>(creacion.creados().size());
+        for (int i = 0; i < creacion.creados().size(); i++) {
+            dataList.add(productoMapper.toJsonApiDTOData(creacion.creados().get(i), creacion.cantidades().get(i)));
+        }
+
+        ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
+        response.setData(dataList);
+        response.setMeta(meta);
+        return response;
+    }
+
+    /**
+     * Valida y crea el lote sin armar la respuesta JSON:API; lo usan {@link #crearProductos} y la
+     * importación de catálogos, que solo necesita los creados y los rechazos.
+     */
+    @Override
+    public CreacionLote crearProductosLote(List<ProductoRequestJsonApiDTO.Data> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("El lote debe incluir al menos un producto en 'data'");
+        }
+        if (items.size() > maxCreacionPorLote) {
+            throw new IllegalArgumentException("El lote admite como máximo " + maxCreacionPorLote + " productos");
+        }
+        log.info("[ProductosService] Creando lote de {} productos", items.size());
+
+        List<Rechazo> rechazos = new ArrayList<>();
+        List<Producto> productos = new ArrayList<>(items.size());
+        List<Integer> cantidades = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ProductoRequestJsonApiDTO.Data item = items.get(i);
+            String error = validarItemLote(item);
+            if (error != null) {
+                rechazos.add(new Rechazo(i, error));
+                continue;
+            }
+            ProductoRequestJsonApiDTO unitario = new ProductoRequestJsonApiDTO();
+            unitario.setData(item);
+            productos.add(productoMapper.fromCreateDTO(unitario));
+            cantidades.add(item.getAttributes().getCantidad());
+        }
+
+        List<Producto> creados = List.of();
+        if (!productos.isEmpty()) {
+            creados = productoTransactionalService.crearProductosYInventarios(productos, cantidades);
+            cacheListadoProductos.invalidar();
+        }
+        log.info("[ProductosService] Lote procesado: {} creados, {} rechazados", creados.size(), rechazos.size());
+        return new CreacionLote(creados, creados.isEmpty() ? List.of() : cantidades, rechazos);
+    }
+
+    private static String validarItemLote(ProductoRequestJsonApiDTO.Data item) {
+        ProductoRequestJsonApiDTO.Attributes attr = item == null ? null : item.getAttributes();
+        if (attr == null) {
+            return "El campo 'attributes' es obligatorio";
+        }
+        return validarAtributos(attr, false);
+    }
+
+    /**
+     * Mismas restricciones que las columnas de dbo.productos y que inventario para la cantidad.
+     * En modo parcial (PATCH) solo se validan los atributos presentes y la cantidad puede ser 0,
+     * porque actualiza un inventario existente en lugar de crearlo.
+     */
+    private static String validarAtributos(ProductoRequestJsonApiDTO.Attributes attr, boolean parcial) {
+        String nombre = attr.getNombre();
+        if ((!parcial || nombre != null) && (nombre == null || nombre.isBlank() || nombre.length() > 100)) {
+            return "El nombre es obligatorio y admite hasta 100 caracteres";
+        }
+        if (attr.getDescripcion() != null && attr.getDescripcion().length() > 255) {
+            return "La descripción admite hasta 255 caracteres";
+        }
+        if (attr.getCategoria() != null && attr.getCategoria().length() > 50) {
+            return "La categoría admite hasta 50 caracteres";
+        }
+        // Sin ceros a la derecha, como @Digits: 279.990 cabe en 2 decimales
+        BigDecimal precio = attr.getPrecio() == null ? null : attr.getPrecio().stripTrailingZeros();
+        if ((!parcial || precio != null)
+                && (precio == null || precio.signum() < 0 || precio.scale() > 2 || precio.precision() - precio.scale() > 8)) {
+            return "El precio es obligatorio, no negativo y con hasta 8 enteros y 2 decimales";
+        }
+        Integer cantidad = attr.getCantidad();
+        if (parcial) {
+            return cantidad != null && cantidad < 0 ? "La cantidad no puede ser negativa" : null;
         }
+        return cantidad == null || cantidad <= 0 ? "La cantidad debe ser mayor a cero" : null;
     }
 
     @Override
@@ -144,11 +491,14 @@ public class ProductosServiceImpl implements ProductosService {
             existente.setCategoria(request.getData().getAttributes().getCategoria());
 
             Producto actualizado = productosRepository.save(existente);
+            cacheListadoProductos.invalidar();
 
             Integer nuevaCantidad = request.getData().getAttributes().getCantidad();
 
-            List<InventarioResponseJsonApiDTO.Data> inventarios = inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(id));
-            Integer cantidadActual = obtenerCantidadDesdeInventario(id, inventarios);
+            // Misma lectura que el detalle (agrupada, con cobertura y circuito); una cantidad de
+            // respaldo puede estar desactualizada, así que con lectura degradada no se omite el envío
+            InventarioConRespaldo.Lectura inventario = EjecutorEtapas.esperar(inventarioConRespaldo.leerAgrupado(List.of(id)));
+            Integer cantidadActual = inventario.degradada() ? null : inventario.cantidades().get(id);
 
             if (nuevaCantidad != null && !nuevaCantidad.equals(cantidadActual)) {
                 inventarioClient.actualizarInventario(id, nuevaCantidad);
@@ -167,6 +517,125 @@ public class ProductosServiceImpl implements ProductosService {
         }
     }
 
+    /**
+     * Actualiza solo los atributos presentes en la petición. Si ninguno cambia el valor guardado
+     * no se emite UPDATE ni se invalida el caché; si cambian, el UPDATE dinámico incluye solo
+     * esas columnas. Inventario solo se contacta cuando viene 'cantidad', sin consultarlo antes.
+     */
+    @Override
+    public ProductoResponseJsonApiDTO actualizarProductoParcial(Long id, ProductoRequestJsonApiDTO request) {
+        ProductoRequestJsonApiDTO.Attributes attr = request == null || request.getData() == null
+                ? null : request.getData().getAttributes();
+        if (attr == null) {
+            throw new IllegalArgumentException("El campo 'attributes' es obligatorio");
+        }
+        String error = validarAtributos(attr, true);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        log.info("[ProductosService] Actualización parcial del producto con ID: {} - Datos: {}", id, request);
+        try {
+            Producto existente = productosRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Producto no encontrado con ID: " + id));
+
+            List<Object> antes = valoresEditables(existente);
+            productoMapper.updateEntityFromDTO(existente, request);
+            Producto actual = existente;
+            if (!antes.equals(valoresEditables(existente))) {
+                actual = productosRepository.save(existente);
+                cacheListadoProductos.invalidar();
+            } else {
+                log.info("[ProductosService] Producto con ID {} sin cambios: se omite el UPDATE", id);
+            }
+
+            if (attr.getCantidad() != null) {
+                inventarioClient.actualizarInventario(id, attr.getCantidad());
+            }
+
+            ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
+            response.setData(List.of(productoMapper.toJsonApiDTOData(actual, attr.getCantidad())));
+            return response;
+
+        } catch (DataIntegrityViolationException e) {
+            // El detalle de la base (constraint, columnas, valores) queda solo en el log
+            log.error("[ProductosService] Violacion de integridad al actualizar producto ID {}: {}", id, e.getMessage(), e);
+            throw new IllegalArgumentException("Error de integridad al actualizar el producto");
+        }
+    }
+
+    private static List<Object> valoresEditables(Producto producto) {
+        return Arrays.asList(producto.getNombre(), producto.getDescripcion(), producto.getPrecio(), producto.getCategoria());
+    }
+
+    /**
+     * Ajusta el precio de todos los productos que cumplen el filtro con una sola sentencia UPDATE,
+     * sin cargarlos en memoria, e invalida el caché de listados una única vez. Se exige al menos un
+     * criterio para que un filtro vacío no reprecie el catálogo por accidente (precioMin 0 lo cubre).
+     * El UPDATE no toca filas cuyo precio nuevo quedaría negativo; si en una rebaja se actualizan
+     * menos filas de las que cumplen el filtro, se rechaza completa y la transacción se revierte.
+     */
+    @Transactional
+    @Override
+    public ProductoResponseJsonApiDTO actualizarPrecios(ActualizacionPreciosRequestDTO request) {
+        ProductoFiltroDTO filtro = request == null ? null : request.getFiltro();
+        if (filtro == null || filtro.isSinFiltros()) {
+            throw new IllegalArgumentException("El filtro debe incluir al menos un criterio (nombre, categoria, precioMin o precioMax)");
+        }
+        if (request.getOperacion() == null || request.getValor() == null) {
+            throw new IllegalArgumentException("La operación y el valor son obligatorios");
+        }
+        validarAjustePrecio(request.getOperacion(), request.getValor());
+        // Un cursor o una página no acotan el ajuste: aplica a todo lo que cumple el filtro
+        filtro.setPageable(new PageableRequest());
+        log.info("[ProductosService] Ajustando precios ({} {}) para el filtro {}",
+                request.getOperacion(), request.getValor(), filtro.getClaveNormalizada());
+
+        // Solo una rebaja puede dejar precios negativos (PORCENTAJE > -100 y FIJAR >= 0 ya están validados)
+        boolean rebaja = request.getOperacion() == ActualizacionPreciosRequestDTO.Operacion.DELTA && request.getValor().signum() < 0;
+        long coincidentes = rebaja ? productosRepository.count(filtro) : 0;
+
+        int actualizados;
+        try {
+            actualizados = productosRepository.actualizarPrecios(filtro, request.getOperacion(), request.getValor(), LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            log.error("[ProductosService] Violacion de integridad al ajustar precios: {}", e.getMessage(), e);
+            throw new IllegalArgumentException("Error de integridad al ajustar los precios");
+        }
+        if (actualizados < coincidentes) {
+            // La excepción revierte también las filas que sí se actualizaron
+            throw new IllegalArgumentException((coincidentes - actualizados) + " productos quedarían con precio negativo");
+        }
+        cacheListadoProductos.invalidar();
+        log.info("[ProductosService] Precios ajustados en {} productos", actualizados);
+
+        ActualizacionPreciosMeta meta = new ActualizacionPreciosMeta();
+        meta.setUpdated(actualizados);
+        ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
+        response.setData(List.of());
+        response.setMeta(meta);
+        return response;
+    }
+
+    private static void validarAjustePrecio(ActualizacionPreciosRequestDTO.Operacion operacion, BigDecimal valor) {
+        switch (operacion) {
+            case PORCENTAJE -> {
+                if (valor.compareTo(BigDecimal.valueOf(-100)) <= 0) {
+                    throw new IllegalArgumentException("El porcentaje debe ser mayor a -100");
+                }
+            }
+            case DELTA -> {
+                if (valor.scale() > 2) {
+                    throw new IllegalArgumentException("El incremento admite hasta 2 decimales");
+                }
+            }
+            case FIJAR -> {
+                if (valor.signum() < 0 || valor.scale() > 2 || valor.precision() - valor.scale() > 8) {
+                    throw new IllegalArgumentException("El precio debe ser no negativo y con hasta 8 enteros y 2 decimales");
+                }
+            }
+        }
+    }
+
     @Override
     public void eliminarProductoPorId(Long id) {
         log.info("[ProductosService] Eliminando producto con ID: {}", id);
@@ -175,6 +644,7 @@ public class ProductosServiceImpl implements ProductosService {
                 .orElseThrow(() -> new EntityNotFoundException("Producto no encontrado con ID: " + id));
 
         productosRepository.delete(producto);
+        cacheListadoProductos.invalidar();
 
         log.info("[ProductosService] Producto con ID {} eliminado exitosamente.", id);
     }
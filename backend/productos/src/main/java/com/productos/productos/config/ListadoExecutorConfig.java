@@ -0,0 +1,38 @@
+package com.productos.productos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ListadoExecutorConfig {
+
+    /**
+     * Pool acotado para las etapas que se ejecutan en paralelo dentro de una petición.
+     * Si se satura, la tarea corre en el hilo que la envía: la petición se vuelve
+     * secuencial pero nunca se rechaza.
+     */
+    @Bean(name = "listadoExecutor", destroyMethod = "shutdown")
+    public ExecutorService listadoExecutor(
+            @Value("${productos.listado.executor.hilos:8}") int hilos,
+            @Value("${productos.listado.executor.cola:200}") int cola,
+            MeterRegistry meterRegistry
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                hilos, hilos,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(cola),
+                Thread.ofPlatform().name("listado-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "listado");
+    }
+}
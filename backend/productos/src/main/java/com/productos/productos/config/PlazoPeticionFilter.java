@@ -0,0 +1,68 @@
+package com.productos.productos.config;
+
+import com.productos.productos.shared.PlazoPeticion;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+
+/**
+ * Fija el plazo de la petición. Si el llamador envía X-Deadline-Ms se usa ese plazo (acotado por
+ * el configurado en las lecturas interactivas); sin cabecera, solo las lecturas interactivas
+ * (listado, filtro y detalles) reciben el plazo configurado. Las escrituras, la exportación, los
+ * lotes y las importaciones no tienen plazo propio: pueden durar bastante más que una consulta.
+ * InventarioClient descuenta el plazo y lo reenvía para que inventario no siga trabajando en
+ * respuestas que ya nadie espera.
+ */
+@Component
+public class PlazoPeticionFilter extends OncePerRequestFilter {
+    private final long plazoMs;
+
+    public PlazoPeticionFilter(@Value("${productos.peticion.plazo-ms:10000}") long plazoMs) {
+        this.plazoMs = plazoMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        OptionalLong recibido = plazoRecibido(request.getHeader(PlazoPeticion.CABECERA));
+        OptionalLong plazo = esLecturaInteractiva(request)
+                ? OptionalLong.of(Math.min(plazoMs, recibido.orElse(Long.MAX_VALUE)))
+                : recibido;
+        if (plazo.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PlazoPeticion.iniciar(plazo.getAsLong());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PlazoPeticion.limpiar();
+        }
+    }
+
+    private static boolean esLecturaInteractiva(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        if ("GET".equals(request.getMethod())) {
+            return !ruta.endsWith("/export");
+        }
+        return "POST".equals(request.getMethod()) && ruta.endsWith("/filtro");
+    }
+
+    private static OptionalLong plazoRecibido(String cabecera) {
+        if (cabecera == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(cabecera.trim()));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -1,14 +1,77 @@
 package com.productos.productos.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * Pool de conexiones persistentes hacia inventario. Las conexiones se validan tras un rato
+     * inactivas y se descartan al cumplir su tiempo de vida, para no reutilizar sockets que el
+     * otro extremo ya cerró. El uso del pool se publica como httpcomponents.httpclient.pool.*.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager inventarioConnectionManager(
+            @Value("${inventario.http.max-conexiones:50}") int maxConexiones,
+            @Value("${inventario.http.max-conexiones-por-ruta:50}") int maxConexionesPorRuta,
+            @Value("${inventario.http.timeout-conexion-ms:2000}") long timeoutConexionMs,
+            @Value("${inventario.http.timeout-respuesta-ms:5000}") long timeoutRespuestaMs,
+            @Value("${inventario.http.validar-tras-inactividad-ms:2000}") long validarTrasInactividadMs,
+            @Value("${inventario.http.tiempo-vida-segundos:300}") long tiempoVidaSegundos,
+            MeterRegistry meterRegistry
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConexiones)
+                .setMaxConnPerRoute(maxConexionesPorRuta)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeoutConexionMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeoutRespuestaMs))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validarTrasInactividadMs))
+                        .setTimeToLive(TimeValue.ofSeconds(tiempoVidaSegundos))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "inventario").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * Si el pool está agotado, la petición espera a lo sumo timeout-pool-ms por una conexión
+     * libre y falla en lugar de bloquear el hilo de Tomcat indefinidamente.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient inventarioHttpClient(
+            PoolingHttpClientConnectionManager inventarioConnectionManager,
+            @Value("${inventario.http.timeout-pool-ms:1000}") long timeoutPoolMs,
+            @Value("${inventario.http.timeout-respuesta-ms:5000}") long timeoutRespuestaMs,
+            @Value("${inventario.http.inactividad-max-segundos:30}") long inactividadMaxSegundos
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(inventarioConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutPoolMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeoutRespuestaMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(inactividadMaxSegundos))
+                .evictExpiredConnections()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient inventarioHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(inventarioHttpClient));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.productos.productos.config;
+
+import com.productos.productos.aplication.service.impl.DespachadorInventarioPendiente;
+import com.productos.productos.aplication.service.impl.ImportacionProductosServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Tareas programadas. Cada una se activa con su propia propiedad, de modo que apagar una no
+ * detiene la otra (en los tests ambas están desactivadas):
+ * inventario.outbox.despacho-programado para el despacho del outbox de inventario y
+ * productos.importacion.reanudacion-programada para la reanudación de importaciones.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Configuration
+    @ConditionalOnProperty(name = "inventario.outbox.despacho-programado", havingValue = "true", matchIfMissing = true)
+    @RequiredArgsConstructor
+    static class DespachoOutbox {
+        private final DespachadorInventarioPendiente despachador;
+
+        @Scheduled(fixedDelayString = "${inventario.outbox.intervalo-ms:1000}")
+        void despachar() {
+            despachador.despacharPendientes();
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "productos.importacion.reanudacion-programada", havingValue = "true", matchIfMissing = true)
+    @RequiredArgsConstructor
+    static class ReanudacionImportaciones {
+        private final ImportacionProductosServiceImpl importacionService;
+
+        @Scheduled(fixedDelayString = "${productos.importacion.reanudacion-ms:30000}")
+        void reanudar() {
+            importacionService.reanudarImportaciones();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.productos.productos.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila rechazada de una importación, con su número de línea en el archivo original.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "importaciones_productos_errores", schema = "dbo",
+        indexes = @Index(name = "ix_importaciones_productos_errores_importacion", columnList = "importacion_id, linea"))
+public class ImportacionError {
+    private static final int MAX_LONGITUD = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "importaciones_productos_errores_seq")
+    @SequenceGenerator(name = "importaciones_productos_errores_seq", sequenceName = "importaciones_productos_errores_seq", schema = "dbo", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "importacion_id", nullable = false)
+    private Long importacionId;
+
+    @Column(nullable = false)
+    private long linea;
+
+    @Column(nullable = false, length = MAX_LONGITUD)
+    private String detalle;
+
+    @Column(length = MAX_LONGITUD)
+    private String contenido;
+
+    public ImportacionError(Long importacionId, long linea, String detalle, String contenido) {
+        this.importacionId = importacionId;
+        this.linea = linea;
+        this.detalle = recortar(detalle);
+        this.contenido = recortar(contenido);
+    }
+
+    private static String recortar(String texto) {
+        return texto != null && texto.length() > MAX_LONGITUD ? texto.substring(0, MAX_LONGITUD) : texto;
+    }
+}
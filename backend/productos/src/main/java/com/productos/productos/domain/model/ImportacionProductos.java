@@ -0,0 +1,89 @@
+package com.productos.productos.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo de importación de catálogo. {@code lineasProcesadas} es la última línea del archivo
+ * confirmada junto con sus productos, así que un nodo que retoma el trabajo continúa desde ahí
+ * sin duplicar filas. La versión impide que dos nodos avancen la misma importación a la vez.
+ * {@code intentos} cuenta los intentos seguidos que fallaron sin confirmar ningún chunk.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "importaciones_productos", schema = "dbo",
+        indexes = @Index(name = "ix_importaciones_productos_estado", columnList = "estado, actualizado_en"))
+public class ImportacionProductos {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "importaciones_productos_seq")
+    @SequenceGenerator(name = "importaciones_productos_seq", sequenceName = "importaciones_productos_seq", schema = "dbo", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Formato formato;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 15)
+    private Estado estado;
+
+    @Column(nullable = false, length = 500)
+    private String archivo;
+
+    @Column(name = "lineas_procesadas", nullable = false)
+    private long lineasProcesadas;
+
+    @Column(nullable = false)
+    private long creados;
+
+    @Column(nullable = false)
+    private long rechazados;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private int intentos;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+
+    @Version
+    private long version;
+
+    public ImportacionProductos(Formato formato, String archivo) {
+        this.formato = formato;
+        this.archivo = archivo;
+        this.estado = Estado.PENDIENTE;
+    }
+
+    public boolean isTerminada() {
+        return estado == Estado.COMPLETADA || estado == Estado.FALLIDA;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.creadoEn = LocalDateTime.now();
+        this.actualizadoEn = this.creadoEn;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.actualizadoEn = LocalDateTime.now();
+    }
+
+    public enum Formato {
+        NDJSON, CSV
+    }
+
+    public enum Estado {
+        PENDIENTE, EN_PROCESO, COMPLETADA, FALLIDA
+    }
+}
@@ -0,0 +1,58 @@
+package com.productos.productos.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del outbox de inventario: se escribe en la misma transacción que el producto y la
+ * entrega a inventario la hace después {@code DespachadorInventarioPendiente}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "inventario_pendiente", schema = "dbo",
+        indexes = @Index(name = "ix_inventario_pendiente_proximo_intento", columnList = "proximo_intento"))
+public class InventarioPendiente {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventario_pendiente_seq")
+    @SequenceGenerator(name = "inventario_pendiente_seq", sequenceName = "inventario_pendiente_seq", schema = "dbo", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(nullable = false)
+    private int intentos;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    /** Momento en que se dejó de reintentar; la fila se conserva para revisarla a mano. */
+    @Column(name = "descartado_en")
+    private LocalDateTime descartadoEn;
+
+    public InventarioPendiente(Long productoId, Integer cantidad) {
+        this.productoId = productoId;
+        this.cantidad = cantidad;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.creadoEn = LocalDateTime.now();
+        if (this.proximoIntento == null) {
+            this.proximoIntento = this.creadoEn;
+        }
+    }
+}
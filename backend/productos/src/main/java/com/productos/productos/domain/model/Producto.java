@@ -2,16 +2,21 @@ package com.productos.productos.domain.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
+@DynamicUpdate // El UPDATE incluye solo las columnas modificadas (p. ej. precio y actualizado_en en un PATCH)
 @Table(name = "productos", schema = "dbo")
 public class Producto {
+    // Secuencia con optimizador pooled: reserva bloques de ids y permite que Hibernate agrupe
+    // los INSERT (con IDENTITY cada fila necesita su propio round-trip para conocer el id)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_seq")
+    @SequenceGenerator(name = "productos_seq", sequenceName = "productos_seq", schema = "dbo", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
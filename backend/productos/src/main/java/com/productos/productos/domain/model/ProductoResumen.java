@@ -0,0 +1,19 @@
+package com.productos.productos.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vista de solo lectura de un producto para los listados. Se construye directamente desde
+ * la consulta, por lo que no pasa por el contexto de persistencia ni por el dirty-checking.
+ */
+public record ProductoResumen(
+        Long id,
+        String nombre,
+        String descripcion,
+        BigDecimal precio,
+        String categoria,
+        LocalDateTime creadoEn,
+        LocalDateTime actualizadoEn
+) {
+}
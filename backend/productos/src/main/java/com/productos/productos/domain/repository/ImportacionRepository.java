@@ -0,0 +1,17 @@
+package com.productos.productos.domain.repository;
+
+import com.productos.productos.domain.model.ImportacionError;
+import com.productos.productos.domain.model.ImportacionProductos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ImportacionRepository {
+
+    ImportacionProductos save(ImportacionProductos importacion);
+    Optional<ImportacionProductos> findById(Long id);
+    List<ImportacionProductos> buscarSinAvanceDesde(LocalDateTime limite);
+    void guardarErrores(List<ImportacionError> errores);
+    List<ImportacionError> buscarErrores(Long importacionId, int maximo);
+}
@@ -0,0 +1,17 @@
+package com.productos.productos.domain.repository;
+
+import com.productos.productos.domain.model.InventarioPendiente;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface InventarioPendienteRepository {
+
+    InventarioPendiente save(InventarioPendiente pendiente);
+    List<InventarioPendiente> saveAll(List<InventarioPendiente> pendientes);
+    List<InventarioPendiente> reclamarLote(LocalDateTime ahora, int tamano);
+    void delete(InventarioPendiente pendiente);
+    long contarPendientes();
+    Optional<LocalDateTime> creadoEnMasAntiguo();
+}
@@ -1,16 +1,37 @@
 package com.productos.productos.domain.repository;
 
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.shared.dto.ActualizacionPreciosRequestDTO;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProductosRepository {
 
     Page<Producto> findAll(Specification<Producto> specification,Pageable pageable);
+    Slice<ProductoResumen> findResumenes(ProductoFiltroDTO filtro, Pageable pageable);
+    long count(ProductoFiltroDTO filtro);
+    void recorrerResumenes(ProductoFiltroDTO filtro, int tamanoLote, Consumer<List<ProductoResumen>> consumidor);
+    OptionalLong estimateCount();
     Optional<Producto> findById(Long id);
+    Optional<ProductoResumen> findResumenById(Long id, Set<CampoProducto> campos);
+    List<ProductoResumen> findResumenesByIds(Collection<Long> ids, Set<CampoProducto> campos);
     Producto save(Producto producto);
+    List<Producto> saveAll(List<Producto> productos);
     void delete(Producto producto);
+    int actualizarPrecios(ProductoFiltroDTO filtro, ActualizacionPreciosRequestDTO.Operacion operacion,
+                          BigDecimal valor, LocalDateTime actualizadoEn);
 }
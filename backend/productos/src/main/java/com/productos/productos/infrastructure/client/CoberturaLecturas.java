@@ -0,0 +1,135 @@
+package com.productos.productos.infrastructure.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Peticiones de cobertura (hedging) para lecturas idempotentes: si la llamada no responde dentro
+ * del p95 observado, se envía una segunda idéntica y gana la primera respuesta correcta; la otra
+ * se cancela. El presupuesto limita las coberturas a un porcentaje de las lecturas recientes y
+ * hasta reunir suficientes muestras no se cubre ninguna.
+ * Las respuestas canceladas no se miden, así que el p95 tiende a quedar por debajo del real:
+ * el presupuesto es lo que acota la carga extra.
+ */
+@Component
+@Slf4j
+public class CoberturaLecturas {
+    private final boolean habilitada;
+    private final long umbralMinimoMs;
+    private final long muestrasMinimas;
+    private final PoliticaReintentos.PresupuestoReintentos presupuesto;
+    private final Timer latencia;
+    private final Counter enviadas;
+    private final Counter ganadas;
+    private final ScheduledExecutorService temporizador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("cobertura-timer").factory());
+
+    public CoberturaLecturas(
+            MeterRegistry meterRegistry,
+            @Value("${inventario.cobertura.habilitada:false}") boolean habilitada,
+            @Value("${inventario.cobertura.umbral-minimo-ms:20}") long umbralMinimoMs,
+            @Value("${inventario.cobertura.muestras-minimas:100}") long muestrasMinimas,
+            @Value("${inventario.cobertura.presupuesto.porcentaje:5}") int porcentajePresupuesto
+    ) {
+        this.habilitada = habilitada;
+        this.umbralMinimoMs = umbralMinimoMs;
+        this.muestrasMinimas = muestrasMinimas;
+        this.presupuesto = new PoliticaReintentos.PresupuestoReintentos(10, porcentajePresupuesto, 0);
+        this.latencia = Timer.builder("inventario.cobertura.latencia")
+                .description("Latencia de las lecturas de inventario usada para el umbral de cobertura")
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        this.enviadas = Counter.builder("inventario.cobertura")
+                .description("Peticiones de cobertura a inventario")
+                .tag("resultado", "enviada")
+                .register(meterRegistry);
+        this.ganadas = Counter.builder("inventario.cobertura")
+                .description("Peticiones de cobertura a inventario")
+                .tag("resultado", "ganada")
+                .register(meterRegistry);
+    }
+
+    /**
+     * La llamada debe ser idempotente y sin bloqueo; puede invocarse dos veces.
+     * Cancelar el future devuelto cancela todas las llamadas en curso.
+     */
+    public <T> CompletableFuture<T> ejecutar(Supplier<CompletableFuture<T>> llamada) {
+        if (!habilitada) {
+            return llamada.get();
+        }
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        AtomicInteger pendientes = new AtomicInteger(1);
+        presupuesto.registrar(false);
+        CompletableFuture<T> principal = enviar(llamada, resultado, pendientes, false);
+
+        long umbral = umbralMs();
+        if (umbral > 0) {
+            temporizador.schedule(() -> {
+                if (resultado.isDone() || !presupuesto.permiteReintento()) {
+                    return;
+                }
+                presupuesto.registrar(true);
+                pendientes.incrementAndGet();
+                enviadas.increment();
+                log.debug("[CoberturaLecturas] Sin respuesta en {} ms, se envía petición de cobertura", umbral);
+                CompletableFuture<T> cobertura = enviar(llamada, resultado, pendientes, true);
+                resultado.whenComplete((valor, error) -> cobertura.cancel(true));
+            }, umbral, TimeUnit.MILLISECONDS);
+        }
+        resultado.whenComplete((valor, error) -> principal.cancel(true));
+        return resultado;
+    }
+
+    // 0 mientras no haya muestras suficientes para estimar el p95
+    long umbralMs() {
+        if (latencia.count() < muestrasMinimas) {
+            return 0;
+        }
+        for (ValueAtPercentile percentil : latencia.takeSnapshot().percentileValues()) {
+            return Math.max(umbralMinimoMs, (long) percentil.value(TimeUnit.MILLISECONDS));
+        }
+        return 0;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        temporizador.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> enviar(Supplier<CompletableFuture<T>> llamada, CompletableFuture<T> resultado,
+                                            AtomicInteger pendientes, boolean esCobertura) {
+        long inicio = System.nanoTime();
+        CompletableFuture<T> enCurso;
+        try {
+            enCurso = llamada.get();
+        } catch (RuntimeException e) {
+            enCurso = CompletableFuture.failedFuture(e);
+        }
+        enCurso.whenComplete((valor, error) -> {
+            if (error == null) {
+                latencia.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                if (resultado.complete(valor) && esCobertura) {
+                    ganadas.increment();
+                }
+            } else if (pendientes.decrementAndGet() == 0) {
+                // Solo falla si ninguna de las peticiones en curso puede responder ya
+                resultado.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+        return enCurso;
+    }
+}
@@ -2,9 +2,13 @@ package com.productos.productos.infrastructure.client;
 
 
 import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.PlazoPeticion;
 import com.productos.productos.shared.dto.InventarioListResponseJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioLoteRequestJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioLoteResponseJsonApiDTO;
 import com.productos.productos.shared.dto.InventarioRequestJsonApiDTO;
 import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,18 +16,35 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 @Slf4j
 @Component
 public class InventarioClient {
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final List<MediaType> ACEPTADOS = List.of(APPLICATION_SMILE, MediaType.parseMediaType("application/json;q=0.9"));
+
     private final RestTemplate restTemplate;
+    private final PoliticaReintentos politicaReintentos;
+    private final CoberturaLecturas coberturaLecturas;
+    private final LimiteConcurrencia limiteConcurrencia;
 
     @Value("${inventario.api.url}")
     private String apiUrlInventario;
@@ -31,89 +52,214 @@ public class InventarioClient {
     @Value("${api.key}")
     private String apiKey;
 
+    // Solo con un inventario que acepte Smile; las respuestas se negocian siempre por Accept
+    @Value("${inventario.http.cuerpo-smile:false}")
+    private boolean cuerpoSmile;
+
+    @Value("${inventario.http.timeout-respuesta-ms:5000}")
+    private long timeoutRespuestaMs;
+
+    // Las variantes asíncronas ejecutan la misma llamada en un hilo virtual: no retienen el hilo
+    // de la petición y comparten el pool de conexiones y los timeouts del RestTemplate
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("inventario-client-", 0).factory());
+
+    /**
+     * Cada intento corre en un hilo virtual; solo se reintentan errores de E/S y los estados
+     * configurados en {@link PoliticaReintentos}. Tras el último fallo se lanza InventarioException.
+     */
+    public CompletableFuture<InventarioResponseJsonApiDTO> crearInventarioConReintentosAsync(Long productoId, Integer cantidad) {
+        long limite = limiteNanos();
+        return politicaReintentos.ejecutar("crear-inventario", () -> enHiloVirtual(() -> crearInventario(productoId, cantidad, limite)))
+                .exceptionallyCompose(error -> {
+                    Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (causa instanceof CancellationException) {
+                        return CompletableFuture.failedFuture(causa);
+                    }
+                    log.error("[InventarioClient] Fallo definitivo al crear inventario para producto ID {}", productoId);
+                    return CompletableFuture.failedFuture(new InventarioException(
+                            "No se pudo crear el inventario para el producto. Último error: " + causa.getMessage(), ""));
+                });
+    }
+
+    /**
+     * Crea varios inventarios en una sola llamada a /inventarios/lote. Inventario devuelve sin
+     * cambios los que ya existían, así que el lote completo puede reintentarse sin duplicar nada.
+     */
+    public CompletableFuture<InventarioLoteResponseJsonApiDTO> crearInventariosLoteAsync(List<InventarioRequestJsonApiDTO.Data> inventarios) {
+        long limite = limiteNanos();
+        return politicaReintentos.ejecutar("crear-inventarios-lote", () -> enHiloVirtual(() -> crearInventariosLote(inventarios, limite)));
+    }
+
+    /**
+     * La búsqueda es una lectura idempotente: si inventario tarda más de lo habitual puede
+     * enviarse una petición de cobertura (ver {@link CoberturaLecturas}).
+     */
+    public CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> obtenerInventariosAsync(List<Long> productoIds) {
+        long limite = limiteNanos();
+        return coberturaLecturas.ejecutar(() -> enHiloVirtual(() -> buscar(productoIds, limite)));
+    }
+
+    public CompletableFuture<Void> actualizarInventarioAsync(Long productoId, Integer nuevaCantidad) {
+        long limite = limiteNanos();
+        return enHiloVirtual(() -> {
+            actualizar(productoId, nuevaCantidad, limite);
+            return null;
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Si el future se completa con error desde fuera (cancelación o plazo vencido) mientras la
+     * llamada sigue en curso, se interrumpe su hilo y la conexión se descarta.
+     */
+    private <T> CompletableFuture<T> enHiloVirtual(Supplier<T> llamada) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Future<?> ejecucion = executor.submit(() -> {
+            try {
+                resultado.complete(llamada.get());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+        resultado.whenComplete((valor, error) -> {
+            if (error != null) {
+                ejecucion.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Espera el resultado de {@link #crearInventarioConReintentosAsync}: las pausas entre intentos
+     * las programa {@link PoliticaReintentos} y no ocupan ningún hilo mientras transcurren.
+     */
     public InventarioResponseJsonApiDTO crearInventarioConReintentos(Long productoId, Integer cantidad) {
+        CompletableFuture<InventarioResponseJsonApiDTO> creacion = crearInventarioConReintentosAsync(productoId, cantidad);
+        try {
+            return creacion.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new InventarioException("No se pudo crear el inventario para el producto. Último error: " + e.getCause(), "");
+        } catch (InterruptedException e) {
+            creacion.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InventarioException("Creación de inventario interrumpida", "");
+        }
+    }
+
+    private InventarioResponseJsonApiDTO crearInventario(Long productoId, Integer cantidad, long limite) {
         String url = apiUrlInventario+"inventarios";
         InventarioRequestJsonApiDTO request = new InventarioRequestJsonApiDTO(productoId, cantidad);
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-API-KEY", apiKey);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<InventarioRequestJsonApiDTO> entity = new HttpEntity<>(request, headers);
+        HttpEntity<InventarioRequestJsonApiDTO> entity = new HttpEntity<>(request, cabeceras(limite));
 
-        int reintentos = 0;
-        Exception ultimaExcepcion = null;
+        ResponseEntity<InventarioResponseJsonApiDTO> response = limiteConcurrencia.ejecutar(() ->
+                restTemplate.postForEntity(url, entity, InventarioResponseJsonApiDTO.class));
 
-        while (reintentos < 3) {
-            try {
-                ResponseEntity<InventarioResponseJsonApiDTO> response =
-                        restTemplate.postForEntity(url, entity, InventarioResponseJsonApiDTO.class);
-
-                // Verificar explícitamente el código de estado
-                if (response.getStatusCode().is2xxSuccessful()) {
-                    log.info("[InventarioClient] Inventario creado correctamente para producto ID {}", productoId);
-                    return response.getBody();
-                } else {
-                    // Manejar explícitamente otros códigos de estado
-                    throw new InventarioException("Error al crear inventario. Código de estado: " + response.getStatusCodeValue(),"");
-                }
-            } catch (Exception e) {
-                reintentos++;
-                ultimaExcepcion = e;
-                log.warn("[InventarioClient] Reintento {}/3 fallido al crear inventario: {}", reintentos, e.getMessage());
-
-                // Añadir un pequeño retraso entre reintentos
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                }
-            }
+        // Verificar explícitamente el código de estado
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new InventarioException("Error al crear inventario. Código de estado: " + response.getStatusCode().value(),"");
         }
+        log.info("[InventarioClient] Inventario creado correctamente para producto ID {}", productoId);
+        return response.getBody();
+    }
+
+    private InventarioLoteResponseJsonApiDTO crearInventariosLote(List<InventarioRequestJsonApiDTO.Data> inventarios, long limite) {
+        String url = apiUrlInventario + "inventarios/lote";
+        HttpEntity<InventarioLoteRequestJsonApiDTO> entity =
+                new HttpEntity<>(new InventarioLoteRequestJsonApiDTO(inventarios), cabeceras(limite));
 
-        log.error("[InventarioClient] Fallo tras 3 intentos al crear inventario para producto ID {}", productoId);
-        throw new InventarioException("No se pudo crear el inventario para el producto. Último error: " +
-                (ultimaExcepcion != null ? ultimaExcepcion.getMessage() : "Desconocido"),"");
+        ResponseEntity<InventarioLoteResponseJsonApiDTO> response = limiteConcurrencia.ejecutar(() ->
+                restTemplate.postForEntity(url, entity, InventarioLoteResponseJsonApiDTO.class));
+        log.info("[InventarioClient] Lote de {} inventarios enviado", inventarios.size());
+        return response.getBody();
     }
 
     public List<InventarioResponseJsonApiDTO.Data> obtenerInventariosDesdeMicroservicio(List<Long> productoIds) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-API-KEY", apiKey);
+        return buscar(productoIds, limiteNanos());
+    }
 
-            HttpEntity<List<Long>> request = new HttpEntity<>(productoIds, headers);
+    private List<InventarioResponseJsonApiDTO.Data> buscar(List<Long> productoIds, long limite) {
+        try {
+            HttpEntity<List<Long>> request = new HttpEntity<>(productoIds, cabeceras(limite));
             String url = apiUrlInventario + "inventarios/buscar";
 
-            ResponseEntity<InventarioListResponseJsonApiDTO> response = restTemplate.exchange(
+            ResponseEntity<InventarioListResponseJsonApiDTO> response = limiteConcurrencia.ejecutar(() -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     request,
                     InventarioListResponseJsonApiDTO.class
-            );
+            ));
 
             return response.getBody().getData();
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             log.error("[ProductosService] Error al consumir inventario: {}", e.getMessage(), e);
-            throw new InventarioException("Fallo al conectar con el inventario.", e.getResponseBodyAsString());
+            throw new InventarioException("Fallo al conectar con el inventario.", e.getResponseBodyAsString(), e);
+        } catch (ResourceAccessException e) {
+            // Timeout de conexión, de respuesta o de espera por el pool
+            log.error("[InventarioClient] Inventario no disponible al consultar: {}", e.getMessage());
+            throw new InventarioException("Fallo al conectar con el inventario.", "");
         }
     }
 
     public void actualizarInventario(Long productoId, Integer nuevaCantidad) {
+        actualizar(productoId, nuevaCantidad, limiteNanos());
+    }
+
+    private void actualizar(Long productoId, Integer nuevaCantidad, long limite) {
         try {
             String url = apiUrlInventario + "inventarios";
 
             InventarioRequestJsonApiDTO request = new InventarioRequestJsonApiDTO(productoId, nuevaCantidad);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("X-API-KEY", apiKey);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<InventarioRequestJsonApiDTO> entity = new HttpEntity<>(request, headers);
+            HttpEntity<InventarioRequestJsonApiDTO> entity = new HttpEntity<>(request, cabeceras(limite));
 
-            restTemplate.put(url, entity);
+            limiteConcurrencia.ejecutar(() -> {
+                restTemplate.put(url, entity);
+                return null;
+            });
             log.info("[InventarioClient] Inventario actualizado para producto ID {}", productoId);
 
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             log.error("[InventarioClient] Error al actualizar inventario: {}", e.getMessage(), e);
-            throw new InventarioException("Fallo al actualizar inventario.", e.getResponseBodyAsString());
+            throw new InventarioException("Fallo al actualizar inventario.", e.getResponseBodyAsString(), e);
+        } catch (ResourceAccessException e) {
+            log.error("[InventarioClient] Inventario no disponible al actualizar: {}", e.getMessage());
+            throw new InventarioException("Fallo al actualizar inventario.", "");
+        }
+    }
+
+    /**
+     * Límite de la llamada en System.nanoTime(): el plazo que le queda a la petición entrante, sin
+     * pasar del timeout de respuesta. Se calcula en el hilo del llamador, antes de saltar a otro hilo.
+     */
+    private long limiteNanos() {
+        long porTimeout = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutRespuestaMs);
+        OptionalLong porPeticion = PlazoPeticion.limiteNanos();
+        return porPeticion.isPresent() && porPeticion.getAsLong() - porTimeout < 0 ? porPeticion.getAsLong() : porTimeout;
+    }
+
+    /**
+     * Se pide Smile con JSON como alternativa: un inventario que no lo produzca responde JSON.
+     * El cuerpo de la petición va en Smile solo si está habilitado, porque no puede negociarse.
+     * El plazo restante viaja en X-Deadline-Ms; si ya venció, la llamada no llega a enviarse.
+     */
+    private HttpHeaders cabeceras(long limite) {
+        long restanteMs = TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime());
+        if (restanteMs <= 0) {
+            throw new InventarioException("Plazo de la petición agotado antes de llamar a inventario.", "");
         }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(PlazoPeticion.CABECERA, String.valueOf(restanteMs));
+        headers.set("X-API-KEY", apiKey);
+        headers.setContentType(cuerpoSmile ? APPLICATION_SMILE : MediaType.APPLICATION_JSON);
+        headers.setAccept(ACEPTADOS);
+        return headers;
     }
 }
@@ -0,0 +1,136 @@
+package com.productos.productos.infrastructure.client;
+
+import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Límite adaptativo (AIMD) de llamadas simultáneas a inventario. Cada respuesta rápida con el
+ * límite casi ocupado lo sube en 1/límite (una unidad por "ronda" de llamadas); un timeout, un
+ * error de E/S o 5xx, o una latencia por encima del objetivo lo multiplican por el factor de
+ * reducción. Las llamadas que exceden el límite esperan como mucho espera-max-ms y después se
+ * rechazan con InventarioException, sin llegar a abrir conexión.
+ */
+@Component
+@Slf4j
+public class LimiteConcurrencia {
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long latenciaObjetivoNanos;
+    private final double factorReduccion;
+    private final long esperaMaxNanos;
+    private final Counter rechazos;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private final Condition liberada = candado.newCondition();
+    private double limite;
+    private int enCurso;
+
+    public LimiteConcurrencia(
+            MeterRegistry meterRegistry,
+            @Value("${inventario.concurrencia.limite-inicial:20}") int limiteInicial,
+            @Value("${inventario.concurrencia.limite-minimo:2}") int limiteMinimo,
+            @Value("${inventario.concurrencia.limite-maximo:200}") int limiteMaximo,
+            @Value("${inventario.concurrencia.latencia-objetivo-ms:1000}") long latenciaObjetivoMs,
+            @Value("${inventario.concurrencia.factor-reduccion:0.9}") double factorReduccion,
+            @Value("${inventario.concurrencia.espera-max-ms:50}") long esperaMaxMs
+    ) {
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.latenciaObjetivoNanos = TimeUnit.MILLISECONDS.toNanos(latenciaObjetivoMs);
+        this.factorReduccion = factorReduccion;
+        this.esperaMaxNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaxMs);
+        Gauge.builder("inventario.concurrencia.limite", this, LimiteConcurrencia::limite)
+                .description("Límite actual de llamadas simultáneas a inventario")
+                .register(meterRegistry);
+        Gauge.builder("inventario.concurrencia.en_curso", this, LimiteConcurrencia::enCurso)
+                .description("Llamadas a inventario en curso")
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("inventario.concurrencia.rechazos")
+                .description("Llamadas a inventario rechazadas por el límite de concurrencia")
+                .register(meterRegistry);
+    }
+
+    public <T> T ejecutar(Supplier<T> llamada) {
+        adquirir();
+        long inicio = System.nanoTime();
+        boolean sobrecarga = true;
+        try {
+            T resultado = llamada.get();
+            sobrecarga = false;
+            return resultado;
+        } catch (RuntimeException e) {
+            sobrecarga = e instanceof ResourceAccessException || e instanceof HttpServerErrorException;
+            throw e;
+        } finally {
+            liberar(sobrecarga || System.nanoTime() - inicio > latenciaObjetivoNanos);
+        }
+    }
+
+    public int limite() {
+        candado.lock();
+        try {
+            return (int) limite;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    public int enCurso() {
+        candado.lock();
+        try {
+            return enCurso;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    private void adquirir() {
+        candado.lock();
+        try {
+            long restante = esperaMaxNanos;
+            while (enCurso >= (int) limite) {
+                if (restante <= 0) {
+                    rechazos.increment();
+                    log.warn("[LimiteConcurrencia] Llamada a inventario rechazada: {} en curso con límite {}", enCurso, (int) limite);
+                    throw new InventarioException("Inventario saturado: límite de " + (int) limite + " llamadas simultáneas alcanzado.", "");
+                }
+                restante = liberada.awaitNanos(restante);
+            }
+            enCurso++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InventarioException("Espera por el límite de concurrencia interrumpida.", "");
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    private void liberar(boolean sobrecarga) {
+        candado.lock();
+        try {
+            if (sobrecarga) {
+                limite = Math.max(limiteMinimo, limite * factorReduccion);
+            } else if (enCurso * 2 >= limite) {
+                // Solo crece si el límite se está usando; con poco tráfico no hay nada que aprender
+                limite = Math.min(limiteMaximo, limite + 1 / limite);
+            }
+            enCurso--;
+            liberada.signal();
+        } finally {
+            candado.unlock();
+        }
+    }
+}
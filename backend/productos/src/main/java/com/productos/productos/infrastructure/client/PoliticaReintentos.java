@@ -0,0 +1,195 @@
+package com.productos.productos.infrastructure.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reintentos con backoff exponencial y jitter completo: la espera antes del intento n es un valor
+ * al azar entre 0 y min(espera-max, espera-base * 2^(n-1)). Solo se reintentan los estados HTTP
+ * configurados y los errores de E/S. La espera se programa en un temporizador en lugar de dormir
+ * el hilo, y el intento siguiente lo lanza el Supplier (que no debe bloquear).
+ * Un presupuesto global corta los reintentos cuando, en la ventana reciente, ya superan el
+ * mínimo por segundo más el porcentaje configurado de los primeros intentos: así una caída de
+ * inventario no multiplica la carga que recibe.
+ */
+@Component
+@Slf4j
+public class PoliticaReintentos {
+    private final int maxIntentos;
+    private final long esperaBaseMs;
+    private final long esperaMaxMs;
+    private final Set<Integer> estadosReintentables;
+    private final PresupuestoReintentos presupuesto;
+    private final Counter reintentosProgramados;
+    private final Counter reintentosSinPresupuesto;
+    private final ScheduledExecutorService temporizador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("reintentos-timer").factory());
+
+    public PoliticaReintentos(
+            MeterRegistry meterRegistry,
+            @Value("${inventario.reintentos.max-intentos:3}") int maxIntentos,
+            @Value("${inventario.reintentos.espera-base-ms:100}") long esperaBaseMs,
+            @Value("${inventario.reintentos.espera-max-ms:2000}") long esperaMaxMs,
+            @Value("${inventario.reintentos.estados:408,429,500,502,503,504}") Set<Integer> estadosReintentables,
+            @Value("${inventario.reintentos.presupuesto.porcentaje:20}") int porcentajePresupuesto,
+            @Value("${inventario.reintentos.presupuesto.minimo-por-segundo:1}") int minimoPorSegundo,
+            @Value("${inventario.reintentos.presupuesto.ventana-segundos:10}") int ventanaSegundos
+    ) {
+        this.maxIntentos = maxIntentos;
+        this.esperaBaseMs = esperaBaseMs;
+        this.esperaMaxMs = esperaMaxMs;
+        this.estadosReintentables = Set.copyOf(estadosReintentables);
+        this.presupuesto = new PresupuestoReintentos(ventanaSegundos, porcentajePresupuesto, minimoPorSegundo);
+        this.reintentosProgramados = Counter.builder("inventario.reintentos")
+                .description("Reintentos de llamadas a inventario")
+                .tag("resultado", "programado")
+                .register(meterRegistry);
+        this.reintentosSinPresupuesto = Counter.builder("inventario.reintentos")
+                .description("Reintentos de llamadas a inventario")
+                .tag("resultado", "sin_presupuesto")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta el intento y lo repite según la política. El future devuelto falla con la excepción
+     * del último intento; cancelarlo cancela el intento en curso y los pendientes.
+     */
+    public <T> CompletableFuture<T> ejecutar(String operacion, Supplier<CompletableFuture<T>> intento) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        intentar(operacion, intento, 1, resultado);
+        return resultado;
+    }
+
+    public boolean esReintentable(Throwable error) {
+        if (error instanceof RestClientResponseException respuesta) {
+            return estadosReintentables.contains(respuesta.getStatusCode().value());
+        }
+        return error instanceof ResourceAccessException || error instanceof IOException;
+    }
+
+    long espera(int intentoFallido) {
+        long tope = esperaBaseMs << Math.min(intentoFallido - 1, 30);
+        return ThreadLocalRandom.current().nextLong(Math.min(esperaMaxMs, tope) + 1);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        temporizador.shutdownNow();
+    }
+
+    private <T> void intentar(String operacion, Supplier<CompletableFuture<T>> intento, int numero, CompletableFuture<T> resultado) {
+        if (resultado.isDone()) {
+            return;
+        }
+        presupuesto.registrar(numero > 1);
+        CompletableFuture<T> enCurso;
+        try {
+            enCurso = intento.get();
+        } catch (RuntimeException e) {
+            enCurso = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> actual = enCurso;
+        resultado.whenComplete((valor, error) -> {
+            if (resultado.isCancelled()) {
+                actual.cancel(true);
+            }
+        });
+
+        actual.whenComplete((valor, error) -> {
+            if (error == null) {
+                resultado.complete(valor);
+                return;
+            }
+            Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (numero >= maxIntentos || !esReintentable(causa)) {
+                resultado.completeExceptionally(causa);
+                return;
+            }
+            if (!presupuesto.permiteReintento()) {
+                reintentosSinPresupuesto.increment();
+                log.warn("[PoliticaReintentos] {}: presupuesto de reintentos agotado, no se reintenta: {}", operacion, causa.getMessage());
+                resultado.completeExceptionally(causa);
+                return;
+            }
+            long espera = espera(numero);
+            reintentosProgramados.increment();
+            log.warn("[PoliticaReintentos] {}: intento {}/{} fallido ({}), reintento en {} ms",
+                    operacion, numero, maxIntentos, causa.getMessage(), espera);
+            temporizador.schedule(() -> intentar(operacion, intento, numero + 1, resultado), espera, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Primeros intentos y reintentos de los últimos 'ventana' segundos, en cubetas de un segundo.
+     */
+    static final class PresupuestoReintentos {
+        private final int ventana;
+        private final int porcentaje;
+        private final int minimoPorSegundo;
+        private final long[] segundoDeCubeta;
+        private final long[] primeros;
+        private final long[] reintentos;
+
+        PresupuestoReintentos(int ventana, int porcentaje, int minimoPorSegundo) {
+            this.ventana = ventana;
+            this.porcentaje = porcentaje;
+            this.minimoPorSegundo = minimoPorSegundo;
+            this.segundoDeCubeta = new long[ventana];
+            this.primeros = new long[ventana];
+            this.reintentos = new long[ventana];
+        }
+
+        synchronized void registrar(boolean reintento) {
+            int cubeta = cubetaActual();
+            if (reintento) {
+                reintentos[cubeta]++;
+            } else {
+                primeros[cubeta]++;
+            }
+        }
+
+        synchronized boolean permiteReintento() {
+            long ahora = segundoActual();
+            long totalPrimeros = 0;
+            long totalReintentos = 0;
+            for (int i = 0; i < ventana; i++) {
+                if (ahora - segundoDeCubeta[i] < ventana) {
+                    totalPrimeros += primeros[i];
+                    totalReintentos += reintentos[i];
+                }
+            }
+            return totalReintentos * 100 < (long) minimoPorSegundo * ventana * 100 + totalPrimeros * porcentaje;
+        }
+
+        private int cubetaActual() {
+            long segundo = segundoActual();
+            int cubeta = (int) (segundo % ventana);
+            if (segundoDeCubeta[cubeta] != segundo) {
+                segundoDeCubeta[cubeta] = segundo;
+                primeros[cubeta] = 0;
+                reintentos[cubeta] = 0;
+            }
+            return cubeta;
+        }
+
+        private static long segundoActual() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        }
+    }
+}
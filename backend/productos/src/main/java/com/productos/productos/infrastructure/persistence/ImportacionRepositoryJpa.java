@@ -0,0 +1,66 @@
+package com.productos.productos.infrastructure.persistence;
+
+import com.productos.productos.domain.model.ImportacionError;
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.domain.repository.ImportacionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class ImportacionRepositoryJpa implements ImportacionRepository {
+    private final EntityManager entityManager;
+
+    public ImportacionRepositoryJpa(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Con una importación ya guardada hace merge: si otro nodo la avanzó desde que se leyó, la
+     * versión no coincide y la escritura falla con un error de bloqueo optimista.
+     */
+    @Override
+    public ImportacionProductos save(ImportacionProductos importacion) {
+        if (importacion.getId() == null) {
+            entityManager.persist(importacion);
+            return importacion;
+        }
+        return entityManager.merge(importacion);
+    }
+
+    @Override
+    public Optional<ImportacionProductos> findById(Long id) {
+        return Optional.ofNullable(entityManager.find(ImportacionProductos.class, id));
+    }
+
+    @Override
+    public List<ImportacionProductos> buscarSinAvanceDesde(LocalDateTime limite) {
+        return entityManager.createQuery("""
+                        select i from ImportacionProductos i
+                        where i.estado in (:pendiente, :enProceso) and i.actualizadoEn < :limite
+                        order by i.id""", ImportacionProductos.class)
+                .setParameter("pendiente", ImportacionProductos.Estado.PENDIENTE)
+                .setParameter("enProceso", ImportacionProductos.Estado.EN_PROCESO)
+                .setParameter("limite", limite)
+                .getResultList();
+    }
+
+    @Override
+    public void guardarErrores(List<ImportacionError> errores) {
+        errores.forEach(entityManager::persist);
+    }
+
+    @Override
+    public List<ImportacionError> buscarErrores(Long importacionId, int maximo) {
+        return entityManager.createQuery("""
+                        select e from ImportacionError e
+                        where e.importacionId = :importacionId
+                        order by e.linea""", ImportacionError.class)
+                .setParameter("importacionId", importacionId)
+                .setMaxResults(maximo)
+                .getResultList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.productos.productos.infrastructure.persistence;
+
+import com.productos.productos.domain.model.InventarioPendiente;
+import com.productos.productos.domain.repository.InventarioPendienteRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class InventarioPendienteRepositoryJpa implements InventarioPendienteRepository {
+    // SQL nativo: la sintaxis de FOR UPDATE SKIP LOCKED tras LIMIT es la misma en PostgreSQL y H2
+    private static final String RECLAMAR_LOTE = """
+            select * from dbo.inventario_pendiente
+            where proximo_intento <= :ahora and descartado_en is null
+            order by id
+            limit :tamano
+            for update skip locked""";
+
+    private final EntityManager entityManager;
+
+    public InventarioPendienteRepositoryJpa(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public InventarioPendiente save(InventarioPendiente pendiente) {
+        if (pendiente.getId() == null) {
+            entityManager.persist(pendiente);
+            return pendiente;
+        }
+        return entityManager.merge(pendiente);
+    }
+
+    @Override
+    public List<InventarioPendiente> saveAll(List<InventarioPendiente> pendientes) {
+        pendientes.forEach(this::save);
+        return pendientes;
+    }
+
+    /**
+     * Bloquea hasta {@code tamano} filas vencidas con FOR UPDATE SKIP LOCKED: cada instancia del
+     * despachador toma filas distintas sin esperar a las demás. Los bloqueos duran hasta el fin
+     * de la transacción que llama, por lo que debe invocarse dentro de una. Las filas descartadas
+     * no se vuelven a tomar.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<InventarioPendiente> reclamarLote(LocalDateTime ahora, int tamano) {
+        return entityManager.createNativeQuery(RECLAMAR_LOTE, InventarioPendiente.class)
+                .setParameter("ahora", ahora)
+                .setParameter("tamano", tamano)
+                .getResultList();
+    }
+
+    @Override
+    public void delete(InventarioPendiente pendiente) {
+        entityManager.remove(entityManager.contains(pendiente) ? pendiente : entityManager.merge(pendiente));
+    }
+
+    @Override
+    public long contarPendientes() {
+        return entityManager.createQuery("select count(p) from InventarioPendiente p where p.descartadoEn is null", Long.class)
+                .getSingleResult();
+    }
+
+    @Override
+    public Optional<LocalDateTime> creadoEnMasAntiguo() {
+        return Optional.ofNullable(entityManager.createQuery(
+                        "select min(p.creadoEn) from InventarioPendiente p where p.descartadoEn is null", LocalDateTime.class)
+                .getSingleResult());
+    }
+}
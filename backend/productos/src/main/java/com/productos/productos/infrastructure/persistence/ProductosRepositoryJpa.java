@@ -1,36 +1,225 @@
 package com.productos.productos.infrastructure.persistence;
 
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
 import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.infrastructure.persistence.spec.ProductoConsultaPlantillas;
+import com.productos.productos.infrastructure.persistence.spec.ProductoSpecification;
+import com.productos.productos.shared.dto.ActualizacionPreciosRequestDTO;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
+@Slf4j
 public class ProductosRepositoryJpa  implements ProductosRepository {
     public final  SpringDataJpaRepository springDataJpaRepository;
-    public ProductosRepositoryJpa(SpringDataJpaRepository springDataJpaRepository){
+    private final EntityManager entityManager;
+    private final ProductoConsultaPlantillas consultaPlantillas;
+    // Las estadísticas del planificador (pg_class) solo existen en PostgreSQL
+    private final boolean estimacionSoportada;
+
+    @Value("${productos.listado.fetch-size:100}")
+    private int fetchSize;
+
+    public ProductosRepositoryJpa(SpringDataJpaRepository springDataJpaRepository, EntityManager entityManager,
+                                  ProductoConsultaPlantillas consultaPlantillas){
         this.springDataJpaRepository = springDataJpaRepository;
+        this.entityManager = entityManager;
+        this.consultaPlantillas = consultaPlantillas;
+        this.estimacionSoportada = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
     }
     @Override
     public Page<Producto> findAll(Specification<Producto> specification, Pageable pageable) {
         return springDataJpaRepository.findAll(specification, pageable);
     }
 
+    /**
+     * Lee la página directamente en {@link ProductoResumen} con la consulta precompilada de la
+     * combinación de criterios del filtro (solo se enlazan parámetros), en una transacción de
+     * solo lectura: no se crean entidades gestionadas ni snapshots. Se pide una fila de más para
+     * saber si existe página siguiente sin ejecutar el COUNT(*) que sí hace
+     * {@link #findAll(Specification, Pageable)}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProductoResumen> findResumenes(ProductoFiltroDTO filtro, Pageable pageable) {
+        return leerSlice(consultaPlantillas.listado(filtro, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public long count(ProductoFiltroDTO filtro) {
+        return consultaPlantillas.conteo(filtro).getSingleResult();
+    }
+
+    /**
+     * Recorre todo el resultado del filtro por id ascendente con un cursor de base de datos
+     * (fetch size = tamaño de lote) y lo entrega en lotes, sin cargarlo completo en memoria.
+     * La transacción de solo lectura es necesaria para que PostgreSQL use un cursor real.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void recorrerResumenes(ProductoFiltroDTO filtro, int tamanoLote, Consumer<List<ProductoResumen>> consumidor) {
+        try (Stream<ProductoResumen> resultado = consultaPlantillas.listado(filtro, Sort.by("id").ascending())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanoLote)
+                .getResultStream()) {
+            List<ProductoResumen> lote = new ArrayList<>(tamanoLote);
+            Iterator<ProductoResumen> iterador = resultado.iterator();
+            while (iterador.hasNext()) {
+                lote.add(iterador.next());
+                if (lote.size() == tamanoLote) {
+                    consumidor.accept(lote);
+                    lote = new ArrayList<>(tamanoLote);
+                }
+            }
+            if (!lote.isEmpty()) {
+                consumidor.accept(lote);
+            }
+        }
+    }
+
+    private Slice<ProductoResumen> leerSlice(TypedQuery<ProductoResumen> query, Pageable pageable) {
+        List<ProductoResumen> resultado = query
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = resultado.size() > pageable.getPageSize();
+        List<ProductoResumen> contenido = hasNext ? resultado.subList(0, pageable.getPageSize()) : resultado;
+        return new SliceImpl<>(contenido, pageable, hasNext);
+    }
+
+    /**
+     * Número de filas estimado por el planificador de PostgreSQL (pg_class.reltuples),
+     * que se lee en O(1). Vacío si la base no es PostgreSQL, si la tabla aún no fue analizada
+     * o si la consulta falla; un fallo puntual no desactiva la estimación para las siguientes.
+     */
+    @Override
+    public OptionalLong estimateCount() {
+        if (!estimacionSoportada) {
+            return OptionalLong.empty();
+        }
+        try {
+            Number reltuples = (Number) entityManager
+                    .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = 'dbo.productos'::regclass")
+                    .getSingleResult();
+            long estimado = reltuples.longValue();
+            return estimado < 0 ? OptionalLong.empty() : OptionalLong.of(estimado);
+        } catch (PersistenceException e) {
+            log.warn("[ProductosRepositoryJpa] Estimación del planificador no disponible: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
     @Override
     public Optional<Producto> findById(Long id) {
         return springDataJpaRepository.findById(id);
     }
+
+    /**
+     * Lee un producto como proyección con solo las columnas de los campos pedidos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProductoResumen> findResumenById(Long id, Set<CampoProducto> campos) {
+        return consultaPlantillas.detalle(id, campos)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Lee varios productos en una sola consulta; el orden del resultado no está definido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductoResumen> findResumenesByIds(Collection<Long> ids, Set<CampoProducto> campos) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return consultaPlantillas.porIds(ids, campos)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
     @Override
     public Producto save(Producto producto) {
         return springDataJpaRepository.save(producto);
     }
 
+    @Override
+    public List<Producto> saveAll(List<Producto> productos) {
+        return springDataJpaRepository.saveAll(productos);
+    }
+
     @Override
     public void delete(Producto producto) {
         springDataJpaRepository.delete(producto);
     }
+
+    /**
+     * Ajusta el precio de todos los productos del filtro con un único UPDATE. Al no pasar por
+     * entidades no se dispara @PreUpdate, así que actualizadoEn se asigna en la misma sentencia.
+     * Las filas cuyo precio nuevo quedaría negativo no cumplen el WHERE y no se modifican: quien
+     * llama compara el resultado con las coincidencias para detectarlo.
+     */
+    @Override
+    @Transactional
+    public int actualizarPrecios(ProductoFiltroDTO filtro, ActualizacionPreciosRequestDTO.Operacion operacion,
+                                 BigDecimal valor, LocalDateTime actualizadoEn) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Producto> update = builder.createCriteriaUpdate(Producto.class);
+        Root<Producto> root = update.from(Producto.class);
+        Path<BigDecimal> precio = root.get("precio");
+        Expression<BigDecimal> nuevoPrecio = switch (operacion) {
+            case PORCENTAJE -> builder.round(builder.prod(precio,
+                    BigDecimal.ONE.add(valor.movePointLeft(2))), 2);
+            case DELTA -> builder.sum(precio, valor);
+            case FIJAR -> builder.literal(valor);
+        };
+        update.set(precio, nuevoPrecio);
+        update.set(root.<LocalDateTime>get("actualizadoEn"), actualizadoEn);
+        Predicate noNegativo = builder.greaterThanOrEqualTo(nuevoPrecio, BigDecimal.ZERO);
+        Predicate predicate = ProductoSpecification.predicado(filtro, root, builder);
+        update.where(predicate == null ? noNegativo : builder.and(predicate, noNegativo));
+        return entityManager.createQuery(update).executeUpdate();
+    }
 }
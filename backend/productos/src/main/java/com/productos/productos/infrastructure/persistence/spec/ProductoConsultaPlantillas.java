@@ -0,0 +1,219 @@
+package com.productos.productos.infrastructure.persistence.spec;
+
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de consultas precompiladas para el filtro de productos. Los filtros solo admiten
+ * 16 combinaciones de criterios presentes/ausentes (más el sentido del cursor y del orden, y las
+ * columnas pedidas con fields[producto]), así
+ * que cada combinación se registra una única vez como named query en el EntityManagerFactory;
+ * por petición solo se enlazan los parámetros, sin reconstruir el árbol Criteria ni re-renderizar el SQL.
+ * Es el equivalente de {@link ProductoSpecification#construir(ProductoFiltroDTO)} para el listado.
+ */
+@Component
+@Slf4j
+public class ProductoConsultaPlantillas {
+    private static final String PREFIJO_NOMBRE = "Producto.filtro.";
+    private static final String PROYECCION = "SELECT new " + ProductoResumen.class.getName() + "(p.id, %s) FROM Producto p";
+    private static final String CONTEO = "SELECT count(p) FROM Producto p";
+    private static final int COLUMNAS_TOTALES = CampoProducto.TODOS.size() - 1;
+
+    private final EntityManager entityManager;
+    private final Map<Combinacion, String> registradas = new ConcurrentHashMap<>();
+
+    public ProductoConsultaPlantillas(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Consulta del listado con los parámetros del filtro ya enlazados. Solo admite orden por id,
+     * que es el único que expone la API.
+     */
+    public TypedQuery<ProductoResumen> listado(ProductoFiltroDTO filtro, Sort sort) {
+        Sort.Order orden = sort.getOrderFor("id");
+        if (orden == null || sort.stream().count() > 1) {
+            throw new IllegalArgumentException("Orden no soportado por las consultas del listado: " + sort);
+        }
+        Combinacion combinacion = Combinacion.de(filtro, Tipo.LISTADO, orden.isDescending(), filtro.getCampos());
+        TypedQuery<ProductoResumen> query = entityManager.createNamedQuery(nombre(combinacion), ProductoResumen.class);
+        return enlazar(query, filtro);
+    }
+
+    public TypedQuery<Long> conteo(ProductoFiltroDTO filtro) {
+        Combinacion combinacion = Combinacion.de(filtro, Tipo.CONTEO, false, CampoProducto.TODOS);
+        TypedQuery<Long> query = entityManager.createNamedQuery(nombre(combinacion), Long.class);
+        return enlazar(query, filtro);
+    }
+
+    /**
+     * Consulta de un producto por id que lee solo las columnas de los campos pedidos.
+     */
+    public TypedQuery<ProductoResumen> detalle(Long id, Set<CampoProducto> campos) {
+        Combinacion combinacion = new Combinacion(Tipo.DETALLE, false, false, false, false,
+                Cursor.NINGUNO, false, Combinacion.columnas(campos));
+        return entityManager.createNamedQuery(nombre(combinacion), ProductoResumen.class)
+                .setParameter("id", id);
+    }
+
+    /**
+     * Consulta de varios productos por id en una sola sentencia (IN), con las columnas de los campos pedidos.
+     */
+    public TypedQuery<ProductoResumen> porIds(Collection<Long> ids, Set<CampoProducto> campos) {
+        Combinacion combinacion = new Combinacion(Tipo.LOTE, false, false, false, false,
+                Cursor.NINGUNO, false, Combinacion.columnas(campos));
+        return entityManager.createNamedQuery(nombre(combinacion), ProductoResumen.class)
+                .setParameter("ids", ids);
+    }
+
+    int cantidadRegistradas() {
+        return registradas.size();
+    }
+
+    private String nombre(Combinacion combinacion) {
+        String nombre = registradas.get(combinacion);
+        return nombre != null ? nombre : registrar(combinacion);
+    }
+
+    // El registro de named queries del EntityManagerFactory no garantiza escrituras concurrentes
+    private synchronized String registrar(Combinacion combinacion) {
+        return registradas.computeIfAbsent(combinacion, c -> {
+            String nombre = PREFIJO_NOMBRE + c.nombreConsulta();
+            String jpql = c.jpql();
+            Class<?> resultado = c.tipo() == Tipo.CONTEO ? Long.class : ProductoResumen.class;
+            EntityManagerFactory entityManagerFactory = entityManager.getEntityManagerFactory();
+            EntityManager compilador = entityManagerFactory.createEntityManager();
+            try {
+                // addNamedQuery valida y guarda la consulta interpretada; los parámetros quedan sin enlazar
+                entityManagerFactory.addNamedQuery(nombre, compilador.createQuery(jpql, resultado));
+            } finally {
+                compilador.close();
+            }
+            log.debug("[ProductoConsultaPlantillas] Consulta '{}' registrada: {}", nombre, jpql);
+            return nombre;
+        });
+    }
+
+    private static <T> TypedQuery<T> enlazar(TypedQuery<T> query, ProductoFiltroDTO filtro) {
+        if (filtro.getNombre() != null) {
+            query.setParameter("nombre", "%" + filtro.getNombre().trim().toLowerCase() + "%");
+        }
+        if (filtro.getCategoria() != null) {
+            query.setParameter("categoria", filtro.getCategoria());
+        }
+        if (filtro.getPrecioMin() != null) {
+            query.setParameter("precioMin", filtro.getPrecioMin());
+        }
+        if (filtro.getPrecioMax() != null) {
+            query.setParameter("precioMax", filtro.getPrecioMax());
+        }
+        ProductoSpecification.Seek seek = ProductoSpecification.seek(filtro.getPageable());
+        if (seek != null) {
+            query.setParameter("cursor", seek.id());
+        }
+        return query;
+    }
+
+    private enum Tipo { LISTADO, CONTEO, DETALLE, LOTE }
+
+    private enum Cursor { NINGUNO, MAYOR, MENOR }
+
+    /**
+     * Combinación de criterios de una consulta. Las columnas son los campos pedidos que existen
+     * en la tabla (cantidad viene de inventario), de modo que {@code nombre} y {@code nombre,cantidad}
+     * comparten la misma consulta.
+     */
+    private record Combinacion(Tipo tipo, boolean nombre, boolean categoria, boolean precioMin, boolean precioMax,
+                               Cursor cursor, boolean descendente, Set<CampoProducto> columnas) {
+
+        static Combinacion de(ProductoFiltroDTO filtro, Tipo tipo, boolean descendente, Set<CampoProducto> campos) {
+            ProductoSpecification.Seek seek = ProductoSpecification.seek(filtro.getPageable());
+            Cursor cursor = seek == null ? Cursor.NINGUNO : seek.mayorQue() ? Cursor.MAYOR : Cursor.MENOR;
+            return new Combinacion(tipo, filtro.getNombre() != null, filtro.getCategoria() != null,
+                    filtro.getPrecioMin() != null, filtro.getPrecioMax() != null, cursor, descendente,
+                    tipo == Tipo.CONTEO ? Set.of() : columnas(campos));
+        }
+
+        static Set<CampoProducto> columnas(Set<CampoProducto> campos) {
+            EnumSet<CampoProducto> columnas = EnumSet.noneOf(CampoProducto.class);
+            columnas.addAll(campos);
+            columnas.remove(CampoProducto.CANTIDAD);
+            return columnas;
+        }
+
+        String nombreConsulta() {
+            String nombreBase = tipo.name().toLowerCase()
+                    + "." + (nombre ? "N" : "-") + (categoria ? "C" : "-")
+                    + (precioMin ? "I" : "-") + (precioMax ? "A" : "-")
+                    + "." + cursor.name().toLowerCase()
+                    + (tipo == Tipo.LISTADO ? (descendente ? ".desc" : ".asc") : "");
+            // Con todas las columnas se conserva el nombre de siempre
+            return tipo == Tipo.CONTEO || columnas.size() == COLUMNAS_TOTALES
+                    ? nombreBase
+                    : nombreBase + ".[" + CampoProducto.clave(columnas) + "]";
+        }
+
+        /**
+         * Las columnas no pedidas se proyectan como NULL tipado: la expresión de constructor
+         * sigue siendo la misma y la base no lee ni transfiere esos valores.
+         */
+        String proyeccion() {
+            return String.format(PROYECCION, String.join(", ",
+                    columna(CampoProducto.NOMBRE, "p.nombre", "String"),
+                    columna(CampoProducto.DESCRIPCION, "p.descripcion", "String"),
+                    columna(CampoProducto.PRECIO, "p.precio", "BigDecimal"),
+                    columna(CampoProducto.CATEGORIA, "p.categoria", "String"),
+                    columna(CampoProducto.CREADO_EN, "p.creadoEn", "LocalDateTime"),
+                    columna(CampoProducto.ACTUALIZADO_EN, "p.actualizadoEn", "LocalDateTime")));
+        }
+
+        private String columna(CampoProducto campo, String ruta, String tipoJava) {
+            return columnas.contains(campo) ? ruta : "cast(null as " + tipoJava + ")";
+        }
+
+        String jpql() {
+            StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+            if (nombre) {
+                where.add("lower(p.nombre) LIKE :nombre");
+            }
+            if (categoria) {
+                where.add("p.categoria = :categoria");
+            }
+            if (precioMin) {
+                where.add("p.precio >= :precioMin");
+            }
+            if (precioMax) {
+                where.add("p.precio <= :precioMax");
+            }
+            if (cursor == Cursor.MAYOR) {
+                where.add("p.id > :cursor");
+            } else if (cursor == Cursor.MENOR) {
+                where.add("p.id < :cursor");
+            }
+            if (tipo == Tipo.CONTEO) {
+                return CONTEO + where;
+            }
+            if (tipo == Tipo.DETALLE) {
+                return proyeccion() + " WHERE p.id = :id";
+            }
+            if (tipo == Tipo.LOTE) {
+                return proyeccion() + " WHERE p.id IN :ids";
+            }
+            return proyeccion() + where + " ORDER BY p.id " + (descendente ? "DESC" : "ASC");
+        }
+    }
+}
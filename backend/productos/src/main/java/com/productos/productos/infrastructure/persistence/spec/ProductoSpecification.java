@@ -2,37 +2,65 @@ package com.productos.productos.infrastructure.persistence.spec;
 
 import com.productos.productos.domain.model.Producto;
 import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import com.productos.productos.shared.dto.pageable.PageableRequest;
+import com.productos.productos.shared.mapper.CursorCodec;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ProductoSpecification {
 
     public static Specification<Producto> construir(ProductoFiltroDTO filtro) {
-        return Specification
-                .where(nombreContiene(filtro.getNombre()))
-                .and(categoriaEs(filtro.getCategoria()))
-                .and(precioMayorIgual(filtro.getPrecioMin()))
-                .and(precioMenorIgual(filtro.getPrecioMax()));
+        return (root, query, builder) -> predicado(filtro, root, builder);
     }
 
-    private static Specification<Producto> nombreContiene(String nombre) {
-        return (root, query, builder) ->
-                nombre == null ? null : builder.like(builder.lower(root.get("nombre")), "%" + nombre.toLowerCase() + "%");
+    /**
+     * Criterios del filtro construidos solo con root y builder, así que sirven igual para
+     * sentencias sin CriteriaQuery (el UPDATE masivo de precios). Null si no hay criterios.
+     * El cursor agrega un predicado de keyset sobre el id: con orden ascendente 'after' avanza
+     * hacia ids mayores y 'before' retrocede hacia ids menores; con orden descendente se invierte.
+     * Un cursor vacío indica el inicio del recorrido y no agrega condición.
+     */
+    public static Predicate predicado(ProductoFiltroDTO filtro, Root<Producto> root, CriteriaBuilder builder) {
+        List<Predicate> criterios = new ArrayList<>();
+        if (filtro.getNombre() != null) {
+            criterios.add(builder.like(builder.lower(root.get("nombre")), "%" + filtro.getNombre().trim().toLowerCase() + "%"));
+        }
+        if (filtro.getCategoria() != null) {
+            criterios.add(builder.equal(root.get("categoria"), filtro.getCategoria()));
+        }
+        if (filtro.getPrecioMin() != null) {
+            criterios.add(builder.greaterThanOrEqualTo(root.get("precio"), filtro.getPrecioMin()));
+        }
+        if (filtro.getPrecioMax() != null) {
+            criterios.add(builder.lessThanOrEqualTo(root.get("precio"), filtro.getPrecioMax()));
+        }
+        Seek seek = seek(filtro.getPageable());
+        if (seek != null) {
+            criterios.add(seek.mayorQue()
+                    ? builder.greaterThan(root.get("id"), seek.id())
+                    : builder.lessThan(root.get("id"), seek.id()));
+        }
+        return criterios.isEmpty() ? null : builder.and(criterios.toArray(Predicate[]::new));
     }
 
-    private static Specification<Producto> categoriaEs(String categoria) {
-        return (root, query, builder) ->
-                categoria == null ? null : builder.equal(root.get("categoria"), categoria);
+    static Seek seek(PageableRequest pageable) {
+        if (pageable == null || !pageable.isModoCursor()) {
+            return null;
+        }
+        boolean haciaAdelante = pageable.getAfter() != null;
+        String cursor = haciaAdelante ? pageable.getAfter() : pageable.getBefore();
+        if (cursor.isBlank()) {
+            return null;
+        }
+        boolean ascendente = !"desc".equalsIgnoreCase(pageable.getOrder());
+        return new Seek(CursorCodec.decode(cursor), ascendente == haciaAdelante);
     }
 
-    private static Specification<Producto> precioMayorIgual(BigDecimal min) {
-        return (root, query, builder) ->
-                min == null ? null : builder.greaterThanOrEqualTo(root.get("precio"), min);
-    }
-
-    private static Specification<Producto> precioMenorIgual(BigDecimal max) {
-        return (root, query, builder) ->
-                max == null ? null : builder.lessThanOrEqualTo(root.get("precio"), max);
+    record Seek(Long id, boolean mayorQue) {
     }
 }
@@ -1,10 +1,18 @@
 package com.productos.productos.infrastructure.rest;
 
+import com.productos.productos.aplication.service.ExportacionProductosService;
+import com.productos.productos.aplication.service.ImportacionProductosService;
 import com.productos.productos.aplication.service.ProductosService;
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.shared.dto.ActualizacionPreciosRequestDTO;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.ImportacionResponseJsonApiDTO;
+import com.productos.productos.shared.dto.ProductoLoteRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
 import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +20,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import jakarta.validation.Valid;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/productos")
 @RequiredArgsConstructor
@@ -24,10 +42,18 @@ import jakarta.validation.Valid;
 @Tag(name = "Productos", description = "Operaciones relacionadas con productos")
 public class ProductosController {
     private final ProductosService productosService;
+    private final ExportacionProductosService exportacionProductosService;
+    private final ImportacionProductosService importacionProductosService;
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String CAMPOS_PARAM = "fields[producto]";
+    private static final String CAMPOS_DESCRIPCION = "Atributos a incluir separados por coma (sparse fieldsets de JSON:API): "
+            + "nombre, descripcion, precio, categoria, cantidad, creadoEn, actualizadoEn. Sin 'cantidad' no se consulta inventario.";
 
     @Operation(
             summary = "Filtra productos paginados",
-            description = "Permite obtener un listado de productos filtrados por nombre, categoría y rango de precio, con paginación.",
+            description = "Permite obtener un listado de productos filtrados por nombre, categoría y rango de precio, con paginación. "
+                    + "Si pageable incluye un cursor after/before se pagina por keyset y los links next/prev llevan el cursor.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Listado de productos filtrado exitosamente",
                             content = @Content(mediaType = "application/json",
@@ -40,13 +66,73 @@ public class ProductosController {
     @PostMapping(value = "/filtro", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ProductoResponseJsonApiDTO listarProductosConFiltro(
             @Valid @RequestBody ProductoFiltroDTO filtro,
+            @Parameter(description = CAMPOS_DESCRIPCION) @RequestParam(name = CAMPOS_PARAM, required = false) String campos,
             HttpServletRequest request
     ) {
 
         log.info("[ProductosController] Recibida solicitud de filtrado de productos");
+        filtro.setCampos(CampoProducto.desde(campos));
         return productosService.getTodosLosProductos(filtro,request.getRequestURL().toString());
     }
 
+    @Operation(
+            summary = "Exporta el catálogo en NDJSON",
+            description = "Transmite todos los productos que cumplen los filtros opcionales, un recurso JSON:API por línea "
+                    + "ordenados por id, con la cantidad disponible de inventario. La respuesta se escribe por lotes a medida "
+                    + "que se lee la base de datos, sin cargar el catálogo completo en memoria.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exportación en curso",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+                    @ApiResponse(responseCode = "400", description = "Petición inválida", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarProductos(
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) BigDecimal precioMin,
+            @RequestParam(required = false) BigDecimal precioMax,
+            @Parameter(description = CAMPOS_DESCRIPCION) @RequestParam(name = CAMPOS_PARAM, required = false) String campos
+    ) {
+        log.info("[ProductosController] Recibida solicitud de exportación de productos");
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        filtro.setNombre(nombre);
+        filtro.setCategoria(categoria);
+        filtro.setPrecioMin(precioMin);
+        filtro.setPrecioMax(precioMax);
+        filtro.setCampos(CampoProducto.desde(campos));
+
+        StreamingResponseBody cuerpo = salida -> exportacionProductosService.exportarProductos(filtro, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
+    }
+
+    @Operation(
+            summary = "Obtiene varios productos por ID",
+            description = "Resuelve una lista de IDs separados por coma con una sola consulta y una sola llamada a inventario. "
+                    + "Los productos se devuelven en el orden pedido y los IDs inexistentes se informan en meta.missing.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Productos encontrados",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ProductoResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Petición inválida", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content),
+                    @ApiResponse(responseCode = "502", description = "Error al conectarse con el inventario", content = @Content)
+            }
+    )
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ProductoResponseJsonApiDTO obtenerProductosPorIds(
+            @Parameter(description = "IDs separados por coma, p. ej. 1,2,3") @RequestParam(name = "filter[id]") String ids,
+            @Parameter(description = CAMPOS_DESCRIPCION) @RequestParam(name = CAMPOS_PARAM, required = false) String campos
+    ) {
+        log.info("[ProductosController] Recibida solicitud de productos por lote de IDs: {}", ids);
+        return productosService.getProductosPorIds(parsearIds(ids), CampoProducto.desde(campos));
+    }
+
     @Operation(
             summary = "Obtiene un producto por su ID",
             description = "Retorna un producto específico según su ID",
@@ -54,6 +140,7 @@ public class ProductosController {
                     @ApiResponse(responseCode = "200", description = "Producto encontrado",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = ProductoResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Petición inválida", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content),
                     @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
                     @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
@@ -61,10 +148,13 @@ public class ProductosController {
     )
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ProductoResponseJsonApiDTO obtenerProductoPorId(
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(description = CAMPOS_DESCRIPCION) @RequestParam(name = CAMPOS_PARAM, required = false) String campos
     ) {
         log.info("[ProductosController] Recibida solicitud de producto por ID: {}", id);
-        return productosService.getProductoPorId(id);
+        return campos == null
+                ? productosService.getProductoPorId(id)
+                : productosService.getProductoPorId(id, CampoProducto.desde(campos));
     }
 
     @Operation(
@@ -89,6 +179,102 @@ public class ProductosController {
         return productosService.crearProducto(request);
     }
 
+    @Operation(
+            summary = "Crear productos por lote",
+            description = "Registra varios productos en una sola transacción con INSERT agrupados; sus inventarios se "
+                    + "crean después en llamadas por lote. Los elementos inválidos se informan en meta.errors por posición "
+                    + "sin rechazar el resto. El tamaño máximo del lote es configurable (productos.lote.max-creacion).",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Lote procesado",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ProductoResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+            }
+    )
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public ProductoResponseJsonApiDTO crearProductos(@RequestBody ProductoLoteRequestJsonApiDTO request) {
+        log.info("[ProductosController] Solicitud de creación de productos por lote recibida");
+        return productosService.crearProductos(request);
+    }
+
+    @Operation(
+            summary = "Ajustar precios por filtro",
+            description = "Aplica un ajuste de precio a todos los productos que cumplen el filtro (mismos criterios que "
+                    + "/filtro, se ignora la paginación) con una sola sentencia UPDATE. operacion puede ser PORCENTAJE "
+                    + "(redondeado a 2 decimales), DELTA o FIJAR. El filtro debe tener al menos un criterio y el ajuste se "
+                    + "rechaza completo si algún precio quedaría negativo. meta.updated informa los productos actualizados.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Precios ajustados",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ProductoResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Filtro vacío u operación inválida", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+            }
+    )
+    @PostMapping(value = "/precios", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ProductoResponseJsonApiDTO actualizarPrecios(@RequestBody ActualizacionPreciosRequestDTO request) {
+        log.info("[ProductosController] Solicitud de ajuste de precios por filtro recibida");
+        return productosService.actualizarPrecios(request);
+    }
+
+    @Operation(
+            summary = "Importa un catálogo en segundo plano",
+            description = "Recibe el archivo en el cuerpo (application/x-ndjson con un recurso por línea, como el de /export, "
+                    + "o text/csv con cabecera nombre,descripcion,precio,categoria,cantidad) y responde de inmediato. "
+                    + "El archivo se procesa en chunks que se confirman por separado; las filas inválidas no detienen la "
+                    + "importación y se consultan en GET /importaciones/{id}. Si el nodo se reinicia, se retoma desde el "
+                    + "último chunk confirmado.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Importación registrada",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportacionResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+                    @ApiResponse(responseCode = "415", description = "Formato no soportado", content = @Content),
+                    @ApiResponse(responseCode = "503", description = "Ya hay el máximo de importaciones en curso; reintentar más tarde", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+            }
+    )
+    @PostMapping(value = "/importaciones", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportacionResponseJsonApiDTO> iniciarImportacion(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipo,
+            InputStream contenido
+    ) {
+        log.info("[ProductosController] Solicitud de importación de catálogo recibida ({})", tipo);
+        ImportacionProductos.Formato formato = tipo.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ImportacionProductos.Formato.NDJSON
+                : ImportacionProductos.Formato.CSV;
+        ImportacionResponseJsonApiDTO importacion = importacionProductosService.iniciarImportacion(formato, contenido);
+        URI ubicacion = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(importacion.getData().getId())
+                .toUri();
+        return ResponseEntity.accepted().location(ubicacion).body(importacion);
+    }
+
+    @Operation(
+            summary = "Consulta el estado de una importación",
+            description = "Devuelve el estado, las líneas procesadas y los totales de creados y rechazados. "
+                    + "meta.errors lista las primeras filas rechazadas con su número de línea y el motivo.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Importación encontrada",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportacionResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Importación no encontrada", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+            }
+    )
+    @GetMapping(value = "/importaciones/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ImportacionResponseJsonApiDTO obtenerImportacion(@PathVariable Long id) {
+        log.info("[ProductosController] Consulta de la importación ID: {}", id);
+        return importacionProductosService.obtenerImportacion(id);
+    }
+
     @Operation(
             summary = "Actualizar un producto",
             description = "Permite actualizar un producto existente por ID.",
@@ -111,6 +297,30 @@ public class ProductosController {
         return productosService.actualizarProducto(id, request);
     }
 
+    @Operation(
+            summary = "Actualizar parcialmente un producto",
+            description = "Actualiza solo los atributos enviados; los ausentes conservan su valor. El UPDATE incluye "
+                    + "únicamente las columnas que cambian y se omite si ninguna cambia. Inventario solo se actualiza "
+                    + "cuando se envía 'cantidad', que es la única cantidad incluida en la respuesta.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Producto actualizado exitosamente",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ProductoResponseJsonApiDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Petición inválida", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+            }
+    )
+    @PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ProductoResponseJsonApiDTO actualizarProductoParcial(
+            @PathVariable Long id,
+            @RequestBody ProductoRequestJsonApiDTO request
+    ) {
+        log.info("[ProductosController] Solicitud de actualización parcial del producto ID: {}", id);
+        return productosService.actualizarProductoParcial(id, request);
+    }
+
     @Operation(
             summary = "Eliminar un producto",
             description = "Elimina un producto existente por su ID",
@@ -127,4 +337,19 @@ public class ProductosController {
         log.info("[ProductosController] Solicitud para eliminar producto ID: {}", id);
         productosService.eliminarProductoPorId(id);
     }
+
+    private static List<Long> parsearIds(String ids) {
+        List<Long> resultado = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                resultado.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("ID inválido en filter[id]: '" + id.trim() + "'");
+            }
+        }
+        return resultado;
+    }
 }
@@ -48,6 +48,12 @@ public class GlobalExceptionHandler {
         return buildJsonApiErrorResponse(HttpStatus.BAD_REQUEST, "Argumento inválido", ex.getMessage());
     }
 
+    @ExceptionHandler(ImportacionesSaturadasException.class)
+    public ResponseEntity<Map<String, Object>> manejarImportacionesSaturadas(ImportacionesSaturadasException ex) {
+        log.warn("[ERROR 503] {}", ex.getMessage());
+        return buildJsonApiErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Servicio saturado", ex.getMessage());
+    }
+
     @ExceptionHandler(InventarioException.class)
     public ResponseEntity<?> manejarErrorInventario(InventarioException ex) {
         log.error("[ERROR INVENTARIO] {}", ex.getMessage());
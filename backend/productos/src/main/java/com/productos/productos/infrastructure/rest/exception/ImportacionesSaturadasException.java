@@ -0,0 +1,8 @@
+package com.productos.productos.infrastructure.rest.exception;
+
+public class ImportacionesSaturadasException extends RuntimeException {
+
+    public ImportacionesSaturadasException(String message) {
+        super(message);
+    }
+}
@@ -8,6 +8,11 @@ public class InventarioException extends RuntimeException {
         this.rawJson = rawJson;
     }
 
+    public InventarioException(String message, String rawJson, Throwable cause) {
+        super(message, cause);
+        this.rawJson = rawJson;
+    }
+
     public String getRawJson() {
         return rawJson;
     }
@@ -0,0 +1,75 @@
+package com.productos.productos.shared;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Plazo de la petición en curso. Se propaga a inventario en la cabecera X-Deadline-Ms como
+ * milisegundos restantes (relativos, para no depender de relojes sincronizados entre servicios).
+ * Vive en el hilo de la petición: el código que salta a otro hilo debe envolver la tarea con
+ * {@link #propagar(Supplier)} para que el plazo la acompañe.
+ */
+public final class PlazoPeticion {
+    public static final String CABECERA = "X-Deadline-Ms";
+
+    private static final ThreadLocal<Long> LIMITE_NANOS = new ThreadLocal<>();
+
+    private PlazoPeticion() {
+    }
+
+    public static void iniciar(long restanteMs) {
+        LIMITE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(restanteMs));
+    }
+
+    public static void limpiar() {
+        LIMITE_NANOS.remove();
+    }
+
+    /**
+     * Instante límite en System.nanoTime(); vacío fuera de una petición salvo que la tarea se
+     * haya envuelto con {@link #propagar(Supplier)}.
+     */
+    public static OptionalLong limiteNanos() {
+        Long limite = LIMITE_NANOS.get();
+        return limite == null ? OptionalLong.empty() : OptionalLong.of(limite);
+    }
+
+    /**
+     * Captura el plazo del hilo actual y lo restablece en el hilo que ejecute la tarea.
+     */
+    public static <T> Supplier<T> propagar(Supplier<T> tarea) {
+        OptionalLong limite = limiteNanos();
+        return () -> conLimite(limite, tarea);
+    }
+
+    public static Runnable propagar(Runnable tarea) {
+        Supplier<Void> envuelta = propagar(() -> {
+            tarea.run();
+            return null;
+        });
+        return envuelta::get;
+    }
+
+    /**
+     * Ejecuta la tarea con el límite indicado (o sin plazo si está vacío) y deja el hilo como
+     * estaba, de modo que sirve también cuando la tarea corre en el hilo del propio llamador.
+     */
+    public static <T> T conLimite(OptionalLong limite, Supplier<T> tarea) {
+        Long anterior = LIMITE_NANOS.get();
+        if (limite.isPresent()) {
+            LIMITE_NANOS.set(limite.getAsLong());
+        } else {
+            LIMITE_NANOS.remove();
+        }
+        try {
+            return tarea.get();
+        } finally {
+            if (anterior == null) {
+                LIMITE_NANOS.remove();
+            } else {
+                LIMITE_NANOS.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.productos.productos.shared.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Meta del ajuste de precios por filtro: cuántos productos se actualizaron.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ActualizacionPreciosMeta extends MetaRespuesta {
+    private long updated;
+}
@@ -0,0 +1,30 @@
+package com.productos.productos.shared.dto;
+
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ajuste de precios sobre todos los productos que cumplen el filtro (mismos criterios que
+ * /filtro; la paginación se ignora).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActualizacionPreciosRequestDTO {
+    private ProductoFiltroDTO filtro;
+    private Operacion operacion;
+    private BigDecimal valor;
+
+    public enum Operacion {
+        /** Multiplica el precio por (1 + valor/100) y redondea a 2 decimales. */
+        PORCENTAJE,
+        /** Suma valor al precio (negativo para rebajar). */
+        DELTA,
+        /** Fija el precio en valor. */
+        FIJAR
+    }
+}
@@ -0,0 +1,67 @@
+package com.productos.productos.shared.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Atributos de producto que se pueden pedir con {@code fields[producto]} (sparse fieldsets de JSON:API).
+ */
+public enum CampoProducto {
+    NOMBRE("nombre"),
+    DESCRIPCION("descripcion"),
+    PRECIO("precio"),
+    CATEGORIA("categoria"),
+    CANTIDAD("cantidad"),
+    CREADO_EN("creadoEn"),
+    ACTUALIZADO_EN("actualizadoEn");
+
+    public static final Set<CampoProducto> TODOS = Collections.unmodifiableSet(EnumSet.allOf(CampoProducto.class));
+
+    private final String valor;
+
+    CampoProducto(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    /**
+     * Interpreta la lista separada por comas de {@code fields[producto]}. Sin parámetro se
+     * devuelven todos los campos; un valor vacío pide solo id y type.
+     */
+    public static Set<CampoProducto> desde(String valor) {
+        if (valor == null) {
+            return TODOS;
+        }
+        EnumSet<CampoProducto> campos = EnumSet.noneOf(CampoProducto.class);
+        for (String nombre : valor.split(",")) {
+            if (!nombre.isBlank()) {
+                campos.add(porNombre(nombre.trim()));
+            }
+        }
+        return Collections.unmodifiableSet(campos);
+    }
+
+    /**
+     * Representación estable de un conjunto de campos, en el orden de declaración.
+     */
+    public static String clave(Set<CampoProducto> campos) {
+        return Arrays.stream(values())
+                .filter(campos::contains)
+                .map(CampoProducto::getValor)
+                .collect(Collectors.joining(","));
+    }
+
+    private static CampoProducto porNombre(String nombre) {
+        return Arrays.stream(values())
+                .filter(campo -> campo.valor.equals(nombre))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Campo inválido en fields[producto]: '" + nombre + "'. Valores permitidos: " + clave(TODOS)));
+    }
+}
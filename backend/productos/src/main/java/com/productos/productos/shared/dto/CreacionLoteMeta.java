@@ -0,0 +1,29 @@
+package com.productos.productos.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Meta de la creación por lote: cuántos productos se enviaron, cuántos se crearon y, por
+ * posición en el lote, por qué se rechazó cada uno de los demás.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CreacionLoteMeta extends MetaRespuesta {
+    private int requested;
+    private int created;
+    private List<Error> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Error {
+        private int index;
+        private String detail;
+    }
+}
@@ -0,0 +1,54 @@
+package com.productos.productos.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado de una importación de catálogo. meta.errors lista las primeras filas rechazadas por
+ * número de línea; attributes.rechazados es el total.
+ */
+@lombok.Data
+public class ImportacionResponseJsonApiDTO {
+    private Data data;
+    private Meta meta = new Meta();
+
+    @lombok.Data
+    public static class Data {
+        private String type = "importacion";
+        private String id;
+        private Attributes attributes;
+
+        @lombok.Data
+        public static class Attributes {
+            private String formato;
+            private String estado;
+            private long lineasProcesadas;
+            private long creados;
+            private long rechazados;
+            @JsonInclude(JsonInclude.Include.NON_NULL)
+            private String error;
+            private int intentos;
+            private LocalDateTime creadoEn;
+            private LocalDateTime actualizadoEn;
+        }
+    }
+
+    @lombok.Data
+    public static class Meta {
+        private List<Error> errors = new ArrayList<>();
+    }
+
+    @lombok.Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Error {
+        private long linea;
+        private String detail;
+        private String contenido;
+    }
+}
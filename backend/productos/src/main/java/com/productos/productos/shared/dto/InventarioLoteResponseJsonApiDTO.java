@@ -0,0 +1,28 @@
+package com.productos.productos.shared.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Respuesta de /inventarios/lote: los inventarios creados (o que ya existían) y, en meta.errors,
+ * los elementos que inventario rechazó.
+ */
+@Data
+public class InventarioLoteResponseJsonApiDTO {
+    private List<InventarioResponseJsonApiDTO.Data> data = new ArrayList<>();
+    private Meta meta = new Meta();
+
+    @lombok.Data
+    public static class Meta {
+        private List<Error> errors = new ArrayList<>();
+    }
+
+    @lombok.Data
+    public static class Error {
+        private int index;
+        private Long productoId;
+        private String detail;
+    }
+}
@@ -0,0 +1,18 @@
+package com.productos.productos.shared.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Meta de la consulta por lote de ids: cuántos se pidieron, cuántos se encontraron
+ * y cuáles no existen.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class LoteMeta extends MetaRespuesta {
+    private int requested;
+    private int found;
+    private List<String> missing;
+}
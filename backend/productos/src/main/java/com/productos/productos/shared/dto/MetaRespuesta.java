@@ -0,0 +1,16 @@
+package com.productos.productos.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * Campos de meta comunes a las respuestas de productos. 'inventario' solo se informa cuando
+ * las cantidades no vienen de inventario en vivo (p. ej. "degraded" con el circuito abierto).
+ */
+@Data
+public class MetaRespuesta {
+    public static final String INVENTARIO_DEGRADADO = "degraded";
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String inventario;
+}
@@ -0,0 +1,14 @@
+package com.productos.productos.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoLoteRequestJsonApiDTO {
+    private List<ProductoRequestJsonApiDTO.Data> data;
+}
@@ -1,15 +1,35 @@
 package com.productos.productos.shared.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.productos.productos.shared.mapper.AtributosProductoSerializer;
 import lombok.Data;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @Data
 public class ProductoResponseJsonApiDTO {
     private Links links;
     private List<Data> data;
-    private Object meta;
+    // Cada respuesta usa su subclase (paginación, lote, ajuste de precios); Jackson serializa el tipo real
+    private MetaRespuesta meta;
+
+    /**
+     * Indica en meta.inventario que las cantidades no vienen de inventario en vivo.
+     */
+    public void marcarInventarioDegradado() {
+        if (meta == null) {
+            meta = new MetaRespuesta();
+        }
+        meta.setInventario(MetaRespuesta.INVENTARIO_DEGRADADO);
+    }
+
+    @JsonIgnore
+    public boolean isInventarioDegradado() {
+        return meta != null && MetaRespuesta.INVENTARIO_DEGRADADO.equals(meta.getInventario());
+    }
 
     @lombok.Data
     public static class Data {
@@ -18,6 +38,7 @@ public class ProductoResponseJsonApiDTO {
         private Attributes attributes;
 
         @lombok.Data
+        @JsonSerialize(using = AtributosProductoSerializer.class)
         public static class Attributes {
             private String nombre;
             private String descripcion;
@@ -26,6 +47,14 @@ public class ProductoResponseJsonApiDTO {
             private Integer cantidad;
             private String creadoEn;
             private String actualizadoEn;
+
+            // Campos pedidos con fields[producto]; el resto no se serializa
+            @JsonIgnore
+            private Set<CampoProducto> campos = CampoProducto.TODOS;
+
+            public boolean incluye(CampoProducto campo) {
+                return campos.contains(campo);
+            }
         }
     }
 
@@ -33,6 +62,7 @@ public class ProductoResponseJsonApiDTO {
     public static class Links {
         private String self;
         private String next;
+        private String prev;
         private String last;
     }
 }
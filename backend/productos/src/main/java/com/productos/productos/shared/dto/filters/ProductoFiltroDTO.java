@@ -1,9 +1,13 @@
 package com.productos.productos.shared.dto.filters;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.productos.productos.shared.dto.CampoProducto;
 import com.productos.productos.shared.dto.pageable.PageableRequest;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.Set;
+
 @Data
 public class ProductoFiltroDTO {
     private String nombre;
@@ -11,4 +15,25 @@ public class ProductoFiltroDTO {
     private BigDecimal precioMin;
     private BigDecimal precioMax;
     private PageableRequest pageable = new PageableRequest();
+
+    // Se toma de fields[producto] en la query string, no del cuerpo
+    @JsonIgnore
+    private Set<CampoProducto> campos = CampoProducto.TODOS;
+
+    @JsonIgnore
+    public boolean isSinFiltros() {
+        return nombre == null && categoria == null && precioMin == null && precioMax == null;
+    }
+
+    /**
+     * Clave estable de los criterios de filtrado (sin paginación), de modo que filtros
+     * equivalentes como "Laptop" y "laptop" o 10 y 10.00 produzcan la misma clave.
+     */
+    @JsonIgnore
+    public String getClaveNormalizada() {
+        return "nombre=" + (nombre == null ? "" : nombre.trim().toLowerCase())
+                + "|categoria=" + (categoria == null ? "" : categoria)
+                + "|precioMin=" + (precioMin == null ? "" : precioMin.stripTrailingZeros().toPlainString())
+                + "|precioMax=" + (precioMax == null ? "" : precioMax.stripTrailingZeros().toPlainString());
+    }
 }
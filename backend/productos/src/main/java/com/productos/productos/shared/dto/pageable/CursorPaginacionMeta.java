@@ -0,0 +1,14 @@
+package com.productos.productos.shared.dto.pageable;
+
+import com.productos.productos.shared.dto.MetaRespuesta;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CursorPaginacionMeta extends MetaRespuesta {
+    private int size;
+    private String order;
+    private boolean hasNext;
+    private boolean hasPrev;
+}
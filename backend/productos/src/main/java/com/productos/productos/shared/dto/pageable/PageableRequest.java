@@ -1,5 +1,6 @@
 package com.productos.productos.shared.dto.pageable;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 @Data
@@ -7,4 +8,15 @@ public class PageableRequest {
     private int page = 0;
     private int size = 10;
     private String order = "asc";
+    // exact: COUNT(*) del filtro, none: sin total (solo hasNext), estimate: estadística aproximada
+    private String total = "exact";
+
+    // Cursores opacos para paginación por keyset; cuando se envía alguno se ignora 'page'
+    private String after;
+    private String before;
+
+    @JsonIgnore
+    public boolean isModoCursor() {
+        return after != null || before != null;
+    }
 }
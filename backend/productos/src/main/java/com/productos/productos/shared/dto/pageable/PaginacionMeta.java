@@ -1,12 +1,16 @@
 package com.productos.productos.shared.dto.pageable;
 
+import com.productos.productos.shared.dto.MetaRespuesta;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 @Data
-public class PaginacionMeta {
+@EqualsAndHashCode(callSuper = true)
+public class PaginacionMeta extends MetaRespuesta {
     private int page;
     private int size;
     private long total;
     private int totalPages;
     private String order;
+    private String totalMode;
 }
@@ -0,0 +1,15 @@
+package com.productos.productos.shared.dto.pageable;
+
+import com.productos.productos.shared.dto.MetaRespuesta;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class SlicePaginacionMeta extends MetaRespuesta {
+    private int page;
+    private int size;
+    private String order;
+    private boolean hasNext;
+    private String totalMode;
+}
@@ -0,0 +1,33 @@
+package com.productos.productos.shared.dto.pageable;
+
+import java.util.Arrays;
+
+/**
+ * Forma en que se calcula el total de un listado paginado.
+ */
+public enum TotalModo {
+    EXACT("exact"),
+    NONE("none"),
+    ESTIMATE("estimate");
+
+    private final String valor;
+
+    TotalModo(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    public static TotalModo desde(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return EXACT;
+        }
+        return Arrays.stream(values())
+                .filter(modo -> modo.valor.equalsIgnoreCase(valor.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Modo de total inválido: '" + valor + "'. Valores permitidos: exact, none, estimate"));
+    }
+}
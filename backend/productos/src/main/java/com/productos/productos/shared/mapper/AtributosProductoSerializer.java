@@ -0,0 +1,41 @@
+package com.productos.productos.shared.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
+
+import java.io.IOException;
+
+/**
+ * Escribe solo los atributos pedidos con {@code fields[producto]}. Un atributo pedido pero sin
+ * valor (p. ej. cantidad sin inventario) se sigue escribiendo como null.
+ */
+public class AtributosProductoSerializer extends StdSerializer<ProductoResponseJsonApiDTO.Data.Attributes> {
+
+    public AtributosProductoSerializer() {
+        super(ProductoResponseJsonApiDTO.Data.Attributes.class);
+    }
+
+    @Override
+    public void serialize(ProductoResponseJsonApiDTO.Data.Attributes atributos, JsonGenerator generador,
+                          SerializerProvider provider) throws IOException {
+        generador.writeStartObject(atributos);
+        escribir(atributos, CampoProducto.NOMBRE, atributos.getNombre(), generador, provider);
+        escribir(atributos, CampoProducto.DESCRIPCION, atributos.getDescripcion(), generador, provider);
+        escribir(atributos, CampoProducto.PRECIO, atributos.getPrecio(), generador, provider);
+        escribir(atributos, CampoProducto.CATEGORIA, atributos.getCategoria(), generador, provider);
+        escribir(atributos, CampoProducto.CANTIDAD, atributos.getCantidad(), generador, provider);
+        escribir(atributos, CampoProducto.CREADO_EN, atributos.getCreadoEn(), generador, provider);
+        escribir(atributos, CampoProducto.ACTUALIZADO_EN, atributos.getActualizadoEn(), generador, provider);
+        generador.writeEndObject();
+    }
+
+    private static void escribir(ProductoResponseJsonApiDTO.Data.Attributes atributos, CampoProducto campo, Object valor,
+                                 JsonGenerator generador, SerializerProvider provider) throws IOException {
+        if (atributos.incluye(campo)) {
+            provider.defaultSerializeField(campo.getValor(), valor, generador);
+        }
+    }
+}
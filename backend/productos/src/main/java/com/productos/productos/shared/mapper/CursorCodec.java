@@ -0,0 +1,34 @@
+package com.productos.productos.shared.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los cursores opacos usados en la paginación por keyset.
+ * El cliente nunca debe interpretar su contenido, solo reenviarlo en 'after' o 'before'.
+ */
+public class CursorCodec {
+    private static final String PREFIJO = "id:";
+
+    private CursorCodec() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIJO + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIJO)) {
+                throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor);
+            }
+            return Long.valueOf(valor.substring(PREFIJO.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException también es IllegalArgumentException
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+}
@@ -2,13 +2,20 @@ package com.productos.productos.shared.mapper;
 
 
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
+import com.productos.productos.shared.dto.pageable.CursorPaginacionMeta;
+import com.productos.productos.shared.dto.pageable.PageableRequest;
 import com.productos.productos.shared.dto.pageable.PaginacionMeta;
+import com.productos.productos.shared.dto.pageable.SlicePaginacionMeta;
+import com.productos.productos.shared.dto.pageable.TotalModo;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public class JsonApiResponseBuilder {
     private static final String PAGE_QUERY = "?page=";
+    private static final String AFTER_QUERY = "?after=";
+    private static final String BEFORE_QUERY = "?before=";
 
 
     private JsonApiResponseBuilder() {
@@ -20,6 +27,16 @@ public class JsonApiResponseBuilder {
             List<ProductoResponseJsonApiDTO.Data> data,
             String baseUrl,
             String sortOrder
+    ) {
+        return build(page, data, baseUrl, sortOrder, TotalModo.EXACT);
+    }
+
+    public static ProductoResponseJsonApiDTO build(
+            Page<?> page,
+            List<ProductoResponseJsonApiDTO.Data> data,
+            String baseUrl,
+            String sortOrder,
+            TotalModo totalModo
     ) {
         ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
 
@@ -30,6 +47,7 @@ public class JsonApiResponseBuilder {
         meta.setTotal(page.getTotalElements());
         meta.setTotalPages(page.getTotalPages());
         meta.setOrder(sortOrder);
+        meta.setTotalMode(totalModo.getValor());
         response.setMeta(meta);
 
         // Links
@@ -38,6 +56,7 @@ public class JsonApiResponseBuilder {
         int totalPages = page.getTotalPages();
         links.setSelf(baseUrl + PAGE_QUERY + currentPage);
         links.setNext(currentPage < totalPages - 1 ? baseUrl + PAGE_QUERY + (currentPage + 1) : null);
+        links.setPrev(currentPage > 0 ? baseUrl + PAGE_QUERY + (currentPage - 1) : null);
         links.setLast(baseUrl + PAGE_QUERY + (totalPages - 1));
         response.setLinks(links);
 
@@ -46,4 +65,80 @@ public class JsonApiResponseBuilder {
 
         return response;
     }
+
+    /**
+     * Construye la respuesta de una página sin total conocido (modo 'none'): solo se sabe
+     * si existe una página siguiente, por lo que no se informa el link 'last'.
+     */
+    public static ProductoResponseJsonApiDTO buildSlice(
+            Slice<?> slice,
+            List<ProductoResponseJsonApiDTO.Data> data,
+            String baseUrl,
+            String sortOrder
+    ) {
+        ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
+
+        // Meta
+        SlicePaginacionMeta meta = new SlicePaginacionMeta();
+        meta.setPage(slice.getNumber());
+        meta.setSize(slice.getSize());
+        meta.setOrder(sortOrder);
+        meta.setHasNext(slice.hasNext());
+        meta.setTotalMode(TotalModo.NONE.getValor());
+        response.setMeta(meta);
+
+        // Links
+        ProductoResponseJsonApiDTO.Links links = new ProductoResponseJsonApiDTO.Links();
+        int currentPage = slice.getNumber();
+        links.setSelf(baseUrl + PAGE_QUERY + currentPage);
+        links.setNext(slice.hasNext() ? baseUrl + PAGE_QUERY + (currentPage + 1) : null);
+        links.setPrev(currentPage > 0 ? baseUrl + PAGE_QUERY + (currentPage - 1) : null);
+        response.setLinks(links);
+
+        // Data
+        response.setData(data);
+
+        return response;
+    }
+
+    /**
+     * Construye la respuesta de una página obtenida por keyset. Los links next/prev
+     * llevan el cursor del último/primer elemento; 'last' no se informa porque
+     * calcularlo exigiría contar el total.
+     */
+    public static ProductoResponseJsonApiDTO buildCursor(
+            PageableRequest pageable,
+            List<ProductoResponseJsonApiDTO.Data> data,
+            boolean hasNext,
+            boolean hasPrev,
+            String baseUrl
+    ) {
+        ProductoResponseJsonApiDTO response = new ProductoResponseJsonApiDTO();
+
+        // Meta
+        CursorPaginacionMeta meta = new CursorPaginacionMeta();
+        meta.setSize(pageable.getSize());
+        meta.setOrder(pageable.getOrder());
+        meta.setHasNext(hasNext);
+        meta.setHasPrev(hasPrev);
+        response.setMeta(meta);
+
+        // Links
+        ProductoResponseJsonApiDTO.Links links = new ProductoResponseJsonApiDTO.Links();
+        links.setSelf(pageable.getAfter() != null
+                ? baseUrl + AFTER_QUERY + pageable.getAfter()
+                : baseUrl + BEFORE_QUERY + pageable.getBefore());
+        if (!data.isEmpty()) {
+            Long primerId = Long.valueOf(data.get(0).getId());
+            Long ultimoId = Long.valueOf(data.get(data.size() - 1).getId());
+            links.setNext(hasNext ? baseUrl + AFTER_QUERY + CursorCodec.encode(ultimoId) : null);
+            links.setPrev(hasPrev ? baseUrl + BEFORE_QUERY + CursorCodec.encode(primerId) : null);
+        }
+        response.setLinks(links);
+
+        // Data
+        response.setData(data);
+
+        return response;
+    }
 }
@@ -1,10 +1,14 @@
 package com.productos.productos.shared.mapper;
 
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.shared.dto.CampoProducto;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class ProductoMapper {
 
@@ -26,6 +30,33 @@ public class ProductoMapper {
         return data;
     }
 
+    public ProductoResponseJsonApiDTO.Data toJsonApiDTOData(ProductoResumen producto, Integer cantidadDisponible) {
+        return toJsonApiDTOData(producto, cantidadDisponible, CampoProducto.TODOS);
+    }
+
+    /**
+     * Mapea una proyección que puede traer solo algunas columnas: los atributos no pedidos
+     * llegan en null y quedan fuera de la serialización.
+     */
+    public ProductoResponseJsonApiDTO.Data toJsonApiDTOData(ProductoResumen producto, Integer cantidadDisponible,
+                                                            Set<CampoProducto> campos) {
+        ProductoResponseJsonApiDTO.Data data = new ProductoResponseJsonApiDTO.Data();
+        data.setId(String.valueOf(producto.id()));
+        data.setType("producto");
+
+        ProductoResponseJsonApiDTO.Data.Attributes attributes = new ProductoResponseJsonApiDTO.Data.Attributes();
+        attributes.setNombre(producto.nombre());
+        attributes.setDescripcion(producto.descripcion());
+        attributes.setPrecio(producto.precio());
+        attributes.setCategoria(producto.categoria());
+        attributes.setCreadoEn(producto.creadoEn() != null ? producto.creadoEn().toString() : null);
+        attributes.setActualizadoEn(producto.actualizadoEn() != null ? producto.actualizadoEn().toString() : null);
+        attributes.setCantidad(cantidadDisponible);
+        attributes.setCampos(campos);
+
+        data.setAttributes(attributes);
+        return data;
+    }
 
 
     public Producto fromCreateDTO(ProductoRequestJsonApiDTO request) {
@@ -38,11 +69,17 @@ public class ProductoMapper {
         return producto;
     }
 
+    /**
+     * Aplica solo los atributos presentes. Un precio numéricamente igual (10 y 10.00) no se
+     * reasigna, para que no cuente como cambio.
+     */
     public Producto updateEntityFromDTO(Producto producto, ProductoRequestJsonApiDTO request) {
         ProductoRequestJsonApiDTO.Attributes attr = request.getData().getAttributes();
         if (attr.getNombre() != null) producto.setNombre(attr.getNombre());
         if (attr.getDescripcion() != null) producto.setDescripcion(attr.getDescripcion());
-        if (attr.getPrecio() != null) producto.setPrecio(attr.getPrecio());
+        if (attr.getPrecio() != null && (producto.getPrecio() == null || attr.getPrecio().compareTo(producto.getPrecio()) != 0)) {
+            producto.setPrecio(attr.getPrecio());
+        }
         if (attr.getCategoria() != null) producto.setCategoria(attr.getCategoria());
         return producto;
     }
@@ -0,0 +1,243 @@
+package com.productos.productos.aplication.concurrent;
+
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.PlazoPeticion;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AgrupadorInventario - Tests Unitarios")
+class AgrupadorInventarioTest {
+    private static final int LLAMADORES = 5;
+
+    @Mock
+    private InventarioClient inventarioClient;
+
+    @Captor
+    private ArgumentCaptor<List<Long>> enviados;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AgrupadorInventario agrupador;
+    private ExecutorService llamadores;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        llamadores = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        llamadores.shutdownNow();
+        if (agrupador != null) {
+            agrupador.cerrarEjecutores();
+        }
+    }
+
+    @Test
+    @DisplayName("Las consultas dentro de la ventana deben enviarse en una sola llamada")
+    void obtenerInventarios_consultasConcurrentes_unaSolaLlamada() throws Exception {
+        // Arrange
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 300_000, 100);
+        when(inventarioClient.obtenerInventariosAsync(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(ids.stream().map(id -> inventario(id, id.intValue() * 10)).toList());
+        });
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<List<InventarioResponseJsonApiDTO.Data>>> resultados = new ArrayList<>();
+
+        // Act
+        for (long id = 1; id <= LLAMADORES; id++) {
+            long productoId = id;
+            resultados.add(llamadores.submit(() -> {
+                largada.await();
+                return obtener(List.of(productoId));
+            }));
+        }
+        largada.countDown();
+
+        // Assert
+        for (int i = 0; i < LLAMADORES; i++) {
+            List<InventarioResponseJsonApiDTO.Data> propio = resultados.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(1, propio.size());
+            assertEquals(i + 1L, propio.get(0).getAttributes().getProductoId());
+        }
+        verify(inventarioClient, times(1)).obtenerInventariosAsync(enviados.capture());
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), new HashSet<>(enviados.getValue()));
+        assertEquals(1, meterRegistry.get("productos.inventario.lote.tamano").summary().count());
+    }
+
+    @Test
+    @DisplayName("Al completar el máximo de ids el lote debe enviarse sin esperar la ventana")
+    void obtenerInventarios_loteCompleto_seEnviaDeInmediato() throws Exception {
+        // Arrange: una ventana de 60 s solo se cumple si el lote sale por tamaño
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 60_000_000, 2);
+        when(inventarioClient.obtenerInventariosAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(inventario(1L, 10), inventario(2L, 20))));
+        Future<List<InventarioResponseJsonApiDTO.Data>> primero = llamadores.submit(() -> obtener(List.of(1L)));
+
+        // Act
+        List<InventarioResponseJsonApiDTO.Data> segundo = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> obtener(List.of(2L)));
+
+        // Assert
+        assertEquals(20, segundo.get(0).getAttributes().getCantidadDisponible());
+        assertEquals(10, primero.get(5, TimeUnit.SECONDS).get(0).getAttributes().getCantidadDisponible());
+        verify(inventarioClient, times(1)).obtenerInventariosAsync(anyList());
+        verify(inventarioClient, never()).obtenerInventariosDesdeMicroservicio(anyList());
+    }
+
+    @Test
+    @DisplayName("Si falla la llamada agrupada, cada llamador debe recibir la excepción original")
+    void obtenerInventarios_falloDelCliente_propagaExcepcion() {
+        // Arrange
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 1_000, 100);
+        when(inventarioClient.obtenerInventariosAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new InventarioException("Fallo al conectar con el inventario.", "503")));
+
+        // Act & Assert
+        assertThrows(InventarioException.class, () -> obtener(List.of(1L)));
+    }
+
+    @Test
+    @DisplayName("Un id sin inventario no debe devolver registros")
+    void obtenerInventarios_sinRegistro_devuelveListaVacia() throws Exception {
+        // Arrange
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 1_000, 100);
+        when(inventarioClient.obtenerInventariosAsync(anyList())).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        // Act & Assert
+        assertTrue(obtener(List.of(7L)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Con registros repetidos o sin atributos cada llamador debe recibir el primero de su id")
+    void obtenerInventariosAsync_registrosRepetidos_devuelveElPrimero() throws Exception {
+        // Arrange: los tres ids completan el lote
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 60_000_000, 3);
+        InventarioResponseJsonApiDTO.Data sinAtributos = new InventarioResponseJsonApiDTO.Data();
+        when(inventarioClient.obtenerInventariosAsync(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(
+                inventario(9L, 90), sinAtributos, inventario(4L, 40), inventario(9L, 99))));
+
+        // Act
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> nueve = agrupador.obtenerInventariosAsync(List.of(9L));
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> cuatro = agrupador.obtenerInventariosAsync(List.of(4L, 5L));
+
+        // Assert
+        List<InventarioResponseJsonApiDTO.Data> propio = nueve.get(5, TimeUnit.SECONDS);
+        assertEquals(1, propio.size());
+        assertEquals(90, propio.get(0).getAttributes().getCantidadDisponible());
+        assertEquals(List.of(4L), cuatro.get(5, TimeUnit.SECONDS).stream()
+                .map(inventario -> inventario.getAttributes().getProductoId())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Cancelar la variante asíncrona de un llamador no debe afectar al lote de los demás")
+    void obtenerInventariosAsync_llamadorCancela_loteSigueParaLosDemas() throws Exception {
+        // Arrange
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 60_000_000, 2);
+        when(inventarioClient.obtenerInventariosAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(inventario(1L, 10), inventario(2L, 20))));
+
+        // Act
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> cancelado = agrupador.obtenerInventariosAsync(List.of(1L));
+        cancelado.cancel(true);
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> otro = agrupador.obtenerInventariosAsync(List.of(2L));
+
+        // Assert
+        assertEquals(20, otro.get(5, TimeUnit.SECONDS).get(0).getAttributes().getCantidadDisponible());
+        verify(inventarioClient, times(1)).obtenerInventariosAsync(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("La llamada agrupada debe viajar con el plazo más holgado de sus llamadores")
+    void obtenerInventariosAsync_llamadoresConPlazo_usaElMasHolgado() throws Exception {
+        // Arrange
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 60_000_000, 2);
+        AtomicReference<OptionalLong> plazoEnLlamada = new AtomicReference<>();
+        when(inventarioClient.obtenerInventariosAsync(anyList())).thenAnswer(invocation -> {
+            plazoEnLlamada.set(PlazoPeticion.limiteNanos());
+            return CompletableFuture.completedFuture(List.of(inventario(1L, 10), inventario(2L, 20)));
+        });
+
+        // Act
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> corto = conPlazo(1_000, () -> agrupador.obtenerInventariosAsync(List.of(1L)));
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> largo = conPlazo(3_000, () -> agrupador.obtenerInventariosAsync(List.of(2L)));
+        CompletableFuture.allOf(corto, largo).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        long restanteMs = TimeUnit.NANOSECONDS.toMillis(plazoEnLlamada.get().getAsLong() - System.nanoTime());
+        assertTrue(restanteMs > 1_000 && restanteMs <= 3_000, "restante: " + restanteMs);
+    }
+
+    private List<InventarioResponseJsonApiDTO.Data> obtener(List<Long> productoIds) {
+        return EjecutorEtapas.esperar(agrupador.obtenerInventariosAsync(productoIds));
+    }
+
+    private static <T> T conPlazo(long plazoMs, Supplier<T> tarea) {
+        PlazoPeticion.iniciar(plazoMs);
+        try {
+            return tarea.get();
+        } finally {
+            PlazoPeticion.limpiar();
+        }
+    }
+
+    @Test
+    @DisplayName("Con ventana 0 debe llamar directamente al cliente")
+    void obtenerInventarios_ventanaCero_llamaDirecto() {
+        // Arrange
+        agrupador = new AgrupadorInventario(inventarioClient, meterRegistry, 0, 100);
+        when(inventarioClient.obtenerInventariosAsync(List.of(3L)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(inventario(3L, 30))));
+
+        // Act
+        List<InventarioResponseJsonApiDTO.Data> resultado = obtener(List.of(3L));
+
+        // Assert
+        assertEquals(30, resultado.get(0).getAttributes().getCantidadDisponible());
+        assertEquals(0, meterRegistry.get("productos.inventario.lote.tamano").summary().count());
+    }
+
+    private static InventarioResponseJsonApiDTO.Data inventario(Long productoId, int cantidad) {
+        InventarioResponseJsonApiDTO.Data.Attributes attributes = new InventarioResponseJsonApiDTO.Data.Attributes();
+        attributes.setProductoId(productoId);
+        attributes.setCantidadDisponible(cantidad);
+
+        InventarioResponseJsonApiDTO.Data data = new InventarioResponseJsonApiDTO.Data();
+        data.setId(String.valueOf(productoId));
+        data.setType("inventario");
+        data.setAttributes(attributes);
+        return data;
+    }
+}
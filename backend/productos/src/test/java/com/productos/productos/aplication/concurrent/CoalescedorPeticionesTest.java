@@ -0,0 +1,184 @@
+package com.productos.productos.aplication.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CoalescedorPeticiones - Tests Unitarios")
+class CoalescedorPeticionesTest {
+    private static final int LLAMADORES = 5;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescedorPeticiones coalescedor;
+    private ExecutorService llamadores;
+    private AtomicInteger ejecuciones;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescedor = new CoalescedorPeticiones(meterRegistry);
+        llamadores = Executors.newCachedThreadPool();
+        ejecuciones = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        llamadores.shutdownNow();
+        coalescedor.cerrar();
+    }
+
+    @Test
+    @DisplayName("Llamadas concurrentes con la misma clave deben compartir una ejecución")
+    void ejecutar_mismaClaveConcurrente_ejecutaUnaVez() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Future<String>> resultados = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < LLAMADORES; i++) {
+            resultados.add(llamadores.submit(() -> coalescedor.ejecutar("listado", () -> {
+                ejecuciones.incrementAndGet();
+                esperar(liberar);
+                return "pagina";
+            })));
+        }
+        esperarCoalescidas(LLAMADORES - 1);
+        liberar.countDown();
+
+        // Assert
+        for (Future<String> resultado : resultados) {
+            assertEquals("pagina", resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, ejecuciones.get());
+        esperarSinVuelos();
+        assertEquals(0, coalescedor.enCurso());
+    }
+
+    @Test
+    @DisplayName("Claves distintas no deben compartir ejecución")
+    void ejecutar_clavesDistintas_ejecutaCadaUna() {
+        coalescedor.ejecutar("producto|1", ejecuciones::incrementAndGet);
+        coalescedor.ejecutar("producto|2", ejecuciones::incrementAndGet);
+
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Una vez terminada, la misma clave debe volver a ejecutarse")
+    void ejecutar_ejecucionTerminada_noReutilizaResultado() {
+        assertEquals(1, coalescedor.ejecutar("producto|1", ejecuciones::incrementAndGet));
+        assertEquals(2, coalescedor.ejecutar("producto|1", ejecuciones::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("La excepción original debe llegar a todos los que esperaban")
+    void ejecutar_cargaFalla_propagaExcepcionOriginal() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> coalescedor.ejecutar("listado", () -> {
+                    throw new IllegalStateException("BD no disponible");
+                }));
+
+        assertEquals("BD no disponible", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Si se va quien inició la ejecución, los demás deben recibir el resultado")
+    void ejecutar_primerLlamadorSeVa_losDemasRecibenResultado() throws Exception {
+        // Arrange
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<String> primero = llamadores.submit(() -> coalescedor.ejecutar("listado", () -> {
+            iniciada.countDown();
+            esperar(liberar);
+            return "pagina";
+        }));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+        Future<String> segundo = llamadores.submit(() -> coalescedor.ejecutar("listado", () -> "otra ejecucion"));
+        esperarCoalescidas(1);
+
+        // Act
+        primero.cancel(true);
+        liberar.countDown();
+
+        // Assert
+        assertEquals("pagina", segundo.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Si se van todos los que esperaban, la ejecución debe cancelarse")
+    void ejecutar_todosSeVan_cancelaEjecucion() throws Exception {
+        // Arrange
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch interrumpida = new CountDownLatch(1);
+        Future<String> unico = llamadores.submit(() -> coalescedor.ejecutar("listado", () -> {
+            iniciada.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrumpida.countDown();
+            }
+            return "tarde";
+        }));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        // Act
+        unico.cancel(true);
+
+        // Assert
+        assertTrue(interrumpida.await(5, TimeUnit.SECONDS));
+        // El llamador cancelado deja el mapa en su propio hilo, que puede terminar después de la interrupción
+        esperarSinVuelos();
+        assertEquals(0, coalescedor.enCurso());
+        assertEquals("nueva", coalescedor.ejecutar("listado", () -> "nueva"));
+    }
+
+    @Test
+    @DisplayName("Un llamador interrumpido debe salir con CancellationException")
+    void ejecutar_llamadorInterrumpido_lanzaCancellationException() {
+        Thread.currentThread().interrupt();
+
+        assertThrows(CancellationException.class, () -> coalescedor.ejecutar("listado", () -> {
+            esperar(new CountDownLatch(1));
+            return "nunca";
+        }));
+        assertTrue(Thread.interrupted());
+    }
+
+    // Quien ejecuta deja el mapa después de completar el resultado, así que los llamadores pueden verlo antes
+    private void esperarSinVuelos() {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedor.enCurso() > 0 && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void esperarCoalescidas(int esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("productos.peticiones.coalescidas").count() < esperadas) {
+            assertTrue(System.nanoTime() < limite, "los llamadores no se unieron a la ejecución en curso");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
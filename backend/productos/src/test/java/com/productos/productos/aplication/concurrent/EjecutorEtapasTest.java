@@ -0,0 +1,175 @@
+package com.productos.productos.aplication.concurrent;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EjecutorEtapas - Tests Unitarios")
+class EjecutorEtapasTest {
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private EjecutorEtapas ejecutorEtapas;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        meterRegistry = new SimpleMeterRegistry();
+        ejecutorEtapas = new EjecutorEtapas(executor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Debe registrar la duración de cada etapa con su tag")
+    void medir_etapa_registraTimer() {
+        // Act
+        String resultado = ejecutorEtapas.medir("pagina", () -> "ok");
+
+        // Assert
+        assertEquals("ok", resultado);
+        Timer timer = meterRegistry.find("productos.etapa").tag("etapa", "pagina").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar la etapa en el pool y medirla")
+    void enParalelo_etapa_seEjecutaEnOtroHilo() {
+        // Arrange
+        Thread hiloLlamador = Thread.currentThread();
+
+        // Act
+        Thread hiloEtapa = EjecutorEtapas.esperar(ejecutorEtapas.enParalelo("conteo", Thread::currentThread));
+
+        // Assert
+        assertNotSame(hiloLlamador, hiloEtapa);
+        assertEquals(1, meterRegistry.find("productos.etapa").tag("etapa", "conteo").timer().count());
+    }
+
+    @Test
+    @DisplayName("Debe relanzar la excepción original de la etapa")
+    void esperar_etapaFalla_relanzaExcepcionOriginal() {
+        // Arrange
+        CompletableFuture<Long> etapa = ejecutorEtapas.enParalelo("conteo", () -> {
+            throw new IllegalArgumentException("filtro inválido");
+        });
+
+        // Act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> EjecutorEtapas.esperar(etapa));
+
+        // Assert
+        assertEquals("filtro inválido", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Cancelar el future debe interrumpir la etapa en curso")
+    void enParalelo_cancelado_interrumpeEtapa() throws InterruptedException {
+        // Arrange
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch interrumpida = new CountDownLatch(1);
+        CompletableFuture<Void> etapa = ejecutorEtapas.enParalelo("inventario", () -> {
+            iniciada.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrumpida.countDown();
+            }
+            return null;
+        });
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        // Act
+        etapa.cancel(true);
+
+        // Assert
+        assertTrue(interrumpida.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("esperarTodas debe fallar con la primera etapa fallida y cancelar el resto")
+    void esperarTodas_unaEtapaFalla_cancelaLasDemas() {
+        // Arrange
+        CompletableFuture<String> lenta = ejecutorEtapas.enParalelo("producto", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "tarde";
+        });
+        CompletableFuture<String> fallida = ejecutorEtapas.enParalelo("inventario", () -> {
+            throw new IllegalStateException("inventario caído");
+        });
+
+        // Act
+        IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> EjecutorEtapas.esperarTodas(lenta, fallida)));
+
+        // Assert
+        assertEquals("inventario caído", exception.getMessage());
+        assertTrue(lenta.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Debe registrar la duración de una etapa asíncrona al terminar")
+    void medir_etapaAsincrona_registraTimerAlTerminar() {
+        // Arrange
+        CompletableFuture<String> enCurso = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> medida = ejecutorEtapas.medir("inventario", enCurso);
+        assertNull(meterRegistry.find("productos.etapa").tag("etapa", "inventario").timer());
+        enCurso.complete("ok");
+
+        // Assert
+        assertSame(enCurso, medida);
+        assertEquals(1, meterRegistry.get("productos.etapa").tag("etapa", "inventario").timer().count());
+    }
+
+    @Test
+    @DisplayName("conPlazo debe fallar la etapa con el error indicado al vencer el plazo")
+    void conPlazo_etapaLenta_fallaConErrorIndicado() {
+        // Arrange
+        CompletableFuture<String> lenta = new CompletableFuture<>();
+
+        // Act
+        EjecutorEtapas.conPlazo(lenta, 50, () -> new IllegalStateException("plazo vencido"));
+
+        // Assert
+        IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> EjecutorEtapas.esperar(lenta)));
+        assertEquals("plazo vencido", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("conPlazo no debe alterar una etapa que termina a tiempo")
+    void conPlazo_etapaATiempo_conservaResultado() throws InterruptedException {
+        // Arrange
+        CompletableFuture<String> etapa = EjecutorEtapas.conPlazo(new CompletableFuture<>(), 50,
+                () -> new IllegalStateException("plazo vencido"));
+
+        // Act
+        etapa.complete("ok");
+        Thread.sleep(100);
+
+        // Assert
+        assertEquals("ok", etapa.join());
+    }
+}
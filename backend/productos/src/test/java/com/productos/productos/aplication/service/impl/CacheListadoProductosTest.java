@@ -0,0 +1,133 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheListadoProductos - Tests Unitarios")
+class CacheListadoProductosTest {
+    private static final String BASE_URL = "http://localhost:8080";
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheListadoProductos cache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CacheListadoProductos(meterRegistry, 100, 60);
+        cargas = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Filtros equivalentes deben compartir la entrada")
+    void obtener_filtrosEquivalentes_reutilizaEntrada() {
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        filtro.setNombre("Laptop");
+        ProductoFiltroDTO equivalente = new ProductoFiltroDTO();
+        equivalente.setNombre(" laptop ");
+
+        ProductoResponseJsonApiDTO primera = cache.obtener(filtro, BASE_URL, clave -> cargar());
+        ProductoResponseJsonApiDTO segunda = cache.obtener(equivalente, BASE_URL, clave -> cargar());
+
+        assertSame(primera, segunda);
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Distinta página o modo de paginación no debe compartir la entrada")
+    void obtener_distintaPaginacion_cargaDeNuevo() {
+        ProductoFiltroDTO pagina0 = new ProductoFiltroDTO();
+        ProductoFiltroDTO pagina1 = new ProductoFiltroDTO();
+        pagina1.getPageable().setPage(1);
+        ProductoFiltroDTO porCursor = new ProductoFiltroDTO();
+        porCursor.getPageable().setAfter("");
+
+        cache.obtener(pagina0, BASE_URL, clave -> cargar());
+        cache.obtener(pagina1, BASE_URL, clave -> cargar());
+        cache.obtener(porCursor, BASE_URL, clave -> cargar());
+
+        assertEquals(3, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Invalidar debe descartar todas las entradas vigentes")
+    void invalidar_fueraDeTransaccion_descartaEntradas() {
+        cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> cargar());
+
+        cache.invalidar();
+        cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> cargar());
+
+        assertEquals(2, cargas.get());
+        assertEquals(1L, cache.getGeneracion());
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción debe invalidar recién tras el commit")
+    void invalidar_dentroDeTransaccion_esperaAlCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidar();
+        assertEquals(0L, cache.getGeneracion());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1L, cache.getGeneracion());
+    }
+
+    @Test
+    @DisplayName("Una carga fallida no debe quedar cacheada")
+    void obtener_cargaFalla_noCachea() {
+        assertThrows(IllegalArgumentException.class, () -> cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> {
+            throw new IllegalArgumentException("modo inválido");
+        }));
+
+        cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> cargar());
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Una respuesta con inventario degradado no debe quedar cacheada")
+    void obtener_inventarioDegradado_noCachea() {
+        cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> {
+            ProductoResponseJsonApiDTO degradada = cargar();
+            degradada.marcarInventarioDegradado();
+            return degradada;
+        });
+
+        cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> cargar());
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Debe exponer métricas de aciertos y fallos")
+    void obtener_registraMetricas() {
+        cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> cargar());
+        cache.obtener(new ProductoFiltroDTO(), BASE_URL, clave -> cargar());
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "productos.listado").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "productos.listado").tag("result", "miss").functionCounter().count());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "productos.listado").functionCounter());
+    }
+
+    private ProductoResponseJsonApiDTO cargar() {
+        cargas.incrementAndGet();
+        return new ProductoResponseJsonApiDTO();
+    }
+}
@@ -0,0 +1,250 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.productos.productos.domain.model.InventarioPendiente;
+import com.productos.productos.domain.repository.InventarioPendienteRepository;
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.dto.InventarioLoteResponseJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioRequestJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DespachadorInventarioPendiente - Tests Unitarios")
+class DespachadorInventarioPendienteTest {
+    @Mock
+    private InventarioPendienteRepository pendienteRepository;
+
+    @Mock
+    private InventarioClient inventarioClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<InventarioRequestJsonApiDTO.Data>> enviados;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DespachadorInventarioPendiente despachador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        despachador = new DespachadorInventarioPendiente(pendienteRepository, inventarioClient, transactionManager,
+                meterRegistry, 2, 1000, 8000, 60000, 3);
+    }
+
+    @Test
+    @DisplayName("Debe enviar el lote en una sola llamada y borrar las creaciones confirmadas")
+    void despacharPendientes_entregaExitosa_borraFilas() {
+        // Arrange
+        InventarioPendiente primero = pendiente(1L, 10);
+        InventarioPendiente segundo = pendiente(2L, 20);
+        when(pendienteRepository.reclamarLote(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(primero, segundo))
+                .thenReturn(List.of());
+        when(inventarioClient.crearInventariosLoteAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(respuesta(List.of(1L, 2L))));
+        when(pendienteRepository.saveAll(anyList())).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+        // Act
+        despachador.despacharPendientes();
+
+        // Assert
+        verify(inventarioClient).crearInventariosLoteAsync(enviados.capture());
+        assertEquals(List.of(1L, 2L), enviados.getValue().stream().map(data -> data.getAttributes().getProductoId()).toList());
+        assertEquals(List.of(10, 20), enviados.getValue().stream().map(data -> data.getAttributes().getCantidadDisponible()).toList());
+        verify(pendienteRepository).delete(primero);
+        verify(pendienteRepository).delete(segundo);
+        verify(pendienteRepository, never()).save(any());
+        assertEquals(2.0, contador("entregado"));
+        // Arriendo y resolución del lote completo, más la ronda que ya no encuentra filas
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Debe arrendar y confirmar las filas antes de llamar a inventario")
+    void despacharPendientes_conLote_arriendaAntesDeLlamar() {
+        // Arrange
+        InventarioPendiente pendiente = pendiente(1L, 10);
+        when(pendienteRepository.reclamarLote(any(LocalDateTime.class), eq(2))).thenReturn(List.of(pendiente));
+        when(pendienteRepository.saveAll(anyList())).thenAnswer(invocacion -> invocacion.getArgument(0));
+        when(inventarioClient.crearInventariosLoteAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(respuesta(List.of(1L))));
+        LocalDateTime antes = LocalDateTime.now();
+
+        // Act
+        despachador.despacharPendientes();
+
+        // Assert
+        InOrder orden = inOrder(pendienteRepository, transactionManager, inventarioClient);
+        orden.verify(pendienteRepository).saveAll(List.of(pendiente));
+        orden.verify(transactionManager).commit(any());
+        orden.verify(inventarioClient).crearInventariosLoteAsync(anyList());
+        orden.verify(pendienteRepository).delete(pendiente);
+        orden.verify(transactionManager).commit(any());
+        assertFalse(pendiente.getProximoIntento().isBefore(antes.plusSeconds(60)));
+    }
+
+    @Test
+    @DisplayName("Debe reprogramar con backoff todo el lote si falla la llamada")
+    void despacharPendientes_fallaInventario_reprogramaFilas() {
+        // Arrange
+        InventarioPendiente pendiente = pendiente(1L, 10);
+        pendiente.setIntentos(1);
+        when(pendienteRepository.reclamarLote(any(LocalDateTime.class), eq(2))).thenReturn(List.of(pendiente));
+        when(inventarioClient.crearInventariosLoteAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new InventarioException("inventario caído", "")));
+        when(pendienteRepository.saveAll(anyList())).thenAnswer(invocacion -> invocacion.getArgument(0));
+        LocalDateTime antes = LocalDateTime.now();
+
+        // Act
+        despachador.despacharPendientes();
+
+        // Assert
+        verify(pendienteRepository).save(pendiente);
+        verify(pendienteRepository, never()).delete(any());
+        assertEquals(2, pendiente.getIntentos());
+        assertEquals("inventario caído", pendiente.getUltimoError());
+        assertFalse(pendiente.getProximoIntento().isBefore(antes.plusSeconds(2)));
+        assertNull(pendiente.getDescartadoEn());
+        assertEquals(1.0, contador("reprogramado"));
+    }
+
+    @Test
+    @DisplayName("Debe descartar la fila que agota los intentos en lugar de reprogramarla")
+    void despacharPendientes_agotaIntentos_descartaFila() {
+        // Arrange
+        InventarioPendiente pendiente = pendiente(1L, 10);
+        pendiente.setIntentos(2);
+        when(pendienteRepository.reclamarLote(any(LocalDateTime.class), eq(2))).thenReturn(List.of(pendiente));
+        when(pendienteRepository.saveAll(anyList())).thenAnswer(invocacion -> invocacion.getArgument(0));
+        when(inventarioClient.crearInventariosLoteAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new InventarioException("inventario caído", "")));
+
+        // Act
+        despachador.despacharPendientes();
+
+        // Assert
+        verify(pendienteRepository).save(pendiente);
+        assertEquals(3, pendiente.getIntentos());
+        assertNotNull(pendiente.getDescartadoEn());
+        assertEquals("inventario caído (3 intentos)", pendiente.getUltimoError());
+        assertEquals(1.0, contador("descartado"));
+        assertEquals(0.0, contador("reprogramado"));
+    }
+
+    @Test
+    @DisplayName("Debe descartar con su motivo los elementos que inventario rechaza y borrar el resto")
+    void despacharPendientes_rechazoParcial_descartaSoloRechazados() {
+        // Arrange
+        InventarioPendiente aceptado = pendiente(1L, 10);
+        InventarioPendiente rechazado = pendiente(2L, 0);
+        when(pendienteRepository.reclamarLote(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(aceptado, rechazado))
+                .thenReturn(List.of());
+        InventarioLoteResponseJsonApiDTO respuesta = respuesta(List.of(1L));
+        InventarioLoteResponseJsonApiDTO.Error error = new InventarioLoteResponseJsonApiDTO.Error();
+        error.setIndex(1);
+        error.setProductoId(2L);
+        error.setDetail("La cantidad disponible debe ser mayor a cero.");
+        respuesta.getMeta().getErrors().add(error);
+        when(inventarioClient.crearInventariosLoteAsync(anyList())).thenReturn(CompletableFuture.completedFuture(respuesta));
+        when(pendienteRepository.saveAll(anyList())).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+        // Act
+        despachador.despacharPendientes();
+
+        // Assert
+        verify(pendienteRepository).delete(aceptado);
+        verify(pendienteRepository).save(rechazado);
+        assertEquals("La cantidad disponible debe ser mayor a cero.", rechazado.getUltimoError());
+        assertNotNull(rechazado.getDescartadoEn());
+        assertEquals(0, rechazado.getIntentos());
+        assertEquals(1.0, contador("entregado"));
+        assertEquals(1.0, contador("descartado"));
+    }
+
+    @Test
+    @DisplayName("Sin filas vencidas no debe llamar a inventario")
+    void despacharPendientes_sinPendientes_noLlamaInventario() {
+        // Arrange
+        when(pendienteRepository.reclamarLote(any(LocalDateTime.class), eq(2))).thenReturn(List.of());
+
+        // Act
+        despachador.despacharPendientes();
+
+        // Assert
+        verifyNoInteractions(inventarioClient);
+    }
+
+    @Test
+    @DisplayName("Debe publicar el backlog y la antigüedad del pendiente más viejo")
+    void despacharPendientes_conBacklog_actualizaMetricas() {
+        // Arrange
+        when(pendienteRepository.reclamarLote(any(LocalDateTime.class), eq(2))).thenReturn(List.of());
+        when(pendienteRepository.contarPendientes()).thenReturn(7L);
+        when(pendienteRepository.creadoEnMasAntiguo()).thenReturn(Optional.of(LocalDateTime.now().minusSeconds(30)));
+
+        // Act
+        despachador.despacharPendientes();
+
+        // Assert
+        assertEquals(7.0, meterRegistry.get("inventario.outbox.pendientes").gauge().value());
+        assertTrue(meterRegistry.get("inventario.outbox.retraso").gauge().value() >= 30.0);
+    }
+
+    @Test
+    @DisplayName("La espera entre intentos debe crecer exponencialmente hasta el máximo")
+    void espera_variosIntentos_creceHastaElMaximo() {
+        assertEquals(1000, despachador.espera(1));
+        assertEquals(2000, despachador.espera(2));
+        assertEquals(4000, despachador.espera(3));
+        assertEquals(8000, despachador.espera(4));
+        assertEquals(8000, despachador.espera(40));
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("inventario.outbox.entregas").tag("resultado", resultado).counter().count();
+    }
+
+    private static InventarioLoteResponseJsonApiDTO respuesta(List<Long> creados) {
+        InventarioLoteResponseJsonApiDTO respuesta = new InventarioLoteResponseJsonApiDTO();
+        for (Long productoId : creados) {
+            InventarioResponseJsonApiDTO.Data.Attributes attributes = new InventarioResponseJsonApiDTO.Data.Attributes();
+            attributes.setProductoId(productoId);
+            InventarioResponseJsonApiDTO.Data data = new InventarioResponseJsonApiDTO.Data();
+            data.setId(String.valueOf(productoId));
+            data.setAttributes(attributes);
+            respuesta.getData().add(data);
+        }
+        return respuesta;
+    }
+
+    private static InventarioPendiente pendiente(Long productoId, int cantidad) {
+        InventarioPendiente pendiente = new InventarioPendiente(productoId, cantidad);
+        pendiente.setId(productoId);
+        pendiente.setCreadoEn(LocalDateTime.now().minusSeconds(1));
+        pendiente.setProximoIntento(pendiente.getCreadoEn());
+        return pendiente;
+    }
+}
@@ -0,0 +1,91 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EstimadorTotalProductos - Tests Unitarios")
+class EstimadorTotalProductosTest {
+    @Mock
+    private ProductosRepository productosRepository;
+
+    private EstimadorTotalProductos estimador;
+
+    @BeforeEach
+    void setUp() {
+        estimador = new EstimadorTotalProductos(productosRepository, 2, 60);
+    }
+
+    @Test
+    @DisplayName("Sin filtros debe usar la estimación del planificador")
+    void estimar_sinFiltros_usaPlanificador() {
+        when(productosRepository.estimateCount()).thenReturn(OptionalLong.of(1_500_000L));
+
+        assertEquals(1_500_000L, estimador.estimar(new ProductoFiltroDTO()));
+        verify(productosRepository, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Sin estimación del planificador debe contar y cachear")
+    void estimar_planificadorNoDisponible_cuentaYCachea() {
+        when(productosRepository.estimateCount()).thenReturn(OptionalLong.empty());
+        when(productosRepository.count(any(ProductoFiltroDTO.class))).thenReturn(42L);
+
+        assertEquals(42L, estimador.estimar(new ProductoFiltroDTO()));
+        assertEquals(42L, estimador.estimar(new ProductoFiltroDTO()));
+        verify(productosRepository, times(1)).count(any(ProductoFiltroDTO.class));
+    }
+
+    @Test
+    @DisplayName("Con filtros debe usar el conteo exacto sin consultar al planificador")
+    void estimar_conFiltros_cuentaSinPlanificador() {
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        filtro.setCategoria("Tecnología");
+        when(productosRepository.count(filtro)).thenReturn(12L);
+
+        assertEquals(12L, estimador.estimar(filtro));
+        verify(productosRepository, never()).estimateCount();
+    }
+
+    @Test
+    @DisplayName("Filtros equivalentes deben compartir el conteo exacto cacheado")
+    void estimar_filtrosEquivalentes_compartenCache() {
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        filtro.setNombre("Laptop");
+        filtro.setPrecioMin(new BigDecimal("10"));
+        ProductoFiltroDTO equivalente = new ProductoFiltroDTO();
+        equivalente.setNombre(" laptop ");
+        equivalente.setPrecioMin(new BigDecimal("10.00"));
+        when(productosRepository.count(any(ProductoFiltroDTO.class))).thenReturn(7L);
+
+        assertEquals(7L, estimador.estimar(filtro));
+        assertEquals(7L, estimador.estimar(equivalente));
+        verify(productosRepository, times(1)).count(any(ProductoFiltroDTO.class));
+        verify(productosRepository, never()).estimateCount();
+    }
+
+    @Test
+    @DisplayName("Debe recalcular cuando la estadística expiró")
+    void estimar_estadisticaExpirada_recalcula() {
+        estimador = new EstimadorTotalProductos(productosRepository, 2, 0);
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        filtro.setCategoria("Tecnología");
+        when(productosRepository.count(any(ProductoFiltroDTO.class))).thenReturn(3L, 4L);
+
+        assertEquals(3L, estimador.estimar(filtro));
+        assertEquals(4L, estimador.estimar(filtro));
+    }
+}
@@ -0,0 +1,142 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import com.productos.productos.shared.mapper.ProductoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportacionProductosServiceImpl - Tests Unitarios")
+class ExportacionProductosServiceImplTest {
+    @Mock
+    private ProductosRepository productosRepository;
+
+    @Mock
+    private InventarioClient inventarioClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExportacionProductosServiceImpl exportacionService;
+
+    @BeforeEach
+    void setUp() {
+        exportacionService = new ExportacionProductosServiceImpl(productosRepository, inventarioClient, new ProductoMapper(), objectMapper);
+        ReflectionTestUtils.setField(exportacionService, "tamanoLote", 2);
+    }
+
+    @Test
+    @DisplayName("Debe escribir una línea JSON por producto con su inventario")
+    void exportarProductos_variosLotes_escribeUnaLineaPorProducto() throws Exception {
+        // Arrange
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        entregarLotes(filtro, List.of(resumen(1L), resumen(2L)), List.of(resumen(3L)));
+        when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L, 2L)))
+                .thenReturn(List.of(inventario(1L, 5), inventario(2L, 7)));
+        when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(3L)))
+                .thenReturn(List.of(inventario(3L, 9)));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Act
+        exportacionService.exportarProductos(filtro, salida);
+
+        // Assert
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lineas.length);
+        for (int i = 0; i < lineas.length; i++) {
+            JsonNode linea = objectMapper.readTree(lineas[i]);
+            assertEquals(String.valueOf(i + 1), linea.path("id").asText());
+            assertEquals("producto", linea.path("type").asText());
+        }
+        assertEquals(5, objectMapper.readTree(lineas[0]).path("attributes").path("cantidad").asInt());
+        assertEquals(9, objectMapper.readTree(lineas[2]).path("attributes").path("cantidad").asInt());
+        verify(inventarioClient, times(2)).obtenerInventariosDesdeMicroservicio(anyList());
+    }
+
+    @Test
+    @DisplayName("Debe exportar sin cantidad los productos que inventario no informa")
+    void exportarProductos_inventarioIncompleto_cantidadNula() throws Exception {
+        // Arrange
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        entregarLotes(filtro, List.of(resumen(1L), resumen(2L)));
+        InventarioResponseJsonApiDTO.Data sinAtributos = new InventarioResponseJsonApiDTO.Data();
+        when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                .thenReturn(Arrays.asList(inventario(2L, 4), null, sinAtributos));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Act
+        exportacionService.exportarProductos(filtro, salida);
+
+        // Assert
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(objectMapper.readTree(lineas[0]).path("attributes").path("cantidad").isNull());
+        assertEquals(4, objectMapper.readTree(lineas[1]).path("attributes").path("cantidad").asInt());
+    }
+
+    @Test
+    @DisplayName("Sin productos no debe consultar inventario ni escribir contenido")
+    void exportarProductos_sinResultados_salidaVacia() {
+        // Arrange
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        entregarLotes(filtro);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Act
+        exportacionService.exportarProductos(filtro, salida);
+
+        // Assert
+        assertEquals(0, salida.size());
+        verifyNoInteractions(inventarioClient);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void entregarLotes(ProductoFiltroDTO filtro, List<ProductoResumen>... lotes) {
+        doAnswer(invocation -> {
+            Consumer<List<ProductoResumen>> consumidor = invocation.getArgument(2);
+            for (List<ProductoResumen> lote : lotes) {
+                consumidor.accept(lote);
+            }
+            return null;
+        }).when(productosRepository).recorrerResumenes(eq(filtro), eq(2), any(Consumer.class));
+    }
+
+    private static ProductoResumen resumen(Long id) {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 1, 10, 0);
+        return new ProductoResumen(id, "Producto " + id, "Descripción", new BigDecimal("10.00"), "Tecnología", fecha, fecha);
+    }
+
+    private static InventarioResponseJsonApiDTO.Data inventario(Long productoId, int cantidad) {
+        InventarioResponseJsonApiDTO.Data.Attributes attributes = new InventarioResponseJsonApiDTO.Data.Attributes();
+        attributes.setProductoId(productoId);
+        attributes.setCantidadDisponible(cantidad);
+
+        InventarioResponseJsonApiDTO.Data data = new InventarioResponseJsonApiDTO.Data();
+        data.setId(String.valueOf(productoId));
+        data.setType("inventario");
+        data.setAttributes(attributes);
+        return data;
+    }
+}
@@ -0,0 +1,328 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productos.productos.aplication.service.ProductosService;
+import com.productos.productos.domain.model.ImportacionError;
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.repository.ImportacionRepository;
+import com.productos.productos.infrastructure.rest.exception.ImportacionesSaturadasException;
+import com.productos.productos.shared.dto.ImportacionResponseJsonApiDTO;
+import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportacionProductosServiceImpl - Tests Unitarios")
+class ImportacionProductosServiceImplTest {
+    @Mock
+    private ImportacionRepository importacionRepository;
+
+    @Mock
+    private ProductosService productosService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<ProductoRequestJsonApiDTO.Data>> lotesEnviados;
+
+    @TempDir
+    Path directorio;
+
+    private ImportacionProductosServiceImpl importacionService;
+
+    @BeforeEach
+    void setUp() {
+        // Chunks de 2 líneas para ejercitar varias transacciones con archivos pequeños
+        importacionService = new ImportacionProductosServiceImpl(importacionRepository, productosService, new ObjectMapper(),
+                transactionManager, new SimpleMeterRegistry(), directorio.toString(), 2, 120_000, 1, 100, 3);
+        lenient().when(importacionRepository.save(any(ImportacionProductos.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importacionService.cerrar();
+    }
+
+    @Test
+    @DisplayName("Debe confirmar el CSV por chunks y registrar las filas inválidas con su línea")
+    void procesar_csvEnChunks_confirmaCadaChunkYRegistraErrores() throws IOException {
+        // Arrange
+        ImportacionProductos importacion = importacion(ImportacionProductos.Formato.CSV, """
+                nombre,precio,cantidad
+                Mouse,abc,1
+                Teclado,40.00,2
+                Monitor,199.90,3
+                """);
+        crearTodos();
+
+        // Act
+        importacionService.procesar(1L);
+
+        // Assert
+        assertEquals(ImportacionProductos.Estado.COMPLETADA, importacion.getEstado());
+        assertEquals(4, importacion.getLineasProcesadas());
+        assertEquals(2, importacion.getCreados());
+        assertEquals(1, importacion.getRechazados());
+        assertEquals(List.of(List.of("Teclado"), List.of("Monitor")), nombresEnviados(2));
+        ImportacionError error = erroresGuardados().get(0);
+        assertEquals(2, error.getLinea());
+        assertEquals("Precio inválido: 'abc'", error.getDetalle());
+        assertEquals("Mouse,abc,1", error.getContenido());
+        assertFalse(Files.exists(Path.of(importacion.getArchivo())), "el archivo se elimina al completar");
+    }
+
+    @Test
+    @DisplayName("Debe retomar desde la última línea confirmada sin reenviar las anteriores")
+    void procesar_importacionAMedias_saltaLineasConfirmadas() throws IOException {
+        // Arrange
+        ImportacionProductos importacion = importacion(ImportacionProductos.Formato.CSV, """
+                nombre,precio,cantidad
+                Uno,1.00,1
+                Dos,2.00,1
+                Tres,3.00,1
+                Cuatro,4.00,1
+                """);
+        importacion.setEstado(ImportacionProductos.Estado.EN_PROCESO);
+        importacion.setLineasProcesadas(3);
+        importacion.setCreados(2);
+        importacion.setIntentos(2);
+        crearTodos();
+
+        // Act
+        importacionService.procesar(1L);
+
+        // Assert
+        assertEquals(List.of(List.of("Tres", "Cuatro")), nombresEnviados(1));
+        assertEquals(5, importacion.getLineasProcesadas());
+        assertEquals(4, importacion.getCreados());
+        assertEquals(0, importacion.getIntentos(), "confirmar un chunk reinicia los intentos");
+        assertEquals(ImportacionProductos.Estado.COMPLETADA, importacion.getEstado());
+    }
+
+    @Test
+    @DisplayName("Los rechazos de validación deben informarse con la línea original aunque haya líneas en blanco")
+    void procesar_rechazoDeValidacion_informaLineaOriginal() throws IOException {
+        // Arrange
+        ImportacionProductos importacion = importacion(ImportacionProductos.Formato.NDJSON,
+                "{\"nombre\":\"Mouse\",\"precio\":10,\"cantidad\":1}\n\n{\"nombre\":\"Teclado\",\"precio\":20,\"cantidad\":0}\n");
+        when(productosService.crearProductosLote(anyList())).thenAnswer(invocation -> {
+            List<ProductoRequestJsonApiDTO.Data> items = invocation.getArgument(0);
+            if (items.get(0).getAttributes().getCantidad() == 0) {
+                return new ProductosService.CreacionLote(List.of(), List.of(),
+                        List.of(new ProductosService.Rechazo(0, "La cantidad debe ser mayor a cero")));
+            }
+            return creacion(items);
+        });
+
+        // Act
+        importacionService.procesar(1L);
+
+        // Assert
+        ImportacionError error = erroresGuardados().get(0);
+        assertEquals(3, error.getLinea());
+        assertEquals("La cantidad debe ser mayor a cero", error.getDetalle());
+        assertEquals(1, importacion.getCreados());
+        assertEquals(1, importacion.getRechazados());
+    }
+
+    @Test
+    @DisplayName("Un chunk que falla siempre debe marcar la importación como fallida al agotar los intentos")
+    void procesar_chunkQueFallaSiempre_marcaFallidaTrasMaxIntentos() throws IOException {
+        // Arrange
+        ImportacionProductos importacion = importacion(ImportacionProductos.Formato.CSV, """
+                nombre,precio,cantidad
+                Mouse,10.00,1
+                """);
+        when(productosService.crearProductosLote(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("conexión perdida"));
+
+        // Act & Assert: los primeros intentos dejan la importación para el siguiente barrido
+        importacionService.procesar(1L);
+        assertEquals(ImportacionProductos.Estado.EN_PROCESO, importacion.getEstado());
+        assertEquals(1, importacion.getIntentos());
+        assertTrue(importacion.getError().contains("conexión perdida"));
+
+        importacionService.procesar(1L);
+        importacionService.procesar(1L);
+        assertEquals(ImportacionProductos.Estado.FALLIDA, importacion.getEstado());
+        assertEquals(3, importacion.getIntentos());
+        assertTrue(importacion.getError().contains("conexión perdida"));
+
+        // Ya terminada, un barrido posterior no la vuelve a procesar
+        importacionService.procesar(1L);
+        verify(productosService, times(3)).crearProductosLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Sin el archivo debe marcar la importación como fallida")
+    void procesar_archivoInexistente_marcaFallida() {
+        // Arrange
+        ImportacionProductos importacion = new ImportacionProductos(ImportacionProductos.Formato.CSV,
+                directorio.resolve("no-existe.csv").toString());
+        importacion.setId(1L);
+        when(importacionRepository.findById(1L)).thenReturn(Optional.of(importacion));
+
+        // Act
+        importacionService.procesar(1L);
+
+        // Assert
+        assertEquals(ImportacionProductos.Estado.FALLIDA, importacion.getEstado());
+        assertNotNull(importacion.getError());
+        verifyNoInteractions(productosService);
+    }
+
+    @Test
+    @DisplayName("Si otro nodo la tomó antes no debe procesar ninguna línea")
+    void procesar_tomadaPorOtroNodo_noProcesa() throws IOException {
+        // Arrange
+        importacion(ImportacionProductos.Formato.CSV, "nombre,precio,cantidad\nMouse,10,1\n");
+        when(importacionRepository.save(any(ImportacionProductos.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ImportacionProductos.class, 1L));
+
+        // Act
+        importacionService.procesar(1L);
+
+        // Assert
+        verifyNoInteractions(productosService);
+        verify(importacionRepository, never()).guardarErrores(anyList());
+    }
+
+    @Test
+    @DisplayName("Debe guardar el archivo y registrar la importación pendiente")
+    void iniciarImportacion_archivo_registraPendiente() throws Exception {
+        // Arrange
+        when(importacionRepository.save(any(ImportacionProductos.class))).thenAnswer(invocation -> {
+            ImportacionProductos importacion = invocation.getArgument(0);
+            importacion.setId(5L);
+            return importacion;
+        });
+
+        // Act
+        ImportacionResponseJsonApiDTO respuesta = importacionService.iniciarImportacion(ImportacionProductos.Formato.NDJSON,
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals("5", respuesta.getData().getId());
+        assertEquals("importacion", respuesta.getData().getType());
+        assertEquals("NDJSON", respuesta.getData().getAttributes().getFormato());
+        ArgumentCaptor<ImportacionProductos> captor = ArgumentCaptor.forClass(ImportacionProductos.class);
+        verify(importacionRepository, atLeastOnce()).save(captor.capture());
+        assertTrue(captor.getAllValues().get(0).getArchivo().startsWith(directorio.toString()));
+    }
+
+    @Test
+    @DisplayName("Con el máximo de importaciones en curso debe rechazar una nueva sin guardar su archivo")
+    void iniciarImportacion_sinPermisos_rechazaSinGuardar() throws Exception {
+        // Arrange: la primera importación queda procesándose hasta liberar el latch
+        CountDownLatch procesando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(importacionRepository.save(any(ImportacionProductos.class))).thenAnswer(invocation -> {
+            ImportacionProductos importacion = invocation.getArgument(0);
+            importacion.setId(5L);
+            return importacion;
+        });
+        when(importacionRepository.findById(5L)).thenAnswer(invocation -> {
+            procesando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        importacionService.iniciarImportacion(ImportacionProductos.Formato.NDJSON,
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(procesando.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        try {
+            assertThrows(ImportacionesSaturadasException.class, () -> importacionService.iniciarImportacion(
+                    ImportacionProductos.Formato.NDJSON, new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8))));
+            try (Stream<Path> archivos = Files.list(directorio)) {
+                assertEquals(1, archivos.count());
+            }
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Sin directorio configurado no debe poder construirse el servicio")
+    void constructor_sinDirectorio_lanzaExcepcion() {
+        IllegalStateException excepcion = assertThrows(IllegalStateException.class, () -> new ImportacionProductosServiceImpl(
+                importacionRepository, productosService, new ObjectMapper(), transactionManager, new SimpleMeterRegistry(),
+                " ", 2, 120_000, 1, 100, 3));
+
+        assertTrue(excepcion.getMessage().contains("productos.importacion.directorio"));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar EntityNotFoundException si la importación no existe")
+    void obtenerImportacion_inexistente_lanzaExcepcion() {
+        when(importacionRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> importacionService.obtenerImportacion(99L));
+    }
+
+    private ImportacionProductos importacion(ImportacionProductos.Formato formato, String contenido) throws IOException {
+        Path archivo = Files.writeString(directorio.resolve("importacion." + formato.name().toLowerCase()), contenido);
+        ImportacionProductos importacion = new ImportacionProductos(formato, archivo.toString());
+        importacion.setId(1L);
+        when(importacionRepository.findById(1L)).thenReturn(Optional.of(importacion));
+        return importacion;
+    }
+
+    private void crearTodos() {
+        when(productosService.crearProductosLote(anyList())).thenAnswer(invocation -> creacion(invocation.getArgument(0)));
+    }
+
+    private static ProductosService.CreacionLote creacion(List<ProductoRequestJsonApiDTO.Data> items) {
+        List<Producto> creados = items.stream().map(item -> new Producto()).toList();
+        List<Integer> cantidades = items.stream().map(item -> item.getAttributes().getCantidad()).toList();
+        return new ProductosService.CreacionLote(creados, cantidades, List.of());
+    }
+
+    private List<List<String>> nombresEnviados(int llamadas) {
+        verify(productosService, times(llamadas)).crearProductosLote(lotesEnviados.capture());
+        return lotesEnviados.getAllValues().stream()
+                .map(lote -> lote.stream().map(ProductoRequestJsonApiDTO.Data::getAttributes)
+                        .map(ProductoRequestJsonApiDTO.Attributes::getNombre).toList())
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ImportacionError> erroresGuardados() {
+        ArgumentCaptor<List<ImportacionError>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importacionRepository, atLeastOnce()).guardarErrores(captor.capture());
+        List<ImportacionError> errores = new ArrayList<>();
+        captor.getAllValues().forEach(errores::addAll);
+        return errores;
+    }
+}
@@ -0,0 +1,213 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.productos.productos.aplication.concurrent.AgrupadorInventario;
+import com.productos.productos.aplication.concurrent.EjecutorEtapas;
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventarioConRespaldo - Tests Unitarios")
+class InventarioConRespaldoTest {
+    @Mock
+    private InventarioClient inventarioClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AgrupadorInventario agrupadorInventario;
+    private CircuitBreaker circuitBreaker;
+    private InventarioConRespaldo inventarioConRespaldo;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        agrupadorInventario = new AgrupadorInventario(inventarioClient, meterRegistry, 0, 100);
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        circuitBreaker = registry.circuitBreaker(InventarioConRespaldo.CIRCUITO);
+        inventarioConRespaldo = new InventarioConRespaldo(inventarioClient, agrupadorInventario, registry, meterRegistry, 200, 100, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        agrupadorInventario.cerrarEjecutores();
+    }
+
+    @Test
+    @DisplayName("Una lectura exitosa debe devolver las cantidades en vivo y registrar el éxito")
+    void leer_exitosa_devuelveCantidadesEnVivo() {
+        // Arrange
+        when(inventarioClient.obtenerInventariosAsync(List.of(1L, 2L)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(inventario(1L, 10), inventario(2L, 20))));
+
+        // Act
+        InventarioConRespaldo.Lectura lectura = EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L, 2L)));
+
+        // Assert
+        assertFalse(lectura.degradada());
+        assertEquals(10, lectura.cantidades().get(1L));
+        assertEquals(20, lectura.cantidades().get(2L));
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    @DisplayName("Con el circuito cerrado un fallo debe propagarse y contarse en el circuito")
+    void leer_falloConCircuitoCerrado_propagaExcepcion() {
+        // Arrange
+        when(inventarioClient.obtenerInventariosAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new InventarioException("Fallo al conectar con el inventario.", "")));
+
+        // Act & Assert
+        assertThrows(InventarioException.class, () -> EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L))));
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("Un 4xx de inventario debe propagarse sin contarse como fallo del circuito")
+    void leer_rechazoDelCliente_noCuentaComoFallo() {
+        // Arrange
+        HttpClientErrorException rechazo = HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null);
+        when(inventarioClient.obtenerInventariosAsync(anyList()))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new InventarioException("Fallo al conectar con el inventario.", "", rechazo)));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertThrows(InventarioException.class, () -> EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L))));
+        }
+
+        // Assert
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Un 429 de inventario debe contarse como fallo del circuito")
+    void leer_demasiadasPeticiones_cuentaComoFallo() {
+        // Arrange
+        HttpClientErrorException saturado = HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+        when(inventarioClient.obtenerInventariosAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new InventarioException("Fallo al conectar con el inventario.", "", saturado)));
+
+        // Act & Assert
+        assertThrows(InventarioException.class, () -> EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L))));
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("Con el circuito abierto debe responder las últimas cantidades conocidas sin llamar a inventario")
+    void leer_circuitoAbierto_devuelveUltimasCantidadesConocidas() {
+        // Arrange: una lectura previa deja la cantidad del producto 1
+        when(inventarioClient.obtenerInventariosAsync(List.of(1L)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(inventario(1L, 10))));
+        EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L)));
+        circuitBreaker.transitionToOpenState();
+
+        // Act
+        InventarioConRespaldo.Lectura lectura = EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L, 2L)));
+
+        // Assert
+        assertTrue(lectura.degradada());
+        assertEquals(10, lectura.cantidades().get(1L));
+        assertNull(lectura.cantidades().get(2L));
+        verify(inventarioClient, times(1)).obtenerInventariosAsync(anyList());
+        assertEquals(1.0, meterRegistry.get("productos.inventario.degradadas").counter().count());
+    }
+
+    @Test
+    @DisplayName("Los fallos repetidos deben abrir el circuito")
+    void leer_fallosRepetidos_abreCircuito() {
+        // Arrange
+        when(inventarioClient.obtenerInventariosAsync(anyList()))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new InventarioException("Fallo al conectar con el inventario.", "")));
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            assertThrows(InventarioException.class, () -> EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L))));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L))).degradada());
+    }
+
+    @Test
+    @DisplayName("Vencer el plazo debe contarse como fallo y cortar la llamada")
+    void leer_plazoVencido_cuentaComoFallo() {
+        // Arrange
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> colgada = new CompletableFuture<>();
+        when(inventarioClient.obtenerInventariosAsync(anyList())).thenReturn(colgada);
+
+        // Act & Assert
+        InventarioException exception = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(InventarioException.class, () -> EjecutorEtapas.esperar(inventarioConRespaldo.leer(List.of(1L)))));
+        assertTrue(exception.getMessage().contains("200 ms"));
+        assertTrue(colgada.isCompletedExceptionally());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("Cancelar la lectura debe cortar la llamada sin contarla en el circuito")
+    void leer_cancelada_noCuentaEnCircuito() throws Exception {
+        // Arrange
+        CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> enCurso = new CompletableFuture<>();
+        when(inventarioClient.obtenerInventariosAsync(anyList())).thenReturn(enCurso);
+
+        // Act
+        inventarioConRespaldo.leer(List.of(1L)).cancel(true);
+
+        // Assert
+        assertTrue(enCurso.isCancelled());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+    }
+
+    @Test
+    @DisplayName("La lectura agrupada debe pasar por el agrupador de inventario")
+    void leerAgrupado_exitosa_usaAgrupador() throws Exception {
+        // Arrange: con ventana 0 el agrupador delega en la variante asíncrona del cliente
+        when(inventarioClient.obtenerInventariosAsync(List.of(3L)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(inventario(3L, 30))));
+
+        // Act
+        InventarioConRespaldo.Lectura lectura = inventarioConRespaldo.leerAgrupado(List.of(3L)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(30, lectura.cantidades().get(3L));
+    }
+
+    private static InventarioResponseJsonApiDTO.Data inventario(Long productoId, int cantidad) {
+        InventarioResponseJsonApiDTO.Data.Attributes attributes = new InventarioResponseJsonApiDTO.Data.Attributes();
+        attributes.setProductoId(productoId);
+        attributes.setCantidadDisponible(cantidad);
+
+        InventarioResponseJsonApiDTO.Data data = new InventarioResponseJsonApiDTO.Data();
+        data.setId(String.valueOf(productoId));
+        data.setType("inventario");
+        data.setAttributes(attributes);
+        return data;
+    }
+}
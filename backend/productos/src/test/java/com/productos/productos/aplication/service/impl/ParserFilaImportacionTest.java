@@ -0,0 +1,96 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParserFilaImportacion - Tests Unitarios")
+class ParserFilaImportacionTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("NDJSON debe aceptar las líneas de /export y también solo los atributos")
+    void parsear_ndjson_aceptaRecursoYAtributos() throws IOException {
+        // Arrange
+        ParserFilaImportacion parser = parser(ImportacionProductos.Formato.NDJSON, "");
+
+        // Act
+        ProductoRequestJsonApiDTO.Data recurso = parser.parsear(
+                "{\"type\":\"producto\",\"id\":\"9\",\"attributes\":{\"nombre\":\"Mouse\",\"precio\":25.5,\"cantidad\":3,\"creadoEn\":\"2024-01-01T10:00:00\"}}");
+        ProductoRequestJsonApiDTO.Data atributos = parser.parsear("{\"nombre\":\"Teclado\",\"precio\":40,\"cantidad\":2}");
+
+        // Assert
+        assertEquals(0, parser.lineasCabecera());
+        assertEquals("Mouse", recurso.getAttributes().getNombre());
+        assertEquals(new BigDecimal("25.5"), recurso.getAttributes().getPrecio());
+        assertEquals("Teclado", atributos.getAttributes().getNombre());
+        assertEquals(2, atributos.getAttributes().getCantidad());
+    }
+
+    @Test
+    @DisplayName("NDJSON inválido debe rechazarse con el motivo")
+    void parsear_ndjsonInvalido_lanzaExcepcion() throws IOException {
+        ParserFilaImportacion parser = parser(ImportacionProductos.Formato.NDJSON, "");
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> parser.parsear("{\"nombre\":"));
+        assertTrue(error.getMessage().startsWith("JSON inválido"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parsear("[1, 2]"));
+    }
+
+    @Test
+    @DisplayName("CSV debe mapear columnas por nombre de cabecera y respetar comillas")
+    void parsear_csv_mapeaPorCabecera() throws IOException {
+        // Arrange
+        ParserFilaImportacion parser = parser(ImportacionProductos.Formato.CSV, "\uFEFFCantidad,Nombre,precio,descripcion\n");
+
+        // Act
+        ProductoRequestJsonApiDTO.Data data = parser.parsear("7,\"Monitor, 27\"\"\",199.90,");
+
+        // Assert
+        assertEquals(1, parser.lineasCabecera());
+        assertEquals("Monitor, 27\"", data.getAttributes().getNombre());
+        assertEquals(new BigDecimal("199.90"), data.getAttributes().getPrecio());
+        assertEquals(7, data.getAttributes().getCantidad());
+        assertNull(data.getAttributes().getDescripcion());
+        assertNull(data.getAttributes().getCategoria());
+    }
+
+    @Test
+    @DisplayName("CSV con números inválidos o comillas sin cerrar debe rechazar la fila")
+    void parsear_csvInvalido_lanzaExcepcion() throws IOException {
+        ParserFilaImportacion parser = parser(ImportacionProductos.Formato.CSV, "nombre,precio,cantidad\n");
+
+        assertEquals("Precio inválido: 'abc'",
+                assertThrows(IllegalArgumentException.class, () -> parser.parsear("Mouse,abc,1")).getMessage());
+        assertEquals("Cantidad inválida: '1.5'",
+                assertThrows(IllegalArgumentException.class, () -> parser.parsear("Mouse,10,1.5")).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parser.parsear("\"Mouse,10,1"));
+    }
+
+    @Test
+    @DisplayName("CSV sin las columnas obligatorias debe rechazar el archivo")
+    void para_cabeceraIncompleta_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> parser(ImportacionProductos.Formato.CSV, "nombre,precio\n"));
+        assertThrows(IllegalArgumentException.class, () -> parser(ImportacionProductos.Formato.CSV, ""));
+    }
+
+    @Test
+    @DisplayName("Debe separar campos vacíos y comillas escapadas")
+    void campos_lineaConComillas_separaCorrectamente() {
+        assertEquals(List.of("a", "", "b,\"c\"", ""), ParserFilaImportacion.campos("a,,\"b,\"\"c\"\"\","));
+    }
+
+    private ParserFilaImportacion parser(ImportacionProductos.Formato formato, String cabecera) throws IOException {
+        return ParserFilaImportacion.para(formato, objectMapper, new BufferedReader(new StringReader(cabecera)));
+    }
+}
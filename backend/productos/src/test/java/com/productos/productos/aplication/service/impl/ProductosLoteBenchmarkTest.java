@@ -0,0 +1,116 @@
+package com.productos.productos.aplication.service.impl;
+
+import com.productos.productos.aplication.service.ProductosService;
+import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el throughput de crear 10.000 productos uno por uno contra crearlos por lotes de 1.000,
+ * incluyendo en ambos casos el registro en el outbox de inventario.
+ * No corre en el build normal; ejecutar con:
+ * ./mvnw test -Dtest=ProductosLoteBenchmarkTest -Dbenchmark=true [-Dbenchmark.productos=10000]
+ * Por defecto usa el H2 del perfil de test; para medir contra PostgreSQL (donde más se nota
+ * reWriteBatchedInserts) basta con pasar -Dspring.datasource.url=... y las demás propiedades
+ * del datasource como en PaginacionCursorBenchmarkTest.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Creación unitaria vs por lote")
+class ProductosLoteBenchmarkTest {
+    private static final int TAMANO_LOTE = 1_000;
+
+    @Autowired
+    private ProductosService productosService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final int productos = Integer.getInteger("benchmark.productos", 10_000);
+
+    @BeforeEach
+    void limpiarTablas() {
+        jdbcTemplate.update("DELETE FROM dbo.inventario_pendiente");
+        jdbcTemplate.update("DELETE FROM dbo.productos");
+    }
+
+    @Test
+    @DisplayName("Crear por lote debe superar en throughput a la creación unitaria")
+    void crearProductos_lote_superaCreacionUnitaria() {
+        // Calentamiento para que el JIT y el pool no sesguen la medición
+        crearUnoPorUno(200);
+        crearPorLotes(TAMANO_LOTE);
+        limpiarTablas();
+
+        long inicio = System.nanoTime();
+        crearUnoPorUno(productos);
+        double unitarioMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        limpiarTablas();
+
+        inicio = System.nanoTime();
+        int creados = crearPorLotes(productos);
+        double loteMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        System.out.printf("""
+                [Benchmark] Creación de %d productos con su pendiente de inventario
+                  uno por uno:          %10.2f ms  (%8.0f productos/s)
+                  lotes de %d:       %10.2f ms  (%8.0f productos/s)
+                %n""", productos, unitarioMs, productos / (unitarioMs / 1000),
+                TAMANO_LOTE, loteMs, productos / (loteMs / 1000));
+
+        assertEquals(productos, creados);
+        assertTrue(loteMs < unitarioMs, "crear por lotes debe ser más rápido que uno por uno");
+    }
+
+    private void crearUnoPorUno(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            ProductoRequestJsonApiDTO request = new ProductoRequestJsonApiDTO();
+            request.setData(item(i));
+            productosService.crearProducto(request);
+        }
+    }
+
+    private int crearPorLotes(int cantidad) {
+        int creados = 0;
+        for (int desde = 0; desde < cantidad; desde += TAMANO_LOTE) {
+            List<ProductoRequestJsonApiDTO.Data> items = new ArrayList<>(TAMANO_LOTE);
+            for (int i = desde; i < Math.min(cantidad, desde + TAMANO_LOTE); i++) {
+                items.add(item(i));
+            }
+            creados += productosService.crearProductosLote(items).creados().size();
+        }
+        return creados;
+    }
+
+    private static ProductoRequestJsonApiDTO.Data item(int i) {
+        ProductoRequestJsonApiDTO.Attributes attributes = new ProductoRequestJsonApiDTO.Attributes();
+        attributes.setNombre("Producto " + i);
+        attributes.setDescripcion("Descripción " + i);
+        attributes.setPrecio(BigDecimal.valueOf(i % 1000, 2));
+        attributes.setCategoria("Categoria " + i % 20);
+        attributes.setCantidad(1 + i % 50);
+
+        ProductoRequestJsonApiDTO.Data data = new ProductoRequestJsonApiDTO.Data();
+        data.setType("productos");
+        data.setAttributes(attributes);
+        return data;
+    }
+}
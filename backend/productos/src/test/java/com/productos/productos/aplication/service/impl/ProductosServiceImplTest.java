@@ -1,37 +1,64 @@
 package com.productos.productos.aplication.service.impl;
 
+import com.productos.productos.aplication.concurrent.AgrupadorInventario;
+import com.productos.productos.aplication.concurrent.CoalescedorPeticiones;
+import com.productos.productos.aplication.concurrent.EjecutorEtapas;
 import com.productos.productos.aplication.service.ProductoTransactionalService;
+import com.productos.productos.aplication.service.ProductosService;
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
 import com.productos.productos.domain.repository.ProductosRepository;
 import com.productos.productos.infrastructure.client.InventarioClient;
 import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.dto.ActualizacionPreciosMeta;
+import com.productos.productos.shared.dto.ActualizacionPreciosRequestDTO;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.CreacionLoteMeta;
 import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import com.productos.productos.shared.dto.LoteMeta;
+import com.productos.productos.shared.dto.MetaRespuesta;
+import com.productos.productos.shared.dto.ProductoLoteRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
 import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import com.productos.productos.shared.dto.pageable.CursorPaginacionMeta;
 import com.productos.productos.shared.dto.pageable.PageableRequest;
+import com.productos.productos.shared.dto.pageable.PaginacionMeta;
+import com.productos.productos.shared.dto.pageable.SlicePaginacionMeta;
+import com.productos.productos.shared.mapper.CursorCodec;
 import com.productos.productos.shared.mapper.ProductoMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -52,16 +79,44 @@ class ProductosServiceImplTest {
     @Mock
     private ProductoTransactionalService productoTransactionalService;
 
+    @Mock
+    private EstimadorTotalProductos estimadorTotalProductos;
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+
+    @Spy
+    private EjecutorEtapas ejecutorEtapas = new EjecutorEtapas(EXECUTOR, new SimpleMeterRegistry());
+
+    @Spy
+    private CacheListadoProductos cacheListadoProductos = new CacheListadoProductos(new SimpleMeterRegistry(), 100, 60);
+
+    @Spy
+    private CoalescedorPeticiones coalescedorPeticiones = new CoalescedorPeticiones(new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductosServiceImpl productosService;
 
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     private Producto producto;
+    private ProductoResumen productoResumen;
     private ProductoRequestJsonApiDTO productoRequest;
     private ProductoResponseJsonApiDTO.Data productoResponseData;
     private InventarioResponseJsonApiDTO.Data inventarioData;
 
     @BeforeEach
     void setUp() {
+        // Ventana 0: cada consulta de inventario va directo al mock del cliente
+        AgrupadorInventario agrupadorInventario = new AgrupadorInventario(inventarioClient, new SimpleMeterRegistry(), 0, 100);
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        ReflectionTestUtils.setField(productosService, "inventarioConRespaldo", new InventarioConRespaldo(
+                inventarioClient, agrupadorInventario, circuitBreakerRegistry, new SimpleMeterRegistry(), 5_000, 1_000, 60));
+        // La variante asíncrona delega en los stubs de la bloqueante que definen los tests y, como el
+        // cliente real, cancelarla interrumpe la llamada en curso
+        lenient().when(inventarioClient.obtenerInventariosAsync(anyList())).thenAnswer(invocation ->
+                new EjecutorEtapas(EXECUTOR, new SimpleMeterRegistry()).enParalelo("inventario",
+                        () -> inventarioClient.obtenerInventariosDesdeMicroservicio(invocation.getArgument(0))));
+
         // Setup Producto
         producto = new Producto();
         producto.setId(1L);
@@ -70,6 +125,8 @@ class ProductosServiceImplTest {
         producto.setPrecio(new BigDecimal("1500.00"));
         producto.setCategoria("Electrónica");
 
+        productoResumen = new ProductoResumen(1L, "Laptop", "Laptop gaming", new BigDecimal("1500.00"), "Electrónica", null, null);
+
         // Setup Request DTO
         ProductoRequestJsonApiDTO.Attributes requestAttributes = new ProductoRequestJsonApiDTO.Attributes();
         requestAttributes.setNombre("Laptop");
@@ -123,13 +180,11 @@ class ProductosServiceImplTest {
             pageableRequest.setOrder("asc");
             filtro.setPageable(pageableRequest);
 
-            Page<Producto> productosPage = new PageImpl<>(List.of(producto));
-
-            when(productosRepository.findAll(any(Specification.class), any(Pageable.class)))
-                    .thenReturn(productosPage);
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen)));
             when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
                     .thenReturn(List.of(inventarioData));
-            when(productoMapper.toJsonApiDTOData(any(Producto.class), anyInt()))
+            when(productoMapper.toJsonApiDTOData(any(ProductoResumen.class), anyInt(), eq(CampoProducto.TODOS)))
                     .thenReturn(productoResponseData);
 
             // Act
@@ -139,9 +194,9 @@ class ProductosServiceImplTest {
             assertNotNull(result);
             assertNotNull(result.getData());
             assertEquals(1, result.getData().size());
-            verify(productosRepository).findAll(any(Specification.class), any(Pageable.class));
+            verify(productosRepository).findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class));
             verify(inventarioClient).obtenerInventariosDesdeMicroservicio(anyList());
-            verify(productoMapper).toJsonApiDTOData(producto, 10);
+            verify(productoMapper).toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS);
         }
 
         @Test
@@ -155,13 +210,11 @@ class ProductosServiceImplTest {
             pageableRequest.setOrder("desc");
             filtro.setPageable(pageableRequest);
 
-            Page<Producto> productosPage = new PageImpl<>(List.of(producto));
-
-            when(productosRepository.findAll(any(Specification.class), any(Pageable.class)))
-                    .thenReturn(productosPage);
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen)));
             when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
                     .thenReturn(List.of(inventarioData));
-            when(productoMapper.toJsonApiDTOData(any(Producto.class), anyInt()))
+            when(productoMapper.toJsonApiDTOData(any(ProductoResumen.class), anyInt(), eq(CampoProducto.TODOS)))
                     .thenReturn(productoResponseData);
 
             // Act
@@ -169,7 +222,7 @@ class ProductosServiceImplTest {
 
             // Assert
             assertNotNull(result);
-            verify(productosRepository).findAll(any(Specification.class), any(Pageable.class));
+            verify(productosRepository).findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class));
         }
 
         @Test
@@ -183,13 +236,11 @@ class ProductosServiceImplTest {
             pageableRequest.setOrder("asc");
             filtro.setPageable(pageableRequest);
 
-            Page<Producto> productosPage = new PageImpl<>(List.of(producto));
-
-            when(productosRepository.findAll(any(Specification.class), any(Pageable.class)))
-                    .thenReturn(productosPage);
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen)));
             when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
                     .thenReturn(List.of());
-            when(productoMapper.toJsonApiDTOData(any(Producto.class), isNull()))
+            when(productoMapper.toJsonApiDTOData(any(ProductoResumen.class), isNull(), eq(CampoProducto.TODOS)))
                     .thenReturn(productoResponseData);
 
             // Act
@@ -197,7 +248,475 @@ class ProductosServiceImplTest {
 
             // Assert
             assertNotNull(result);
-            verify(productoMapper).toJsonApiDTOData(producto, null);
+            verify(productoMapper).toJsonApiDTOData(productoResumen, null, CampoProducto.TODOS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de getTodosLosProductos - Cache del listado")
+    class GetTodosLosProductosCacheTests {
+
+        @Test
+        @DisplayName("Debe servir desde cache la misma consulta hasta que el catálogo cambie")
+        void getTodosLosProductos_mismaConsulta_seSirveDesdeCacheHastaInvalidar() {
+            // Arrange
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen)));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO primera = productosService.getTodosLosProductos(new ProductoFiltroDTO(), "http://localhost:8080");
+            ProductoResponseJsonApiDTO segunda = productosService.getTodosLosProductos(new ProductoFiltroDTO(), "http://localhost:8080");
+            cacheListadoProductos.invalidar();
+            productosService.getTodosLosProductos(new ProductoFiltroDTO(), "http://localhost:8080");
+
+            // Assert
+            assertSame(primera, segunda);
+            verify(productosRepository, times(2)).findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class));
+            verify(inventarioClient, times(2)).obtenerInventariosDesdeMicroservicio(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de getTodosLosProductos - Etapas concurrentes")
+    class GetTodosLosProductosEtapasTests {
+
+        @Test
+        @DisplayName("Debe contar en otro hilo mientras lee la página y el inventario")
+        void getTodosLosProductos_hayPaginaSiguiente_cuentaEnParalelo() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            Thread hiloPeticion = Thread.currentThread();
+            Thread[] hiloConteo = new Thread[1];
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(0, 10), true));
+            when(productosRepository.count(any(ProductoFiltroDTO.class))).thenAnswer(invocation -> {
+                hiloConteo[0] = Thread.currentThread();
+                return 42L;
+            });
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            PaginacionMeta meta = (PaginacionMeta) result.getMeta();
+            assertEquals(42L, meta.getTotal());
+            assertEquals(5, meta.getTotalPages());
+            assertNotNull(hiloConteo[0]);
+            assertNotSame(hiloPeticion, hiloConteo[0]);
+        }
+
+        @Test
+        @DisplayName("Debe deducir el total de la última página sin esperar el conteo")
+        void getTodosLosProductos_ultimaPaginaIncompleta_noEsperaConteo() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setPage(3);
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(3, 10), false));
+            lenient().when(productosRepository.count(any(ProductoFiltroDTO.class))).thenReturn(999L);
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            assertEquals(31L, ((PaginacionMeta) result.getMeta()).getTotal());
+        }
+
+        @Test
+        @DisplayName("Debe propagar la excepción original cuando falla el conteo")
+        void getTodosLosProductos_falloEnConteo_propagaExcepcionOriginal() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(0, 10), true));
+            when(productosRepository.count(any(ProductoFiltroDTO.class)))
+                    .thenThrow(new IllegalStateException("BD no disponible"));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act & Assert
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> productosService.getTodosLosProductos(filtro, "http://localhost:8080"));
+            assertEquals("BD no disponible", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de getTodosLosProductos - Modos de total")
+    class GetTodosLosProductosTotalModoTests {
+
+        @Test
+        @DisplayName("Modo none debe usar slice sin contar e indicar hasNext")
+        void getTodosLosProductos_totalNone_noCuenta() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setTotal("none");
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(0, 10), true));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            SlicePaginacionMeta meta = (SlicePaginacionMeta) result.getMeta();
+            assertEquals("none", meta.getTotalMode());
+            assertTrue(meta.isHasNext());
+            assertEquals("http://localhost:8080?page=1", result.getLinks().getNext());
+            verify(productosRepository, never()).findAll(any(), any(Pageable.class));
+            verify(productosRepository, never()).count(any(ProductoFiltroDTO.class));
+        }
+
+        @Test
+        @DisplayName("Modo estimate debe tomar el total del estimador")
+        void getTodosLosProductos_totalEstimate_usaEstimador() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setTotal("estimate");
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(0, 10), true));
+            when(estimadorTotalProductos.estimar(filtro)).thenReturn(5000L);
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            PaginacionMeta meta = (PaginacionMeta) result.getMeta();
+            assertEquals("estimate", meta.getTotalMode());
+            assertEquals(5000L, meta.getTotal());
+            assertEquals(500, meta.getTotalPages());
+            verify(productosRepository, never()).findAll(any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Modo estimate no debe informar menos elementos de los ya leídos")
+        void getTodosLosProductos_estimacionBaja_seAjustaAlMinimoConocido() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setPage(2);
+            filtro.getPageable().setTotal("estimate");
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(2, 10), true));
+            when(estimadorTotalProductos.estimar(filtro)).thenReturn(3L);
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            PaginacionMeta meta = (PaginacionMeta) result.getMeta();
+            assertEquals(31L, meta.getTotal());
+            assertNotNull(result.getLinks().getNext());
+        }
+
+        @Test
+        @DisplayName("Modo exact debe indicar el modo en meta")
+        void getTodosLosProductos_totalExact_indicaModo() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen)));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            assertEquals("exact", ((PaginacionMeta) result.getMeta()).getTotalMode());
+            verifyNoInteractions(estimadorTotalProductos);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar un modo de total desconocido")
+        void getTodosLosProductos_totalInvalido_lanzaExcepcion() {
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setTotal("aproximado");
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> productosService.getTodosLosProductos(filtro, "http://localhost:8080"));
+            verifyNoInteractions(productosRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de getTodosLosProductos - Paginación por cursor")
+    class GetTodosLosProductosCursorTests {
+
+        @Test
+        @DisplayName("Debe usar findResumenes sin contar y emitir links por cursor")
+        void getTodosLosProductos_cursorAfter_usaSliceYLinksCursor() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setSize(1);
+            filtro.getPageable().setAfter(CursorCodec.encode(0L));
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(0, 1), true));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L)))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            assertEquals(1, result.getData().size());
+            assertEquals("http://localhost:8080?after=" + CursorCodec.encode(1L), result.getLinks().getNext());
+            assertEquals("http://localhost:8080?before=" + CursorCodec.encode(1L), result.getLinks().getPrev());
+            CursorPaginacionMeta meta = (CursorPaginacionMeta) result.getMeta();
+            assertTrue(meta.isHasNext());
+            assertTrue(meta.isHasPrev());
+            verify(productosRepository, never()).findAll(any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Cursor vacío inicia el recorrido sin página anterior")
+        void getTodosLosProductos_cursorVacio_noTienePrev() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setAfter("");
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen), PageRequest.of(0, 10), false));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            CursorPaginacionMeta meta = (CursorPaginacionMeta) result.getMeta();
+            assertFalse(meta.isHasNext());
+            assertFalse(meta.isHasPrev());
+            assertNull(result.getLinks().getNext());
+            assertNull(result.getLinks().getPrev());
+        }
+
+        @Test
+        @DisplayName("Con 'before' debe recorrer en orden inverso y restaurar el orden pedido")
+        void getTodosLosProductos_cursorBefore_invierteOrden() {
+            // Arrange
+            ProductoResumen segundo = new ProductoResumen(2L, "Mouse", null, BigDecimal.TEN, "Accesorios", null, null);
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setBefore(CursorCodec.encode(3L));
+
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(segundo, productoResumen), PageRequest.of(0, 10), false));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of());
+            when(productoMapper.toJsonApiDTOData(any(ProductoResumen.class), isNull(), eq(CampoProducto.TODOS)))
+                    .thenAnswer(invocation -> {
+                        ProductoResponseJsonApiDTO.Data data = new ProductoResponseJsonApiDTO.Data();
+                        data.setId(String.valueOf(invocation.getArgument(0, ProductoResumen.class).id()));
+                        return data;
+                    });
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            verify(productosRepository).findResumenes(any(ProductoFiltroDTO.class), pageableCaptor.capture());
+            assertEquals(Sort.Direction.DESC, pageableCaptor.getValue().getSort().getOrderFor("id").getDirection());
+            assertEquals("1", result.getData().get(0).getId());
+            assertEquals("2", result.getData().get(1).getId());
+            CursorPaginacionMeta meta = (CursorPaginacionMeta) result.getMeta();
+            assertTrue(meta.isHasNext());
+            assertFalse(meta.isHasPrev());
+        }
+
+        @Test
+        @DisplayName("Debe lanzar IllegalArgumentException con un cursor inválido")
+        void getTodosLosProductos_cursorInvalido_lanzaExcepcion() {
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setAfter("no-es-un-cursor");
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> productosService.getTodosLosProductos(filtro, "http://localhost:8080"));
+            verifyNoInteractions(inventarioClient);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de campos pedidos (fields[producto])")
+    class CamposPedidosTests {
+
+        @Test
+        @DisplayName("El listado sin cantidad no debe consultar inventario")
+        void getTodosLosProductos_sinCantidad_noConsultaInventario() {
+            // Arrange
+            Set<CampoProducto> campos = EnumSet.of(CampoProducto.NOMBRE, CampoProducto.PRECIO);
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.getPageable().setTotal("none");
+            filtro.setCampos(campos);
+            when(productosRepository.findResumenes(any(ProductoFiltroDTO.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(productoResumen)));
+            when(productoMapper.toJsonApiDTOData(productoResumen, null, campos))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getTodosLosProductos(filtro, "http://localhost:8080");
+
+            // Assert
+            assertEquals(1, result.getData().size());
+            verifyNoInteractions(inventarioClient);
+        }
+
+        @Test
+        @DisplayName("El detalle sin cantidad debe leer la proyección y no consultar inventario")
+        void getProductoPorId_sinCantidad_leeProyeccionSinInventario() {
+            // Arrange
+            Set<CampoProducto> campos = EnumSet.of(CampoProducto.NOMBRE);
+            when(productosRepository.findResumenById(1L, campos)).thenReturn(Optional.of(productoResumen));
+            when(productoMapper.toJsonApiDTOData(productoResumen, null, campos))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getProductoPorId(1L, campos);
+
+            // Assert
+            assertEquals("1", result.getData().get(0).getId());
+            verify(productosRepository, never()).findById(anyLong());
+            verifyNoInteractions(inventarioClient);
+        }
+
+        @Test
+        @DisplayName("El detalle con cantidad debe consultar inventario")
+        void getProductoPorId_conCantidad_consultaInventario() {
+            // Arrange
+            Set<CampoProducto> campos = EnumSet.of(CampoProducto.NOMBRE, CampoProducto.CANTIDAD);
+            when(productosRepository.findResumenById(1L, campos)).thenReturn(Optional.of(productoResumen));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L)))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, campos))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getProductoPorId(1L, campos);
+
+            // Assert
+            assertEquals(1, result.getData().size());
+            verify(inventarioClient).obtenerInventariosDesdeMicroservicio(List.of(1L));
+        }
+
+        @Test
+        @DisplayName("El detalle de un producto inexistente debe lanzar EntityNotFoundException")
+        void getProductoPorId_camposProductoNoExiste_lanzaExcepcion() {
+            // Arrange
+            Set<CampoProducto> campos = EnumSet.of(CampoProducto.PRECIO);
+            when(productosRepository.findResumenById(999L, campos)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(EntityNotFoundException.class, () -> productosService.getProductoPorId(999L, campos));
+            verifyNoInteractions(productoMapper);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de getProductosPorIds")
+    class GetProductosPorIdsTests {
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(productosService, "maxIdsPorLote", 3);
+        }
+
+        @Test
+        @DisplayName("Debe respetar el orden pedido, informar faltantes y consultar inventario una vez")
+        void getProductosPorIds_idsMixtos_respetaOrdenEInformaFaltantes() {
+            // Arrange
+            ProductoResumen otro = new ProductoResumen(2L, "Mouse", "Mouse", new BigDecimal("25.00"), "Accesorios",
+                    productoResumen.creadoEn(), productoResumen.actualizadoEn());
+            ProductoResponseJsonApiDTO.Data otroData = new ProductoResponseJsonApiDTO.Data();
+            otroData.setId("2");
+            when(productosRepository.findResumenesByIds(List.of(2L, 99L, 1L), CampoProducto.TODOS))
+                    .thenReturn(List.of(productoResumen, otro));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(2L, 99L, 1L)))
+                    .thenReturn(List.of(inventarioData));
+            when(productoMapper.toJsonApiDTOData(otro, null, CampoProducto.TODOS)).thenReturn(otroData);
+            when(productoMapper.toJsonApiDTOData(productoResumen, 10, CampoProducto.TODOS)).thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getProductosPorIds(List.of(2L, 99L, 1L, 2L), CampoProducto.TODOS);
+
+            // Assert
+            assertEquals(List.of("2", "1"), result.getData().stream().map(ProductoResponseJsonApiDTO.Data::getId).toList());
+            LoteMeta meta = assertInstanceOf(LoteMeta.class, result.getMeta());
+            assertEquals(3, meta.getRequested());
+            assertEquals(2, meta.getFound());
+            assertEquals(List.of("99"), meta.getMissing());
+            verify(productosRepository, times(1)).findResumenesByIds(anyCollection(), any());
+            verify(inventarioClient, times(1)).obtenerInventariosDesdeMicroservicio(anyList());
+        }
+
+        @Test
+        @DisplayName("Sin cantidad no debe consultar inventario")
+        void getProductosPorIds_sinCantidad_noConsultaInventario() {
+            // Arrange
+            Set<CampoProducto> campos = EnumSet.of(CampoProducto.NOMBRE);
+            when(productosRepository.findResumenesByIds(List.of(1L), campos)).thenReturn(List.of(productoResumen));
+            when(productoMapper.toJsonApiDTOData(productoResumen, null, campos)).thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getProductosPorIds(List.of(1L), campos);
+
+            // Assert
+            assertEquals(1, result.getData().size());
+            verifyNoInteractions(inventarioClient);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar más ids que el máximo por lote")
+        void getProductosPorIds_excedeMaximo_lanzaExcepcion() {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> productosService.getProductosPorIds(List.of(1L, 2L, 3L, 4L), CampoProducto.TODOS));
+            verifyNoInteractions(productosRepository, inventarioClient);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar una lista vacía")
+        void getProductosPorIds_listaVacia_lanzaExcepcion() {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> productosService.getProductosPorIds(List.of(), CampoProducto.TODOS));
         }
     }
 
@@ -227,6 +746,23 @@ class ProductosServiceImplTest {
             verify(inventarioClient).obtenerInventariosDesdeMicroservicio(List.of(1L));
         }
 
+        @Test
+        @DisplayName("Con el circuito de inventario abierto debe responder sin cantidad y marcar meta.inventario")
+        void getProductoPorId_circuitoAbierto_respondeDegradado() {
+            // Arrange
+            circuitBreakerRegistry.circuitBreaker("inventario").transitionToOpenState();
+            when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+            when(productoMapper.toJsonApiDTOData(producto, null)).thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getProductoPorId(1L);
+
+            // Assert
+            assertTrue(result.isInventarioDegradado());
+            assertEquals(MetaRespuesta.INVENTARIO_DEGRADADO, ((MetaRespuesta) result.getMeta()).getInventario());
+            verify(inventarioClient, never()).obtenerInventariosDesdeMicroservicio(anyList());
+        }
+
         @Test
         @DisplayName("Debe lanzar EntityNotFoundException cuando producto no existe")
         void getProductoPorId_productoNoExiste_lanzaExcepcion() {
@@ -241,7 +777,99 @@ class ProductosServiceImplTest {
 
             assertTrue(exception.getMessage().contains("Producto no encontrado con ID: 999"));
             verify(productosRepository).findById(999L);
-            verifyNoInteractions(inventarioClient);
+        }
+
+        @Test
+        @DisplayName("Debe consultar producto e inventario en paralelo")
+        void getProductoPorId_productoExiste_consultaAmbosEnParalelo() throws InterruptedException {
+            // Arrange
+            CountDownLatch inventarioIniciado = new CountDownLatch(1);
+            when(productosRepository.findById(1L)).thenAnswer(invocation -> {
+                // Solo termina si el inventario ya se está consultando al mismo tiempo
+                assertTrue(inventarioIniciado.await(5, TimeUnit.SECONDS));
+                return Optional.of(producto);
+            });
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L))).thenAnswer(invocation -> {
+                inventarioIniciado.countDown();
+                return List.of(inventarioData);
+            });
+            when(productoMapper.toJsonApiDTOData(producto, 10))
+                    .thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.getProductoPorId(1L);
+
+            // Assert
+            assertEquals(1, result.getData().size());
+        }
+
+        @Test
+        @DisplayName("Debe cancelar la consulta de inventario en curso cuando el producto no existe")
+        void getProductoPorId_productoNoExiste_cancelaInventario() throws InterruptedException {
+            // Arrange
+            CountDownLatch inventarioIniciado = new CountDownLatch(1);
+            CountDownLatch inventarioInterrumpido = new CountDownLatch(1);
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(999L))).thenAnswer(invocation -> {
+                inventarioIniciado.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    inventarioInterrumpido.countDown();
+                }
+                return List.of();
+            });
+            when(productosRepository.findById(999L)).thenAnswer(invocation -> {
+                assertTrue(inventarioIniciado.await(5, TimeUnit.SECONDS));
+                return Optional.empty();
+            });
+
+            // Act & Assert
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                    EntityNotFoundException.class,
+                    () -> productosService.getProductoPorId(999L)
+            ));
+            assertTrue(inventarioInterrumpido.await(5, TimeUnit.SECONDS));
+            verifyNoInteractions(productoMapper);
+        }
+
+        @Test
+        @DisplayName("Debe fallar con InventarioException cuando inventario excede su plazo")
+        void getProductoPorId_inventarioExcedePlazo_fallaSinEsperarRespuesta() {
+            // Arrange
+            ReflectionTestUtils.setField(productosService, "inventarioConRespaldo", new InventarioConRespaldo(inventarioClient,
+                    new AgrupadorInventario(inventarioClient, new SimpleMeterRegistry(), 0, 100),
+                    circuitBreakerRegistry, new SimpleMeterRegistry(), 100, 1_000, 60));
+            lenient().when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L))).thenAnswer(invocation -> {
+                Thread.sleep(10_000);
+                return List.of();
+            });
+
+            // Act & Assert
+            InventarioException exception = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                    InventarioException.class,
+                    () -> productosService.getProductoPorId(1L)
+            ));
+            assertTrue(exception.getMessage().contains("100 ms"));
+        }
+
+        @Test
+        @DisplayName("Debe fallar sin esperar al producto cuando inventario responde con error")
+        void getProductoPorId_inventarioFalla_fallaSinEsperarProducto() {
+            // Arrange: el fallo de inventario puede llegar antes de que arranque la búsqueda del producto
+            lenient().when(productosRepository.findById(1L)).thenAnswer(invocation -> {
+                Thread.sleep(10_000);
+                return Optional.of(producto);
+            });
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L)))
+                    .thenThrow(new InventarioException("Fallo al conectar con el inventario.", "404"));
+
+            // Act & Assert
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                    InventarioException.class,
+                    () -> productosService.getProductoPorId(1L)
+            ));
+            verifyNoInteractions(productoMapper);
         }
 
         @Test
@@ -268,14 +896,12 @@ class ProductosServiceImplTest {
     class CrearProductoTests {
 
         @Test
-        @DisplayName("Debe crear producto exitosamente con inventario")
+        @DisplayName("Debe crear producto con la cantidad pedida sin esperar a inventario")
         void crearProducto_datosValidos_creaProductoYInventario() {
             // Arrange
             when(productoMapper.fromCreateDTO(productoRequest)).thenReturn(producto);
             when(productoTransactionalService.crearProductoYInventario(any(Producto.class), anyInt()))
                     .thenReturn(producto);
-            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
-                    .thenReturn(List.of(inventarioData));
             when(productoMapper.toJsonApiDTOData(producto, 10))
                     .thenReturn(productoResponseData);
 
@@ -288,7 +914,8 @@ class ProductosServiceImplTest {
             assertEquals(1, result.getData().size());
             verify(productoMapper).fromCreateDTO(productoRequest);
             verify(productoTransactionalService).crearProductoYInventario(producto, 10);
-            verify(inventarioClient).obtenerInventariosDesdeMicroservicio(anyList());
+            verifyNoInteractions(inventarioClient);
+            verify(cacheListadoProductos).invalidar();
         }
 
         @Test
@@ -308,47 +935,368 @@ class ProductosServiceImplTest {
             assertTrue(exception.getMessage().contains("Error de integridad al guardar el producto"));
             verify(productoTransactionalService).crearProductoYInventario(producto, 10);
             verifyNoInteractions(inventarioClient);
+            verify(cacheListadoProductos, never()).invalidar();
         }
 
         @Test
-        @DisplayName("Debe lanzar InventarioException cuando falla creación de inventario")
-        void crearProducto_errorInventario_lanzaInventarioException() {
+        @DisplayName("Debe propagar el error de la transacción sin invalidar la cache")
+        void crearProducto_errorTransaccion_propagaExcepcion() {
             // Arrange
+            RuntimeException error = new RuntimeException("Outbox no disponible");
             when(productoMapper.fromCreateDTO(productoRequest)).thenReturn(producto);
             when(productoTransactionalService.crearProductoYInventario(any(Producto.class), anyInt()))
-                    .thenThrow(HttpClientErrorException.BadRequest.create(
-                            org.springframework.http.HttpStatus.BAD_REQUEST,
-                            "Bad Request",
-                            null,
-                            "Error en inventario".getBytes(),
-                            null
-                    ));
+                    .thenThrow(error);
 
             // Act & Assert
-            InventarioException exception = assertThrows(
-                    InventarioException.class,
+            RuntimeException exception = assertThrows(
+                    RuntimeException.class,
                     () -> productosService.crearProducto(productoRequest)
             );
 
-            assertTrue(exception.getMessage().contains("Fallo al crear inventario"));
+            assertSame(error, exception);
+            verifyNoInteractions(inventarioClient);
+            verify(cacheListadoProductos, never()).invalidar();
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de crearProductos")
+    class CrearProductosTests {
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(productosService, "maxCreacionPorLote", 1000);
         }
 
         @Test
-        @DisplayName("Debe lanzar InventarioException cuando hay error de servidor en inventario")
-        void crearProducto_errorServidorInventario_lanzaInventarioException() {
+        @DisplayName("Debe crear los válidos en una sola transacción e informar los rechazados por posición")
+        void crearProductos_loteMixto_creaValidosYReportaErrores() {
             // Arrange
-            when(productoMapper.fromCreateDTO(productoRequest)).thenReturn(producto);
-            when(productoTransactionalService.crearProductoYInventario(any(Producto.class), anyInt()))
-                    .thenThrow(HttpServerErrorException.InternalServerError.create(
-                            org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR,
-                            "Internal Server Error",
-                            null,
-                            "Error servidor".getBytes(),
-                            null
-                    ));
+            ProductoRequestJsonApiDTO.Data sinPrecio = itemLote("Mouse", null, 3);
+            ProductoRequestJsonApiDTO.Data sinCantidad = itemLote("Teclado", new BigDecimal("20.00"), 0);
+            ProductoLoteRequestJsonApiDTO lote = new ProductoLoteRequestJsonApiDTO(
+                    List.of(productoRequest.getData(), sinPrecio, sinCantidad));
+            when(productoMapper.fromCreateDTO(any(ProductoRequestJsonApiDTO.class))).thenReturn(producto);
+            when(productoTransactionalService.crearProductosYInventarios(List.of(producto), List.of(10)))
+                    .thenReturn(List.of(producto));
+            when(productoMapper.toJsonApiDTOData(producto, 10)).thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.crearProductos(lote);
+
+            // Assert
+            assertEquals(List.of(productoResponseData), result.getData());
+            CreacionLoteMeta meta = assertInstanceOf(CreacionLoteMeta.class, result.getMeta());
+            assertEquals(3, meta.getRequested());
+            assertEquals(1, meta.getCreated());
+            assertEquals(List.of(1, 2), meta.getErrors().stream().map(CreacionLoteMeta.Error::getIndex).toList());
+            verify(cacheListadoProductos).invalidar();
+            verifyNoInteractions(inventarioClient);
+        }
+
+        @Test
+        @DisplayName("La creación interna debe devolver los creados con su cantidad y los rechazos sin armar la respuesta")
+        void crearProductosLote_loteMixto_devuelveCreadosYRechazos() {
+            // Arrange
+            ProductoRequestJsonApiDTO.Data sinPrecio = itemLote("Mouse", null, 3);
+            when(productoMapper.fromCreateDTO(any(ProductoRequestJsonApiDTO.class))).thenReturn(producto);
+            when(productoTransactionalService.crearProductosYInventarios(List.of(producto), List.of(10)))
+                    .thenReturn(List.of(producto));
+
+            // Act
+            ProductosService.CreacionLote creacion = productosService.crearProductosLote(
+                    List.of(sinPrecio, productoRequest.getData()));
+
+            // Assert
+            assertEquals(List.of(producto), creacion.creados());
+            assertEquals(List.of(10), creacion.cantidades());
+            assertEquals(List.of(0), creacion.rechazos().stream().map(ProductosService.Rechazo::posicion).toList());
+            verify(productoMapper, never()).toJsonApiDTOData(any(Producto.class), any());
+        }
+
+        @Test
+        @DisplayName("Sin productos válidos no debe abrir transacción ni invalidar la cache")
+        void crearProductos_todosInvalidos_noGuarda() {
+            // Arrange
+            ProductoLoteRequestJsonApiDTO lote = new ProductoLoteRequestJsonApiDTO(
+                    List.of(itemLote(" ", new BigDecimal("1.00"), 1)));
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.crearProductos(lote);
+
+            // Assert
+            assertTrue(result.getData().isEmpty());
+            assertEquals(0, ((CreacionLoteMeta) result.getMeta()).getCreated());
+            verifyNoInteractions(productoTransactionalService);
+            verify(cacheListadoProductos, never()).invalidar();
+        }
+
+        @Test
+        @DisplayName("Debe rechazar lotes vacíos o que superan el máximo configurado")
+        void crearProductos_loteVacioOExcedido_lanzaExcepcion() {
+            // Arrange
+            ReflectionTestUtils.setField(productosService, "maxCreacionPorLote", 2);
+            ProductoRequestJsonApiDTO.Data item = productoRequest.getData();
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> productosService.crearProductos(new ProductoLoteRequestJsonApiDTO(List.of())));
+            assertThrows(IllegalArgumentException.class,
+                    () -> productosService.crearProductos(new ProductoLoteRequestJsonApiDTO(List.of(item, item, item))));
+            verifyNoInteractions(productoTransactionalService);
+        }
+
+        private ProductoRequestJsonApiDTO.Data itemLote(String nombre, BigDecimal precio, Integer cantidad) {
+            ProductoRequestJsonApiDTO.Attributes attributes = new ProductoRequestJsonApiDTO.Attributes();
+            attributes.setNombre(nombre);
+            attributes.setPrecio(precio);
+            attributes.setCantidad(cantidad);
+
+            ProductoRequestJsonApiDTO.Data data = new ProductoRequestJsonApiDTO.Data();
+            data.setType("productos");
+            data.setAttributes(attributes);
+            return data;
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de actualizarProductoParcial")
+    class ActualizarProductoParcialTests {
+
+        @BeforeEach
+        void setUp() {
+            // Merge real del mapper: el servicio detecta los cambios sobre la entidad
+            ProductoMapper mapperReal = new ProductoMapper();
+            lenient().when(productoMapper.updateEntityFromDTO(any(Producto.class), any(ProductoRequestJsonApiDTO.class)))
+                    .thenAnswer(invocation -> mapperReal.updateEntityFromDTO(invocation.getArgument(0), invocation.getArgument(1)));
+        }
+
+        @Test
+        @DisplayName("Debe guardar solo si cambia un atributo y no contactar inventario sin cantidad")
+        void actualizarProductoParcial_soloPrecio_guardaSinInventario() {
+            // Arrange
+            when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+            when(productosRepository.save(producto)).thenReturn(producto);
+            when(productoMapper.toJsonApiDTOData(producto, (Integer) null)).thenReturn(productoResponseData);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.actualizarProductoParcial(1L, parcial(new BigDecimal("1399.90"), null));
+
+            // Assert
+            assertEquals(List.of(productoResponseData), result.getData());
+            assertEquals(new BigDecimal("1399.90"), producto.getPrecio());
+            assertEquals("Laptop", producto.getNombre());
+            verify(productosRepository).save(producto);
+            verify(cacheListadoProductos).invalidar();
+            verifyNoInteractions(inventarioClient);
+        }
+
+        @Test
+        @DisplayName("Sin cambios reales no debe emitir UPDATE ni invalidar la cache")
+        void actualizarProductoParcial_sinCambios_omiteUpdate() {
+            // Arrange
+            when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+            when(productoMapper.toJsonApiDTOData(producto, (Integer) null)).thenReturn(productoResponseData);
+
+            // Act
+            productosService.actualizarProductoParcial(1L, parcial(new BigDecimal("1500"), null));
+
+            // Assert
+            verify(productosRepository, never()).save(any());
+            verify(cacheListadoProductos, never()).invalidar();
+            verifyNoInteractions(inventarioClient);
+        }
+
+        @Test
+        @DisplayName("Solo con cantidad debe actualizar inventario sin consultarlo ni tocar el producto")
+        void actualizarProductoParcial_soloCantidad_actualizaInventarioSinConsultar() {
+            // Arrange
+            when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+            when(productoMapper.toJsonApiDTOData(producto, 7)).thenReturn(productoResponseData);
+
+            // Act
+            productosService.actualizarProductoParcial(1L, parcial(null, 7));
+
+            // Assert
+            verify(inventarioClient).actualizarInventario(1L, 7);
+            verify(inventarioClient, never()).obtenerInventariosDesdeMicroservicio(anyList());
+            verify(productosRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar atributos ausentes o valores inválidos sin consultar la base")
+        void actualizarProductoParcial_peticionInvalida_lanzaExcepcion() {
+            ProductoRequestJsonApiDTO sinAtributos = new ProductoRequestJsonApiDTO();
+            sinAtributos.setData(new ProductoRequestJsonApiDTO.Data());
+            ProductoRequestJsonApiDTO nombreVacio = parcial(null, null);
+            nombreVacio.getData().getAttributes().setNombre(" ");
+
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarProductoParcial(1L, sinAtributos));
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarProductoParcial(1L, nombreVacio));
+            assertThrows(IllegalArgumentException.class,
+                    () -> productosService.actualizarProductoParcial(1L, parcial(new BigDecimal("-1"), null)));
+            verifyNoInteractions(productosRepository);
+        }
+
+        @Test
+        @DisplayName("Debe aplicar a los atributos presentes las mismas restricciones de longitud y precisión que la creación")
+        void actualizarProductoParcial_fueraDeRestricciones_lanzaExcepcion() {
+            ProductoRequestJsonApiDTO nombreLargo = parcial(null, null);
+            nombreLargo.getData().getAttributes().setNombre("n".repeat(101));
+            ProductoRequestJsonApiDTO descripcionLarga = parcial(null, null);
+            descripcionLarga.getData().getAttributes().setDescripcion("d".repeat(256));
+            ProductoRequestJsonApiDTO categoriaLarga = parcial(null, null);
+            categoriaLarga.getData().getAttributes().setCategoria("c".repeat(51));
+
+            for (ProductoRequestJsonApiDTO request : List.of(nombreLargo, descripcionLarga, categoriaLarga,
+                    parcial(new BigDecimal("10.999"), null), parcial(new BigDecimal("123456789.00"), null), parcial(null, -1))) {
+                assertThrows(IllegalArgumentException.class, () -> productosService.actualizarProductoParcial(1L, request));
+            }
+            verifyNoInteractions(productosRepository);
+        }
+
+        @Test
+        @DisplayName("Una violación de integridad no debe exponer el detalle de la base")
+        void actualizarProductoParcial_violacionIntegridad_noExponeDetalle() {
+            // Arrange
+            when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+            when(productosRepository.save(producto))
+                    .thenThrow(new DataIntegrityViolationException("ERROR: value too long for type character varying(100)"));
+
+            // Act
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> productosService.actualizarProductoParcial(1L, parcial(new BigDecimal("1399.90"), null)));
+
+            // Assert
+            assertEquals("Error de integridad al actualizar el producto", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Debe lanzar EntityNotFoundException cuando producto no existe")
+        void actualizarProductoParcial_productoNoExiste_lanzaExcepcion() {
+            when(productosRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThrows(EntityNotFoundException.class,
+                    () -> productosService.actualizarProductoParcial(999L, parcial(BigDecimal.TEN, 3)));
+            verifyNoInteractions(inventarioClient);
+        }
+
+        private ProductoRequestJsonApiDTO parcial(BigDecimal precio, Integer cantidad) {
+            ProductoRequestJsonApiDTO.Attributes attributes = new ProductoRequestJsonApiDTO.Attributes();
+            attributes.setPrecio(precio);
+            attributes.setCantidad(cantidad);
+            ProductoRequestJsonApiDTO.Data data = new ProductoRequestJsonApiDTO.Data();
+            data.setType("productos");
+            data.setAttributes(attributes);
+            ProductoRequestJsonApiDTO request = new ProductoRequestJsonApiDTO();
+            request.setData(data);
+            return request;
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de actualizarPrecios")
+    class ActualizarPreciosTests {
+
+        @Test
+        @DisplayName("Debe ajustar con una sola sentencia, ignorar la paginación e invalidar la cache una vez")
+        void actualizarPrecios_filtroValido_actualizaEInformaCantidad() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.setCategoria("Electrónica");
+            filtro.getPageable().setAfter(CursorCodec.encode(50L));
+            ActualizacionPreciosRequestDTO request = new ActualizacionPreciosRequestDTO(filtro,
+                    ActualizacionPreciosRequestDTO.Operacion.PORCENTAJE, new BigDecimal("10"));
+            when(productosRepository.actualizarPrecios(eq(filtro), eq(ActualizacionPreciosRequestDTO.Operacion.PORCENTAJE),
+                    eq(new BigDecimal("10")), any())).thenReturn(42);
+
+            // Act
+            ProductoResponseJsonApiDTO result = productosService.actualizarPrecios(request);
+
+            // Assert
+            assertTrue(result.getData().isEmpty());
+            assertEquals(42, assertInstanceOf(ActualizacionPreciosMeta.class, result.getMeta()).getUpdated());
+            assertNull(filtro.getPageable().getAfter(), "el cursor no debe acotar el ajuste");
+            verify(cacheListadoProductos, times(1)).invalidar();
+        }
+
+        @Test
+        @DisplayName("Debe rechazar un filtro sin criterios para no repreciar el catálogo por accidente")
+        void actualizarPrecios_filtroVacio_lanzaExcepcion() {
+            // Arrange
+            ActualizacionPreciosRequestDTO request = new ActualizacionPreciosRequestDTO(new ProductoFiltroDTO(),
+                    ActualizacionPreciosRequestDTO.Operacion.DELTA, new BigDecimal("5.00"));
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarPrecios(request));
+            verifyNoInteractions(productosRepository, cacheListadoProductos);
+        }
+
+        @Test
+        @DisplayName("Debe validar el valor según la operación")
+        void actualizarPrecios_valorInvalido_lanzaExcepcion() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.setNombre("Laptop");
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarPrecios(
+                    new ActualizacionPreciosRequestDTO(filtro, ActualizacionPreciosRequestDTO.Operacion.PORCENTAJE, new BigDecimal("-100"))));
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarPrecios(
+                    new ActualizacionPreciosRequestDTO(filtro, ActualizacionPreciosRequestDTO.Operacion.DELTA, new BigDecimal("0.001"))));
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarPrecios(
+                    new ActualizacionPreciosRequestDTO(filtro, ActualizacionPreciosRequestDTO.Operacion.FIJAR, new BigDecimal("-1"))));
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarPrecios(
+                    new ActualizacionPreciosRequestDTO(filtro, null, BigDecimal.ONE)));
+            verifyNoInteractions(productosRepository);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar una rebaja si el UPDATE protegido modifica menos filas de las que cumplen el filtro")
+        void actualizarPrecios_rebajaConPreciosNegativos_lanzaExcepcion() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.setCategoria("Accesorios");
+            when(productosRepository.count(filtro)).thenReturn(10L);
+            when(productosRepository.actualizarPrecios(eq(filtro), eq(ActualizacionPreciosRequestDTO.Operacion.DELTA),
+                    eq(new BigDecimal("-15.00")), any())).thenReturn(7);
 
             // Act & Assert
-            assertThrows(InventarioException.class, () -> productosService.crearProducto(productoRequest));
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> productosService.actualizarPrecios(
+                    new ActualizacionPreciosRequestDTO(filtro, ActualizacionPreciosRequestDTO.Operacion.DELTA, new BigDecimal("-15.00"))));
+            assertTrue(ex.getMessage().startsWith("3 productos"));
+            verifyNoInteractions(cacheListadoProductos);
+        }
+
+        @Test
+        @DisplayName("Un aumento no necesita contar las coincidencias")
+        void actualizarPrecios_aumento_noCuentaCoincidencias() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.setCategoria("Accesorios");
+            when(productosRepository.actualizarPrecios(any(), any(), any(), any())).thenReturn(4);
+
+            // Act
+            productosService.actualizarPrecios(
+                    new ActualizacionPreciosRequestDTO(filtro, ActualizacionPreciosRequestDTO.Operacion.DELTA, new BigDecimal("5.00")));
+
+            // Assert
+            verify(productosRepository, never()).count(any(ProductoFiltroDTO.class));
+        }
+
+        @Test
+        @DisplayName("Debe convertir una violación de integridad en IllegalArgumentException sin invalidar la cache")
+        void actualizarPrecios_violacionIntegridad_lanzaIllegalArgument() {
+            // Arrange
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.setPrecioMin(BigDecimal.ZERO);
+            when(productosRepository.actualizarPrecios(any(), any(), any(), any()))
+                    .thenThrow(new DataIntegrityViolationException("numeric field overflow"));
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> productosService.actualizarPrecios(
+                    new ActualizacionPreciosRequestDTO(filtro, ActualizacionPreciosRequestDTO.Operacion.PORCENTAJE, new BigDecimal("900"))));
+            verify(cacheListadoProductos, never()).invalidar();
         }
     }
 
@@ -375,6 +1323,7 @@ class ProductosServiceImplTest {
             verify(productosRepository).findById(1L);
             verify(productosRepository).save(producto);
             verify(inventarioClient, never()).actualizarInventario(anyLong(), anyInt());
+            verify(cacheListadoProductos).invalidar();
         }
 
         @Test
@@ -398,6 +1347,26 @@ class ProductosServiceImplTest {
             verify(inventarioClient).actualizarInventario(1L, 20);
         }
 
+        @Test
+        @DisplayName("Con el circuito de inventario abierto debe enviar la cantidad aunque coincida con la de respaldo")
+        void actualizarProducto_circuitoAbierto_enviaCantidadSinCompararConRespaldo() {
+            // Arrange: una lectura previa deja 10 como última cantidad conocida
+            when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
+                    .thenReturn(List.of(inventarioData));
+            when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+            when(productosRepository.save(any(Producto.class))).thenReturn(producto);
+            when(productoMapper.toJsonApiDTOData(producto, 10)).thenReturn(productoResponseData);
+            productosService.actualizarProducto(1L, productoRequest);
+            circuitBreakerRegistry.circuitBreaker("inventario").transitionToOpenState();
+
+            // Act
+            productosService.actualizarProducto(1L, productoRequest);
+
+            // Assert
+            verify(inventarioClient, times(1)).obtenerInventariosDesdeMicroservicio(anyList());
+            verify(inventarioClient).actualizarInventario(1L, 10);
+        }
+
         @Test
         @DisplayName("Debe lanzar EntityNotFoundException cuando producto no existe")
         void actualizarProducto_productoNoExiste_lanzaExcepcion() {
@@ -471,6 +1440,7 @@ class ProductosServiceImplTest {
             // Assert
             verify(productosRepository).findById(1L);
             verify(productosRepository).delete(producto);
+            verify(cacheListadoProductos).invalidar();
         }
 
         @Test
@@ -488,6 +1458,7 @@ class ProductosServiceImplTest {
             assertTrue(exception.getMessage().contains("Producto no encontrado con ID: 999"));
             verify(productosRepository).findById(999L);
             verify(productosRepository, never()).delete(any());
+            verify(cacheListadoProductos, never()).invalidar();
         }
     }
 
@@ -0,0 +1,126 @@
+package com.productos.productos.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el throughput hacia un inventario simulado entre el RestTemplate sin pool
+ * (HttpURLConnection, que solo conserva unas pocas conexiones ociosas por destino) y el
+ * RestTemplate con pool de HttpClient 5 que usa la aplicación, con muchos llamadores concurrentes.
+ * No corre en el build normal; ejecutar con:
+ * ./mvnw test -Dtest=InventarioHttpBenchmarkTest -Dbenchmark=true
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - RestTemplate sin pool vs pool de HttpClient 5")
+class InventarioHttpBenchmarkTest {
+    private static final int LLAMADORES = 32;
+    private static final int CALENTAMIENTO = 2_000;
+    private static final int PETICIONES = 20_000;
+    private static final String RESPUESTA = "{\"data\":[{\"id\":\"1\",\"type\":\"inventarios\","
+            + "\"attributes\":{\"productoId\":1,\"cantidadDisponible\":10}}]}";
+
+    private HttpServer servidor;
+    private ExecutorService llamadores;
+    private CloseableHttpClient httpClient;
+    private String url;
+
+    @BeforeAll
+    void preparar() throws IOException {
+        // Sin TCP_NODELAY el servidor JDK queda limitado por el ACK retardado y no por el cliente
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 1_024);
+        servidor.createContext("/inventarios/buscar", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] bytes = RESPUESTA.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream salida = exchange.getResponseBody()) {
+                salida.write(bytes);
+            }
+        });
+        servidor.setExecutor(Executors.newFixedThreadPool(LLAMADORES * 2));
+        servidor.start();
+        url = "http://localhost:" + servidor.getAddress().getPort() + "/inventarios/buscar";
+        llamadores = Executors.newFixedThreadPool(LLAMADORES);
+    }
+
+    @AfterAll
+    void cerrar() throws IOException {
+        llamadores.shutdownNow();
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("El RestTemplate con pool no debe tener menos throughput que el RestTemplate sin pool")
+    void inventario_sinPoolVsPool() throws Exception {
+        RestTemplateConfig config = new RestTemplateConfig();
+        httpClient = config.inventarioHttpClient(
+                config.inventarioConnectionManager(LLAMADORES, LLAMADORES, 2_000, 5_000, 2_000, 300, new SimpleMeterRegistry()),
+                1_000, 5_000, 30);
+
+        double sinPool = peticionesPorSegundo(new RestTemplate());
+        double conPool = peticionesPorSegundo(config.restTemplate(httpClient));
+
+        System.out.printf("""
+                [Benchmark] POST /inventarios/buscar con %d llamadores (%d peticiones)
+                  RestTemplate sin pool: %10.0f req/s
+                  HttpClient 5 con pool: %10.0f req/s
+                %n""", LLAMADORES, PETICIONES, sinPool, conPool);
+
+        assertTrue(conPool >= sinPool * 0.9, "el pool no debe reducir el throughput hacia inventario");
+    }
+
+    private double peticionesPorSegundo(RestTemplate restTemplate) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<Long>> cuerpo = new HttpEntity<>(List.of(1L, 2L, 3L), headers);
+
+        ejecutar(restTemplate, cuerpo, CALENTAMIENTO);
+        long inicio = System.nanoTime();
+        ejecutar(restTemplate, cuerpo, PETICIONES);
+        return PETICIONES / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+    }
+
+    private void ejecutar(RestTemplate restTemplate, HttpEntity<List<Long>> cuerpo, int total) throws Exception {
+        AtomicInteger restantes = new AtomicInteger(total);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < LLAMADORES; i++) {
+            tareas.add(llamadores.submit(() -> {
+                while (restantes.getAndDecrement() > 0) {
+                    restTemplate.postForObject(url, cuerpo, String.class);
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.productos.productos.config;
+
+import com.productos.productos.shared.PlazoPeticion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PlazoPeticionFilter - Tests Unitarios")
+class PlazoPeticionFilterTest {
+    private final PlazoPeticionFilter filtro = new PlazoPeticionFilter(10_000);
+
+    private long restanteMs(MockHttpServletRequest request) throws Exception {
+        AtomicReference<OptionalLong> durante = new AtomicReference<>();
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> durante.set(PlazoPeticion.limiteNanos()));
+        assertTrue(PlazoPeticion.limiteNanos().isEmpty(), "el plazo no debe quedar en el hilo tras la petición");
+        return TimeUnit.NANOSECONDS.toMillis(durante.get().getAsLong() - System.nanoTime());
+    }
+
+    @Test
+    @DisplayName("Sin cabecera debe aplicar el plazo configurado a las lecturas interactivas")
+    void doFilter_sinCabecera_usaPlazoConfigurado() throws Exception {
+        long restante = restanteMs(new MockHttpServletRequest("POST", "/api/v1/productos/filtro"));
+
+        assertTrue(restante > 9_000 && restante <= 10_000, "restante: " + restante);
+    }
+
+    @Test
+    @DisplayName("Debe respetar un X-Deadline-Ms menor que el configurado e ignorar valores inválidos")
+    void doFilter_conCabecera_usaElMenorPlazo() throws Exception {
+        MockHttpServletRequest menor = new MockHttpServletRequest("POST", "/api/v1/productos/filtro");
+        menor.addHeader(PlazoPeticion.CABECERA, "500");
+        MockHttpServletRequest invalido = new MockHttpServletRequest("POST", "/api/v1/productos/filtro");
+        invalido.addHeader(PlazoPeticion.CABECERA, "mucho");
+
+        assertTrue(restanteMs(menor) <= 500);
+        assertTrue(restanteMs(invalido) > 9_000);
+    }
+
+    @Test
+    @DisplayName("Sin cabecera no debe fijar plazo en escrituras, lotes ni exportaciones")
+    void doFilter_sinCabeceraFueraDeLecturas_noFijaPlazo() throws Exception {
+        for (MockHttpServletRequest request : List.of(
+                new MockHttpServletRequest("POST", "/api/v1/productos/lote"),
+                new MockHttpServletRequest("POST", "/api/v1/productos/precios"),
+                new MockHttpServletRequest("POST", "/api/v1/productos/importaciones"),
+                new MockHttpServletRequest("GET", "/api/v1/productos/export"),
+                new MockHttpServletRequest("PUT", "/api/v1/productos/1"))) {
+            AtomicReference<OptionalLong> durante = new AtomicReference<>();
+            filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> durante.set(PlazoPeticion.limiteNanos()));
+
+            assertTrue(durante.get().isEmpty(), request.getMethod() + " " + request.getRequestURI());
+        }
+    }
+
+    @Test
+    @DisplayName("Fuera de las lecturas debe propagar el X-Deadline-Ms del llamador aunque supere el configurado")
+    void doFilter_conCabeceraFueraDeLecturas_usaPlazoRecibido() throws Exception {
+        MockHttpServletRequest lote = new MockHttpServletRequest("POST", "/api/v1/productos/lote");
+        lote.addHeader(PlazoPeticion.CABECERA, "60000");
+
+        long restante = restanteMs(lote);
+
+        assertTrue(restante > 59_000 && restante <= 60_000, "restante: " + restante);
+    }
+}
@@ -0,0 +1,181 @@
+package com.productos.productos.config;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.productos.productos.infrastructure.client.InventarioClient;
+import com.productos.productos.shared.dto.InventarioListResponseJsonApiDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RestTemplateConfig - Tests Unitarios")
+class RestTemplateConfigTest {
+    private static final long TIMEOUT_MS = 300;
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private HttpServer servidor;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/rapido", exchange -> responder(exchange, "{\"ok\":true}"));
+        servidor.createContext("/lento", exchange -> {
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            responder(exchange, "{\"ok\":true}");
+        });
+        servidor.createContext("/smile", exchange -> {
+            // Responde en Smile comprimido con gzip solo si el cliente lo admite
+            boolean admiteSmile = exchange.getRequestHeaders().getFirst("Accept").contains("x-jackson-smile");
+            boolean admiteGzip = String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")).contains("gzip");
+            if (!admiteSmile || !admiteGzip) {
+                exchange.sendResponseHeaders(406, -1);
+                exchange.close();
+                return;
+            }
+            ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+                gzip.write(new SmileMapper().writeValueAsBytes(Map.of("data", List.of(Map.of("id", "7", "type", "inventarios")))));
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/x-jackson-smile");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, comprimido.size());
+            try (OutputStream salida = exchange.getResponseBody()) {
+                comprimido.writeTo(salida);
+            }
+        });
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.start();
+        url = "http://localhost:" + servidor.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        liberar.countDown();
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar la conexión entre peticiones sucesivas y publicar el estado del pool")
+    void restTemplate_peticionesSucesivas_reutilizaConexion() {
+        // Arrange
+        RestTemplate restTemplate = crearRestTemplate(2);
+
+        // Act
+        restTemplate.getForObject(url + "/rapido", String.class);
+        restTemplate.getForObject(url + "/rapido", String.class);
+
+        // Assert
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(1.0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "inventario").tag("state", "available").gauge().value());
+        assertEquals(2.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Una respuesta más lenta que el timeout debe fallar en lugar de bloquear el hilo")
+    void restTemplate_respuestaLenta_fallaPorTimeout() {
+        // Arrange
+        RestTemplate restTemplate = crearRestTemplate(2);
+
+        // Act & Assert
+        long inicio = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url + "/lento", String.class));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 3_000);
+    }
+
+    @Test
+    @DisplayName("Con el pool agotado debe fallar tras esperar el timeout del pool")
+    void restTemplate_poolAgotado_fallaPorTimeoutDePool() throws Exception {
+        // Arrange: la única conexión queda ocupada por una petición lenta
+        RestTemplate restTemplate = crearRestTemplate(1);
+        CompletableFuture<?> ocupada = CompletableFuture.runAsync(() -> {
+            try {
+                restTemplate.getForObject(url + "/lento", String.class);
+            } catch (ResourceAccessException ignorada) {
+                // La petición lenta termina por timeout; solo interesa que ocupe la conexión
+            }
+        });
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (connectionManager.getTotalStats().getLeased() == 0 && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url + "/rapido", String.class));
+        ocupada.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Debe decodificar respuestas Smile comprimidas con gzip cuando se piden por Accept")
+    void restTemplate_respuestaSmileGzip_decodifica() {
+        // Arrange
+        RestTemplate restTemplate = crearRestTemplate(2);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(InventarioClient.APPLICATION_SMILE, MediaType.parseMediaType("application/json;q=0.9")));
+
+        // Act
+        ResponseEntity<InventarioListResponseJsonApiDTO> respuesta = restTemplate.exchange(
+                url + "/smile", HttpMethod.GET, new HttpEntity<>(headers), InventarioListResponseJsonApiDTO.class);
+
+        // Assert
+        assertEquals(InventarioClient.APPLICATION_SMILE, respuesta.getHeaders().getContentType());
+        assertEquals("7", respuesta.getBody().getData().get(0).getId());
+    }
+
+    private RestTemplate crearRestTemplate(int maxConexiones) {
+        connectionManager = config.inventarioConnectionManager(
+                maxConexiones, maxConexiones, TIMEOUT_MS, TIMEOUT_MS, 2_000, 300, meterRegistry);
+        httpClient = config.inventarioHttpClient(connectionManager, 100, TIMEOUT_MS, 30);
+        return config.restTemplate(httpClient);
+    }
+
+    private static void responder(HttpExchange exchange, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream salida = exchange.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.productos.productos.infrastructure.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CoberturaLecturas - Tests Unitarios")
+class CoberturaLecturasTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<CompletableFuture<String>> llamadas = new ArrayList<>();
+
+    // Cada invocación devuelve el siguiente future preparado por el test
+    private Supplier<CompletableFuture<String>> llamada(List<CompletableFuture<String>> respuestas) {
+        return () -> {
+            CompletableFuture<String> respuesta = respuestas.get(llamadas.size());
+            llamadas.add(respuesta);
+            return respuesta;
+        };
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("inventario.cobertura").tag("resultado", resultado).counter().count();
+    }
+
+    // El contador se actualiza justo después de completar el resultado, en el hilo de la llamada
+    private void esperarContador(String resultado, double esperado) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (contador(resultado) != esperado && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+        assertEquals(esperado, contador(resultado));
+    }
+
+    @Test
+    @DisplayName("Deshabilitada debe delegar en una sola llamada")
+    void ejecutar_deshabilitada_unaSolaLlamada() throws Exception {
+        // Arrange
+        CoberturaLecturas cobertura = new CoberturaLecturas(meterRegistry, false, 1, 0, 100);
+        CompletableFuture<String> lenta = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> resultado = cobertura.ejecutar(llamada(List.of(lenta)));
+        Thread.sleep(50);
+
+        // Assert
+        assertSame(lenta, resultado);
+        assertEquals(1, llamadas.size());
+    }
+
+    @Test
+    @DisplayName("Si la principal tarda, la cobertura responde y la principal se cancela")
+    void ejecutar_principalLenta_ganaCobertura() throws Exception {
+        // Arrange
+        CoberturaLecturas cobertura = new CoberturaLecturas(meterRegistry, true, 10, 0, 100);
+        CompletableFuture<String> lenta = new CompletableFuture<>();
+
+        // Act
+        String resultado = cobertura.ejecutar(llamada(List.of(lenta, CompletableFuture.completedFuture("cobertura"))))
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("cobertura", resultado);
+        assertEquals(2, llamadas.size());
+        assertTrue(lenta.isCancelled());
+        assertEquals(1.0, contador("enviada"));
+        esperarContador("ganada", 1.0);
+    }
+
+    @Test
+    @DisplayName("Una respuesta dentro del umbral no debe generar cobertura")
+    void ejecutar_respuestaRapida_sinCobertura() throws Exception {
+        // Arrange
+        CoberturaLecturas cobertura = new CoberturaLecturas(meterRegistry, true, 50, 0, 100);
+
+        // Act
+        String resultado = cobertura.ejecutar(llamada(List.of(CompletableFuture.completedFuture("principal"))))
+                .get(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+
+        // Assert
+        assertEquals("principal", resultado);
+        assertEquals(1, llamadas.size());
+        assertEquals(0.0, contador("enviada"));
+    }
+
+    @Test
+    @DisplayName("Sin muestras suficientes o sin presupuesto no debe enviarse cobertura")
+    void ejecutar_sinMuestrasOPresupuesto_sinCobertura() throws Exception {
+        // Arrange
+        CoberturaLecturas sinMuestras = new CoberturaLecturas(meterRegistry, true, 10, 100, 100);
+        CoberturaLecturas sinPresupuesto = new CoberturaLecturas(new SimpleMeterRegistry(), true, 10, 0, 0);
+        CompletableFuture<String> lenta = new CompletableFuture<>();
+        CompletableFuture<String> otraLenta = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> primero = sinMuestras.ejecutar(llamada(List.of(lenta, otraLenta)));
+        Thread.sleep(100);
+        lenta.complete("principal");
+        CompletableFuture<String> segundo = sinPresupuesto.ejecutar(llamada(List.of(lenta, otraLenta)));
+        Thread.sleep(100);
+        otraLenta.complete("principal");
+
+        // Assert
+        assertEquals("principal", primero.get(5, TimeUnit.SECONDS));
+        assertEquals("principal", segundo.get(5, TimeUnit.SECONDS));
+        assertEquals(2, llamadas.size());
+    }
+
+    @Test
+    @DisplayName("Si la cobertura falla debe esperarse a la principal; si fallan ambas se propaga el error")
+    void ejecutar_fallos_soloFallaCuandoNoQuedanPeticiones() throws Exception {
+        // Arrange
+        CoberturaLecturas cobertura = new CoberturaLecturas(meterRegistry, true, 10, 0, 100);
+        CompletableFuture<String> principal = new CompletableFuture<>();
+        CompletableFuture<String> fallida = CompletableFuture.failedFuture(new IllegalStateException("réplica caída"));
+
+        // Act
+        CompletableFuture<String> resultado = cobertura.ejecutar(llamada(List.of(principal, fallida)));
+        Thread.sleep(100);
+
+        // Assert
+        assertFalse(resultado.isDone());
+        principal.completeExceptionally(new IllegalStateException("también caída"));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+        assertEquals("también caída", error.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("El umbral debe seguir el p95 observado con el mínimo configurado como piso")
+    void umbralMs_sigueP95Observado() {
+        // Arrange
+        CoberturaLecturas cobertura = new CoberturaLecturas(meterRegistry, true, 10, 100, 100);
+        assertEquals(0, cobertura.umbralMs());
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            meterRegistry.get("inventario.cobertura.latencia").timer().record(i < 90 ? 5 : 80, TimeUnit.MILLISECONDS);
+        }
+
+        // Assert
+        long umbral = cobertura.umbralMs();
+        assertTrue(umbral >= 70 && umbral <= 90, "umbral: " + umbral);
+    }
+}
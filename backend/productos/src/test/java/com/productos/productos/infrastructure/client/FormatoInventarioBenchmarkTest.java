@@ -0,0 +1,103 @@
+package com.productos.productos.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.productos.productos.shared.dto.InventarioListResponseJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara tamaño y coste de (de)serialización de la respuesta de /inventarios/buscar en JSON y
+ * en Smile, con y sin gzip, para 10, 100 y 1000 registros.
+ * No corre en el build normal; ejecutar con:
+ * ./mvnw test -Dtest=FormatoInventarioBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - JSON vs Smile entre productos e inventario")
+class FormatoInventarioBenchmarkTest {
+    private static final int CALENTAMIENTO = 20_000;
+    private static final int ITERACIONES_REGISTROS = 2_000_000;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper smile = new SmileMapper();
+
+    @Test
+    @DisplayName("Smile debe ocupar menos y no costar más CPU que JSON")
+    void inventario_jsonVsSmile() throws Exception {
+        StringBuilder tabla = new StringBuilder("""
+                [Benchmark] Respuesta de /inventarios/buscar
+                  registros | JSON B   | JSON gzip B | Smile B  | Smile gzip B | JSON ida+vuelta | Smile ida+vuelta
+                """);
+        for (int registros : List.of(10, 100, 1000)) {
+            InventarioListResponseJsonApiDTO respuesta = respuesta(registros);
+            byte[] cuerpoJson = json.writeValueAsBytes(respuesta);
+            byte[] cuerpoSmile = smile.writeValueAsBytes(respuesta);
+            // Cada medición recorre el mismo número total de registros, sea cual sea el tamaño de la respuesta
+            int iteraciones = ITERACIONES_REGISTROS / registros;
+            double usJson = microsPorIdaYVuelta(json, respuesta, iteraciones);
+            double usSmile = microsPorIdaYVuelta(smile, respuesta, iteraciones);
+
+            tabla.append(String.format("  %9d | %8d | %11d | %8d | %12d | %12.1f us | %13.1f us%n",
+                    registros, cuerpoJson.length, gzip(cuerpoJson), cuerpoSmile.length, gzip(cuerpoSmile), usJson, usSmile));
+
+            assertTrue(cuerpoSmile.length < cuerpoJson.length, "Smile debe ocupar menos que JSON");
+            assertTrue(usSmile <= usJson * 1.2, "Smile no debe ser más lento que JSON");
+        }
+        System.out.println(tabla);
+    }
+
+    private double microsPorIdaYVuelta(ObjectMapper mapper, InventarioListResponseJsonApiDTO respuesta, int iteraciones) throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < CALENTAMIENTO / 10; i++) {
+            checksum += idaYVuelta(mapper, respuesta);
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteraciones; i++) {
+            checksum += idaYVuelta(mapper, respuesta);
+        }
+        double micros = (System.nanoTime() - inicio) / 1_000.0 / iteraciones;
+        assertTrue(checksum > 0);
+        return micros;
+    }
+
+    private static int idaYVuelta(ObjectMapper mapper, InventarioListResponseJsonApiDTO respuesta) throws IOException {
+        byte[] cuerpo = mapper.writeValueAsBytes(respuesta);
+        return mapper.readValue(cuerpo, InventarioListResponseJsonApiDTO.class).getData().size();
+    }
+
+    private static int gzip(byte[] cuerpo) throws IOException {
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        try (GZIPOutputStream salida = new GZIPOutputStream(comprimido)) {
+            salida.write(cuerpo);
+        }
+        return comprimido.size();
+    }
+
+    private static InventarioListResponseJsonApiDTO respuesta(int registros) {
+        List<InventarioResponseJsonApiDTO.Data> data = new ArrayList<>(registros);
+        for (long id = 1; id <= registros; id++) {
+            InventarioResponseJsonApiDTO.Data.Attributes attributes = new InventarioResponseJsonApiDTO.Data.Attributes();
+            attributes.setProductoId(id);
+            attributes.setCantidadDisponible((int) (id * 7 % 500));
+
+            InventarioResponseJsonApiDTO.Data registro = new InventarioResponseJsonApiDTO.Data();
+            registro.setId(String.valueOf(id));
+            registro.setType("inventarios");
+            registro.setAttributes(attributes);
+            data.add(registro);
+        }
+        InventarioListResponseJsonApiDTO respuesta = new InventarioListResponseJsonApiDTO();
+        respuesta.setData(data);
+        return respuesta;
+    }
+}
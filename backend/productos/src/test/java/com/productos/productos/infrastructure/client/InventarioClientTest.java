@@ -3,14 +3,20 @@ package com.productos.productos.infrastructure.client;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import com.productos.productos.shared.PlazoPeticion;
 import com.productos.productos.shared.dto.InventarioListResponseJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioLoteRequestJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioLoteResponseJsonApiDTO;
 import com.productos.productos.shared.dto.InventarioRequestJsonApiDTO;
 import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,10 +24,16 @@ import org.springframework.http.*;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -48,6 +60,13 @@ class InventarioClientTest {
         // Configurar valores de @Value usando ReflectionTestUtils
         ReflectionTestUtils.setField(inventarioClient, "apiUrlInventario", API_URL);
         ReflectionTestUtils.setField(inventarioClient, "apiKey", API_KEY);
+        ReflectionTestUtils.setField(inventarioClient, "timeoutRespuestaMs", 5_000L);
+        ReflectionTestUtils.setField(inventarioClient, "politicaReintentos", new PoliticaReintentos(
+                new SimpleMeterRegistry(), 3, 1, 5, Set.of(408, 429, 500, 502, 503, 504), 20, 10, 10));
+        ReflectionTestUtils.setField(inventarioClient, "coberturaLecturas", new CoberturaLecturas(
+                new SimpleMeterRegistry(), false, 20, 100, 5));
+        ReflectionTestUtils.setField(inventarioClient, "limiteConcurrencia", new LimiteConcurrencia(
+                new SimpleMeterRegistry(), 20, 2, 200, 1000, 0.9, 50));
 
         // Response válido para crear inventario
         InventarioResponseJsonApiDTO.Data data = new InventarioResponseJsonApiDTO.Data();
@@ -235,8 +254,8 @@ class InventarioClientTest {
         }
 
         @Test
-        @DisplayName("Debe lanzar InventarioException tras 3 intentos fallidos con HttpClientErrorException")
-        void crearInventarioConReintentos_falla3IntentosClientError_lanzaInventarioException() {
+        @DisplayName("No debe reintentar un HttpClientErrorException 4xx y debe lanzar InventarioException")
+        void crearInventarioConReintentos_clientError_noReintentaYLanzaInventarioException() {
             // Given
             Long productoId = 1L;
             Integer cantidad = 10;
@@ -256,7 +275,7 @@ class InventarioClientTest {
                     .isInstanceOf(InventarioException.class)
                     .hasMessageContaining("No se pudo crear el inventario para el producto");
 
-            verify(restTemplate, times(3)).postForEntity(eq(url), any(HttpEntity.class), eq(InventarioResponseJsonApiDTO.class));
+            verify(restTemplate, times(1)).postForEntity(eq(url), any(HttpEntity.class), eq(InventarioResponseJsonApiDTO.class));
         }
 
         @Test
@@ -278,31 +297,38 @@ class InventarioClientTest {
         }
 
         @Test
-        @DisplayName("Debe esperar entre reintentos")
-        void crearInventarioConReintentos_esperaEntreReintentos() {
+        @DisplayName("Debe reintentar los errores de E/S hasta agotar los intentos")
+        void crearInventarioConReintentos_errorES_reintentaHastaAgotar() {
             // Given
             Long productoId = 1L;
             Integer cantidad = 10;
             String url = API_URL + "inventarios";
 
             when(restTemplate.postForEntity(eq(url), any(HttpEntity.class), eq(InventarioResponseJsonApiDTO.class)))
-                    .thenThrow(new RuntimeException("Error"));
+                    .thenThrow(new ResourceAccessException("Connection reset"));
 
-            long startTime = System.currentTimeMillis();
+            // When & Then
+            assertThatThrownBy(() -> inventarioClient.crearInventarioConReintentos(productoId, cantidad))
+                    .isInstanceOf(InventarioException.class)
+                    .hasMessageContaining("Connection reset");
+            verify(restTemplate, times(3)).postForEntity(eq(url), any(HttpEntity.class), eq(InventarioResponseJsonApiDTO.class));
+        }
 
-            // When
-            try {
-                inventarioClient.crearInventarioConReintentos(productoId, cantidad);
-            } catch (InventarioException e) {
-                // Expected
-            }
+        @Test
+        @DisplayName("No debe reintentar errores que no son de E/S ni HTTP")
+        void crearInventarioConReintentos_errorNoReintentable_unSoloIntento() {
+            // Given
+            Long productoId = 1L;
+            Integer cantidad = 10;
+            String url = API_URL + "inventarios";
 
-            long endTime = System.currentTimeMillis();
-            long duration = endTime - startTime;
+            when(restTemplate.postForEntity(eq(url), any(HttpEntity.class), eq(InventarioResponseJsonApiDTO.class)))
+                    .thenThrow(new RuntimeException("Error"));
 
-            // Then - debe haber esperado al menos 1000ms (2 delays de 500ms)
-            assertThat(duration).isGreaterThanOrEqualTo(1000);
-            verify(restTemplate, times(3)).postForEntity(eq(url), any(HttpEntity.class), eq(InventarioResponseJsonApiDTO.class));
+            // When & Then
+            assertThatThrownBy(() -> inventarioClient.crearInventarioConReintentos(productoId, cantidad))
+                    .isInstanceOf(InventarioException.class);
+            verify(restTemplate, times(1)).postForEntity(eq(url), any(HttpEntity.class), eq(InventarioResponseJsonApiDTO.class));
         }
 
         @Test
@@ -327,6 +353,56 @@ class InventarioClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests de crearInventariosLoteAsync")
+    class CrearInventariosLoteTests {
+
+        @Test
+        @DisplayName("Debe enviar todos los inventarios en una sola petición a /inventarios/lote")
+        void crearInventariosLoteAsync_variosInventarios_unaSolaPeticion() throws Exception {
+            // Given
+            String url = API_URL + "inventarios/lote";
+            InventarioLoteResponseJsonApiDTO respuesta = new InventarioLoteResponseJsonApiDTO();
+            respuesta.setData(List.of(inventarioResponseValido.getData()));
+            when(restTemplate.postForEntity(eq(url), any(HttpEntity.class), eq(InventarioLoteResponseJsonApiDTO.class)))
+                    .thenReturn(new ResponseEntity<>(respuesta, HttpStatus.CREATED));
+            List<InventarioRequestJsonApiDTO.Data> inventarios = List.of(
+                    new InventarioRequestJsonApiDTO(1L, 10).getData(),
+                    new InventarioRequestJsonApiDTO(2L, 4).getData());
+
+            // When
+            InventarioLoteResponseJsonApiDTO resultado = inventarioClient.crearInventariosLoteAsync(inventarios)
+                    .get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(resultado.getData()).hasSize(1);
+            verify(restTemplate, times(1)).postForEntity(eq(url),
+                    argThat((HttpEntity<?> entity) -> entity.getBody() instanceof InventarioLoteRequestJsonApiDTO lote
+                            && lote.getData().equals(inventarios)
+                            && API_KEY.equals(entity.getHeaders().getFirst("X-API-KEY"))),
+                    eq(InventarioLoteResponseJsonApiDTO.class));
+        }
+
+        @Test
+        @DisplayName("Debe reintentar el lote completo ante un error 503")
+        void crearInventariosLoteAsync_errorServidor_reintentaLote() throws Exception {
+            // Given
+            String url = API_URL + "inventarios/lote";
+            when(restTemplate.postForEntity(eq(url), any(HttpEntity.class), eq(InventarioLoteResponseJsonApiDTO.class)))
+                    .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                    .thenReturn(new ResponseEntity<>(new InventarioLoteResponseJsonApiDTO(), HttpStatus.CREATED));
+
+            // When
+            InventarioLoteResponseJsonApiDTO resultado = inventarioClient.crearInventariosLoteAsync(List.of(
+                    new InventarioRequestJsonApiDTO(1L, 10).getData()))
+                    .get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(resultado).isNotNull();
+            verify(restTemplate, times(2)).postForEntity(eq(url), any(HttpEntity.class), eq(InventarioLoteResponseJsonApiDTO.class));
+        }
+    }
+
     @Nested
     @DisplayName("Tests de obtenerInventariosDesdeMicroservicio")
     class ObtenerInventariosTests {
@@ -425,6 +501,103 @@ class InventarioClientTest {
             );
         }
 
+        @Test
+        @DisplayName("Debe pedir Smile por Accept y enviar el cuerpo en Smile solo si está habilitado")
+        void obtenerInventariosDesdeMicroservicio_cuerpoSmile_negociaFormatoBinario() {
+            // Given
+            ReflectionTestUtils.setField(inventarioClient, "cuerpoSmile", true);
+            String url = API_URL + "inventarios/buscar";
+            when(restTemplate.exchange(eq(url), eq(HttpMethod.POST), any(HttpEntity.class), eq(InventarioListResponseJsonApiDTO.class)))
+                    .thenReturn(new ResponseEntity<>(inventarioListResponse, HttpStatus.OK));
+
+            // When
+            inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L));
+
+            // Then
+            verify(restTemplate).exchange(
+                    eq(url),
+                    eq(HttpMethod.POST),
+                    argThat(entity -> {
+                        HttpHeaders headers = entity.getHeaders();
+                        return InventarioClient.APPLICATION_SMILE.equals(headers.getContentType())
+                                && InventarioClient.APPLICATION_SMILE.equals(headers.getAccept().get(0))
+                                && headers.getAccept().get(1).isCompatibleWith(MediaType.APPLICATION_JSON);
+                    }),
+                    eq(InventarioListResponseJsonApiDTO.class)
+            );
+        }
+
+        @Test
+        @DisplayName("Debe enviar en X-Deadline-Ms el plazo restante de la petición")
+        void obtenerInventariosDesdeMicroservicio_conPlazoPeticion_enviaPlazoRestante() {
+            // Given
+            String url = API_URL + "inventarios/buscar";
+            when(restTemplate.exchange(eq(url), eq(HttpMethod.POST), any(HttpEntity.class), eq(InventarioListResponseJsonApiDTO.class)))
+                    .thenReturn(new ResponseEntity<>(inventarioListResponse, HttpStatus.OK));
+            PlazoPeticion.iniciar(800);
+
+            // When
+            try {
+                inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L));
+            } finally {
+                PlazoPeticion.limpiar();
+            }
+
+            // Then
+            verify(restTemplate).exchange(
+                    eq(url),
+                    eq(HttpMethod.POST),
+                    argThat(entity -> {
+                        long plazo = Long.parseLong(entity.getHeaders().getFirst(PlazoPeticion.CABECERA));
+                        return plazo > 0 && plazo <= 800;
+                    }),
+                    eq(InventarioListResponseJsonApiDTO.class)
+            );
+        }
+
+        @Test
+        @DisplayName("Sin petición en curso el plazo enviado debe ser el timeout de respuesta")
+        void obtenerInventariosDesdeMicroservicio_sinPlazoPeticion_enviaTimeoutRespuesta() {
+            // Given
+            String url = API_URL + "inventarios/buscar";
+            when(restTemplate.exchange(eq(url), eq(HttpMethod.POST), any(HttpEntity.class), eq(InventarioListResponseJsonApiDTO.class)))
+                    .thenReturn(new ResponseEntity<>(inventarioListResponse, HttpStatus.OK));
+
+            // When
+            inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L));
+
+            // Then
+            verify(restTemplate).exchange(
+                    eq(url),
+                    eq(HttpMethod.POST),
+                    argThat(entity -> {
+                        long plazo = Long.parseLong(entity.getHeaders().getFirst(PlazoPeticion.CABECERA));
+                        return plazo > 4_000 && plazo <= 5_000;
+                    }),
+                    eq(InventarioListResponseJsonApiDTO.class)
+            );
+        }
+
+        @Test
+        @DisplayName("Con el plazo de la petición vencido no debe llamarse a inventario")
+        void obtenerInventariosAsync_plazoVencido_noLlamaAInventario() {
+            // Given
+            PlazoPeticion.iniciar(0);
+
+            // When
+            CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> resultado;
+            try {
+                resultado = inventarioClient.obtenerInventariosAsync(List.of(1L));
+            } finally {
+                PlazoPeticion.limpiar();
+            }
+
+            // Then
+            ExecutionException error = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(InventarioException.class, error.getCause());
+            verifyNoInteractions(restTemplate);
+        }
+
         @Test
         @DisplayName("Debe lanzar InventarioException cuando ocurre HttpServerErrorException")
         void obtenerInventariosDesdeMicroservicio_httpServerError_lanzaInventarioException() {
@@ -477,6 +650,23 @@ class InventarioClientTest {
                     .hasMessageContaining("Fallo al conectar con el inventario");
         }
 
+        @Test
+        @DisplayName("Debe lanzar InventarioException cuando inventario no responde a tiempo")
+        void obtenerInventariosDesdeMicroservicio_timeout_lanzaInventarioException() {
+            // Given
+            when(restTemplate.exchange(
+                    eq(API_URL + "inventarios/buscar"),
+                    eq(HttpMethod.POST),
+                    any(HttpEntity.class),
+                    eq(InventarioListResponseJsonApiDTO.class)
+            )).thenThrow(new ResourceAccessException("Read timed out"));
+
+            // When & Then
+            assertThatThrownBy(() -> inventarioClient.obtenerInventariosDesdeMicroservicio(List.of(1L)))
+                    .isInstanceOf(InventarioException.class)
+                    .hasMessageContaining("Fallo al conectar con el inventario");
+        }
+
         @Test
         @DisplayName("Debe incluir response body en excepción")
         void obtenerInventariosDesdeMicroservicio_incluyeResponseBodyEnExcepcion() {
@@ -620,6 +810,19 @@ class InventarioClientTest {
                     .hasMessageContaining("Fallo al actualizar inventario");
         }
 
+        @Test
+        @DisplayName("Debe lanzar InventarioException cuando inventario no responde a tiempo")
+        void actualizarInventario_timeout_lanzaInventarioException() {
+            // Given
+            doThrow(new ResourceAccessException("Read timed out"))
+                    .when(restTemplate).put(eq(API_URL + "inventarios"), any(HttpEntity.class));
+
+            // When & Then
+            assertThatThrownBy(() -> inventarioClient.actualizarInventario(1L, 20))
+                    .isInstanceOf(InventarioException.class)
+                    .hasMessageContaining("Fallo al actualizar inventario");
+        }
+
         @Test
         @DisplayName("Debe actualizar con cantidad cero")
         void actualizarInventario_cantidadCero_actualiza() {
@@ -678,4 +881,81 @@ class InventarioClientTest {
         }
     }
 
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("Variantes asíncronas")
+    class AsincronoTests {
+
+        @Test
+        @DisplayName("Debe resolver la consulta de inventarios fuera del hilo que llama")
+        void obtenerInventariosAsync_exitoso_completaConLista() throws Exception {
+            // Given
+            String hiloLlamador = Thread.currentThread().getName();
+            String[] hiloLlamada = new String[1];
+            when(restTemplate.exchange(
+                    eq(API_URL + "inventarios/buscar"),
+                    eq(HttpMethod.POST),
+                    any(HttpEntity.class),
+                    eq(InventarioListResponseJsonApiDTO.class)
+            )).thenAnswer(invocation -> {
+                hiloLlamada[0] = Thread.currentThread().getName();
+                return ResponseEntity.ok(inventarioListResponse);
+            });
+
+            // When
+            List<InventarioResponseJsonApiDTO.Data> resultado =
+                    inventarioClient.obtenerInventariosAsync(List.of(1L)).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(resultado).isEqualTo(inventarioListResponse.getData());
+            assertThat(hiloLlamada[0]).startsWith("inventario-client-").isNotEqualTo(hiloLlamador);
+        }
+
+        @Test
+        @DisplayName("Debe completar con InventarioException cuando falla la llamada")
+        void actualizarInventarioAsync_httpServerError_completaConInventarioException() {
+            // Given
+            doThrow(HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Error", null, null, null))
+                    .when(restTemplate).put(eq(API_URL + "inventarios"), any(HttpEntity.class));
+
+            // When & Then
+            assertThatThrownBy(() -> inventarioClient.actualizarInventarioAsync(1L, 20).get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(InventarioException.class);
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @ValueSource(strings = {"cancelado", "plazoVencido"})
+        @DisplayName("Cancelar el future o vencer su plazo debe interrumpir la llamada en curso")
+        void obtenerInventariosAsync_completadoDesdeFuera_interrumpeLlamada(String motivo) throws InterruptedException {
+            // Given
+            CountDownLatch iniciada = new CountDownLatch(1);
+            CountDownLatch interrumpida = new CountDownLatch(1);
+            when(restTemplate.exchange(
+                    eq(API_URL + "inventarios/buscar"),
+                    eq(HttpMethod.POST),
+                    any(HttpEntity.class),
+                    eq(InventarioListResponseJsonApiDTO.class)
+            )).thenAnswer(invocation -> {
+                iniciada.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrumpida.countDown();
+                }
+                return ResponseEntity.ok(inventarioListResponse);
+            });
+
+            // When
+            CompletableFuture<List<InventarioResponseJsonApiDTO.Data>> consulta = inventarioClient.obtenerInventariosAsync(List.of(1L));
+            assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+            if ("cancelado".equals(motivo)) {
+                consulta.cancel(true);
+            } else {
+                consulta.completeExceptionally(new InventarioException("Inventario no respondió en 100 ms.", ""));
+            }
+
+            // Then
+            assertTrue(interrumpida.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.productos.productos.infrastructure.client;
+
+import com.productos.productos.infrastructure.rest.exception.InventarioException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LimiteConcurrencia - Tests Unitarios")
+class LimiteConcurrenciaTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService llamadores = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        llamadores.shutdownNow();
+    }
+
+    private LimiteConcurrencia limite(int inicial, long latenciaObjetivoMs, long esperaMaxMs) {
+        return new LimiteConcurrencia(meterRegistry, inicial, 1, 10, latenciaObjetivoMs, 0.5, esperaMaxMs);
+    }
+
+    // Ocupa una plaza del límite hasta que se libere el latch
+    private Future<String> ocupar(LimiteConcurrencia limite, CountDownLatch liberar) throws InterruptedException {
+        CountDownLatch dentro = new CountDownLatch(1);
+        Future<String> ocupada = llamadores.submit(() -> limite.ejecutar(() -> {
+            dentro.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ocupada";
+        }));
+        assertTrue(dentro.await(5, TimeUnit.SECONDS));
+        return ocupada;
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la llamada que excede el límite tras la espera máxima")
+    void ejecutar_limiteOcupado_rechaza() throws Exception {
+        // Arrange
+        LimiteConcurrencia limite = limite(1, 10_000, 20);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<String> ocupada = ocupar(limite, liberar);
+
+        // Act & Assert
+        assertThrows(InventarioException.class, () -> limite.ejecutar(() -> "excede"));
+        assertEquals(1.0, meterRegistry.get("inventario.concurrencia.rechazos").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventario.concurrencia.en_curso").gauge().value());
+
+        liberar.countDown();
+        assertEquals("ocupada", ocupada.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limite.enCurso());
+    }
+
+    @Test
+    @DisplayName("Debe dejar pasar la llamada en cola si se libera una plaza durante la espera")
+    void ejecutar_plazaLiberadaDuranteEspera_ejecuta() throws Exception {
+        // Arrange
+        LimiteConcurrencia limite = limite(1, 10_000, 5_000);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ocupar(limite, liberar);
+
+        // Act
+        Future<String> enCola = llamadores.submit(() -> limite.ejecutar(() -> "en cola"));
+        Thread.sleep(50);
+        assertFalse(enCola.isDone());
+        liberar.countDown();
+
+        // Assert
+        assertEquals("en cola", enCola.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Los errores de E/S deben reducir el límite multiplicativamente")
+    void ejecutar_errorES_reduceLimite() {
+        // Arrange
+        LimiteConcurrencia limite = limite(8, 10_000, 0);
+
+        // Act
+        assertThrows(ResourceAccessException.class, () -> limite.ejecutar(() -> {
+            throw new ResourceAccessException("timeout");
+        }));
+
+        // Assert
+        assertEquals(4, limite.limite());
+        assertEquals(4.0, meterRegistry.get("inventario.concurrencia.limite").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Un 4xx no indica sobrecarga y no debe reducir el límite")
+    void ejecutar_errorCliente_mantieneLimite() {
+        // Arrange
+        LimiteConcurrencia limite = limite(8, 10_000, 0);
+
+        // Act
+        assertThrows(HttpClientErrorException.class, () -> limite.ejecutar(() -> {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null);
+        }));
+
+        // Assert
+        assertEquals(8, limite.limite());
+    }
+
+    @Test
+    @DisplayName("Una respuesta más lenta que el objetivo debe reducir el límite sin bajar del mínimo")
+    void ejecutar_respuestaLenta_reduceHastaMinimo() {
+        // Arrange
+        LimiteConcurrencia limite = limite(4, 0, 0);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            limite.ejecutar(() -> {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+        }
+
+        // Assert
+        assertEquals(1, limite.limite());
+    }
+
+    @Test
+    @DisplayName("Las respuestas rápidas deben subir el límite solo mientras se está usando")
+    void ejecutar_respuestasRapidas_creceAditivamente() {
+        // Arrange
+        LimiteConcurrencia usado = limite(1, 10_000, 0);
+        LimiteConcurrencia holgado = limite(8, 10_000, 0);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            usado.ejecutar(() -> "ok");
+            holgado.ejecutar(() -> "ok");
+        }
+
+        // Assert
+        assertEquals(2, usado.limite());
+        assertEquals(8, holgado.limite());
+    }
+}
@@ -0,0 +1,172 @@
+package com.productos.productos.infrastructure.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PoliticaReintentos - Tests Unitarios")
+class PoliticaReintentosTest {
+    private static final Set<Integer> ESTADOS = Set.of(408, 429, 500, 502, 503, 504);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PoliticaReintentos politica(int porcentaje, int minimoPorSegundo) {
+        return new PoliticaReintentos(meterRegistry, 3, 1, 5, ESTADOS, porcentaje, minimoPorSegundo, 10);
+    }
+
+    @Nested
+    @DisplayName("ejecutar")
+    class EjecutarTests {
+
+        @Test
+        @DisplayName("Debe reintentar errores reintentables hasta obtener respuesta")
+        void ejecutar_fallosTransitorios_retornaTrasReintentar() throws Exception {
+            // Arrange
+            AtomicInteger llamadas = new AtomicInteger();
+            PoliticaReintentos politica = politica(20, 10);
+
+            // Act
+            String resultado = politica.ejecutar("prueba", () -> llamadas.incrementAndGet() < 3
+                    ? CompletableFuture.failedFuture(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "No disponible", null, null, null))
+                    : CompletableFuture.completedFuture("ok")).get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals("ok", resultado);
+            assertEquals(3, llamadas.get());
+            assertEquals(2.0, meterRegistry.get("inventario.reintentos").tag("resultado", "programado").counter().count());
+        }
+
+        @Test
+        @DisplayName("Debe fallar con la excepción del último intento al agotar los intentos")
+        void ejecutar_siempreFalla_propagaUltimoError() {
+            // Arrange
+            AtomicInteger llamadas = new AtomicInteger();
+            PoliticaReintentos politica = politica(20, 10);
+
+            // Act
+            CompletableFuture<String> resultado = politica.ejecutar("prueba", () -> {
+                llamadas.incrementAndGet();
+                return CompletableFuture.failedFuture(new ResourceAccessException("Connection reset"));
+            });
+
+            // Assert
+            ExecutionException error = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceAccessException.class, error.getCause());
+            assertEquals(3, llamadas.get());
+        }
+
+        @Test
+        @DisplayName("No debe reintentar errores no reintentables")
+        void ejecutar_errorCliente_unSoloIntento() {
+            // Arrange
+            AtomicInteger llamadas = new AtomicInteger();
+            PoliticaReintentos politica = politica(20, 10);
+
+            // Act
+            CompletableFuture<String> resultado = politica.ejecutar("prueba", () -> {
+                llamadas.incrementAndGet();
+                return CompletableFuture.failedFuture(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+            });
+
+            // Assert
+            assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertEquals(1, llamadas.get());
+        }
+
+        @Test
+        @DisplayName("No debe reintentar cuando el presupuesto de reintentos está agotado")
+        void ejecutar_sinPresupuesto_noReintenta() {
+            // Arrange
+            AtomicInteger llamadas = new AtomicInteger();
+            PoliticaReintentos politica = politica(0, 0);
+
+            // Act
+            CompletableFuture<String> resultado = politica.ejecutar("prueba", () -> {
+                llamadas.incrementAndGet();
+                return CompletableFuture.failedFuture(new ResourceAccessException("Connection reset"));
+            });
+
+            // Assert
+            assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertEquals(1, llamadas.get());
+            assertEquals(1.0, meterRegistry.get("inventario.reintentos").tag("resultado", "sin_presupuesto").counter().count());
+        }
+
+        @Test
+        @DisplayName("Debe tratar la excepción lanzada por el Supplier como un intento fallido")
+        void ejecutar_supplierLanza_completaConError() {
+            // Arrange
+            PoliticaReintentos politica = politica(20, 10);
+
+            // Act
+            CompletableFuture<String> resultado = politica.ejecutar("prueba", () -> {
+                throw new IllegalStateException("fallo local");
+            });
+
+            // Assert
+            ExecutionException error = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+    }
+
+    @Nested
+    @DisplayName("Clasificación y espera")
+    class ClasificacionTests {
+
+        @Test
+        @DisplayName("Debe reintentar solo los estados configurados y los errores de E/S")
+        void esReintentable_clasificaErrores() {
+            PoliticaReintentos politica = politica(20, 10);
+
+            assertTrue(politica.esReintentable(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null)));
+            assertTrue(politica.esReintentable(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null)));
+            assertTrue(politica.esReintentable(new ResourceAccessException("timeout")));
+            assertTrue(politica.esReintentable(new IOException("reset")));
+            assertFalse(politica.esReintentable(HttpClientErrorException.create(HttpStatus.CONFLICT, "", null, null, null)));
+            assertFalse(politica.esReintentable(HttpServerErrorException.create(HttpStatus.NOT_IMPLEMENTED, "", null, null, null)));
+            assertFalse(politica.esReintentable(new IllegalArgumentException()));
+        }
+
+        @Test
+        @DisplayName("La espera debe crecer exponencialmente con jitter y respetar el máximo")
+        void espera_backoffExponencialConTope() {
+            PoliticaReintentos politica = new PoliticaReintentos(meterRegistry, 10, 100, 1000, ESTADOS, 20, 1, 10);
+
+            for (int i = 0; i < 200; i++) {
+                assertTrue(politica.espera(1) <= 100);
+                assertTrue(politica.espera(3) <= 400);
+                long tope = politica.espera(40);
+                assertTrue(tope >= 0 && tope <= 1000);
+            }
+        }
+
+        @Test
+        @DisplayName("El presupuesto debe admitir reintentos hasta el porcentaje de primeros intentos")
+        void presupuesto_porcentajeDePrimerosIntentos() {
+            PoliticaReintentos.PresupuestoReintentos presupuesto = new PoliticaReintentos.PresupuestoReintentos(10, 50, 0);
+            for (int i = 0; i < 4; i++) {
+                presupuesto.registrar(false);
+            }
+
+            assertTrue(presupuesto.permiteReintento());
+            presupuesto.registrar(true);
+            assertTrue(presupuesto.permiteReintento());
+            presupuesto.registrar(true);
+            assertFalse(presupuesto.permiteReintento());
+        }
+    }
+}
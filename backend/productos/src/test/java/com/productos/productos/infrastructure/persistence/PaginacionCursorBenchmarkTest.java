@@ -0,0 +1,121 @@
+package com.productos.productos.infrastructure.persistence;
+
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import com.productos.productos.shared.mapper.CursorCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara la latencia de la consulta de la página 10.000 por OFFSET y por keyset sobre varios
+ * millones de filas. Se mide la consulta de página sin el COUNT(*) para aislar el costo del OFFSET.
+ * No corre en el build normal; ejecutar con:
+ * ./mvnw test -Dtest=PaginacionCursorBenchmarkTest -Dbenchmark=true [-Dbenchmark.filas=2000000]
+ * Por defecto usa el H2 del perfil de test; para medir contra PostgreSQL basta con pasar
+ * -Dspring.datasource.url=... -Dspring.datasource.username=... -Dspring.datasource.password=...
+ * -Dspring.datasource.driver-class-name=org.postgresql.Driver -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Paginación OFFSET vs keyset")
+class PaginacionCursorBenchmarkTest {
+    private static final int TAMANO_PAGINA = 10;
+    private static final int PAGINA_PROFUNDA = 10_000;
+    private static final int ITERACIONES = 20;
+
+    @Autowired
+    private ProductosRepository productosRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void poblarTabla() {
+        long filas = Long.getLong("benchmark.filas", 2_000_000L);
+        String secuencia = esPostgres() ? "generate_series(1, ?) AS s(x)" : "SYSTEM_RANGE(1, ?)";
+        jdbcTemplate.update("""
+                INSERT INTO dbo.productos (id, nombre, descripcion, precio, categoria, creado_en, actualizado_en)
+                SELECT nextval('dbo.productos_seq'), 'Producto ' || x, 'Descripción ' || x, MOD(x, 1000) + 0.99, 'Categoria ' || MOD(x, 20),
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM \s""" + secuencia, filas);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("La página 10.000 por keyset debe costar lo mismo que la página 0")
+    void paginaProfunda_keyset_latenciaConstante() {
+        Long idAnterior = jdbcTemplate.queryForObject(
+                "SELECT id FROM dbo.productos ORDER BY id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY",
+                Long.class, (long) PAGINA_PROFUNDA * TAMANO_PAGINA - 1);
+
+        double offsetPagina0 = medianaMs(() -> paginaOffset(0));
+        double offsetProfunda = medianaMs(() -> paginaOffset(PAGINA_PROFUNDA));
+        double keysetPagina0 = medianaMs(() -> paginaCursor(""));
+        double keysetProfunda = medianaMs(() -> paginaCursor(CursorCodec.encode(idAnterior)));
+
+        System.out.printf("""
+                [Benchmark] Paginación sobre %d filas (mediana de %d ejecuciones)
+                  OFFSET página 0:       %8.2f ms
+                  OFFSET página %d:  %8.2f ms
+                  keyset página 0:       %8.2f ms
+                  keyset página %d:  %8.2f ms
+                %n""", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dbo.productos", Long.class), ITERACIONES,
+                offsetPagina0, PAGINA_PROFUNDA, offsetProfunda, keysetPagina0, PAGINA_PROFUNDA, keysetProfunda);
+
+        assertTrue(keysetProfunda < Math.max(keysetPagina0 * 3, keysetPagina0 + 5),
+                "la página profunda por keyset no debe degradarse respecto a la página 0");
+    }
+
+    private boolean esPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexion ->
+                conexion.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")));
+    }
+
+    private Slice<ProductoResumen> paginaOffset(int pagina) {
+        return productosRepository.findResumenes(new ProductoFiltroDTO(),
+                PageRequest.of(pagina, TAMANO_PAGINA, Sort.by("id").ascending()));
+    }
+
+    private Slice<ProductoResumen> paginaCursor(String after) {
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        filtro.getPageable().setAfter(after);
+        return productosRepository.findResumenes(filtro,
+                PageRequest.of(0, TAMANO_PAGINA, Sort.by("id").ascending()));
+    }
+
+    private double medianaMs(Supplier<Slice<ProductoResumen>> consulta) {
+        // Calentamiento para que el plan y el JIT no sesguen la medición
+        for (int i = 0; i < 3; i++) {
+            consulta.get();
+        }
+        double[] tiempos = new double[ITERACIONES];
+        for (int i = 0; i < ITERACIONES; i++) {
+            long inicio = System.nanoTime();
+            consulta.get();
+            tiempos[i] = (System.nanoTime() - inicio) / 1_000_000.0;
+        }
+        Arrays.sort(tiempos);
+        return tiempos[ITERACIONES / 2];
+    }
+}
@@ -0,0 +1,114 @@
+package com.productos.productos.infrastructure.persistence.spec;
+
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el costo por petición de la ruta Specification (árbol Criteria nuevo y SQL re-renderizado
+ * en cada llamada) contra las consultas precompiladas de {@link ProductoConsultaPlantillas}.
+ * La tabla es pequeña a propósito para que domine el costo de preparar la consulta y no el de leerla.
+ * No corre en el build normal; ejecutar con:
+ * ./mvnw test -Dtest=ConsultaPlantillasBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Specification vs consultas precompiladas")
+class ConsultaPlantillasBenchmarkTest {
+    private static final int CALENTAMIENTO = 2_000;
+    private static final int ITERACIONES = 20_000;
+    private static final Pageable PAGINA = PageRequest.of(0, 10, Sort.by("id").ascending());
+
+    @Autowired
+    private ProductosRepository productosRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<ProductoFiltroDTO> filtros = new ArrayList<>();
+
+    @BeforeAll
+    void preparar() {
+        jdbcTemplate.update("""
+                INSERT INTO dbo.productos (id, nombre, descripcion, precio, categoria, creado_en, actualizado_en)
+                SELECT nextval('dbo.productos_seq'), 'Producto ' || x, 'Descripción ' || x, MOD(x, 1000) + 0.99, 'Categoria ' || MOD(x, 20),
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, 200)""");
+
+        // Las 16 combinaciones de criterios presentes/ausentes
+        for (int mascara = 0; mascara < 16; mascara++) {
+            ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+            filtro.setNombre((mascara & 1) != 0 ? "producto 1" : null);
+            filtro.setCategoria((mascara & 2) != 0 ? "Categoria 1" : null);
+            filtro.setPrecioMin((mascara & 4) != 0 ? new BigDecimal("10") : null);
+            filtro.setPrecioMax((mascara & 8) != 0 ? new BigDecimal("900") : null);
+            filtros.add(filtro);
+        }
+    }
+
+    @Test
+    @DisplayName("Las consultas precompiladas no deben ser más lentas que la Specification")
+    void listado_plantillasVsSpecification() {
+        ResumenesPorSpecification resumenesPorSpecification = new ResumenesPorSpecification(entityManager, transactionManager);
+        double specification = medianaMicros(filtro ->
+                resumenesPorSpecification.buscar(ProductoSpecification.construir(filtro), PAGINA));
+        double plantillas = medianaMicros(filtro -> productosRepository.findResumenes(filtro, PAGINA));
+
+        System.out.printf("""
+                [Benchmark] Listado por combinación de filtros (mediana de %d ejecuciones)
+                  Specification:           %8.1f us
+                  Consultas precompiladas: %8.1f us
+                %n""", ITERACIONES, specification, plantillas);
+
+        assertTrue(plantillas <= specification * 1.1,
+                "las consultas precompiladas no deben agregar costo respecto a la Specification");
+    }
+
+    private double medianaMicros(Function<ProductoFiltroDTO, Slice<ProductoResumen>> consulta) {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            consulta.apply(filtros.get(i % filtros.size()));
+        }
+        double[] tiempos = new double[ITERACIONES];
+        for (int i = 0; i < ITERACIONES; i++) {
+            ProductoFiltroDTO filtro = filtros.get(i % filtros.size());
+            long inicio = System.nanoTime();
+            consulta.apply(filtro);
+            tiempos[i] = (System.nanoTime() - inicio) / 1_000.0;
+        }
+        Arrays.sort(tiempos);
+        return tiempos[ITERACIONES / 2];
+    }
+}
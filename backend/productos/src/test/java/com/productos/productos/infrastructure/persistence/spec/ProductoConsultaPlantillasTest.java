@@ -0,0 +1,201 @@
+package com.productos.productos.infrastructure.persistence.spec;
+
+import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
+import com.productos.productos.domain.repository.ProductosRepository;
+import com.productos.productos.infrastructure.persistence.SpringDataJpaRepository;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
+import com.productos.productos.shared.mapper.CursorCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ProductoConsultaPlantillas - Tests de Integración")
+class ProductoConsultaPlantillasTest {
+
+    @Autowired
+    private ProductoConsultaPlantillas consultaPlantillas;
+
+    @Autowired
+    private ProductosRepository productosRepository;
+
+    @Autowired
+    private SpringDataJpaRepository springDataJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ResumenesPorSpecification resumenesPorSpecification;
+    private Long primerId;
+
+    @BeforeEach
+    void setUp() {
+        resumenesPorSpecification = new ResumenesPorSpecification(entityManager, transactionManager);
+        List<Producto> productos = springDataJpaRepository.saveAllAndFlush(List.of(
+                producto("Laptop Gamer", "Tecnología", "1500.00"),
+                producto("Laptop Oficina", "Tecnología", "800.00"),
+                producto("Mouse", "Accesorios", "25.00"),
+                producto("Teclado", "Accesorios", "45.00"),
+                producto("Monitor", "Tecnología", "300.00")));
+        primerId = productos.get(0).getId();
+    }
+
+    @Test
+    @DisplayName("Cada combinación de filtros debe devolver lo mismo que la Specification")
+    void listado_combinacionesDeFiltros_coincidenConSpecification() {
+        for (ProductoFiltroDTO filtro : List.of(
+                filtro(null, null, null, null),
+                filtro("laptop", null, null, null),
+                filtro(null, "Accesorios", null, null),
+                filtro(null, null, "30", "900"),
+                filtro("LAPTOP", "Tecnología", "900", "2000"))) {
+            for (Sort sort : List.of(Sort.by("id").ascending(), Sort.by("id").descending())) {
+                Pageable pageable = PageRequest.of(0, 50, sort);
+
+                List<ProductoResumen> esperado = resumenesPorSpecification
+                        .buscar(ProductoSpecification.construir(filtro), pageable).getContent();
+                List<ProductoResumen> obtenido = productosRepository.findResumenes(filtro, pageable).getContent();
+
+                assertEquals(esperado, obtenido, () -> "filtro " + filtro.getClaveNormalizada() + " orden " + sort);
+                assertEquals(springDataJpaRepository.count(ProductoSpecification.construir(filtro)), productosRepository.count(filtro));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("El conteo debe coincidir con el de la Specification")
+    void conteo_conFiltros_coincideConSpecification() {
+        ProductoFiltroDTO filtro = filtro(null, "Tecnología", null, null);
+
+        assertEquals(springDataJpaRepository.count(ProductoSpecification.construir(filtro)), productosRepository.count(filtro));
+    }
+
+    @Test
+    @DisplayName("Debe aplicar el cursor según el sentido y el orden")
+    void listado_conCursor_aplicaSeek() {
+        ProductoFiltroDTO filtro = filtro(null, null, null, null);
+        filtro.getPageable().setAfter(CursorCodec.encode(primerId));
+        Pageable pageable = PageRequest.of(0, 50, Sort.by("id").ascending());
+
+        List<ProductoResumen> obtenido = productosRepository.findResumenes(filtro, pageable).getContent();
+
+        assertEquals(resumenesPorSpecification.buscar(ProductoSpecification.construir(filtro), pageable).getContent(), obtenido);
+        assertTrue(obtenido.stream().allMatch(resumen -> resumen.id() > primerId));
+    }
+
+    @Test
+    @DisplayName("Cada combinación debe registrarse una sola vez")
+    void listado_mismaCombinacion_seRegistraUnaVez() {
+        consultaPlantillas.listado(filtro("mouse", null, null, null), Sort.by("id").ascending());
+        int registradas = consultaPlantillas.cantidadRegistradas();
+
+        consultaPlantillas.listado(filtro("teclado", null, null, null), Sort.by("id").ascending());
+
+        assertEquals(registradas, consultaPlantillas.cantidadRegistradas());
+    }
+
+    @Test
+    @DisplayName("Con fields[producto] debe seleccionar solo las columnas pedidas")
+    void listado_conCampos_leeSoloColumnasPedidas() {
+        ProductoFiltroDTO filtro = filtro(null, "Accesorios", null, null);
+        filtro.setCampos(EnumSet.of(CampoProducto.NOMBRE, CampoProducto.PRECIO, CampoProducto.CANTIDAD));
+
+        TypedQuery<ProductoResumen> query = consultaPlantillas.listado(filtro, Sort.by("id").ascending());
+        List<ProductoResumen> obtenido = query.getResultList();
+
+        String jpql = query.unwrap(org.hibernate.query.Query.class).getQueryString();
+        assertTrue(jpql.contains("p.nombre") && jpql.contains("p.precio"), jpql);
+        assertFalse(jpql.contains("p.descripcion") || jpql.contains("p.creadoEn"), jpql);
+        assertEquals(List.of("Mouse", "Teclado"), obtenido.stream().map(ProductoResumen::nombre).toList());
+        assertTrue(obtenido.stream().allMatch(resumen -> resumen.precio() != null
+                && resumen.categoria() == null && resumen.creadoEn() == null && resumen.actualizadoEn() == null));
+    }
+
+    @Test
+    @DisplayName("Los campos que no son columnas no deben generar otra consulta")
+    void listado_camposConYSinCantidad_compartenConsulta() {
+        ProductoFiltroDTO conCantidad = filtro(null, null, null, null);
+        conCantidad.setCampos(EnumSet.of(CampoProducto.NOMBRE, CampoProducto.CANTIDAD));
+        ProductoFiltroDTO sinCantidad = filtro(null, null, null, null);
+        sinCantidad.setCampos(EnumSet.of(CampoProducto.NOMBRE));
+
+        consultaPlantillas.listado(conCantidad, Sort.by("id").ascending());
+        int registradas = consultaPlantillas.cantidadRegistradas();
+        consultaPlantillas.listado(sinCantidad, Sort.by("id").ascending());
+
+        assertEquals(registradas, consultaPlantillas.cantidadRegistradas());
+    }
+
+    @Test
+    @DisplayName("El detalle por id debe traer solo los campos pedidos")
+    void detalle_conCampos_leeSoloColumnasPedidas() {
+        Optional<ProductoResumen> resumen = productosRepository.findResumenById(primerId, EnumSet.of(CampoProducto.CATEGORIA));
+
+        assertTrue(resumen.isPresent());
+        assertEquals(primerId, resumen.get().id());
+        assertEquals("Tecnología", resumen.get().categoria());
+        assertNull(resumen.get().nombre());
+        assertNull(resumen.get().precio());
+        assertTrue(productosRepository.findResumenById(-1L, EnumSet.of(CampoProducto.CATEGORIA)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("La consulta por lote debe traer solo los ids existentes en una sentencia")
+    void porIds_idsMixtos_traeExistentes() {
+        List<ProductoResumen> obtenido = productosRepository.findResumenesByIds(
+                List.of(primerId + 2, -1L, primerId), EnumSet.of(CampoProducto.NOMBRE));
+
+        assertEquals(Set.of(primerId, primerId + 2), obtenido.stream().map(ProductoResumen::id).collect(Collectors.toSet()));
+        assertTrue(obtenido.stream().allMatch(resumen -> resumen.nombre() != null && resumen.precio() == null));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un orden distinto de id")
+    void listado_ordenNoSoportado_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class,
+                () -> consultaPlantillas.listado(new ProductoFiltroDTO(), Sort.by("nombre")));
+    }
+
+    private static Producto producto(String nombre, String categoria, String precio) {
+        Producto producto = new Producto();
+        producto.setNombre(nombre);
+        producto.setCategoria(categoria);
+        producto.setPrecio(new BigDecimal(precio));
+        return producto;
+    }
+
+    private static ProductoFiltroDTO filtro(String nombre, String categoria, String precioMin, String precioMax) {
+        ProductoFiltroDTO filtro = new ProductoFiltroDTO();
+        filtro.setNombre(nombre);
+        filtro.setCategoria(categoria);
+        filtro.setPrecioMin(precioMin == null ? null : new BigDecimal(precioMin));
+        filtro.setPrecioMax(precioMax == null ? null : new BigDecimal(precioMax));
+        return filtro;
+    }
+}
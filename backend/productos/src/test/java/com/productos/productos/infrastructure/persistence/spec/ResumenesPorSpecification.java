@@ -0,0 +1,66 @@
+package com.productos.productos.infrastructure.persistence.spec;
+
+import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Listado de resúmenes construido con {@link ProductoSpecification}: un árbol Criteria nuevo por
+ * llamada, en una transacción de solo lectura y con una fila de más para saber si hay página
+ * siguiente. Es la referencia contra la que se comparan las consultas precompiladas de
+ * {@link ProductoConsultaPlantillas}, que son las que usa el servicio.
+ */
+class ResumenesPorSpecification {
+    private final EntityManager entityManager;
+    private final TransactionTemplate soloLectura;
+
+    ResumenesPorSpecification(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.soloLectura = new TransactionTemplate(transactionManager);
+        this.soloLectura.setReadOnly(true);
+    }
+
+    Slice<ProductoResumen> buscar(Specification<Producto> specification, Pageable pageable) {
+        return soloLectura.execute(estado -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<ProductoResumen> query = builder.createQuery(ProductoResumen.class);
+            Root<Producto> root = query.from(Producto.class);
+            query.select(builder.construct(ProductoResumen.class,
+                    root.get("id"),
+                    root.get("nombre"),
+                    root.get("descripcion"),
+                    root.get("precio"),
+                    root.get("categoria"),
+                    root.get("creadoEn"),
+                    root.get("actualizadoEn")));
+
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+            List<ProductoResumen> resultado = entityManager.createQuery(query)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize() + 1)
+                    .getResultList();
+            boolean hasNext = resultado.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? resultado.subList(0, pageable.getPageSize()) : resultado, pageable, hasNext);
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.productos.productos.infrastructure.rest;
+
+import com.productos.productos.domain.model.Producto;
+import com.productos.productos.infrastructure.persistence.SpringDataJpaRepository;
+import com.productos.productos.shared.PlazoPeticion;
+import com.productos.productos.shared.dto.InventarioListResponseJsonApiDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las lecturas de inventario corren en hilos del single-flight, del pool de etapas o del
+ * agrupador; el plazo de la petición entrante debe llegar igual a la cabecera que sale.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Propagación de X-Deadline-Ms a inventario - Tests de Integración")
+class PlazoPeticionPropagacionIntegrationTest {
+    private static final String API_KEY_HEADER = "X-API-KEY";
+    private static final String API_KEY = "test-api-key-123";
+    private static final String BASE_URL = "/api/v1/productos";
+    private static final long PLAZO_MS = 4_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SpringDataJpaRepository springDataJpaRepository;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private Long productoId;
+
+    @BeforeEach
+    void setUp() {
+        Producto producto = new Producto();
+        producto.setNombre("Plazo Propagado");
+        producto.setCategoria("Plazos");
+        producto.setPrecio(new BigDecimal("10.00"));
+        productoId = springDataJpaRepository.save(producto).getId();
+
+        InventarioListResponseJsonApiDTO vacio = new InventarioListResponseJsonApiDTO();
+        vacio.setData(List.of());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(InventarioListResponseJsonApiDTO.class)))
+                .thenReturn(new ResponseEntity<>(vacio, HttpStatus.OK));
+    }
+
+    @AfterEach
+    void cleanup() {
+        springDataJpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("El detalle debe enviar el plazo del llamador aunque pase por el single-flight y el agrupador")
+    void obtenerProductoPorId_conPlazo_enviaPlazoRestante() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/{id}", productoId)
+                        .header(API_KEY_HEADER, API_KEY)
+                        .header(PlazoPeticion.CABECERA, String.valueOf(PLAZO_MS)))
+                .andExpect(status().isOk());
+
+        verificarPlazoEnviado();
+    }
+
+    @Test
+    @DisplayName("El listado debe enviar el plazo del llamador aunque pase por el single-flight y el pool de etapas")
+    void filtrarProductos_conPlazo_enviaPlazoRestante() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/filtro")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .header(PlazoPeticion.CABECERA, String.valueOf(PLAZO_MS))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoria\":\"Plazos\",\"pageable\":{\"page\":0,\"size\":10,\"order\":\"asc\"}}"))
+                .andExpect(status().isOk());
+
+        verificarPlazoEnviado();
+    }
+
+    // Sin propagación la cabecera llevaría el timeout de respuesta por defecto (5000 ms)
+    private void verificarPlazoEnviado() {
+        verify(restTemplate, atLeastOnce()).exchange(
+                endsWith("inventarios/buscar"),
+                eq(HttpMethod.POST),
+                argThat(entity -> {
+                    long plazo = Long.parseLong(entity.getHeaders().getFirst(PlazoPeticion.CABECERA));
+                    return plazo > 0 && plazo <= PLAZO_MS;
+                }),
+                eq(InventarioListResponseJsonApiDTO.class));
+    }
+}
@@ -1,8 +1,18 @@
 package com.productos.productos.infrastructure.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productos.productos.aplication.service.ExportacionProductosService;
+import com.productos.productos.aplication.service.ImportacionProductosService;
 import com.productos.productos.aplication.service.ProductosService;
 import com.productos.productos.config.SecurityConfig;
+import com.productos.productos.shared.dto.ActualizacionPreciosMeta;
+import com.productos.productos.shared.dto.ActualizacionPreciosRequestDTO;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.domain.model.ImportacionProductos;
+import com.productos.productos.infrastructure.rest.exception.ImportacionesSaturadasException;
+import com.productos.productos.shared.dto.CreacionLoteMeta;
+import com.productos.productos.shared.dto.ImportacionResponseJsonApiDTO;
+import com.productos.productos.shared.dto.ProductoLoteRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
 import com.productos.productos.shared.dto.filters.ProductoFiltroDTO;
@@ -20,9 +30,15 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -51,6 +67,12 @@ class ProductosControllerTest {
     @MockitoBean  // Cambiado de @MockBean
     private ProductosService productosService;
 
+    @MockitoBean
+    private ExportacionProductosService exportacionProductosService;
+
+    @MockitoBean
+    private ImportacionProductosService importacionProductosService;
+
     private static final String API_KEY_HEADER = "X-API-KEY";
     private static final String VALID_API_KEY = "test-api-key-123";
     private static final String INVALID_API_KEY = "invalid-key";
@@ -139,6 +161,24 @@ class ProductosControllerTest {
     @DisplayName("Tests de listarProductosConFiltro")
     class ListarProductosConFiltroTests {
 
+        @Test
+        @DisplayName("Debe pasar al servicio los campos de fields[producto]")
+        void listarProductosConFiltro_conCampos_asignaCamposAlFiltro() throws Exception {
+            when(productosService.getTodosLosProductos(any(ProductoFiltroDTO.class), anyString()))
+                    .thenReturn(productoResponse);
+
+            mockMvc.perform(post("/api/v1/productos/filtro")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .param("fields[producto]", "nombre,cantidad")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().isOk());
+
+            verify(productosService).getTodosLosProductos(
+                    argThat(filtro -> filtro.getCampos().equals(EnumSet.of(CampoProducto.NOMBRE, CampoProducto.CANTIDAD))),
+                    anyString());
+        }
+
         @Test
         @DisplayName("Debe retornar 200 y lista de productos con filtros válidos")
         void listarProductosConFiltro_filtrosValidos_retorna200() throws Exception {
@@ -190,6 +230,78 @@ class ProductosControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests de obtenerProductosPorIds")
+    class ObtenerProductosPorIdsTests {
+
+        @Test
+        @DisplayName("Debe pasar los ids de filter[id] en el orden recibido")
+        void obtenerProductosPorIds_idsValidos_retorna200() throws Exception {
+            when(productosService.getProductosPorIds(List.of(3L, 1L), CampoProducto.TODOS)).thenReturn(productoResponse);
+
+            mockMvc.perform(get("/api/v1/productos")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .param("filter[id]", "3, 1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].id").value("1"));
+
+            verify(productosService).getProductosPorIds(List.of(3L, 1L), CampoProducto.TODOS);
+        }
+
+        @Test
+        @DisplayName("Debe retornar 400 con un id no numérico")
+        void obtenerProductosPorIds_idInvalido_retorna400() throws Exception {
+            mockMvc.perform(get("/api/v1/productos")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .param("filter[id]", "1,abc"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productosService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de exportarProductos")
+    class ExportarProductosTests {
+
+        @Test
+        @DisplayName("Debe transmitir NDJSON con los filtros recibidos")
+        void exportarProductos_conFiltros_transmiteNdjson() throws Exception {
+            doAnswer(invocation -> {
+                OutputStream salida = invocation.getArgument(1);
+                salida.write("{\"id\":\"1\"}\n{\"id\":\"2\"}\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(exportacionProductosService).exportarProductos(any(ProductoFiltroDTO.class), any(OutputStream.class));
+
+            var resultado = mockMvc.perform(get("/api/v1/productos/export")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .param("categoria", "Electrónica")
+                            .param("precioMin", "100"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string("{\"id\":\"1\"}\n{\"id\":\"2\"}\n"));
+
+            verify(exportacionProductosService).exportarProductos(
+                    argThat(filtro -> "Electrónica".equals(filtro.getCategoria())
+                            && new BigDecimal("100").equals(filtro.getPrecioMin())
+                            && filtro.getNombre() == null),
+                    any(OutputStream.class));
+        }
+
+        @Test
+        @DisplayName("Debe retornar 401 sin API Key")
+        void exportarProductos_sinApiKey_retorna401() throws Exception {
+            mockMvc.perform(get("/api/v1/productos/export"))
+                    .andExpect(status().isUnauthorized());
+
+            verifyNoInteractions(exportacionProductosService);
+        }
+    }
+
     @Nested
     @DisplayName("Tests de obtenerProductoPorId")
     class ObtenerProductoPorIdTests {
@@ -228,6 +340,38 @@ class ProductosControllerTest {
 
             verify(productosService).getProductoPorId(id);
         }
+
+        @Test
+        @DisplayName("Debe retornar solo los atributos pedidos en fields[producto]")
+        void obtenerProductoPorId_conCampos_retornaAtributosPedidos() throws Exception {
+            Long id = 1L;
+            Set<CampoProducto> campos = EnumSet.of(CampoProducto.NOMBRE, CampoProducto.PRECIO);
+            productoResponse.getData().get(0).getAttributes().setCampos(campos);
+            when(productosService.getProductoPorId(id, campos)).thenReturn(productoResponse);
+
+            mockMvc.perform(get("/api/v1/productos/{id}", id)
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .param("fields[producto]", "nombre,precio"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].attributes.nombre").value("Laptop"))
+                    .andExpect(jsonPath("$.data[0].attributes.precio").value(1500.00))
+                    .andExpect(jsonPath("$.data[0].attributes.descripcion").doesNotExist())
+                    .andExpect(jsonPath("$.data[0].attributes.cantidad").doesNotExist());
+
+            verify(productosService).getProductoPorId(id, campos);
+            verify(productosService, never()).getProductoPorId(id);
+        }
+
+        @Test
+        @DisplayName("Debe retornar 400 con un campo desconocido en fields[producto]")
+        void obtenerProductoPorId_campoDesconocido_retorna400() throws Exception {
+            mockMvc.perform(get("/api/v1/productos/{id}", 1L)
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .param("fields[producto]", "nombre,stock"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productosService);
+        }
     }
 
     @Nested
@@ -282,6 +426,197 @@ class ProductosControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests de crearProductos")
+    class CrearProductosTests {
+
+        @Test
+        @DisplayName("Debe retornar 201 con los creados y el detalle del lote en meta")
+        void crearProductos_loteValido_retorna201() throws Exception {
+            CreacionLoteMeta meta = new CreacionLoteMeta();
+            meta.setRequested(2);
+            meta.setCreated(1);
+            meta.getErrors().add(new CreacionLoteMeta.Error(1, "La cantidad debe ser mayor a cero"));
+            productoResponse.setMeta(meta);
+            when(productosService.crearProductos(any(ProductoLoteRequestJsonApiDTO.class)))
+                    .thenReturn(productoResponse);
+
+            mockMvc.perform(post("/api/v1/productos/lote")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ProductoLoteRequestJsonApiDTO(
+                                    List.of(productoRequest.getData(), productoRequest.getData())))))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data[0].id").value("1"))
+                    .andExpect(jsonPath("$.meta.created").value(1))
+                    .andExpect(jsonPath("$.meta.errors[0].index").value(1));
+
+            verify(productosService).crearProductos(argThat(lote -> lote.getData().size() == 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de actualizarProductoParcial")
+    class ActualizarProductoParcialTests {
+
+        @Test
+        @DisplayName("Debe retornar 200 y delegar solo los atributos enviados")
+        void actualizarProductoParcial_soloPrecio_retorna200() throws Exception {
+            when(productosService.actualizarProductoParcial(eq(1L), any(ProductoRequestJsonApiDTO.class)))
+                    .thenReturn(productoResponse);
+
+            mockMvc.perform(patch("/api/v1/productos/{id}", 1L)
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"data\":{\"type\":\"productos\",\"attributes\":{\"precio\":19.90}}}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].id").value("1"));
+
+            verify(productosService).actualizarProductoParcial(eq(1L), argThat(request ->
+                    request.getData().getAttributes().getNombre() == null
+                            && request.getData().getAttributes().getCantidad() == null
+                            && new BigDecimal("19.90").equals(request.getData().getAttributes().getPrecio())));
+            verify(productosService, never()).actualizarProducto(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Debe retornar 404 cuando producto no existe")
+        void actualizarProductoParcial_productoNoExiste_retorna404() throws Exception {
+            when(productosService.actualizarProductoParcial(eq(999L), any(ProductoRequestJsonApiDTO.class)))
+                    .thenThrow(new EntityNotFoundException("Producto no encontrado con ID: 999"));
+
+            mockMvc.perform(patch("/api/v1/productos/{id}", 999L)
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"data\":{\"type\":\"productos\",\"attributes\":{\"cantidad\":3}}}"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de actualizarPrecios")
+    class ActualizarPreciosTests {
+
+        @Test
+        @DisplayName("Debe retornar 200 con la cantidad de productos actualizados en meta")
+        void actualizarPrecios_filtroValido_retorna200() throws Exception {
+            ActualizacionPreciosMeta meta = new ActualizacionPreciosMeta();
+            meta.setUpdated(12);
+            ProductoResponseJsonApiDTO respuesta = new ProductoResponseJsonApiDTO();
+            respuesta.setData(List.of());
+            respuesta.setMeta(meta);
+            when(productosService.actualizarPrecios(any(ActualizacionPreciosRequestDTO.class))).thenReturn(respuesta);
+
+            mockMvc.perform(post("/api/v1/productos/precios")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"filtro\":{\"categoria\":\"Tecnología\"},\"operacion\":\"PORCENTAJE\",\"valor\":10}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.meta.updated").value(12));
+
+            verify(productosService).actualizarPrecios(argThat(request ->
+                    "Tecnología".equals(request.getFiltro().getCategoria())
+                            && request.getOperacion() == ActualizacionPreciosRequestDTO.Operacion.PORCENTAJE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de importaciones")
+    class ImportacionesTests {
+
+        @Test
+        @DisplayName("Debe retornar 202 con Location al recibir un CSV")
+        void iniciarImportacion_csv_retorna202ConLocation() throws Exception {
+            when(importacionProductosService.iniciarImportacion(eq(ImportacionProductos.Formato.CSV), any(InputStream.class)))
+                    .thenReturn(importacion("7", "PENDIENTE"));
+
+            mockMvc.perform(post("/api/v1/productos/importaciones")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType("text/csv")
+                            .content("nombre,precio,cantidad\nMouse,10,1\n"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", endsWith("/api/v1/productos/importaciones/7")))
+                    .andExpect(jsonPath("$.data.type").value("importacion"))
+                    .andExpect(jsonPath("$.data.attributes.estado").value("PENDIENTE"));
+        }
+
+        @Test
+        @DisplayName("Debe detectar NDJSON por Content-Type")
+        void iniciarImportacion_ndjson_usaFormatoNdjson() throws Exception {
+            when(importacionProductosService.iniciarImportacion(eq(ImportacionProductos.Formato.NDJSON), any(InputStream.class)))
+                    .thenReturn(importacion("8", "PENDIENTE"));
+
+            mockMvc.perform(post("/api/v1/productos/importaciones")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content("{\"nombre\":\"Mouse\",\"precio\":10,\"cantidad\":1}\n"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.data.id").value("8"));
+        }
+
+        @Test
+        @DisplayName("Debe retornar 503 si ya hay el máximo de importaciones en curso")
+        void iniciarImportacion_saturado_retorna503() throws Exception {
+            when(importacionProductosService.iniciarImportacion(eq(ImportacionProductos.Formato.CSV), any(InputStream.class)))
+                    .thenThrow(new ImportacionesSaturadasException("Hay demasiadas importaciones en curso, reintente más tarde"));
+
+            mockMvc.perform(post("/api/v1/productos/importaciones")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType("text/csv")
+                            .content("nombre,precio,cantidad\nMouse,10,1\n"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.errors[0].status").value("503"));
+        }
+
+        @Test
+        @DisplayName("Debe retornar 415 con un formato no soportado")
+        void iniciarImportacion_formatoNoSoportado_retorna415() throws Exception {
+            mockMvc.perform(post("/api/v1/productos/importaciones")
+                            .header(API_KEY_HEADER, VALID_API_KEY)
+                            .contentType(MediaType.APPLICATION_XML)
+                            .content("<productos/>"))
+                    .andExpect(status().isUnsupportedMediaType());
+
+            verifyNoInteractions(importacionProductosService);
+        }
+
+        @Test
+        @DisplayName("Debe retornar el estado y las filas rechazadas de la importación")
+        void obtenerImportacion_existente_retorna200() throws Exception {
+            ImportacionResponseJsonApiDTO importacion = importacion("7", "COMPLETADA");
+            importacion.getMeta().getErrors().add(new ImportacionResponseJsonApiDTO.Error(3, "Precio inválido: 'abc'", "Mouse,abc,1"));
+            when(importacionProductosService.obtenerImportacion(7L)).thenReturn(importacion);
+
+            mockMvc.perform(get("/api/v1/productos/importaciones/{id}", 7L)
+                            .header(API_KEY_HEADER, VALID_API_KEY))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.attributes.estado").value("COMPLETADA"))
+                    .andExpect(jsonPath("$.meta.errors[0].linea").value(3));
+        }
+
+        @Test
+        @DisplayName("Debe retornar 404 cuando la importación no existe")
+        void obtenerImportacion_inexistente_retorna404() throws Exception {
+            when(importacionProductosService.obtenerImportacion(99L))
+                    .thenThrow(new EntityNotFoundException("Importación no encontrada con ID: 99"));
+
+            mockMvc.perform(get("/api/v1/productos/importaciones/{id}", 99L)
+                            .header(API_KEY_HEADER, VALID_API_KEY))
+                    .andExpect(status().isNotFound());
+        }
+
+        private ImportacionResponseJsonApiDTO importacion(String id, String estado) {
+            ImportacionResponseJsonApiDTO.Data.Attributes attributes = new ImportacionResponseJsonApiDTO.Data.Attributes();
+            attributes.setEstado(estado);
+            ImportacionResponseJsonApiDTO.Data data = new ImportacionResponseJsonApiDTO.Data();
+            data.setId(id);
+            data.setAttributes(attributes);
+            ImportacionResponseJsonApiDTO importacion = new ImportacionResponseJsonApiDTO();
+            importacion.setData(data);
+            return importacion;
+        }
+    }
+
     @Nested
     @DisplayName("Tests de actualizarProducto")
     class ActualizarProductoTests {
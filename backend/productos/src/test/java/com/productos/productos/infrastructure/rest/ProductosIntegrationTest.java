@@ -1,11 +1,18 @@
 package com.productos.productos.infrastructure.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productos.productos.aplication.service.impl.DespachadorInventarioPendiente;
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.repository.InventarioPendienteRepository;
 import com.productos.productos.infrastructure.client.InventarioClient;
 import com.productos.productos.infrastructure.persistence.SpringDataJpaRepository;
+import com.productos.productos.shared.dto.InventarioLoteResponseJsonApiDTO;
+import com.productos.productos.shared.dto.InventarioRequestJsonApiDTO;
 import com.productos.productos.shared.dto.InventarioResponseJsonApiDTO;
+import com.productos.productos.shared.dto.ProductoLoteRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.*;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,10 +24,13 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -57,6 +67,15 @@ class ProductosIntegrationTest {
     @Autowired
     private InventarioClient inventarioClient;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private DespachadorInventarioPendiente despachadorInventarioPendiente;
+
+    @Autowired
+    private InventarioPendienteRepository inventarioPendienteRepository;
+
     private static final String API_KEY_HEADER = "X-API-KEY";
     private static final String API_KEY = "test-api-key-123";
     private static final String BASE_URL = "/api/v1/productos";
@@ -92,6 +111,8 @@ class ProductosIntegrationTest {
         Mockito.reset(inventarioClient);
         when(inventarioClient.obtenerInventariosDesdeMicroservicio(anyList()))
                 .thenReturn(List.of(invData));
+        when(inventarioClient.obtenerInventariosAsync(anyList())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(inventarioClient.obtenerInventariosDesdeMicroservicio(invocation.getArgument(0))));
     }
 
     @AfterEach
@@ -138,6 +159,107 @@ class ProductosIntegrationTest {
                 .andExpect(jsonPath("$.data", hasSize(greaterThanOrEqualTo(2))));
     }
 
+    @Test
+    @Order(3)
+    @DisplayName("E2E: Recorrer productos por cursor")
+    void listarProductosPorCursor_e2e() throws Exception {
+        crearProductoEnBD("Mouse Logitech", "Tecnología", new BigDecimal("50.00"));
+        crearProductoEnBD("Teclado Mecánico", "Tecnología", new BigDecimal("120.00"));
+        crearProductoEnBD("Silla Gamer", "Muebles", new BigDecimal("450.00"));
+
+        String primeraPagina = mockMvc.perform(post(BASE_URL + "/filtro")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pageable\":{\"size\":2,\"order\":\"asc\",\"after\":\"\"}}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].attributes.nombre").value("Mouse Logitech"))
+                .andExpect(jsonPath("$.meta.hasNext").value(true))
+                .andExpect(jsonPath("$.links.next").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String next = objectMapper.readTree(primeraPagina).path("links").path("next").asText();
+        String cursor = next.substring(next.indexOf("after=") + "after=".length());
+
+        mockMvc.perform(post(BASE_URL + "/filtro")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pageable\":{\"size\":2,\"order\":\"asc\",\"after\":\"" + cursor + "\"}}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].attributes.nombre").value("Silla Gamer"))
+                .andExpect(jsonPath("$.meta.hasNext").value(false))
+                .andExpect(jsonPath("$.meta.hasPrev").value(true));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("E2E: Exportar productos filtrados en NDJSON")
+    void exportarProductos_e2e() throws Exception {
+        crearProductoEnBD("Mouse Logitech", "Tecnología", new BigDecimal("50.00"));
+        crearProductoEnBD("Teclado Mecánico", "Tecnología", new BigDecimal("120.00"));
+        crearProductoEnBD("Silla Gamer", "Muebles", new BigDecimal("450.00"));
+
+        MvcResult resultado = mockMvc.perform(get(BASE_URL + "/export")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .param("categoria", "Tecnología"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lineas = cuerpo.split("\n");
+        Assertions.assertEquals(2, lineas.length);
+        Assertions.assertEquals("Mouse Logitech", objectMapper.readTree(lineas[0]).path("attributes").path("nombre").asText());
+        Assertions.assertEquals("Teclado Mecánico", objectMapper.readTree(lineas[1]).path("attributes").path("nombre").asText());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("E2E: Listar con fields[producto] sin cantidad no consulta inventario")
+    void listarProductosConCampos_e2e() throws Exception {
+        crearProductoEnBD("Mouse Logitech", "Tecnología", new BigDecimal("50.00"));
+
+        mockMvc.perform(post(BASE_URL + "/filtro")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .param("fields[producto]", "nombre,precio")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].attributes.nombre").value("Mouse Logitech"))
+                .andExpect(jsonPath("$.data[0].attributes.precio").value(50.00))
+                .andExpect(jsonPath("$.data[0].attributes.categoria").doesNotExist())
+                .andExpect(jsonPath("$.data[0].attributes.cantidad").doesNotExist());
+
+        Mockito.verifyNoInteractions(inventarioClient);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("E2E: Obtener productos por lote de ids")
+    void obtenerProductosPorIds_e2e() throws Exception {
+        Long mouse = crearProductoEnBD("Mouse Logitech", "Tecnología", new BigDecimal("50.00"));
+        Long silla = crearProductoEnBD("Silla Gamer", "Muebles", new BigDecimal("450.00"));
+
+        mockMvc.perform(get(BASE_URL)
+                        .header(API_KEY_HEADER, API_KEY)
+                        .param("filter[id]", silla + ",99999," + mouse))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].attributes.nombre").value("Silla Gamer"))
+                .andExpect(jsonPath("$.data[1].attributes.nombre").value("Mouse Logitech"))
+                .andExpect(jsonPath("$.meta.missing[0]").value("99999"));
+
+        Mockito.verify(inventarioClient, Mockito.times(1)).obtenerInventariosDesdeMicroservicio(anyList());
+    }
+
     @Test
     @Order(4)
     @DisplayName("E2E: Actualizar producto inexistente debe retornar 404")
@@ -162,12 +284,272 @@ class ProductosIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
-    private void crearProductoEnBD(String nombre, String categoria, BigDecimal precio) {
+    @Test
+    @Order(6)
+    @DisplayName("E2E: Con el circuito de inventario abierto el detalle se sirve degradado y health lo informa")
+    void circuitoInventarioAbierto_respondeDegradado_e2e() throws Exception {
+        Long mouse = crearProductoEnBD("Mouse Logitech", "Tecnología", new BigDecimal("50.00"));
+        CircuitBreaker circuito = circuitBreakerRegistry.circuitBreaker("inventario");
+        circuito.transitionToOpenState();
+        try {
+            mockMvc.perform(get(BASE_URL + "/{id}", mouse)
+                            .header(API_KEY_HEADER, API_KEY))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].attributes.nombre").value("Mouse Logitech"))
+                    .andExpect(jsonPath("$.data[0].attributes.cantidad").value(nullValue()))
+                    .andExpect(jsonPath("$.meta.inventario").value("degraded"));
+
+            mockMvc.perform(get("/actuator/health")
+                            .header(API_KEY_HEADER, API_KEY))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.components.circuitBreakers.details.inventario.details.state").value("OPEN"));
+
+            Mockito.verify(inventarioClient, Mockito.never()).obtenerInventariosDesdeMicroservicio(anyList());
+        } finally {
+            circuito.transitionToClosedState();
+        }
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("E2E: Crear producto responde tras el commit y el despachador entrega el inventario")
+    void crearProducto_outbox_entregaInventarioDespuesDelCommit_e2e() throws Exception {
+        String respuesta = mockMvc.perform(post(BASE_URL)
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(crearProductoRequest)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data[0].attributes.cantidad").value(15))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Long id = objectMapper.readTree(respuesta).path("data").get(0).path("id").asLong();
+
+        Mockito.verify(inventarioClient, Mockito.never()).crearInventarioConReintentosAsync(Mockito.anyLong(), Mockito.anyInt());
+        Assertions.assertEquals(1, inventarioPendienteRepository.contarPendientes());
+
+        confirmarLotesDeInventario();
+        despachadorInventarioPendiente.despacharPendientes();
+
+        Mockito.verify(inventarioClient).crearInventariosLoteAsync(Mockito.argThat(lote -> lote.size() == 1
+                && id.equals(lote.get(0).getAttributes().getProductoId())
+                && lote.get(0).getAttributes().getCantidadDisponible() == 15));
+        Assertions.assertEquals(0, inventarioPendienteRepository.contarPendientes());
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("E2E: Crear por lote guarda los válidos, informa los rechazados y entrega el inventario en una llamada")
+    void crearProductos_loteMixto_creaValidosYEntregaInventarioEnBloque_e2e() throws Exception {
+        ProductoRequestJsonApiDTO.Attributes sinPrecio = new ProductoRequestJsonApiDTO.Attributes();
+        sinPrecio.setNombre("Sin precio");
+        sinPrecio.setCantidad(1);
+        ProductoRequestJsonApiDTO.Data invalido = new ProductoRequestJsonApiDTO.Data();
+        invalido.setType("productos");
+        invalido.setAttributes(sinPrecio);
+        ProductoLoteRequestJsonApiDTO lote = new ProductoLoteRequestJsonApiDTO(
+                List.of(crearProductoRequest.getData(), invalido, crearProductoRequest.getData()));
+
+        mockMvc.perform(post(BASE_URL + "/lote")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.meta.requested").value(3))
+                .andExpect(jsonPath("$.meta.created").value(2))
+                .andExpect(jsonPath("$.meta.errors[0].index").value(1));
+
+        Assertions.assertEquals(2, springDataJpaRepository.count());
+        Assertions.assertEquals(2, inventarioPendienteRepository.contarPendientes());
+
+        confirmarLotesDeInventario();
+        despachadorInventarioPendiente.despacharPendientes();
+
+        Mockito.verify(inventarioClient).crearInventariosLoteAsync(Mockito.argThat(enviados -> enviados.size() == 2));
+        Assertions.assertEquals(0, inventarioPendienteRepository.contarPendientes());
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("E2E: Importar un CSV crea los productos válidos en segundo plano e informa las filas rechazadas")
+    void importarCsv_filasMixtas_completaConErrores_e2e() throws Exception {
+        String csv = """
+                nombre,descripcion,precio,categoria,cantidad
+                Mouse,"Mouse inalámbrico, negro",25.50,Accesorios,10
+                Teclado,,abc,Accesorios,5
+                Monitor,,199.90,Pantallas,0
+                Webcam,,45.00,,3
+                """;
+
+        String respuesta = mockMvc.perform(post(BASE_URL + "/importaciones")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String id = objectMapper.readTree(respuesta).path("data").path("id").asText();
+
+        String estado = "";
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!"COMPLETADA".equals(estado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+            estado = objectMapper.readTree(mockMvc.perform(get(BASE_URL + "/importaciones/{id}", id)
+                            .header(API_KEY_HEADER, API_KEY))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8))
+                    .path("data").path("attributes").path("estado").asText();
+        }
+
+        mockMvc.perform(get(BASE_URL + "/importaciones/{id}", id)
+                        .header(API_KEY_HEADER, API_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.attributes.estado").value("COMPLETADA"))
+                .andExpect(jsonPath("$.data.attributes.lineasProcesadas").value(5))
+                .andExpect(jsonPath("$.data.attributes.creados").value(2))
+                .andExpect(jsonPath("$.data.attributes.rechazados").value(2))
+                .andExpect(jsonPath("$.meta.errors[0].linea").value(3))
+                .andExpect(jsonPath("$.meta.errors[1].linea").value(4));
+        Assertions.assertEquals(2, springDataJpaRepository.count());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("E2E: Ajustar precios por filtro actualiza solo los productos seleccionados en una sentencia")
+    void actualizarPrecios_porCategoria_ajustaSoloSeleccionados_e2e() throws Exception {
+        Long mouse = crearProductoEnBD("Mouse Logitech", "Tecnología", new BigDecimal("19.99"));
+        Long teclado = crearProductoEnBD("Teclado Mecánico", "Tecnología", new BigDecimal("120.00"));
+        Long silla = crearProductoEnBD("Silla Gamer", "Muebles", new BigDecimal("450.00"));
+        LocalDateTime antes = springDataJpaRepository.findById(mouse).orElseThrow().getActualizadoEn();
+
+        mockMvc.perform(post(BASE_URL + "/precios")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtro\":{\"categoria\":\"Tecnología\"},\"operacion\":\"PORCENTAJE\",\"valor\":12.5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.updated").value(2));
+
+        Producto mouseAjustado = springDataJpaRepository.findById(mouse).orElseThrow();
+        Assertions.assertEquals(0, new BigDecimal("22.49").compareTo(mouseAjustado.getPrecio()));
+        Assertions.assertTrue(mouseAjustado.getActualizadoEn().isAfter(antes), "actualizadoEn se asigna en el UPDATE");
+        Assertions.assertEquals(0, new BigDecimal("135.00").compareTo(springDataJpaRepository.findById(teclado).orElseThrow().getPrecio()));
+        Assertions.assertEquals(0, new BigDecimal("450.00").compareTo(springDataJpaRepository.findById(silla).orElseThrow().getPrecio()));
+
+        // Una rebaja que dejaría un precio negativo se rechaza completa
+        mockMvc.perform(post(BASE_URL + "/precios")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtro\":{\"precioMin\":0},\"operacion\":\"DELTA\",\"valor\":-100}"))
+                .andExpect(status().isBadRequest());
+        Assertions.assertEquals(0, new BigDecimal("450.00").compareTo(springDataJpaRepository.findById(silla).orElseThrow().getPrecio()));
+
+        mockMvc.perform(post(BASE_URL + "/precios")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtro\":{\"precioMin\":100},\"operacion\":\"DELTA\",\"valor\":-100}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.updated").value(2));
+        Assertions.assertEquals(0, new BigDecimal("35.00").compareTo(springDataJpaRepository.findById(teclado).orElseThrow().getPrecio()));
+
+        mockMvc.perform(post(BASE_URL + "/precios")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtro\":{\"nombre\":\"silla\"},\"operacion\":\"FIJAR\",\"valor\":399.90}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.updated").value(1));
+        Assertions.assertEquals(0, new BigDecimal("399.90").compareTo(springDataJpaRepository.findById(silla).orElseThrow().getPrecio()));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("E2E: PATCH actualiza solo los atributos enviados y sin cambios no escribe ni consulta inventario")
+    void actualizarProductoParcial_soloPrecio_conservaRestoYOmiteInventario_e2e() throws Exception {
+        Long id = crearProductoEnBD("Monitor LG", "Pantallas", new BigDecimal("300.00"));
+        LocalDateTime creado = springDataJpaRepository.findById(id).orElseThrow().getActualizadoEn();
+
+        mockMvc.perform(patch(BASE_URL + "/{id}", id)
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\":{\"type\":\"productos\",\"attributes\":{\"precio\":279.99}}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].attributes.precio").value(279.99))
+                .andExpect(jsonPath("$.data[0].attributes.nombre").value("Monitor LG"));
+
+        Producto actualizado = springDataJpaRepository.findById(id).orElseThrow();
+        Assertions.assertEquals(0, new BigDecimal("279.99").compareTo(actualizado.getPrecio()));
+        Assertions.assertEquals("Pantallas", actualizado.getCategoria());
+        Assertions.assertTrue(actualizado.getActualizadoEn().isAfter(creado));
+
+        // Mismo precio con otra escala: no hay cambio que escribir
+        mockMvc.perform(patch(BASE_URL + "/{id}", id)
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\":{\"type\":\"productos\",\"attributes\":{\"precio\":279.990}}}"))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(actualizado.getActualizadoEn(),
+                springDataJpaRepository.findById(id).orElseThrow().getActualizadoEn());
+        Mockito.verifyNoInteractions(inventarioClient);
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("E2E: Ajustar precios con varios criterios a la vez exige todos en la validación y en el UPDATE")
+    void actualizarPrecios_variosCriterios_ajustaSoloLaInterseccion_e2e() throws Exception {
+        Long gamer = crearProductoEnBD("Laptop Gamer", "Tecnología", new BigDecimal("1500.00"));
+        Long oficina = crearProductoEnBD("Laptop Oficina", "Tecnología", new BigDecimal("800.00"));
+        Long soporte = crearProductoEnBD("Soporte Laptop Gamer", "Accesorios", new BigDecimal("1200.00"));
+        Long monitor = crearProductoEnBD("Monitor Gamer", "Tecnología", new BigDecimal("1100.00"));
+        String filtro = "{\"nombre\":\"LAPTOP\",\"categoria\":\"Tecnología\",\"precioMin\":1000,\"precioMax\":2000}";
+
+        // Fuera del filtro Laptop Oficina quedaría negativa, así que el conteo previo también debe filtrar por todo
+        mockMvc.perform(post(BASE_URL + "/precios")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtro\":" + filtro + ",\"operacion\":\"DELTA\",\"valor\":-900}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.updated").value(1));
+
+        Assertions.assertEquals(0, new BigDecimal("600.00").compareTo(springDataJpaRepository.findById(gamer).orElseThrow().getPrecio()));
+        Assertions.assertEquals(0, new BigDecimal("800.00").compareTo(springDataJpaRepository.findById(oficina).orElseThrow().getPrecio()));
+        Assertions.assertEquals(0, new BigDecimal("1200.00").compareTo(springDataJpaRepository.findById(soporte).orElseThrow().getPrecio()));
+        Assertions.assertEquals(0, new BigDecimal("1100.00").compareTo(springDataJpaRepository.findById(monitor).orElseThrow().getPrecio()));
+
+        // Gamer (600) y Oficina (800) quedarían negativas: el UPDATE las excluye, Monitor sí se
+        // ajustaría, y al no coincidir las cuentas se revierte todo
+        mockMvc.perform(post(BASE_URL + "/precios")
+                        .header(API_KEY_HEADER, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtro\":{\"categoria\":\"Tecnología\"},\"operacion\":\"DELTA\",\"valor\":-1000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("2 productos quedarían con precio negativo"));
+
+        Assertions.assertEquals(0, new BigDecimal("600.00").compareTo(springDataJpaRepository.findById(gamer).orElseThrow().getPrecio()));
+        Assertions.assertEquals(0, new BigDecimal("1100.00").compareTo(springDataJpaRepository.findById(monitor).orElseThrow().getPrecio()));
+    }
+
+    // Inventario confirma todos los elementos del lote que recibe
+    private void confirmarLotesDeInventario() {
+        when(inventarioClient.crearInventariosLoteAsync(anyList())).thenAnswer(invocation -> {
+            List<InventarioRequestJsonApiDTO.Data> enviados = invocation.getArgument(0);
+            InventarioLoteResponseJsonApiDTO respuesta = new InventarioLoteResponseJsonApiDTO();
+            for (InventarioRequestJsonApiDTO.Data enviado : enviados) {
+                InventarioResponseJsonApiDTO.Data.Attributes attributes = new InventarioResponseJsonApiDTO.Data.Attributes();
+                attributes.setProductoId(enviado.getAttributes().getProductoId());
+                attributes.setCantidadDisponible(enviado.getAttributes().getCantidadDisponible());
+                InventarioResponseJsonApiDTO.Data data = new InventarioResponseJsonApiDTO.Data();
+                data.setAttributes(attributes);
+                respuesta.getData().add(data);
+            }
+            return CompletableFuture.completedFuture(respuesta);
+        });
+    }
+
+    private Long crearProductoEnBD(String nombre, String categoria, BigDecimal precio) {
         Producto producto = new Producto();
         producto.setNombre(nombre);
         producto.setCategoria(categoria);
         producto.setPrecio(precio);
         producto.setDescripcion("Descripción de " + nombre);
-        springDataJpaRepository.save(producto);
+        return springDataJpaRepository.save(producto).getId();
     }
 }
\ No newline at end of file
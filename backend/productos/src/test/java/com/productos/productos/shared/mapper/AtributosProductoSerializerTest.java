@@ -0,0 +1,86 @@
+package com.productos.productos.shared.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productos.productos.shared.dto.CampoProducto;
+import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AtributosProductoSerializer - Tests Unitarios")
+class AtributosProductoSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductoResponseJsonApiDTO.Data.Attributes atributos;
+
+    @BeforeEach
+    void setUp() {
+        atributos = new ProductoResponseJsonApiDTO.Data.Attributes();
+        atributos.setNombre("Laptop");
+        atributos.setDescripcion("Laptop gaming");
+        atributos.setPrecio(new BigDecimal("1500.00"));
+        atributos.setCategoria("Electrónica");
+        atributos.setCreadoEn("2024-01-01T10:00");
+        atributos.setActualizadoEn("2024-01-02T10:00");
+    }
+
+    @Test
+    @DisplayName("Sin fields[producto] debe escribir todos los atributos, incluida la cantidad nula")
+    void serializar_todosLosCampos_escribeTodos() throws Exception {
+        // Act
+        JsonNode json = objectMapper.valueToTree(atributos);
+
+        // Assert
+        assertEquals(List.of("nombre", "descripcion", "precio", "categoria", "cantidad", "creadoEn", "actualizadoEn"),
+                nombres(json));
+        assertTrue(json.get("cantidad").isNull());
+    }
+
+    @Test
+    @DisplayName("Con fields[producto] debe omitir los atributos no pedidos")
+    void serializar_camposPedidos_omiteElResto() throws Exception {
+        // Arrange
+        atributos.setCampos(EnumSet.of(CampoProducto.NOMBRE, CampoProducto.PRECIO));
+
+        // Act
+        JsonNode json = objectMapper.valueToTree(atributos);
+
+        // Assert
+        assertEquals(List.of("nombre", "precio"), nombres(json));
+        assertEquals("Laptop", json.get("nombre").asText());
+        assertEquals(0, new BigDecimal("1500.00").compareTo(json.get("precio").decimalValue()));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un campo desconocido en fields[producto]")
+    void desde_campoDesconocido_lanzaExcepcion() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CampoProducto.desde("nombre,stock"));
+        assertTrue(exception.getMessage().contains("stock"));
+    }
+
+    @Test
+    @DisplayName("Debe interpretar la lista de fields[producto]")
+    void desde_listaConEspacios_devuelveCampos() {
+        // Act & Assert
+        assertEquals(EnumSet.of(CampoProducto.NOMBRE, CampoProducto.CANTIDAD), CampoProducto.desde(" nombre, cantidad ,"));
+        assertEquals(CampoProducto.TODOS, CampoProducto.desde(null));
+        assertTrue(CampoProducto.desde("").isEmpty());
+    }
+
+    private static List<String> nombres(JsonNode json) {
+        List<String> nombres = new ArrayList<>();
+        json.fieldNames().forEachRemaining(nombres::add);
+        return nombres;
+    }
+}
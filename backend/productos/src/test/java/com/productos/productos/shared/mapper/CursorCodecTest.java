@@ -0,0 +1,43 @@
+package com.productos.productos.shared.mapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CursorCodec - Tests Unitarios")
+class CursorCodecTest {
+
+    @Test
+    @DisplayName("Debe decodificar el mismo id que se codificó")
+    void encodeDecode_idValido_esReversible() {
+        String cursor = CursorCodec.encode(123456789L);
+
+        assertEquals(123456789L, CursorCodec.decode(cursor));
+    }
+
+    @Test
+    @DisplayName("El cursor no debe exponer el id en claro")
+    void encode_idValido_esOpaco() {
+        assertFalse(CursorCodec.encode(42L).contains("42"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores que no son Base64")
+    void decode_noBase64_lanzaIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode("%%%"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores con contenido inesperado")
+    void decode_contenidoInvalido_lanzaIllegalArgumentException() {
+        String sinPrefijo = Base64.getUrlEncoder().encodeToString("42".getBytes(StandardCharsets.UTF_8));
+        String noNumerico = Base64.getUrlEncoder().encodeToString("id:abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(sinPrefijo));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(noNumerico));
+    }
+}
@@ -1,7 +1,10 @@
 package com.productos.productos.shared.mapper;
 
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
+import com.productos.productos.shared.dto.pageable.CursorPaginacionMeta;
+import com.productos.productos.shared.dto.pageable.PageableRequest;
 import com.productos.productos.shared.dto.pageable.PaginacionMeta;
+import com.productos.productos.shared.dto.pageable.SlicePaginacionMeta;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
@@ -361,4 +366,90 @@ class JsonApiResponseBuilderTest {
             assertNotNull(response.getLinks().getLast(), "Last link no debe ser null");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Tests de buildCursor")
+    class BuildCursorTests {
+
+        @Test
+        @DisplayName("Debe construir links next/prev con el cursor del último y primer elemento")
+        void buildCursor_conSiguienteYAnterior_construyeLinksCursor() {
+            PageableRequest pageable = new PageableRequest();
+            pageable.setAfter(CursorCodec.encode(0L));
+
+            ProductoResponseJsonApiDTO response = JsonApiResponseBuilder.buildCursor(
+                    pageable, dataList, true, true, BASE_URL);
+
+            assertEquals(BASE_URL + "?after=" + pageable.getAfter(), response.getLinks().getSelf());
+            assertEquals(BASE_URL + "?after=" + CursorCodec.encode(1L), response.getLinks().getNext());
+            assertEquals(BASE_URL + "?before=" + CursorCodec.encode(1L), response.getLinks().getPrev());
+            assertNull(response.getLinks().getLast());
+
+            CursorPaginacionMeta meta = (CursorPaginacionMeta) response.getMeta();
+            assertEquals(10, meta.getSize());
+            assertEquals("asc", meta.getOrder());
+            assertTrue(meta.isHasNext());
+            assertTrue(meta.isHasPrev());
+        }
+
+        @Test
+        @DisplayName("No debe emitir links next/prev cuando no hay más elementos")
+        void buildCursor_sinMasElementos_linksNulos() {
+            PageableRequest pageable = new PageableRequest();
+            pageable.setBefore(CursorCodec.encode(5L));
+
+            ProductoResponseJsonApiDTO response = JsonApiResponseBuilder.buildCursor(
+                    pageable, Collections.emptyList(), false, false, BASE_URL);
+
+            assertEquals(BASE_URL + "?before=" + pageable.getBefore(), response.getLinks().getSelf());
+            assertNull(response.getLinks().getNext());
+            assertNull(response.getLinks().getPrev());
+            assertTrue(response.getData().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de buildSlice")
+    class BuildSliceTests {
+
+        @Test
+        @DisplayName("Debe construir meta sin total y links sin 'last'")
+        void buildSlice_conSiguiente_construyeMetaSinTotal() {
+            Slice<String> slice = new SliceImpl<>(List.of("item"), PageRequest.of(1, 10), true);
+
+            ProductoResponseJsonApiDTO response = JsonApiResponseBuilder.buildSlice(slice, dataList, BASE_URL, "asc");
+
+            SlicePaginacionMeta meta = (SlicePaginacionMeta) response.getMeta();
+            assertEquals(1, meta.getPage());
+            assertEquals(10, meta.getSize());
+            assertTrue(meta.isHasNext());
+            assertEquals("none", meta.getTotalMode());
+            assertEquals(BASE_URL + "?page=1", response.getLinks().getSelf());
+            assertEquals(BASE_URL + "?page=2", response.getLinks().getNext());
+            assertEquals(BASE_URL + "?page=0", response.getLinks().getPrev());
+            assertNull(response.getLinks().getLast());
+        }
+
+        @Test
+        @DisplayName("No debe emitir link next en la última página")
+        void buildSlice_ultimaPagina_nextEsNull() {
+            Slice<String> slice = new SliceImpl<>(List.of("item"), PageRequest.of(0, 10), false);
+
+            ProductoResponseJsonApiDTO response = JsonApiResponseBuilder.buildSlice(slice, dataList, BASE_URL, "desc");
+
+            assertNull(response.getLinks().getNext());
+            assertNull(response.getLinks().getPrev());
+            assertEquals("desc", ((SlicePaginacionMeta) response.getMeta()).getOrder());
+        }
+
+        @Test
+        @DisplayName("build sin modo explícito debe informar total exacto")
+        void build_sinModo_informaExact() {
+            Page<String> page = new PageImpl<>(List.of("item"), PageRequest.of(0, 10), 1);
+
+            ProductoResponseJsonApiDTO response = JsonApiResponseBuilder.build(page, dataList, BASE_URL, "asc");
+
+            assertEquals("exact", ((PaginacionMeta) response.getMeta()).getTotalMode());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.productos.productos.shared.mapper;
 
 import static org.junit.jupiter.api.Assertions.*;
 import com.productos.productos.domain.model.Producto;
+import com.productos.productos.domain.model.ProductoResumen;
 import com.productos.productos.shared.dto.ProductoRequestJsonApiDTO;
 import com.productos.productos.shared.dto.ProductoResponseJsonApiDTO;
 import org.junit.jupiter.api.BeforeEach;
@@ -128,6 +129,25 @@ class ProductoMapperTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests de toJsonApiDTOData desde ProductoResumen")
+    class ToJsonApiDTODataResumenTests {
+
+        @Test
+        @DisplayName("Debe convertir la proyección a Data DTO igual que la entidad")
+        void toJsonApiDTOData_resumen_convierteIgualQueEntidad() {
+            // Arrange
+            ProductoResumen resumen = new ProductoResumen(1L, "Laptop", "Laptop gaming", new BigDecimal("1500.00"),
+                    "Electrónica", LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 15, 14, 30));
+
+            // Act
+            ProductoResponseJsonApiDTO.Data result = mapper.toJsonApiDTOData(resumen, 10);
+
+            // Assert
+            assertEquals(mapper.toJsonApiDTOData(producto, 10), result);
+        }
+    }
+
     @Nested
     @DisplayName("Tests de fromCreateDTO")
     class FromCreateDTOTests {
@@ -296,6 +316,22 @@ class ProductoMapperTest {
             assertEquals("Categoría", result.getCategoria());
         }
 
+        @Test
+        @DisplayName("No debe reasignar un precio numéricamente igual con otra escala")
+        void updateEntityFromDTO_precioIgualOtraEscala_conservaValor() {
+            // Arrange
+            BigDecimal precioActual = new BigDecimal("100.00");
+            Producto existente = new Producto();
+            existente.setPrecio(precioActual);
+            requestDTO.getData().getAttributes().setPrecio(new BigDecimal("100"));
+
+            // Act
+            Producto result = mapper.updateEntityFromDTO(existente, requestDTO);
+
+            // Assert
+            assertSame(precioActual, result.getPrecio());
+        }
+
         @Test
         @DisplayName("Debe retornar el mismo objeto Producto actualizado")
         void updateEntityFromDTO_retornaMismoObjeto() {